@@ -0,0 +1,198 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Time to load and construct {@code filterCount} filters into a {@link StaticFilterLoader}, through the
+ * {@code META-INF/zuul/allfilters} list and reflection, or through the {@link FilterIndex} that {@code zuul-processor}
+ * generates.
+ *
+ * <p>The filters are compiled once per trial, together with the index the processor would generate for them, and
+ * every invocation loads them in a new class loader, so each one pays for class loading as at startup.
+ *
+ * <p>Run with {@code ./gradlew :zuul-core:jmh -Pjmh.includes=FilterLoadingBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 50)
+public class FilterLoadingBenchmark {
+
+    private static final String PACKAGE = "com.netflix.zuul.benchmark.generated";
+
+    @Param({"200"})
+    public int filterCount;
+
+    private Path classes;
+    private URLClassLoader loader;
+
+    @Setup(Level.Trial)
+    public void compileFilters() throws IOException {
+        Path sources = Files.createTempDirectory("zuul-filters-src");
+        classes = Files.createTempDirectory("zuul-filters");
+        Path packageDir = Files.createDirectories(sources.resolve(PACKAGE.replace('.', '/')));
+
+        List<String> sourceFiles = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        StringBuilder entries = new StringBuilder();
+        for (int i = 0; i < filterCount; i++) {
+            String simpleName = "Filter" + i;
+            String name = PACKAGE + "." + simpleName;
+            Path file = packageDir.resolve(simpleName + ".java");
+            Files.writeString(file, filterSource(simpleName, i));
+            sourceFiles.add(file.toString());
+            names.add(name);
+            entries.append(i == 0 ? "\n" : ",\n")
+                    .append(String.format(
+                            "new FilterIndex.Entry(%s.class, FilterType.INBOUND, %d, \"%s\", %s::new)",
+                            simpleName, i, name, simpleName));
+        }
+        Path index = packageDir.resolve("ZuulFilterIndex.java");
+        Files.writeString(index, indexSource(entries.toString()));
+        sourceFiles.add(index.toString());
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        List<String> args = new ArrayList<>(List.of(
+                "-proc:none", "-classpath", System.getProperty("java.class.path"), "-d", classes.toString()));
+        args.addAll(sourceFiles);
+        if (compiler.run(null, null, null, args.toArray(new String[0])) != 0) {
+            throw new IllegalStateException("Could not compile the benchmark filters");
+        }
+
+        Path metaInf = Files.createDirectories(classes.resolve("META-INF/services"));
+        Files.write(metaInf.resolve(FilterIndex.class.getName()), List.of(PACKAGE + ".ZuulFilterIndex"));
+        Files.write(
+                Files.createDirectories(classes.resolve("META-INF/zuul")).resolve("allfilters"),
+                names,
+                StandardCharsets.UTF_8);
+        deleteRecursively(sources);
+    }
+
+    @Setup(Level.Invocation)
+    public void newClassLoader() throws IOException {
+        loader = new URLClassLoader(
+                new URL[] {classes.toUri().toURL()}, FilterLoadingBenchmark.class.getClassLoader());
+    }
+
+    @TearDown(Level.Invocation)
+    public void closeClassLoader() throws IOException {
+        loader.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFilters() throws IOException {
+        deleteRecursively(classes);
+    }
+
+    @Benchmark
+    public FilterLoader reflective() throws IOException {
+        return new StaticFilterLoader(
+                new DefaultFilterFactory(), StaticFilterLoader.loadFilterTypesFromResources(loader));
+    }
+
+    @Benchmark
+    public FilterLoader indexed() {
+        IndexedFilterFactory factory = IndexedFilterFactory.load(loader, new DefaultFilterFactory());
+        return new StaticFilterLoader(factory, factory.filterTypes());
+    }
+
+    private static String filterSource(String simpleName, int order) {
+        return """
+                package %s;
+
+                import com.netflix.zuul.Filter;
+                import com.netflix.zuul.filters.FilterType;
+                import com.netflix.zuul.filters.http.HttpInboundSyncFilter;
+                import com.netflix.zuul.message.http.HttpRequestMessage;
+
+                @Filter(order = %d, type = FilterType.INBOUND)
+                public class %s extends HttpInboundSyncFilter {
+                    @Override
+                    public int filterOrder() {
+                        return %d;
+                    }
+
+                    @Override
+                    public boolean shouldFilter(HttpRequestMessage msg) {
+                        return true;
+                    }
+
+                    @Override
+                    public HttpRequestMessage apply(HttpRequestMessage input) {
+                        return input;
+                    }
+                }
+                """
+                .formatted(PACKAGE, order, simpleName, order);
+    }
+
+    /**
+     * The same shape as the index {@code FilterProcessor} generates.
+     */
+    private static String indexSource(String entries) {
+        return """
+                package %s;
+
+                import com.netflix.zuul.FilterIndex;
+                import com.netflix.zuul.filters.FilterType;
+                import java.util.List;
+
+                public final class ZuulFilterIndex implements FilterIndex {
+                    @Override
+                    public List<FilterIndex.Entry> filters() {
+                        return List.of(%s);
+                    }
+                }
+                """
+                .formatted(PACKAGE, entries);
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.netty.filter;
+
+import com.netflix.spectator.api.NoopRegistry;
+import com.netflix.zuul.context.CommonContextKeys;
+import com.netflix.zuul.context.SessionContext;
+import com.netflix.zuul.filters.BaseBlockingFilter;
+import com.netflix.zuul.filters.FilterType;
+import com.netflix.zuul.filters.ZuulFilter;
+import com.netflix.zuul.filters.http.HttpInboundSyncFilter;
+import com.netflix.zuul.message.Headers;
+import com.netflix.zuul.message.http.HttpQueryParams;
+import com.netflix.zuul.message.http.HttpRequestMessage;
+import com.netflix.zuul.message.http.HttpRequestMessageImpl;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.EventLoop;
+import io.netty.channel.MultiThreadIoEventLoopGroup;
+import io.netty.channel.local.LocalChannel;
+import io.netty.channel.local.LocalIoHandler;
+import io.netty.handler.codec.http.HttpContent;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Requests per second through one event loop for a filter that makes a blocking call to a local stub taking
+ * {@code stubLatencyMicros}, with the call made on the event loop itself, on a fixed pool of
+ * {@value #POOL_SIZE} threads, or on a virtual thread per request as {@link BaseBlockingFilter} does.
+ *
+ * <p>Run with {@code ./gradlew :zuul-core:jmh -Pjmh.includes=BlockingFilterBenchmark}.
+ */
+@State(Scope.Benchmark)
+public class BlockingFilterBenchmark {
+
+    private static final int REQUESTS = 512;
+    private static final int POOL_SIZE = 32;
+
+    @Param({"eventLoop", "fixedPool", "virtualThreads"})
+    public String mode;
+
+    @Param({"1000"})
+    public int stubLatencyMicros;
+
+    private MultiThreadIoEventLoopGroup group;
+    private ChannelHandlerContext ctx;
+    private EventLoop eventLoop;
+    private ExecutorService fixedPool;
+    private ZuulFilter<HttpRequestMessage, HttpRequestMessage> filter;
+    private CountingRunner runner;
+
+    @Setup
+    public void setUp() {
+        group = new MultiThreadIoEventLoopGroup(1, LocalIoHandler.newFactory());
+        LocalChannel channel = new LocalChannel();
+        channel.pipeline().addLast(new ChannelInboundHandlerAdapter());
+        group.register(channel).syncUninterruptibly();
+        ctx = channel.pipeline().firstContext();
+        eventLoop = channel.eventLoop();
+        fixedPool = Executors.newFixedThreadPool(POOL_SIZE);
+
+        long stubLatencyNanos = TimeUnit.MICROSECONDS.toNanos(stubLatencyMicros);
+        filter = switch (mode) {
+            case "eventLoop" -> new OnEventLoopFilter(stubLatencyNanos);
+            case "fixedPool" -> new OffEventLoopFilter(stubLatencyNanos, fixedPool);
+            case "virtualThreads" -> new OffEventLoopFilter(stubLatencyNanos, null);
+            default -> throw new IllegalArgumentException("Unknown mode " + mode);
+        };
+        runner = new CountingRunner();
+    }
+
+    @TearDown
+    public void tearDown() {
+        fixedPool.shutdownNow();
+        group.shutdownGracefully();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(REQUESTS)
+    public void runRequests() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(REQUESTS);
+        runner.done = done;
+        for (int i = 0; i < REQUESTS; i++) {
+            HttpRequestMessage request = newRequest();
+            eventLoop.execute(() -> {
+                // Filters run on the event loop complete at once, and the others count down when they resume.
+                BaseZuulFilterRunner.FilterExecutionResult<HttpRequestMessage> result =
+                        runner.executeFilter(filter, request);
+                if (result instanceof BaseZuulFilterRunner.FilterExecutionResult.Complete) {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+    }
+
+    private HttpRequestMessage newRequest() {
+        SessionContext context = new SessionContext();
+        context.put(CommonContextKeys.NETTY_SERVER_CHANNEL_HANDLER_CONTEXT, ctx);
+        return new HttpRequestMessageImpl(
+                context,
+                "HTTP/1.1",
+                "GET",
+                "/foo/bar",
+                new HttpQueryParams(),
+                new Headers(),
+                "127.0.0.1",
+                "http",
+                8080,
+                "localhost");
+    }
+
+    /**
+     * Stands in for a call to a local service, blocking the calling thread for the given time.
+     */
+    private static void callStub(long latencyNanos) {
+        LockSupport.parkNanos(latencyNanos);
+    }
+
+    private static final class CountingRunner extends BaseZuulFilterRunner<HttpRequestMessage, HttpRequestMessage> {
+
+        private volatile CountDownLatch done;
+
+        CountingRunner() {
+            super(
+                    FilterType.INBOUND,
+                    (filter, status) -> {},
+                    null,
+                    new FilterConstraints(List.of()),
+                    new NoopRegistry());
+        }
+
+        @Override
+        protected void resume(HttpRequestMessage zuulMesg) {
+            done.countDown();
+        }
+
+        @Override
+        public void filter(HttpRequestMessage zuulMesg) {}
+
+        @Override
+        public void filter(HttpRequestMessage zuulMesg, HttpContent chunk) {}
+    }
+
+    public static class OnEventLoopFilter extends HttpInboundSyncFilter {
+
+        private final long stubLatencyNanos;
+
+        OnEventLoopFilter(long stubLatencyNanos) {
+            this.stubLatencyNanos = stubLatencyNanos;
+        }
+
+        @Override
+        public int filterOrder() {
+            return 0;
+        }
+
+        @Override
+        public boolean shouldFilter(HttpRequestMessage msg) {
+            return true;
+        }
+
+        @Override
+        public HttpRequestMessage apply(HttpRequestMessage input) {
+            callStub(stubLatencyNanos);
+            return input;
+        }
+    }
+
+    public static class OffEventLoopFilter extends BaseBlockingFilter<HttpRequestMessage, HttpRequestMessage> {
+
+        private final long stubLatencyNanos;
+        private final Executor executor;
+
+        /**
+         * Runs on {@code executor}, or on virtual threads if it is {@code null}.
+         */
+        OffEventLoopFilter(long stubLatencyNanos, Executor executor) {
+            this.stubLatencyNanos = stubLatencyNanos;
+            this.executor = executor;
+        }
+
+        @Override
+        public FilterType filterType() {
+            return FilterType.INBOUND;
+        }
+
+        @Override
+        public int filterOrder() {
+            return 0;
+        }
+
+        @Override
+        public boolean shouldFilter(HttpRequestMessage msg) {
+            return true;
+        }
+
+        @Override
+        public HttpRequestMessage apply(HttpRequestMessage input) {
+            callStub(stubLatencyNanos);
+            return input;
+        }
+
+        @Override
+        protected Executor executor() {
+            return executor != null ? executor : super.executor();
+        }
+    }
+}
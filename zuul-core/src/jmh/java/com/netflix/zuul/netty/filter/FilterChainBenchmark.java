@@ -0,0 +1,139 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.netty.filter;
+
+import com.netflix.config.ConfigurationManager;
+import com.netflix.spectator.api.NoopRegistry;
+import com.netflix.zuul.context.CommonContextKeys;
+import com.netflix.zuul.context.SessionContext;
+import com.netflix.zuul.filters.ZuulFilter;
+import com.netflix.zuul.filters.http.HttpInboundSyncFilter;
+import com.netflix.zuul.message.Headers;
+import com.netflix.zuul.message.http.HttpQueryParams;
+import com.netflix.zuul.message.http.HttpRequestMessage;
+import com.netflix.zuul.message.http.HttpRequestMessageImpl;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Per-request cost of running an inbound chain in which one filter in ten is active: of the rest, half are disabled
+ * through their property and half decline in {@code shouldFilter}.
+ *
+ * <p>Run with {@code ./gradlew :zuul-core:jmh -Pjmh.includes=FilterChainBenchmark}.
+ */
+@State(Scope.Thread)
+public class FilterChainBenchmark {
+
+    @Param({"10", "50", "100"})
+    public int filterCount;
+
+    @Param({"true", "false"})
+    public boolean compile;
+
+    private EmbeddedChannel channel;
+    private ZuulFilterChainRunner<HttpRequestMessage> runner;
+    private HttpRequestMessage request;
+
+    @Setup
+    public void setUp() {
+        ConfigurationManager.getConfigInstance().setProperty("zuul.filterChain.compile.enabled", compile);
+        ConfigurationManager.getConfigInstance().setProperty("zuul.DisabledFilter.in.disable", true);
+
+        @SuppressWarnings("unchecked")
+        ZuulFilter<HttpRequestMessage, HttpRequestMessage>[] filters = new ZuulFilter[filterCount];
+        for (int i = 0; i < filterCount; i++) {
+            filters[i] = i % 10 == 0 ? new ActiveFilter() : i % 2 == 0 ? new DisabledFilter() : new SkippedFilter();
+        }
+        runner = new ZuulFilterChainRunner<>(
+                filters, (filter, status) -> {}, new FilterConstraints(List.of()), new NoopRegistry());
+
+        // The last handler drops the request once the chain is done, so nothing piles up in the channel.
+        channel = new EmbeddedChannel(new ChannelInboundHandlerAdapter(), new ChannelInboundHandlerAdapter() {
+            @Override
+            public void channelRead(ChannelHandlerContext ctx, Object msg) {}
+        });
+        SessionContext context = new SessionContext();
+        context.put(
+                CommonContextKeys.NETTY_SERVER_CHANNEL_HANDLER_CONTEXT,
+                channel.pipeline().firstContext());
+        request = new HttpRequestMessageImpl(
+                context,
+                "HTTP/1.1",
+                "GET",
+                "/foo/bar",
+                new HttpQueryParams(),
+                new Headers(),
+                "127.0.0.1",
+                "http",
+                8080,
+                "localhost");
+        request.storeInboundRequest();
+    }
+
+    @TearDown
+    public void tearDown() {
+        channel.finishAndReleaseAll();
+        ConfigurationManager.getConfigInstance().clearProperty("zuul.filterChain.compile.enabled");
+        ConfigurationManager.getConfigInstance().clearProperty("zuul.DisabledFilter.in.disable");
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public HttpRequestMessage runChain() {
+        runner.filter(request);
+        return request;
+    }
+
+    public static class ActiveFilter extends HttpInboundSyncFilter {
+        @Override
+        public int filterOrder() {
+            return 0;
+        }
+
+        @Override
+        public boolean shouldFilter(HttpRequestMessage msg) {
+            return true;
+        }
+
+        @Override
+        public HttpRequestMessage apply(HttpRequestMessage input) {
+            return input;
+        }
+    }
+
+    public static class DisabledFilter extends ActiveFilter {}
+
+    public static class SkippedFilter extends ActiveFilter {
+        @Override
+        public boolean shouldFilter(HttpRequestMessage msg) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.netty.server.push;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Simulates a push server holding millions of registered connections spread over a fixed set of event loops.  Run
+ * with {@code ./gradlew :zuul-core:jmh -Pjmh.includes=PushConnectionRegistryBenchmark}.
+ *
+ * <p>Besides the lookup, reconnect and iteration timings, the trial setup prints the retained heap per registered
+ * connection, measured after a full GC, which is the footprint figure of interest.  The simulated connections share
+ * a handful of channels, so the figure covers the registry and {@link PushConnection} but not the channels themselves.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class PushConnectionRegistryBenchmark {
+
+    private static final int EVENT_LOOPS = 16;
+
+    @Param({"1000000", "5000000"})
+    public int connections;
+
+    private EmbeddedChannel[] channels;
+    private ChannelHandlerContext[] contexts;
+    private String[] clientIds;
+    private PushConnectionRegistry registry;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        channels = new EmbeddedChannel[EVENT_LOOPS];
+        contexts = new ChannelHandlerContext[EVENT_LOOPS];
+        for (int i = 0; i < EVENT_LOOPS; i++) {
+            // Each embedded channel has its own event loop.
+            channels[i] = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+            contexts[i] = channels[i].pipeline().firstContext();
+        }
+        clientIds = new String[connections];
+        for (int i = 0; i < connections; i++) {
+            clientIds[i] = "customer-" + i + ":device-" + Integer.toHexString(i * 31);
+        }
+
+        long before = retainedHeap();
+        registry = new PushConnectionRegistry();
+        for (int i = 0; i < connections; i++) {
+            registry.put(clientIds[i], new PushConnection(PushProtocol.WEBSOCKET, contexts[i % EVENT_LOOPS]));
+        }
+        long after = retainedHeap();
+        System.out.printf(
+                "%n%d connections retain %d MB, %.1f bytes per connection%n",
+                connections, (after - before) >> 20, (double) (after - before) / connections);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        for (EmbeddedChannel channel : channels) {
+            channel.finishAndReleaseAll();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public PushConnection lookup() {
+        return registry.get(clientIds[ThreadLocalRandom.current().nextInt(connections)]);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Threads(8)
+    public void reconnect() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int client = random.nextInt(connections);
+        PushConnection conn = new PushConnection(PushProtocol.WEBSOCKET, contexts[random.nextInt(EVENT_LOOPS)]);
+        registry.put(clientIds[client], conn);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long iterateAll() {
+        LongAdder count = new LongAdder();
+        registry.forEach((clientId, conn) -> count.increment());
+        return count.sum();
+    }
+
+    private static long retainedHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
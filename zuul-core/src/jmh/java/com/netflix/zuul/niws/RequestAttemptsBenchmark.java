@@ -0,0 +1,95 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.niws;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.zuul.discovery.DiscoveryResult;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Thread)
+public class RequestAttemptsBenchmark {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Param({"1", "2", "3"})
+    public int attemptCount;
+
+    private DiscoveryResult server;
+    private RequestAttempts attempts;
+
+    @Setup
+    public void setUp() {
+        InstanceInfo instanceInfo = InstanceInfo.Builder.newBuilder()
+                .setAppName("API")
+                .setASGName("api-prod-v123")
+                .setInstanceId("i-0123456789abcdef")
+                .setHostName("10.0.0.1")
+                .setIPAddr("10.0.0.1")
+                .setPort(7001)
+                .build();
+        server = DiscoveryResult.from(instanceInfo, false);
+        attempts = newAttempts();
+    }
+
+    private RequestAttempts newAttempts() {
+        RequestAttempts attempts = new RequestAttempts();
+        for (int i = 1; i <= attemptCount; i++) {
+            RequestAttempt attempt = new RequestAttempt(server, null, null, i, 1000);
+            attempt.complete(i == attemptCount ? 200 : 503, 25, null);
+            attempts.add(attempt);
+        }
+        return attempts;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public RequestAttempts createAttempts() {
+        return newAttempts();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public String toJson_streaming() {
+        return attempts.toJSON();
+    }
+
+    /**
+     * The previous implementation of {@link RequestAttempts#toJSON()}, for comparison.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public String toJson_tree() throws JsonProcessingException {
+        ArrayNode array = MAPPER.createArrayNode();
+        for (RequestAttempt attempt : attempts) {
+            array.add(attempt.toJsonNode());
+        }
+        return MAPPER.writeValueAsString(array);
+    }
+}
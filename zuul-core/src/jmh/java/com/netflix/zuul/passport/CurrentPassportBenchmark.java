@@ -0,0 +1,149 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+package com.netflix.zuul.passport;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Run with {@code ./gradlew :zuul-core:jmh -Pjmh.includes=CurrentPassportBenchmark}. The gc profiler configured in
+ * the build reports {@code gc.alloc.rate.norm}, which is the per-request allocation figure of interest. Each
+ * benchmark has a {@code locking} twin running the same operation against {@link LockingPassport}, the previous
+ * implementation, so both show up side by side in one report.
+ */
+public class CurrentPassportBenchmark {
+
+    private static final PassportState[] REQUEST_LIFECYCLE = {
+        PassportState.SERVER_CH_ACTIVE,
+        PassportState.IN_REQ_HEADERS_RECEIVED,
+        PassportState.FILTERS_INBOUND_START,
+        PassportState.IN_REQ_LAST_CONTENT_RECEIVED,
+        PassportState.FILTERS_INBOUND_END,
+        PassportState.ORIGIN_CONN_ACQUIRE_START,
+        PassportState.ORIGIN_CH_CONNECTING,
+        PassportState.ORIGIN_CH_CONNECTED,
+        PassportState.ORIGIN_CH_ACTIVE,
+        PassportState.ORIGIN_CONN_ACQUIRE_END,
+        PassportState.OUT_REQ_HEADERS_SENDING,
+        PassportState.OUT_REQ_HEADERS_SENT,
+        PassportState.OUT_REQ_LAST_CONTENT_SENDING,
+        PassportState.OUT_REQ_LAST_CONTENT_SENT,
+        PassportState.IN_RESP_HEADERS_RECEIVED,
+        PassportState.IN_RESP_LAST_CONTENT_RECEIVED,
+        PassportState.ORIGIN_CH_POOL_RETURNED,
+        PassportState.FILTERS_OUTBOUND_START,
+        PassportState.FILTERS_OUTBOUND_END,
+        PassportState.OUT_RESP_HEADERS_SENDING,
+        PassportState.OUT_RESP_HEADERS_SENT,
+        PassportState.OUT_RESP_LAST_CONTENT_SENDING,
+        PassportState.OUT_RESP_LAST_CONTENT_SENT,
+        PassportState.SERVER_CH_INACTIVE,
+    };
+
+    @State(Scope.Thread)
+    public static class SingleThread {
+        @Param({"8", "24", "64"})
+        public int states;
+
+        private CurrentPassport passport;
+        private LockingPassport lockingPassport;
+
+        @Setup
+        public void setUp() {
+            passport = fill(new CurrentPassport(), states);
+            lockingPassport = fill(new LockingPassport(), states);
+        }
+
+        @Benchmark
+        @BenchmarkMode(Mode.AverageTime)
+        @OutputTimeUnit(TimeUnit.NANOSECONDS)
+        public CurrentPassport stampRequest() {
+            return fill(new CurrentPassport(), states);
+        }
+
+        @Benchmark
+        @BenchmarkMode(Mode.AverageTime)
+        @OutputTimeUnit(TimeUnit.NANOSECONDS)
+        public long calculateTimeBetween() {
+            return passport.calculateTimeBetween(passport.findStartAndEndStates(
+                    PassportState.ORIGIN_CONN_ACQUIRE_START, PassportState.ORIGIN_CONN_ACQUIRE_END));
+        }
+
+        @Benchmark
+        @BenchmarkMode(Mode.AverageTime)
+        @OutputTimeUnit(TimeUnit.NANOSECONDS)
+        public PassportItem findState() {
+            return passport.findState(PassportState.OUT_RESP_LAST_CONTENT_SENT);
+        }
+
+        @Benchmark
+        @BenchmarkMode(Mode.AverageTime)
+        @OutputTimeUnit(TimeUnit.NANOSECONDS)
+        public String toStringPassport() {
+            return passport.toString();
+        }
+
+        @Benchmark
+        @BenchmarkMode(Mode.AverageTime)
+        @OutputTimeUnit(TimeUnit.NANOSECONDS)
+        public LockingPassport lockingStampRequest() {
+            return fill(new LockingPassport(), states);
+        }
+
+        @Benchmark
+        @BenchmarkMode(Mode.AverageTime)
+        @OutputTimeUnit(TimeUnit.NANOSECONDS)
+        public long lockingCalculateTimeBetween() {
+            return lockingPassport.calculateTimeBetween(lockingPassport.findStartAndEndStates(
+                    PassportState.ORIGIN_CONN_ACQUIRE_START, PassportState.ORIGIN_CONN_ACQUIRE_END));
+        }
+
+        @Benchmark
+        @BenchmarkMode(Mode.AverageTime)
+        @OutputTimeUnit(TimeUnit.NANOSECONDS)
+        public PassportItem lockingFindState() {
+            return lockingPassport.findState(PassportState.OUT_RESP_LAST_CONTENT_SENT);
+        }
+
+        @Benchmark
+        @BenchmarkMode(Mode.AverageTime)
+        @OutputTimeUnit(TimeUnit.NANOSECONDS)
+        public String lockingToStringPassport() {
+            return lockingPassport.toString();
+        }
+    }
+
+    private static CurrentPassport fill(CurrentPassport passport, int count) {
+        for (int i = 0; i < count; i++) {
+            passport.add(REQUEST_LIFECYCLE[i % REQUEST_LIFECYCLE.length]);
+        }
+        return passport;
+    }
+
+    private static LockingPassport fill(LockingPassport passport, int count) {
+        for (int i = 0; i < count; i++) {
+            passport.add(REQUEST_LIFECYCLE[i % REQUEST_LIFECYCLE.length]);
+        }
+        return passport;
+    }
+}
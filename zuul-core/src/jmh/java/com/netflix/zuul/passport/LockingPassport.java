@@ -0,0 +1,139 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+package com.netflix.zuul.passport;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The lock-guarded {@link ArrayDeque} passport that {@link CurrentPassport} replaced, kept only as a baseline for
+ * {@link CurrentPassportBenchmark}. Only the operations the benchmark exercises are carried over.
+ */
+final class LockingPassport {
+    private static final Logger logger = LoggerFactory.getLogger(LockingPassport.class);
+
+    private final ArrayDeque<PassportItem> history = new ArrayDeque<>();
+    // Unread here, but populated on every add as the old implementation did.
+    private final HashSet<PassportState> statesAdded = new HashSet<>();
+    private final long creationTimeSinceEpochMs = System.currentTimeMillis();
+
+    private final IntrospectiveReentrantLock historyLock = new IntrospectiveReentrantLock();
+    private final Unlocker unlocker = new Unlocker();
+
+    private final class Unlocker implements AutoCloseable {
+
+        @Override
+        public void close() {
+            historyLock.unlock();
+        }
+    }
+
+    private static final class IntrospectiveReentrantLock extends ReentrantLock {
+
+        @Override
+        protected Thread getOwner() {
+            return super.getOwner();
+        }
+    }
+
+    private Unlocker lock() {
+        boolean locked = false;
+        if ((historyLock.isLocked() && !historyLock.isHeldByCurrentThread()) || !(locked = historyLock.tryLock())) {
+            Thread owner = historyLock.getOwner();
+            String ownerStack = String.valueOf(owner != null ? Arrays.asList(owner.getStackTrace()) : historyLock);
+            logger.warn(
+                    "CurrentPassport already locked!, other={}, self={}",
+                    ownerStack,
+                    Thread.currentThread(),
+                    new ConcurrentModificationException());
+        }
+        if (!locked) {
+            historyLock.lock();
+        }
+        return unlocker;
+    }
+
+    void add(PassportState state) {
+        try (Unlocker ignored = lock()) {
+            history.addLast(new PassportItem(state, System.nanoTime()));
+        }
+        statesAdded.add(state);
+    }
+
+    long calculateTimeBetween(StartAndEnd sae) {
+        if (sae.startNotFound() || sae.endNotFound()) {
+            return 0;
+        }
+        return sae.endTime - sae.startTime;
+    }
+
+    StartAndEnd findStartAndEndStates(PassportState startState, PassportState endState) {
+        StartAndEnd sae = new StartAndEnd();
+        try (Unlocker ignored = lock()) {
+            for (PassportItem item : history) {
+                if (item.getState() == startState) {
+                    sae.startTime = item.getTime();
+                } else if (item.getState() == endState) {
+                    sae.endTime = item.getTime();
+                }
+            }
+        }
+        return sae;
+    }
+
+    PassportItem findState(PassportState state) {
+        try (Unlocker ignored = lock()) {
+            for (PassportItem item : history) {
+                if (item.getState() == state) {
+                    return item;
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        try (Unlocker ignored = lock()) {
+            long startTime = history.isEmpty() ? 0 : history.getFirst().getTime();
+            long now = System.nanoTime();
+
+            StringBuilder sb = new StringBuilder();
+            sb.append("CurrentPassport {");
+            sb.append("start_ms=").append(creationTimeSinceEpochMs).append(", ");
+
+            sb.append('[');
+            for (PassportItem item : history) {
+                sb.append('+')
+                        .append(item.getTime() - startTime)
+                        .append('=')
+                        .append(item.getState().name())
+                        .append(", ");
+            }
+            sb.append('+').append(now - startTime).append('=').append("NOW");
+            sb.append(']');
+
+            sb.append('}');
+
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.netty.common.accesslog;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Encodes {@link AccessLogRecord}s for an {@link AsyncAccessLogWriter}. Implementations are only ever called from the
+ * writer's background thread, so they may keep reusable scratch state.
+ */
+public interface AccessLogFormat {
+
+    /**
+     * Appends the encoded record to {@code out}, including any line terminator or length prefix needed to separate it
+     * from the next record.
+     */
+    void encode(AccessLogRecord record, ByteBuf out);
+}
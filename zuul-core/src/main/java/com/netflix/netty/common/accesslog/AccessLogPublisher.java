@@ -23,34 +23,47 @@ import io.netty.handler.codec.http.HttpHeaders;
 import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http.HttpResponse;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Locale;
 import java.util.function.BiFunction;
+import javax.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class AccessLogPublisher {
-    private static final char DELIM = '\t';
-    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
-
-    private static final List<String> LOG_REQ_HEADERS = new DynamicStringListProperty(
+    private static final List<String> LOG_REQ_HEADERS = List.copyOf(new DynamicStringListProperty(
                     "zuul.access.log.requestheaders",
                     "host,x-forwarded-for,x-forwarded-proto,x-forwarded-host,x-forwarded-port,user-agent")
-            .get();
-    private static final List<String> LOG_RESP_HEADERS =
-            new DynamicStringListProperty("zuul.access.log.responseheaders", "server,via,content-type").get();
+            .get());
+    private static final List<String> LOG_RESP_HEADERS = List.copyOf(
+            new DynamicStringListProperty("zuul.access.log.responseheaders", "server,via,content-type").get());
+    private static final String[] NO_HEADERS = new String[0];
     private static final DynamicIntProperty URI_LENGTH_LIMIT =
             new DynamicIntProperty("zuul.access.log.uri.length.limit", Integer.MAX_VALUE);
 
     private final Logger logger;
     private final BiFunction<Channel, HttpRequest, String> requestIdProvider;
 
+    @Nullable
+    private final AsyncAccessLogWriter writer;
+
     private static final Logger LOG = LoggerFactory.getLogger(AccessLogPublisher.class);
 
     public AccessLogPublisher(String loggerName, BiFunction<Channel, HttpRequest, String> requestIdProvider) {
+        this(loggerName, requestIdProvider, null);
+    }
+
+    /**
+     * If {@code writer} is non-null, records are handed off to it to be formatted and written in the background,
+     * instead of being formatted and logged to {@code loggerName} on the calling thread.
+     */
+    public AccessLogPublisher(
+            String loggerName,
+            BiFunction<Channel, HttpRequest, String> requestIdProvider,
+            @Nullable AsyncAccessLogWriter writer) {
         this.logger = LoggerFactory.getLogger(loggerName);
         this.requestIdProvider = requestIdProvider;
+        this.writer = writer;
     }
 
     public void log(
@@ -63,17 +76,12 @@ public class AccessLogPublisher {
             Long durationNs,
             Long requestBodySize,
             Long responseBodySize) {
-        StringBuilder sb = new StringBuilder(512);
-
-        String dateTimeStr = dateTime != null ? dateTime.format(DATE_TIME_FORMATTER) : "-----T-:-:-";
-        String remoteIpStr = (remoteIp != null && !remoteIp.isEmpty()) ? remoteIp : "-";
-        String port = localPort != null ? localPort.toString() : "-";
-        String method = request != null ? request.method().toString().toUpperCase(Locale.ROOT) : "-";
-        String uri = request != null ? request.uri() : "-";
-        if (uri.length() > URI_LENGTH_LIMIT.get()) {
+        String method = request != null ? request.method().toString().toUpperCase(Locale.ROOT) : null;
+        String uri = request != null ? request.uri() : null;
+        if (uri != null && uri.length() > URI_LENGTH_LIMIT.get()) {
             uri = uri.substring(0, URI_LENGTH_LIMIT.get());
         }
-        String status = response != null ? String.valueOf(response.status().code()) : "-";
+        int status = response != null ? response.status().code() : -1;
 
         String requestId = null;
         try {
@@ -82,59 +90,47 @@ public class AccessLogPublisher {
             LOG.error(
                     "requestIdProvider failed in AccessLogPublisher method={}, uri={}, status={}", method, uri, status);
         }
-        requestId = requestId != null ? requestId : "-";
-
-        // Convert duration to microseconds.
-        String durationStr = (durationNs != null && durationNs > 0) ? String.valueOf(durationNs / 1000) : "-";
 
-        String requestBodySizeStr = (requestBodySize != null && requestBodySize > 0) ? requestBodySize.toString() : "-";
-        String responseBodySizeStr =
-                (responseBodySize != null && responseBodySize > 0) ? responseBodySize.toString() : "-";
-
-        // Build the line.
-        sb.append(dateTimeStr)
-                .append(DELIM)
-                .append(remoteIpStr)
-                .append(DELIM)
-                .append(port)
-                .append(DELIM)
-                .append(method)
-                .append(DELIM)
-                .append(uri)
-                .append(DELIM)
-                .append(status)
-                .append(DELIM)
-                .append(durationStr)
-                .append(DELIM)
-                .append(responseBodySizeStr)
-                .append(DELIM)
-                .append(requestId)
-                .append(DELIM)
-                .append(requestBodySizeStr);
-
-        if (request != null && request.headers() != null) {
-            includeMatchingHeaders(sb, LOG_REQ_HEADERS, request.headers());
-        }
-
-        if (response != null && response.headers() != null) {
-            includeMatchingHeaders(sb, LOG_RESP_HEADERS, response.headers());
+        AccessLogRecord record = new AccessLogRecord(
+                dateTime,
+                remoteIp,
+                localPort != null ? localPort : -1,
+                method,
+                uri,
+                status,
+                durationNs != null ? durationNs : 0,
+                requestBodySize != null ? requestBodySize : 0,
+                responseBodySize != null ? responseBodySize : 0,
+                requestId,
+                LOG_REQ_HEADERS,
+                matchingHeaders(LOG_REQ_HEADERS, request != null ? request.headers() : null),
+                LOG_RESP_HEADERS,
+                matchingHeaders(LOG_RESP_HEADERS, response != null ? response.headers() : null));
+
+        if (writer != null) {
+            writer.offer(record);
+            return;
         }
 
         // Write to logger.
-        String access = sb.toString();
+        String access = TsvAccessLogFormat.format(record);
         logger.info(access);
-        LOG.debug(access);
     }
 
-    void includeMatchingHeaders(StringBuilder builder, List<String> requiredHeaders, HttpHeaders headers) {
-        for (String headerName : requiredHeaders) {
-            String value = headerAsString(headers, headerName);
-            builder.append(DELIM).append('\"').append(value).append('\"');
+    String[] matchingHeaders(List<String> requiredHeaders, @Nullable HttpHeaders headers) {
+        if (headers == null) {
+            return NO_HEADERS;
+        }
+        String[] values = new String[requiredHeaders.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = headerAsString(headers, requiredHeaders.get(i));
         }
+        return values;
     }
 
+    @Nullable
     String headerAsString(HttpHeaders headers, String headerName) {
         List<String> values = headers.getAll(headerName);
-        return values.isEmpty() ? "-" : String.join(",", values);
+        return values.isEmpty() ? null : String.join(",", values);
     }
 }
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.netty.common.accesslog;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import javax.annotation.Nullable;
+
+/**
+ * The fields of a single access log entry, captured on the event loop and formatted later by an
+ * {@link AccessLogFormat}.
+ *
+ * <p>Header values are captured (and multiple values joined) up front, as the request and response may be released
+ * before the record is formatted. The header name lists are shared between all records.
+ *
+ * @param dateTime the time the request started, or {@code null} if unknown
+ * @param remoteIp the client address, or {@code null} if unknown
+ * @param localPort the listening port, or {@code -1} if unknown
+ * @param method the upper-cased request method, or {@code null} if there was no request
+ * @param uri the (possibly truncated) request uri, or {@code null} if there was no request
+ * @param status the response status code, or {@code -1} if there was no response
+ * @param durationNs the request duration in nanoseconds, or {@code 0} if unknown
+ * @param requestBodySize the request body size in bytes, or {@code 0} if empty or unknown
+ * @param responseBodySize the response body size in bytes, or {@code 0} if empty or unknown
+ * @param requestId the request id, or {@code null} if unknown
+ * @param requestHeaderNames the names of the logged request headers
+ * @param requestHeaderValues the values of the logged request headers in name order, with {@code null} entries for
+ *     missing headers, or empty if there was no request
+ * @param responseHeaderNames the names of the logged response headers
+ * @param responseHeaderValues the values of the logged response headers in name order, with {@code null} entries for
+ *     missing headers, or empty if there was no response
+ */
+public record AccessLogRecord(
+        @Nullable LocalDateTime dateTime,
+        @Nullable String remoteIp,
+        int localPort,
+        @Nullable String method,
+        @Nullable String uri,
+        int status,
+        long durationNs,
+        long requestBodySize,
+        long responseBodySize,
+        @Nullable String requestId,
+        List<String> requestHeaderNames,
+        String[] requestHeaderValues,
+        List<String> responseHeaderNames,
+        String[] responseHeaderValues) {}
@@ -0,0 +1,322 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.netty.common.accesslog;
+
+import com.netflix.netty.common.accesslog.AsyncAccessLogWriterConfig.OverflowPolicy;
+import com.netflix.spectator.api.Counter;
+import com.netflix.spectator.api.Registry;
+import com.netflix.spectator.api.patterns.PolledMeter;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.util.internal.PlatformDependent;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes access log records to a file from a background thread, so that the event loops only have to hand off a
+ * record rather than format and write it.
+ *
+ * <p>Records are passed through a bounded, lock-free multi-producer / single-consumer queue. The writer thread encodes
+ * them with the configured {@link AccessLogFormat} into a reusable buffer, and writes the buffer to a
+ * {@link FileChannel} once a batch has filled up or the flush interval has passed. The file can be rotated by size,
+ * by age, or both. Rotated files are named after the time of rotation, with a sequence number added when that name is
+ * already taken. While there is nothing to write the writer thread sleeps until a record is offered or the next flush
+ * or rotation is due.
+ *
+ * <p>Metrics: {@code zuul.accesslog.written} (records written to the file), {@code zuul.accesslog.dropped} (queue
+ * full with {@link OverflowPolicy#DROP}, or offered after {@link #close()}), {@code zuul.accesslog.errors} (encoding or
+ * I/O failures) and {@code zuul.accesslog.queue.size}.
+ */
+public class AsyncAccessLogWriter implements Closeable {
+    private static final Logger LOG = LoggerFactory.getLogger(AsyncAccessLogWriter.class);
+
+    private static final long BLOCKED_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(10);
+    private static final DateTimeFormatter ROTATED_SUFFIX_FORMATTER =
+            DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss.SSS");
+
+    private final Path file;
+    private final AccessLogFormat format;
+    private final OverflowPolicy overflowPolicy;
+    private final int batchSizeBytes;
+    private final long flushIntervalNanos;
+    private final long maxFileSizeBytes;
+    private final long rotationIntervalNanos;
+
+    private final Queue<AccessLogRecord> queue;
+    private final Counter writtenCounter;
+    private final Counter droppedCounter;
+    private final Counter errorCounter;
+    private final Thread thread;
+
+    private volatile boolean running;
+    private volatile boolean closed;
+    // Set by the writer thread while it is parked waiting for records, so that producers know to wake it.
+    private volatile boolean idle;
+
+    // Only accessed from the writer thread after start().
+    private final ByteBuf buffer;
+    private FileChannel channel;
+    private long fileSize;
+    private long fileOpenedNanos;
+    private long lastFlushNanos;
+    private boolean rotating;
+    // Records encoded into the buffer since it was last written out.
+    private int bufferedRecords;
+
+    public AsyncAccessLogWriter(AsyncAccessLogWriterConfig config, Registry registry) {
+        this.file = config.getFile();
+        this.format = Objects.requireNonNull(config.getFormat());
+        this.overflowPolicy = Objects.requireNonNull(config.getOverflowPolicy());
+        this.batchSizeBytes = config.getBatchSizeBytes();
+        this.flushIntervalNanos = config.getFlushInterval().toNanos();
+        this.maxFileSizeBytes = config.getMaxFileSizeBytes();
+        this.rotationIntervalNanos = config.getRotationInterval().toNanos();
+
+        this.queue = PlatformDependent.newFixedMpscQueue(config.getQueueCapacity());
+        this.buffer = Unpooled.buffer(batchSizeBytes * 2);
+        this.writtenCounter = registry.counter("zuul.accesslog.written");
+        this.droppedCounter = registry.counter("zuul.accesslog.dropped");
+        this.errorCounter = registry.counter("zuul.accesslog.errors");
+        PolledMeter.using(registry).withName("zuul.accesslog.queue.size").monitorSize(queue);
+
+        this.thread = new Thread(this::run, "zuul-access-log-writer");
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Opens the log file and starts the writer thread.
+     */
+    public synchronized void start() throws IOException {
+        if (running) {
+            throw new IllegalStateException("Already started");
+        }
+        openFile();
+        running = true;
+        thread.start();
+    }
+
+    /**
+     * Queues a record to be written. Safe to call from any thread.
+     *
+     * @return {@code false} if the record was dropped because the queue was full, or the writer has been closed.
+     */
+    public boolean offer(AccessLogRecord record) {
+        if (closed) {
+            // The writer thread may already have drained the queue for the last time.
+            droppedCounter.increment();
+            return false;
+        }
+        if (queue.offer(record)) {
+            wakeWriter();
+            return true;
+        }
+        if (overflowPolicy == OverflowPolicy.BLOCK) {
+            while (running) {
+                LockSupport.parkNanos(BLOCKED_PARK_NANOS);
+                if (queue.offer(record)) {
+                    wakeWriter();
+                    return true;
+                }
+            }
+        }
+        droppedCounter.increment();
+        return false;
+    }
+
+    /**
+     * Stops accepting new records, writes out everything already queued, and closes the file.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void wakeWriter() {
+        // The queue offer is a full fence, so either this sees the writer idle or the writer sees the record.
+        if (idle) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    private void run() {
+        lastFlushNanos = System.nanoTime();
+        while (running || !queue.isEmpty()) {
+            AccessLogRecord record = queue.poll();
+            if (record != null) {
+                encode(record);
+                if (buffer.readableBytes() >= batchSizeBytes) {
+                    flush();
+                }
+                continue;
+            }
+
+            long now = System.nanoTime();
+            if (buffer.isReadable() && now - lastFlushNanos >= flushIntervalNanos) {
+                flush();
+            }
+            if (isRotationDue(now)) {
+                rotate();
+            }
+            park(now);
+        }
+
+        flush();
+        closeFile();
+    }
+
+    /**
+     * Sleeps until a record is offered, the writer is closed, or the next flush or timed rotation is due.
+     */
+    private void park(long now) {
+        long deadline = Long.MAX_VALUE;
+        if (buffer.isReadable()) {
+            deadline = lastFlushNanos + flushIntervalNanos;
+        }
+        if (rotationIntervalNanos > 0 && fileSize > 0) {
+            deadline = Math.min(deadline, fileOpenedNanos + rotationIntervalNanos);
+        }
+        idle = true;
+        try {
+            if (!running || !queue.isEmpty()) {
+                return;
+            }
+            if (deadline == Long.MAX_VALUE) {
+                LockSupport.park(this);
+            } else if (deadline - now > 0) {
+                LockSupport.parkNanos(this, deadline - now);
+            }
+        } finally {
+            idle = false;
+        }
+    }
+
+    private boolean isRotationDue(long now) {
+        return rotationIntervalNanos > 0 && fileSize > 0 && now - fileOpenedNanos >= rotationIntervalNanos;
+    }
+
+    private void encode(AccessLogRecord record) {
+        int mark = buffer.writerIndex();
+        try {
+            format.encode(record, buffer);
+            bufferedRecords++;
+        } catch (RuntimeException e) {
+            buffer.writerIndex(mark);
+            errorCounter.increment();
+            LOG.warn("Failed to encode access log record {}", record, e);
+        }
+    }
+
+    private void flush() {
+        lastFlushNanos = System.nanoTime();
+        if (!buffer.isReadable()) {
+            return;
+        }
+        try {
+            if (channel == null) {
+                // A previous rotation failed to reopen the file.
+                openFile();
+            }
+            while (buffer.isReadable()) {
+                fileSize += buffer.readBytes(channel, buffer.readableBytes());
+            }
+            writtenCounter.increment(bufferedRecords);
+        } catch (IOException e) {
+            errorCounter.increment();
+            LOG.warn("Failed to write access log to {}", file, e);
+        } finally {
+            buffer.clear();
+            bufferedRecords = 0;
+        }
+        if (maxFileSizeBytes > 0 && fileSize >= maxFileSizeBytes) {
+            rotate();
+        }
+    }
+
+    private void rotate() {
+        // flush() may ask to rotate again while the file is being rotated.
+        if (rotating) {
+            return;
+        }
+        rotating = true;
+        try {
+            flush();
+            closeFile();
+            Path rotated = rotatedFile();
+            try {
+                Files.move(file, rotated);
+            } catch (IOException e) {
+                errorCounter.increment();
+                LOG.warn("Failed to rotate access log {} to {}", file, rotated, e);
+            }
+            try {
+                openFile();
+            } catch (IOException e) {
+                errorCounter.increment();
+                LOG.error("Failed to reopen access log {}", file, e);
+            }
+        } finally {
+            rotating = false;
+        }
+    }
+
+    private Path rotatedFile() {
+        String name = file.getFileName() + "." + ROTATED_SUFFIX_FORMATTER.format(LocalDateTime.now());
+        Path rotated = file.resolveSibling(name);
+        for (int seq = 1; Files.exists(rotated); seq++) {
+            rotated = file.resolveSibling(name + "." + seq);
+        }
+        return rotated;
+    }
+
+    private void openFile() throws IOException {
+        channel = FileChannel.open(
+                file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        fileSize = channel.size();
+        fileOpenedNanos = System.nanoTime();
+    }
+
+    private void closeFile() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            LOG.warn("Failed to close access log {}", file, e);
+        }
+        channel = null;
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.netty.common.accesslog;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Configuration for an {@link AsyncAccessLogWriter}.
+ */
+@Getter
+@Builder
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+public class AsyncAccessLogWriterConfig {
+
+    /**
+     * What to do when a record is logged while the queue is full.
+     */
+    public enum OverflowPolicy {
+        /** Discard the record and count it in {@code zuul.accesslog.dropped}. */
+        DROP,
+        /**
+         * Wait until the writer has made room. This stalls the calling event loop, so should only be used where losing
+         * access log records is worse than added latency.
+         */
+        BLOCK
+    }
+
+    /** The file to write to. Rotated files are renamed alongside it with a timestamp suffix. */
+    @NonNull
+    private final Path file;
+
+    @Builder.Default
+    private final AccessLogFormat format = new TsvAccessLogFormat();
+
+    /** The maximum number of records waiting to be written, rounded up to a power of two. */
+    @Builder.Default
+    private final int queueCapacity = 64 * 1024;
+
+    @Builder.Default
+    private final OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+
+    /** Encoded records are written to the file once this many bytes have been buffered. */
+    @Builder.Default
+    private final int batchSizeBytes = 64 * 1024;
+
+    /** The longest a partially filled batch is held before being written. */
+    @Builder.Default
+    private final Duration flushInterval = Duration.ofMillis(200);
+
+    /** Rotate once the file reaches this size. {@code 0} disables size based rotation. */
+    @Builder.Default
+    private final long maxFileSizeBytes = 0;
+
+    /** Rotate once the file has been open this long. {@link Duration#ZERO} disables time based rotation. */
+    @Builder.Default
+    private final Duration rotationInterval = Duration.ZERO;
+}
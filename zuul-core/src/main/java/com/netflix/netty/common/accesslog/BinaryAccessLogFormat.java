@@ -0,0 +1,95 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.netty.common.accesslog;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import java.time.ZoneId;
+
+/**
+ * A compact, length-prefixed binary encoding, for when access logs are shipped to another system rather than read by
+ * people.  Each record is laid out as (all integers big-endian):
+ *
+ * <pre>
+ *   int32  length of the rest of the record
+ *   byte   version (currently 1)
+ *   int64  start time in millis since epoch, or -1
+ *   int32  local port, or -1
+ *   int16  status, or -1
+ *   int64  duration in nanos
+ *   int64  request body size
+ *   int64  response body size
+ *   str    remote ip
+ *   str    method
+ *   str    uri
+ *   str    request id
+ *   int16  number of request header values, followed by that many str
+ *   int16  number of response header values, followed by that many str
+ * </pre>
+ *
+ * where {@code str} is an int32 byte length followed by UTF-8 bytes, with a length of -1 for a missing value. Header
+ * names are not written; they are the configured {@code zuul.access.log.requestheaders} and
+ * {@code zuul.access.log.responseheaders} lists, in order.
+ */
+public class BinaryAccessLogFormat implements AccessLogFormat {
+    static final byte VERSION = 1;
+
+    @Override
+    public void encode(AccessLogRecord record, ByteBuf out) {
+        int lengthIndex = out.writerIndex();
+        out.writeInt(0);
+        out.writeByte(VERSION);
+        // Access log times are local to the system time zone.
+        out.writeLong(
+                record.dateTime() != null
+                        ? record.dateTime()
+                                .atZone(ZoneId.systemDefault())
+                                .toInstant()
+                                .toEpochMilli()
+                        : -1);
+        out.writeInt(record.localPort());
+        out.writeShort(record.status());
+        out.writeLong(record.durationNs());
+        out.writeLong(record.requestBodySize());
+        out.writeLong(record.responseBodySize());
+        writeString(out, record.remoteIp());
+        writeString(out, record.method());
+        writeString(out, record.uri());
+        writeString(out, record.requestId());
+        writeStrings(out, record.requestHeaderValues());
+        writeStrings(out, record.responseHeaderValues());
+        out.setInt(lengthIndex, out.writerIndex() - lengthIndex - Integer.BYTES);
+    }
+
+    private static void writeStrings(ByteBuf out, String[] values) {
+        out.writeShort(values.length);
+        for (String value : values) {
+            writeString(out, value);
+        }
+    }
+
+    private static void writeString(ByteBuf out, String value) {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        int lengthIndex = out.writerIndex();
+        out.writeInt(0);
+        int written = ByteBufUtil.writeUtf8(out, value);
+        out.setInt(lengthIndex, written);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.netty.common.accesslog;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * One JSON object per line. Missing values are omitted rather than written as {@code "-"}, and header values are
+ * written as objects keyed by header name.
+ */
+public class JsonLinesAccessLogFormat implements AccessLogFormat {
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    @Override
+    public void encode(AccessLogRecord record, ByteBuf out) {
+        try (JsonGenerator gen = JSON_FACTORY.createGenerator((OutputStream) new ByteBufOutputStream(out))) {
+            gen.writeStartObject();
+            if (record.dateTime() != null) {
+                gen.writeStringField("time", DATE_TIME_FORMATTER.format(record.dateTime()));
+            }
+            writeStringIfPresent(gen, "remote_ip", record.remoteIp());
+            writeNumberIfPositive(gen, "port", record.localPort());
+            writeStringIfPresent(gen, "method", record.method());
+            writeStringIfPresent(gen, "uri", record.uri());
+            writeNumberIfPositive(gen, "status", record.status());
+            writeNumberIfPositive(gen, "duration_us", record.durationNs() / 1000);
+            writeNumberIfPositive(gen, "response_body_size", record.responseBodySize());
+            writeStringIfPresent(gen, "request_id", record.requestId());
+            writeNumberIfPositive(gen, "request_body_size", record.requestBodySize());
+            writeHeaders(gen, "request_headers", record.requestHeaderNames(), record.requestHeaderValues());
+            writeHeaders(gen, "response_headers", record.responseHeaderNames(), record.responseHeaderValues());
+            gen.writeEndObject();
+            gen.writeRaw('\n');
+        } catch (IOException e) {
+            // Only possible if the underlying buffer can't grow any further.
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeStringIfPresent(JsonGenerator gen, String name, String value) throws IOException {
+        if (value != null && !value.isEmpty()) {
+            gen.writeStringField(name, value);
+        }
+    }
+
+    private static void writeNumberIfPositive(JsonGenerator gen, String name, long value) throws IOException {
+        if (value > 0) {
+            gen.writeNumberField(name, value);
+        }
+    }
+
+    private static void writeHeaders(JsonGenerator gen, String name, List<String> names, String[] values)
+            throws IOException {
+        gen.writeObjectFieldStart(name);
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                gen.writeStringField(names.get(i), values[i]);
+            }
+        }
+        gen.writeEndObject();
+    }
+}
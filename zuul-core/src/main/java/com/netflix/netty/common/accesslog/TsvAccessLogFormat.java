@@ -0,0 +1,97 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.netty.common.accesslog;
+
+import io.netty.buffer.ByteBuf;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * The classic tab-delimited access log line, as written by {@link AccessLogPublisher}, one per line.
+ */
+public class TsvAccessLogFormat implements AccessLogFormat {
+    private static final char DELIM = '\t';
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    private final StringBuilder scratch = new StringBuilder(512);
+
+    @Override
+    public void encode(AccessLogRecord record, ByteBuf out) {
+        scratch.setLength(0);
+        appendTo(scratch, record);
+        scratch.append('\n');
+        out.writeCharSequence(scratch, StandardCharsets.UTF_8);
+    }
+
+    static String format(AccessLogRecord record) {
+        StringBuilder sb = new StringBuilder(512);
+        appendTo(sb, record);
+        return sb.toString();
+    }
+
+    static void appendTo(StringBuilder sb, AccessLogRecord record) {
+        if (record.dateTime() != null) {
+            DATE_TIME_FORMATTER.formatTo(record.dateTime(), sb);
+        } else {
+            sb.append("-----T-:-:-");
+        }
+        sb.append(DELIM);
+        appendOrDash(sb, record.remoteIp());
+        sb.append(DELIM);
+        appendOrDash(sb, record.localPort());
+        sb.append(DELIM);
+        appendOrDash(sb, record.method());
+        sb.append(DELIM);
+        appendOrDash(sb, record.uri());
+        sb.append(DELIM);
+        appendOrDash(sb, record.status());
+        sb.append(DELIM);
+        if (record.durationNs() > 0) {
+            // Convert duration to microseconds.
+            sb.append(record.durationNs() / 1000);
+        } else {
+            sb.append('-');
+        }
+        sb.append(DELIM);
+        appendOrDash(sb, record.responseBodySize());
+        sb.append(DELIM);
+        appendOrDash(sb, record.requestId());
+        sb.append(DELIM);
+        appendOrDash(sb, record.requestBodySize());
+
+        appendHeaders(sb, record.requestHeaderValues());
+        appendHeaders(sb, record.responseHeaderValues());
+    }
+
+    private static void appendHeaders(StringBuilder sb, String[] values) {
+        for (String value : values) {
+            sb.append(DELIM).append('\"').append(value != null ? value : "-").append('\"');
+        }
+    }
+
+    private static void appendOrDash(StringBuilder sb, String value) {
+        sb.append(value != null && !value.isEmpty() ? value : "-");
+    }
+
+    private static void appendOrDash(StringBuilder sb, long value) {
+        if (value > 0) {
+            sb.append(value);
+        } else {
+            sb.append('-');
+        }
+    }
+}
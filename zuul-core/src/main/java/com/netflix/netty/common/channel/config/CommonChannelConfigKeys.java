@@ -43,6 +43,12 @@ public class CommonChannelConfigKeys {
     /** The HTTP request read timeout, in milliseconds */
     public static final ChannelConfigKey<Integer> httpRequestReadTimeout =
             new ChannelConfigKey<>("httpRequestReadTimeout", 5000);
+    /**
+     * The end-to-end deadline of requests that don't carry one in a header, in milliseconds, or 0 for none.  Only
+     * applied when {@code zuul.request.deadline.enabled} is set.
+     */
+    public static final ChannelConfigKey<Integer> requestDeadline = new ChannelConfigKey<>("requestDeadline", 0);
+
     /** The maximum number of inbound connections to proxy. */
     public static final ChannelConfigKey<Integer> maxConnections = new ChannelConfigKey<>("maxConnections", 20000);
 
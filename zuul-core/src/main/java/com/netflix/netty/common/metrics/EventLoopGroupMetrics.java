@@ -16,11 +16,16 @@
 
 package com.netflix.netty.common.metrics;
 
+import com.netflix.config.CachedDynamicBooleanProperty;
+import com.netflix.config.CachedDynamicIntProperty;
 import com.netflix.spectator.api.Registry;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.EventExecutorGroup;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * User: michaels@netflix.com
@@ -29,8 +34,14 @@ import java.util.Map;
  */
 @Singleton
 public class EventLoopGroupMetrics {
+    private static final CachedDynamicBooleanProperty HEALTH_PROBE_ENABLED =
+            new CachedDynamicBooleanProperty("server.eventloop.probe.enabled", true);
+    private static final CachedDynamicIntProperty HEALTH_PROBE_INTERVAL_MS =
+            new CachedDynamicIntProperty("server.eventloop.probe.interval.ms", 1000);
+
     private final ThreadLocal<EventLoopMetrics> metricsForCurrentThread;
-    private final Map<Thread, EventLoopMetrics> byEventLoop = new HashMap<>();
+    // Populated from each event loop thread as it is first used.
+    private final Map<Thread, EventLoopMetrics> byEventLoop = new ConcurrentHashMap<>();
 
     @Inject
     public EventLoopGroupMetrics(Registry registry) {
@@ -63,6 +74,23 @@ public class EventLoopGroupMetrics {
         return metricsForCurrentThread.get();
     }
 
+    /**
+     * Eagerly creates the metrics for each event loop in the group, rather than on first use, and starts an
+     * {@link EventLoopHealthProbe} on each of them if enabled.
+     */
+    public void registerEventLoops(EventExecutorGroup group) {
+        boolean probeEnabled = HEALTH_PROBE_ENABLED.get();
+        long intervalMs = HEALTH_PROBE_INTERVAL_MS.get();
+        for (EventExecutor eventLoop : group) {
+            eventLoop.execute(() -> {
+                EventLoopMetrics metrics = getForCurrentEventLoop();
+                if (probeEnabled) {
+                    metrics.startHealthProbe(eventLoop, intervalMs);
+                }
+            });
+        }
+    }
+
     private static String nameForCurrentEventLoop() {
         // We're relying on the knowledge that we name the eventloop threads consistently.
         String threadName = Thread.currentThread().getName();
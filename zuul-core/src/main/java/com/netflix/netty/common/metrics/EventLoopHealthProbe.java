@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.netty.common.metrics;
+
+import com.netflix.spectator.api.Gauge;
+import com.netflix.spectator.api.Registry;
+import com.netflix.spectator.api.histogram.PercentileTimer;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.ScheduledFuture;
+import io.netty.util.concurrent.SingleThreadEventExecutor;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A periodic task that runs on an event loop and reports how saturated it is:
+ *
+ * <ul>
+ *     <li>{@code server.eventloop.tasks.pending} - the number of tasks waiting in the event loop's task queue.
+ *     <li>{@code server.eventloop.scheduling.lag} - how long after its deadline the probe actually ran.  Since the
+ *         probe can only run once the loop has finished its current I/O and task processing, this is the delay any
+ *         other task submitted to the loop would see.
+ *     <li>{@code server.eventloop.busy.ratio} - CPU time used by the event loop thread divided by wall time since the
+ *         previous probe.  An event loop blocked waiting for I/O uses no CPU, so this approaches 1 when saturated.
+ * </ul>
+ *
+ * <p>All of the meters are resolved up front, and the probe itself does not allocate.
+ */
+public final class EventLoopHealthProbe implements Runnable {
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    private static final Duration MIN_LAG = Duration.ofNanos(1000);
+    private static final Duration MAX_LAG = Duration.ofSeconds(30);
+
+    private final EventExecutor eventLoop;
+    private final Runnable onTick;
+    private final Gauge pendingTasks;
+    private final Gauge busyRatio;
+    private final PercentileTimer schedulingLag;
+    private final boolean cpuTimeSupported;
+
+    private long intervalNanos;
+    private long nextDeadlineNanos;
+    private long lastWallNanos;
+    private long lastCpuNanos;
+    private ScheduledFuture<?> future;
+
+    EventLoopHealthProbe(Registry registry, String eventLoopName, EventExecutor eventLoop, Runnable onTick) {
+        this.eventLoop = Objects.requireNonNull(eventLoop);
+        this.onTick = Objects.requireNonNull(onTick);
+        this.pendingTasks =
+                registry.gauge(registry.createId("server.eventloop.tasks.pending", "eventloop", eventLoopName));
+        this.busyRatio = registry.gauge(registry.createId("server.eventloop.busy.ratio", "eventloop", eventLoopName));
+        this.schedulingLag = PercentileTimer.builder(registry)
+                .withId(registry.createId("server.eventloop.scheduling.lag", "eventloop", eventLoopName))
+                .withRange(MIN_LAG, MAX_LAG)
+                .build();
+        this.cpuTimeSupported = THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported();
+    }
+
+    void start(long intervalMs) {
+        if (!eventLoop.inEventLoop()) {
+            throw new IllegalStateException("Probe must be started from its own event loop");
+        }
+        intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMs);
+        lastWallNanos = System.nanoTime();
+        lastCpuNanos = currentThreadCpuTime();
+        nextDeadlineNanos = lastWallNanos + intervalNanos;
+        future = eventLoop.scheduleAtFixedRate(this, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        if (future != null) {
+            future.cancel(false);
+        }
+    }
+
+    @Override
+    public void run() {
+        long now = System.nanoTime();
+
+        // With a fixed rate, each run has a known deadline, so lag accumulated by a busy loop isn't lost when the
+        // executor catches up on missed runs.
+        schedulingLag.record(Math.max(0, now - nextDeadlineNanos), TimeUnit.NANOSECONDS);
+        nextDeadlineNanos += intervalNanos;
+
+        if (eventLoop instanceof SingleThreadEventExecutor executor) {
+            pendingTasks.set(executor.pendingTasks());
+        }
+
+        if (cpuTimeSupported) {
+            long cpu = currentThreadCpuTime();
+            long wallDelta = now - lastWallNanos;
+            if (wallDelta > 0 && cpu >= 0) {
+                busyRatio.set(Math.min(1.0, (double) (cpu - lastCpuNanos) / wallDelta));
+            }
+            lastCpuNanos = cpu;
+        }
+        lastWallNanos = now;
+
+        onTick.run();
+    }
+
+    private long currentThreadCpuTime() {
+        return cpuTimeSupported ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : -1;
+    }
+}
@@ -16,8 +16,9 @@
 
 package com.netflix.netty.common.metrics;
 
-import com.netflix.spectator.api.Id;
+import com.netflix.spectator.api.Gauge;
 import com.netflix.spectator.api.Registry;
+import io.netty.util.concurrent.EventExecutor;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -31,15 +32,24 @@ public class EventLoopMetrics implements EventLoopGroupMetrics.EventLoopInfo {
     public final AtomicInteger currentConnections = new AtomicInteger(0);
 
     private final Registry registry;
-    private final Id currentRequestsId;
-    private final Id currentConnectionsId;
+
+    // Resolved once per event loop, so that updating them on each request start and end doesn't need to build a new
+    // tagged Id and look it up in the registry.
+    private final Gauge currentRequestsGauge;
+    private final Gauge currentConnectionsGauge;
 
     public EventLoopMetrics(Registry registry, String eventLoopName) {
         this.name = eventLoopName;
 
         this.registry = registry;
-        this.currentRequestsId = this.registry.createId("server.eventloop.http.requests.current");
-        this.currentConnectionsId = this.registry.createId("server.eventloop.connections.current");
+        this.currentRequestsGauge = registry.gauge(
+                registry.createId("server.eventloop.http.requests.current", "eventloop", eventLoopName));
+        this.currentConnectionsGauge =
+                registry.gauge(registry.createId("server.eventloop.connections.current", "eventloop", eventLoopName));
+    }
+
+    public String getName() {
+        return name;
     }
 
     @Override
@@ -53,26 +63,36 @@ public class EventLoopMetrics implements EventLoopGroupMetrics.EventLoopInfo {
     }
 
     public void incrementCurrentRequests() {
-        int value = this.currentRequests.incrementAndGet();
-        updateGauge(currentRequestsId, value);
+        currentRequestsGauge.set(this.currentRequests.incrementAndGet());
     }
 
     public void decrementCurrentRequests() {
-        int value = this.currentRequests.decrementAndGet();
-        updateGauge(currentRequestsId, value);
+        currentRequestsGauge.set(this.currentRequests.decrementAndGet());
     }
 
     public void incrementCurrentConnections() {
-        int value = this.currentConnections.incrementAndGet();
-        updateGauge(currentConnectionsId, value);
+        currentConnectionsGauge.set(this.currentConnections.incrementAndGet());
     }
 
     public void decrementCurrentConnections() {
-        int value = this.currentConnections.decrementAndGet();
-        updateGauge(currentConnectionsId, value);
+        currentConnectionsGauge.set(this.currentConnections.decrementAndGet());
+    }
+
+    /**
+     * Starts periodically probing the health of the given event loop, which must be the one this instance was created
+     * for. See {@link EventLoopHealthProbe}.
+     */
+    public EventLoopHealthProbe startHealthProbe(EventExecutor eventLoop, long intervalMs) {
+        EventLoopHealthProbe probe = new EventLoopHealthProbe(registry, name, eventLoop, this::refreshGauges);
+        probe.start(intervalMs);
+        return probe;
     }
 
-    private void updateGauge(Id gaugeId, int value) {
-        registry.gauge(gaugeId.withTag("eventloop", name)).set(value);
+    /**
+     * Re-publishes the current values, so the gauges of idle event loops don't expire.
+     */
+    private void refreshGauges() {
+        currentRequestsGauge.set(currentRequests.get());
+        currentConnectionsGauge.set(currentConnections.get());
     }
 }
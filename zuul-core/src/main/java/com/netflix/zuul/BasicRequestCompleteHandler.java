@@ -16,19 +16,33 @@
 
 package com.netflix.zuul;
 
+import com.netflix.config.CachedDynamicBooleanProperty;
+import com.netflix.config.DynamicIntProperty;
 import com.netflix.zuul.context.SessionContext;
+import com.netflix.zuul.exception.ZuulException;
 import com.netflix.zuul.message.http.HttpRequestInfo;
 import com.netflix.zuul.message.http.HttpResponseMessage;
 import com.netflix.zuul.stats.RequestMetricsPublisher;
+import com.netflix.zuul.stats.RouteStatsAggregator;
 import jakarta.inject.Inject;
 import javax.annotation.Nullable;
 
 /**
+ * Publishes request-level metrics once a request completes.
+ *
+ * When {@code zuul.stats.route.enabled} is set, requests are also counted by route and status code, and failed ones
+ * by route and error cause, into {@link RouteStatsAggregator}s named {@code zuul.route.status} and
+ * {@code zuul.route.errors}.  Each tracks at most {@code zuul.stats.route.capacity} distinct keys, read once when the
+ * first request is counted.
+ *
  * User: michaels@netflix.com
  * Date: 6/4/15
  * Time: 4:26 PM
  */
 public class BasicRequestCompleteHandler implements RequestCompleteHandler {
+    private static final CachedDynamicBooleanProperty ROUTE_STATS_ENABLED =
+            new CachedDynamicBooleanProperty("zuul.stats.route.enabled", false);
+
     @Inject
     @Nullable
     private RequestMetricsPublisher requestMetricsPublisher;
@@ -41,5 +55,28 @@ public class BasicRequestCompleteHandler implements RequestCompleteHandler {
         if (requestMetricsPublisher != null) {
             requestMetricsPublisher.collectAndPublish(context);
         }
+        if (ROUTE_STATS_ENABLED.get()) {
+            recordRouteStats(context, response.getStatus());
+        }
+    }
+
+    private static void recordRouteStats(SessionContext context, int status) {
+        String route = context.getRouteVIP();
+        RouteStats.STATUSES.record(route, status);
+        Throwable error = context.getError();
+        if (error != null) {
+            String cause = error instanceof ZuulException ze && ze.getErrorCause() != null
+                    ? ze.getErrorCause()
+                    : error.getClass().getSimpleName();
+            RouteStats.ERRORS.record(route, status, cause);
+        }
+    }
+
+    /** Created on first use, so that no meters are registered unless route stats are enabled. */
+    private static final class RouteStats {
+        private static final int CAPACITY = new DynamicIntProperty("zuul.stats.route.capacity", 1024).get();
+
+        static final RouteStatsAggregator STATUSES = new RouteStatsAggregator("zuul.route.status", CAPACITY, false);
+        static final RouteStatsAggregator ERRORS = new RouteStatsAggregator("zuul.route.errors", CAPACITY, true);
     }
 }
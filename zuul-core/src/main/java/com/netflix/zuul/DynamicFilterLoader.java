@@ -28,6 +28,7 @@ import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -38,6 +39,7 @@ public final class DynamicFilterLoader implements FilterLoader {
     private final ConcurrentMap<String, Long> filterClassLastModified = new ConcurrentHashMap<>();
     private final ConcurrentMap<FilterType, SortedSet<ZuulFilter<?, ?>>> hashFiltersByType = new ConcurrentHashMap<>();
     private final ConcurrentMap<String, ZuulFilter<?, ?>> filtersByNameAndType = new ConcurrentHashMap<>();
+    private final AtomicLong filtersVersion = new AtomicLong();
 
     private final FilterRegistry filterRegistry;
 
@@ -71,6 +73,9 @@ public final class DynamicFilterLoader implements FilterLoader {
 
         filterRegistry.put(filterName, filter);
         filterClassLastModified.put(filterName, lastModified);
+
+        // Bumped last, so anyone who sees the new version also sees the new filter.
+        filtersVersion.incrementAndGet();
     }
 
     /**
@@ -124,6 +129,11 @@ public final class DynamicFilterLoader implements FilterLoader {
         return Collections.unmodifiableSortedSet(set);
     }
 
+    @Override
+    public long getFiltersVersion() {
+        return filtersVersion.get();
+    }
+
     @Override
     public ZuulFilter<?, ?> getFilterByNameAndType(String name, FilterType type) {
         if (name == null || type == null) {
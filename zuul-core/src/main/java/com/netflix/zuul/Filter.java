@@ -65,6 +65,34 @@ public @interface Filter {
         String value();
     }
 
+    /**
+     * Limits the requests the annotated filter is considered for, so that it is not even asked
+     * {@link ZuulFilter#shouldFilter} for other requests.  Each attribute left empty matches every request; otherwise
+     * one of its values has to match.  Matching is done against the request as received from the client, before any
+     * filter changed it, and applies to outbound filters through the request they respond to.
+     *
+     * @see com.netflix.zuul.filters.FilterRequestMatch
+     */
+    @Target({ElementType.TYPE})
+    @Retention(RetentionPolicy.RUNTIME)
+    @Documented
+    @interface RequestMatch {
+        /**
+         * Path prefixes, compared case-sensitively with the start of the request path.
+         */
+        String[] pathPrefixes() default {};
+
+        /**
+         * Host names, compared case-insensitively with the original host of the request, without the port.
+         */
+        String[] hosts() default {};
+
+        /**
+         * HTTP methods, compared case-insensitively.
+         */
+        String[] methods() default {};
+    }
+
     /**
      * Indicates that the annotated filter should run after another filter in the chain, if the other filter is present.
      * In the case of inbound filters, this implies that the annotated filter should have an order greater than the
@@ -16,6 +16,7 @@
 
 package com.netflix.zuul;
 
+import com.netflix.netty.common.channel.config.ChannelConfig;
 import com.netflix.zuul.message.ZuulMessage;
 import lombok.NonNull;
 
@@ -29,4 +30,13 @@ import lombok.NonNull;
  */
 public interface FilterConstraint {
     boolean isConstrained(@NonNull ZuulMessage msg);
+
+    /**
+     * Returns true if every message received by the listener with the given config is constrained.  The filters
+     * declaring this constraint are then left out of that listener's filter chains when they are built, rather than
+     * being checked on each message.
+     */
+    default boolean constrainsListener(@NonNull ChannelConfig listenerConfig) {
+        return false;
+    }
 }
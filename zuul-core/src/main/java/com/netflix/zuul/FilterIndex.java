@@ -0,0 +1,48 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul;
+
+import com.netflix.zuul.filters.FilterType;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+
+/**
+ * The {@link Filter}s of one package, as recorded at compile time by the {@code zuul-processor} annotation processor.
+ * The processor generates one implementation per package with filters, and registers them all as services in
+ * {@code META-INF/services/com.netflix.zuul.FilterIndex}.  See {@link IndexedFilterFactory}.
+ */
+public interface FilterIndex {
+
+    List<Entry> filters();
+
+    /**
+     * A filter class, with the type and order from its {@link Filter} annotation.
+     *
+     * @param name the binary name of the class, which is also the default {@code filterName()}
+     * @param constructor calls the filter's no-argument constructor, or {@code null} if it does not have one that the
+     *     generated index can call
+     */
+    record Entry(Class<?> filterClass, FilterType type, int order, String name, @Nullable Supplier<?> constructor) {
+        public Entry {
+            Objects.requireNonNull(filterClass, "filterClass");
+            Objects.requireNonNull(type, "type");
+            Objects.requireNonNull(name, "name");
+        }
+    }
+}
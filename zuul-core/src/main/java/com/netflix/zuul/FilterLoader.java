@@ -47,6 +47,14 @@ public interface FilterLoader {
 
     ZuulFilter<?, ?> getFilterByNameAndType(String name, FilterType type);
 
+    /**
+     * Returns a number that changes whenever the filters returned by {@link #getFiltersByType} may have changed, so
+     * that callers can cache what they build from them.  Loaders whose filters never change can return a constant.
+     */
+    default long getFiltersVersion() {
+        return 0;
+    }
+
     Comparator<ZuulFilter<?, ?>> FILTER_COMPARATOR =
             Comparator.<ZuulFilter<?, ?>>comparingInt(ZuulFilter::filterOrder).thenComparing(ZuulFilter::filterName);
 
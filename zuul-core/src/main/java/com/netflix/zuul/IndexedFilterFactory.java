@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul;
+
+import com.netflix.zuul.filters.ZuulFilter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates filters through the constructors referenced by the {@link FilterIndex}es that {@code zuul-processor}
+ * generates, rather than reflectively.  Together with {@link #filterTypes()}, which lists the indexed filter classes
+ * without {@code Class.forName}, this lets a {@link StaticFilterLoader} be built without reflection:
+ *
+ * <pre>{@code
+ * IndexedFilterFactory factory = IndexedFilterFactory.load(classLoader, new DefaultFilterFactory());
+ * FilterLoader loader = new StaticFilterLoader(factory, factory.filterTypes());
+ * }</pre>
+ *
+ * <p>Filters the index cannot construct, such as those whose constructor takes arguments, are created by the
+ * fallback factory instead.
+ */
+public final class IndexedFilterFactory implements FilterFactory {
+
+    private static final Logger logger = LoggerFactory.getLogger(IndexedFilterFactory.class);
+
+    private static final Comparator<FilterIndex.Entry> ENTRY_COMPARATOR = Comparator.comparing(FilterIndex.Entry::type)
+            .thenComparingInt(FilterIndex.Entry::order)
+            .thenComparing(FilterIndex.Entry::name);
+
+    private final Set<Class<? extends ZuulFilter<?, ?>>> filterTypes;
+    private final Map<Class<?>, Supplier<?>> constructors;
+    private final FilterFactory fallback;
+
+    public IndexedFilterFactory(Collection<FilterIndex.Entry> entries, FilterFactory fallback) {
+        List<FilterIndex.Entry> sorted = new ArrayList<>(entries);
+        sorted.sort(ENTRY_COMPARATOR);
+        Set<Class<? extends ZuulFilter<?, ?>>> filterTypes = new LinkedHashSet<>();
+        Map<Class<?>, Supplier<?>> constructors = new HashMap<>();
+        for (FilterIndex.Entry entry : sorted) {
+            @SuppressWarnings("unchecked")
+            Class<? extends ZuulFilter<?, ?>> filterClass =
+                    (Class<? extends ZuulFilter<?, ?>>) entry.filterClass().asSubclass(ZuulFilter.class);
+            filterTypes.add(filterClass);
+            if (entry.constructor() != null) {
+                constructors.put(filterClass, entry.constructor());
+            }
+        }
+        this.filterTypes = Collections.unmodifiableSet(filterTypes);
+        this.constructors = constructors;
+        this.fallback = fallback;
+    }
+
+    /**
+     * Returns a factory for the filters indexed in the given class loader.
+     */
+    public static IndexedFilterFactory load(ClassLoader loader, FilterFactory fallback) {
+        List<FilterIndex.Entry> entries = new ArrayList<>();
+        Iterator<FilterIndex> indexes = ServiceLoader.load(FilterIndex.class, loader).iterator();
+        while (true) {
+            try {
+                if (!indexes.hasNext()) {
+                    break;
+                }
+                entries.addAll(indexes.next().filters());
+            } catch (ServiceConfigurationError e) {
+                // As with StaticFilterLoader.RESOURCE_NAME, incremental compilation can leave the index of a package
+                // whose filters have all been deleted registered.  A clean build removes it.
+                logger.warn("Missing FilterIndex", e);
+            }
+        }
+        return new IndexedFilterFactory(entries, fallback);
+    }
+
+    /**
+     * The indexed filter classes, by type, order and name.
+     */
+    public Set<Class<? extends ZuulFilter<?, ?>>> filterTypes() {
+        return filterTypes;
+    }
+
+    @Override
+    public ZuulFilter<?, ?> newInstance(Class<?> clazz) throws Exception {
+        Supplier<?> constructor = constructors.get(clazz);
+        if (constructor == null) {
+            return fallback.newInstance(clazz);
+        }
+        return (ZuulFilter<?, ?>) constructor.get();
+    }
+}
@@ -53,6 +53,9 @@ public class CommonContextKeys {
     public static final SessionContext.Key<IClientConfig> REST_CLIENT_CONFIG =
             SessionContext.newKey("rest_client_config");
 
+    /** The request's end-to-end deadline, as a {@link System#nanoTime()} value. */
+    public static final SessionContext.Key<Long> REQUEST_DEADLINE_NANOS = SessionContext.newKey("request_deadline");
+
     public static final SessionContext.Key<ZuulFilter<HttpRequestMessage, HttpResponseMessage>> ZUUL_ENDPOINT =
             SessionContext.newKey("_zuul_endpoint");
     public static final SessionContext.Key<Map<Integer, InetAddress>> ZUUL_ORIGIN_CHOSEN_HOST_ADDR_MAP_KEY =
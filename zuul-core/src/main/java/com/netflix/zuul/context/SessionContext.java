@@ -17,7 +17,9 @@ package com.netflix.zuul.context;
 
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import com.netflix.config.DynamicPropertyFactory;
+import com.netflix.zuul.filters.FilterChainCursor;
 import com.netflix.zuul.filters.FilterError;
+import com.netflix.zuul.filters.FilterType;
 import com.netflix.zuul.message.http.HttpResponseMessage;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -59,18 +61,21 @@ public final class SessionContext implements Cloneable {
     private static final SessionContext.Key<String> KEY_ERROR_ENDPOINT = SessionContext.newKey("_error-endpoint");
     private static final SessionContext.Key<Integer> KEY_ORIGIN_REPORTED_DURATION =
             SessionContext.newKey("_originReportedDuration");
+    private static final FilterType[] FILTER_TYPES = FilterType.values();
 
     private boolean brownoutMode = false;
     private boolean shouldStopFilterProcessing = false;
     private boolean shouldSendErrorResponse = false;
     private boolean errorResponseSent = false;
     private boolean cancelled = false;
+    private boolean warmup = false;
 
     private final Map<String, Object> map;
     private final IdentityHashMap<Key<?>, Object> typedMap;
     private final StringBuilder filterExecutionSummary;
     private final Map<String, Object> eventProperties;
     private final List<FilterError> filterErrors;
+    private final @Nullable FilterChainCursor[] filterChainCursors = new FilterChainCursor[FILTER_TYPES.length];
 
     /**
      * A Key is type-safe, identity-based key into the Session Context.
@@ -280,6 +285,8 @@ public final class SessionContext implements Cloneable {
         copy.shouldSendErrorResponse = shouldSendErrorResponse;
         copy.errorResponseSent = errorResponseSent;
         copy.cancelled = cancelled;
+        copy.warmup = warmup;
+        System.arraycopy(filterChainCursors, 0, copy.filterChainCursors, 0, filterChainCursors.length);
         return copy;
     }
 
@@ -526,4 +533,29 @@ public final class SessionContext implements Cloneable {
     public void cancel() {
         this.cancelled = true;
     }
+
+    /**
+     * Whether this is a synthetic request sent to warm up the server before it is marked UP.  Warm-up requests go
+     * through the normal filters, are proxied to a local stub origin, and are left out of request metrics and access
+     * logs.
+     */
+    public boolean isWarmup() {
+        return warmup;
+    }
+
+    public void setWarmup(boolean warmup) {
+        this.warmup = warmup;
+    }
+
+    /**
+     * The progress of this session through the filter chain of the given type, kept by the filter runners.
+     */
+    @Nullable
+    public FilterChainCursor getFilterChainCursor(FilterType type) {
+        return filterChainCursors[type.ordinal()];
+    }
+
+    public void setFilterChainCursor(FilterType type, @Nullable FilterChainCursor cursor) {
+        filterChainCursors[type.ordinal()] = cursor;
+    }
 }
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.filters;
+
+import com.netflix.zuul.message.ZuulMessage;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Base class for filters whose {@link #apply} makes blocking calls, for example to a client library without an async
+ * API.  {@code apply} is written as for a {@link BaseSyncFilter}, but is run on a new virtual thread rather than on
+ * the event loop, and the filter chain resumes on the channel's event loop once it returns.
+ *
+ * <p>As for any async filter, the number of requests in {@code apply} at once is bounded by
+ * {@code zuul.[classname].[filtertype].concurrency.limit}, and requests over the limit fail with
+ * {@link com.netflix.zuul.exception.ZuulFilterConcurrencyExceededException}.  Blocking while holding a monitor pins
+ * the virtual thread to its carrier, so prefer {@link java.util.concurrent.locks.Lock}s in {@code apply}.
+ */
+public abstract class BaseBlockingFilter<I extends ZuulMessage, O extends ZuulMessage> extends BaseFilter<I, O>
+        implements SyncZuulFilter<I, O> {
+
+    private static final ExecutorService VIRTUAL_THREADS = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("zuul-blocking-filter-", 0).factory());
+
+    @Override
+    public CompletableFuture<O> applyAsync(I input) {
+        return CompletableFuture.supplyAsync(() -> apply(input), executor());
+    }
+
+    /**
+     * The executor {@link #apply} runs on, a new virtual thread per call unless overridden.
+     */
+    protected Executor executor() {
+        return VIRTUAL_THREADS;
+    }
+
+    @Override
+    public FilterSyncType getSyncType() {
+        return FilterSyncType.BLOCKING;
+    }
+}
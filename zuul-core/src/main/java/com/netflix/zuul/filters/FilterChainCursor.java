@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.filters;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
+
+/**
+ * How far a request has got through the filter chain of one {@link FilterType}: the position of the filter currently
+ * running, and whether that filter is waiting for the whole body to be buffered.
+ *
+ * <p>Cursors are held by the request's {@link com.netflix.zuul.context.SessionContext}, one per filter type, and are
+ * only read and written from the request's event loop, so need no synchronization.
+ */
+public class FilterChainCursor {
+
+    private int index;
+    private boolean awaitingBody;
+
+    @Nullable
+    private AtomicInteger sharedIndex;
+
+    /**
+     * The position in the chain of the filter currently running, or the chain's length once it has finished.
+     */
+    public int index() {
+        AtomicInteger shared = sharedIndex;
+        return shared != null ? shared.get() : index;
+    }
+
+    public void setIndex(int index) {
+        AtomicInteger shared = sharedIndex;
+        if (shared != null) {
+            shared.set(index);
+        } else {
+            this.index = index;
+        }
+    }
+
+    /**
+     * Moves on to the next filter, returning its position.
+     */
+    public int advance() {
+        AtomicInteger shared = sharedIndex;
+        return shared != null ? shared.incrementAndGet() : ++index;
+    }
+
+    public boolean isAwaitingBody() {
+        return awaitingBody;
+    }
+
+    public void setAwaitingBody(boolean awaitingBody) {
+        this.awaitingBody = awaitingBody;
+    }
+
+    /**
+     * Returns the position as an {@link AtomicInteger} that this cursor reads and writes from then on, for callers
+     * of the deprecated index accessors of {@code BaseZuulFilterRunner}.
+     */
+    public AtomicInteger sharedIndex() {
+        AtomicInteger shared = sharedIndex;
+        if (shared == null) {
+            shared = new AtomicInteger(index);
+            sharedIndex = shared;
+        }
+        return shared;
+    }
+}
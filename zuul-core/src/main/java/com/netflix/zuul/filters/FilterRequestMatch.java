@@ -0,0 +1,115 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.filters;
+
+import com.netflix.zuul.Filter;
+import com.netflix.zuul.message.http.HttpRequestInfo;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The requests a filter applies to, as declared by {@link ZuulFilter#requestMatch()}.  An empty list of path
+ * prefixes, hosts or methods matches every request; otherwise the request has to match one of its entries.
+ *
+ * <p>Filter chains index these declarations so that a request is only offered to the filters it can match.
+ * {@link #matches} gives the same answer for a single filter and request.
+ */
+public final class FilterRequestMatch {
+
+    private final List<String> pathPrefixes;
+    private final Set<String> hosts;
+    private final Set<String> methods;
+
+    private FilterRequestMatch(List<String> pathPrefixes, Set<String> hosts, Set<String> methods) {
+        this.pathPrefixes = pathPrefixes;
+        this.hosts = hosts;
+        this.methods = methods;
+    }
+
+    public static FilterRequestMatch of(Filter.RequestMatch annotation) {
+        return of(
+                Arrays.asList(annotation.pathPrefixes()),
+                Arrays.asList(annotation.hosts()),
+                Arrays.asList(annotation.methods()));
+    }
+
+    public static FilterRequestMatch of(List<String> pathPrefixes, List<String> hosts, List<String> methods) {
+        return new FilterRequestMatch(
+                List.copyOf(pathPrefixes),
+                hosts.stream().map(h -> h.toLowerCase(Locale.ROOT)).collect(Collectors.toUnmodifiableSet()),
+                methods.stream().map(m -> m.toUpperCase(Locale.ROOT)).collect(Collectors.toUnmodifiableSet()));
+    }
+
+    public List<String> getPathPrefixes() {
+        return pathPrefixes;
+    }
+
+    /**
+     * Lower-cased host names.
+     */
+    public Set<String> getHosts() {
+        return hosts;
+    }
+
+    /**
+     * Upper-cased method names.
+     */
+    public Set<String> getMethods() {
+        return methods;
+    }
+
+    public boolean matches(HttpRequestInfo request) {
+        if (!methods.isEmpty() && !methods.contains(request.getMethod().toUpperCase(Locale.ROOT))) {
+            return false;
+        }
+        if (!hosts.isEmpty()) {
+            String host = originalHost(request);
+            if (host == null || !hosts.contains(host.toLowerCase(Locale.ROOT))) {
+                return false;
+            }
+        }
+        if (!pathPrefixes.isEmpty()) {
+            String path = request.getPath();
+            for (String prefix : pathPrefixes) {
+                if (path.startsWith(prefix)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the original host of the request, or {@code null} if its Host header can't be parsed.
+     */
+    public static String originalHost(HttpRequestInfo request) {
+        try {
+            return request.getOriginalHost();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "FilterRequestMatch{pathPrefixes=" + pathPrefixes + ", hosts=" + hosts + ", methods=" + methods + "}";
+    }
+}
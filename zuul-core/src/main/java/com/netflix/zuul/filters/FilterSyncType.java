@@ -23,5 +23,9 @@ package com.netflix.zuul.filters;
  */
 public enum FilterSyncType {
     SYNC,
-    ASYNC
+    ASYNC,
+    /**
+     * A filter whose {@code apply} may block, and so is run off the event loop.  See {@link BaseBlockingFilter}.
+     */
+    BLOCKING
 }
@@ -87,6 +87,20 @@ public interface ZuulFilter<I extends ZuulMessage, O extends ZuulMessage> extend
         }
     }
 
+    /**
+     * The requests this filter applies to, or {@code null} if it may apply to any request.  Filters that declare a
+     * match are only asked {@link #shouldFilter} for matching requests.  Defaults to the {@link Filter.RequestMatch}
+     * annotation.
+     */
+    default FilterRequestMatch requestMatch() {
+        Filter.RequestMatch annotation = getClass().getAnnotation(Filter.RequestMatch.class);
+        if (annotation != null) {
+            return FilterRequestMatch.of(annotation);
+        } else {
+            return null;
+        }
+    }
+
     /**
      * Whether this filter's shouldFilter() method should be checked, and apply() called, even
      * if SessionContext.stopFilterProcessing has been set.
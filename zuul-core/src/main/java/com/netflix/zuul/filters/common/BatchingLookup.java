@@ -0,0 +1,238 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.filters.common;
+
+import com.netflix.spectator.api.Counter;
+import com.netflix.spectator.api.DistributionSummary;
+import com.netflix.spectator.api.Registry;
+import com.netflix.zuul.filters.common.BatchingLookupConfig.Scope;
+import io.netty.util.concurrent.EventExecutor;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+
+/**
+ * Combines the per-request lookups of async filters into batch calls to a remote service.
+ *
+ * <p>A filter calls {@link #lookup} from its {@code applyAsync} with the key it needs and the event loop of the
+ * request, typically {@code getChannelHandlerContext(msg).executor()}. Keys are collected, per event loop or across
+ * all of them depending on {@link BatchingLookupConfig#getScope()}, until there are
+ * {@link BatchingLookupConfig#getMaxBatchSize()} distinct keys or {@link BatchingLookupConfig#getMaxDelay()} has
+ * passed since the first, and are then passed to the batch function in one call. Each returned future is completed
+ * on the event loop it was requested from, with {@code null} if the batch function's result has no value for its
+ * key, or exceptionally if the batch call failed.
+ *
+ * <p>Values can be cached for a short {@link BatchingLookupConfig#getCacheTtl()}, in which case a lookup of a cached
+ * key completes at once without joining a batch.
+ *
+ * <p>Metrics, tagged with the lookup's name: {@code zuul.batchingLookup.keys}, {@code zuul.batchingLookup.cacheHits},
+ * {@code zuul.batchingLookup.batchErrors} and {@code zuul.batchingLookup.batchSize}.
+ */
+public class BatchingLookup<K, V> {
+
+    private final Function<Set<K>, CompletableFuture<Map<K, V>>> batchFunction;
+    private final Scope scope;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final long cacheTtlNanos;
+    private final int cacheMaxSize;
+
+    private final ConcurrentMap<EventExecutor, Batcher> perEventLoop = new ConcurrentHashMap<>();
+    private final Batcher global = new Batcher();
+
+    @Nullable
+    private final ConcurrentMap<K, CachedValue<V>> cache;
+
+    private final Counter keysCounter;
+    private final Counter cacheHitsCounter;
+    private final Counter batchErrorsCounter;
+    private final DistributionSummary batchSizes;
+
+    /**
+     * @param batchFunction looks up the values of a set of keys, leaving out those that have none
+     */
+    public BatchingLookup(
+            BatchingLookupConfig config,
+            Function<Set<K>, CompletableFuture<Map<K, V>>> batchFunction,
+            Registry registry) {
+        if (config.getMaxBatchSize() < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be at least 1: " + config.getMaxBatchSize());
+        }
+        this.batchFunction = Objects.requireNonNull(batchFunction, "batchFunction");
+        this.scope = config.getScope();
+        this.maxBatchSize = config.getMaxBatchSize();
+        this.maxDelayNanos = config.getMaxDelay().toNanos();
+        this.cacheTtlNanos = config.getCacheTtl().toNanos();
+        this.cacheMaxSize = config.getCacheMaxSize();
+        this.cache = cacheTtlNanos > 0 && cacheMaxSize > 0 ? new ConcurrentHashMap<>() : null;
+
+        String name = config.getName();
+        this.keysCounter = registry.counter("zuul.batchingLookup.keys", "name", name);
+        this.cacheHitsCounter = registry.counter("zuul.batchingLookup.cacheHits", "name", name);
+        this.batchErrorsCounter = registry.counter("zuul.batchingLookup.batchErrors", "name", name);
+        this.batchSizes = registry.distributionSummary("zuul.batchingLookup.batchSize", "name", name);
+    }
+
+    /**
+     * Looks up the value of a key as part of the next batch.
+     *
+     * @param eventLoop the event loop to complete the returned future on
+     */
+    public CompletableFuture<V> lookup(K key, EventExecutor eventLoop) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(eventLoop, "eventLoop");
+        keysCounter.increment();
+
+        if (cache != null) {
+            CachedValue<V> cached = cache.get(key);
+            if (cached != null) {
+                if (System.nanoTime() - cached.expiresAtNanos() < 0) {
+                    cacheHitsCounter.increment();
+                    return CompletableFuture.completedFuture(cached.value());
+                }
+                cache.remove(key, cached);
+            }
+        }
+
+        CompletableFuture<V> future = new CompletableFuture<>();
+        Batcher batcher = scope == Scope.GLOBAL ? global : perEventLoop.computeIfAbsent(eventLoop, k -> new Batcher());
+        batcher.add(key, new Waiter<>(future, eventLoop));
+        return future;
+    }
+
+    private void send(Map<K, List<Waiter<V>>> batch) {
+        batchSizes.record(batch.size());
+        CompletableFuture<Map<K, V>> result;
+        try {
+            result = batchFunction.apply(Collections.unmodifiableSet(batch.keySet()));
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        result.whenComplete((values, error) -> complete(batch, values, error));
+    }
+
+    private void complete(Map<K, List<Waiter<V>>> batch, @Nullable Map<K, V> values, @Nullable Throwable error) {
+        if (error != null) {
+            batchErrorsCounter.increment();
+        }
+        long expiresAtNanos = System.nanoTime() + cacheTtlNanos;
+
+        // One task per event loop, rather than one per waiter.
+        Map<EventExecutor, List<Runnable>> completions = new IdentityHashMap<>();
+        for (Map.Entry<K, List<Waiter<V>>> entry : batch.entrySet()) {
+            V value = error == null && values != null ? values.get(entry.getKey()) : null;
+            if (value != null) {
+                cache(entry.getKey(), value, expiresAtNanos);
+            }
+            for (Waiter<V> waiter : entry.getValue()) {
+                completions
+                        .computeIfAbsent(waiter.eventLoop(), k -> new ArrayList<>())
+                        .add(() -> waiter.complete(value, error));
+            }
+        }
+        for (Map.Entry<EventExecutor, List<Runnable>> entry : completions.entrySet()) {
+            List<Runnable> tasks = entry.getValue();
+            if (entry.getKey().inEventLoop()) {
+                tasks.forEach(Runnable::run);
+            } else {
+                entry.getKey().execute(() -> tasks.forEach(Runnable::run));
+            }
+        }
+    }
+
+    private void cache(K key, V value, long expiresAtNanos) {
+        if (cache == null) {
+            return;
+        }
+        if (cache.size() >= cacheMaxSize) {
+            cache.clear();
+        }
+        cache.put(key, new CachedValue<>(value, expiresAtNanos));
+    }
+
+    private record CachedValue<V>(V value, long expiresAtNanos) {}
+
+    private record Waiter<V>(CompletableFuture<V> future, EventExecutor eventLoop) {
+        void complete(@Nullable V value, @Nullable Throwable error) {
+            if (error != null) {
+                future.completeExceptionally(error);
+            } else {
+                future.complete(value);
+            }
+        }
+    }
+
+    /**
+     * Collects the keys of one batch at a time. With {@link Scope#PER_EVENT_LOOP} each batcher is only used from its
+     * own event loop, so its lock is never contended.
+     */
+    private final class Batcher {
+
+        // Guarded by this.
+        private Map<K, List<Waiter<V>>> pending = new HashMap<>();
+
+        @Nullable
+        private Future<?> flushTimer;
+
+        void add(K key, Waiter<V> waiter) {
+            Map<K, List<Waiter<V>>> full = null;
+            synchronized (this) {
+                pending.computeIfAbsent(key, k -> new ArrayList<>(1)).add(waiter);
+                if (pending.size() >= maxBatchSize) {
+                    full = takePending();
+                } else if (flushTimer == null) {
+                    flushTimer = waiter.eventLoop().schedule(this::flush, maxDelayNanos, TimeUnit.NANOSECONDS);
+                }
+            }
+            if (full != null) {
+                send(full);
+            }
+        }
+
+        private void flush() {
+            Map<K, List<Waiter<V>>> batch;
+            synchronized (this) {
+                batch = takePending();
+            }
+            if (!batch.isEmpty()) {
+                send(batch);
+            }
+        }
+
+        private Map<K, List<Waiter<V>>> takePending() {
+            Map<K, List<Waiter<V>>> batch = pending;
+            pending = new HashMap<>();
+            if (flushTimer != null) {
+                flushTimer.cancel(false);
+                flushTimer = null;
+            }
+            return batch;
+        }
+    }
+}
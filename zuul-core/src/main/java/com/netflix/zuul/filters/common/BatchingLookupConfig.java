@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.filters.common;
+
+import java.time.Duration;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Configuration for a {@link BatchingLookup}.
+ */
+@Getter
+@Builder
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+public class BatchingLookupConfig {
+
+    /**
+     * Which lookups may share a batch.
+     */
+    public enum Scope {
+        /**
+         * Only lookups made from the same event loop. Batches are smaller, but are filled and completed without
+         * crossing threads.
+         */
+        PER_EVENT_LOOP,
+        /** Lookups from any event loop. Batches fill faster, at the cost of a shared lock. */
+        GLOBAL
+    }
+
+    /** Used to tag the lookup's metrics. */
+    @NonNull
+    private final String name;
+
+    @Builder.Default
+    private final Scope scope = Scope.PER_EVENT_LOOP;
+
+    /** A batch is sent as soon as it has this many distinct keys. */
+    @Builder.Default
+    private final int maxBatchSize = 64;
+
+    /** The longest the first key of a batch waits for others before the batch is sent. */
+    @Builder.Default
+    private final Duration maxDelay = Duration.ofMillis(1);
+
+    /** How long a looked up value is reused for. {@link Duration#ZERO} disables the cache. */
+    @Builder.Default
+    private final Duration cacheTtl = Duration.ZERO;
+
+    /** The most values cached at once. The cache is emptied when it fills up. */
+    @Builder.Default
+    private final int cacheMaxSize = 10_000;
+}
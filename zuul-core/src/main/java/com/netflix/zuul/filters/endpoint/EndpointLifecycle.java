@@ -36,4 +36,10 @@ public interface EndpointLifecycle {
      * @param error {@code true} if the request ended due to an error
      */
     void finish(boolean error);
+
+    /**
+     * Called when the client channel finishes a read burst while the request is in flight, so that request body
+     * writes made during the burst can be flushed together.
+     */
+    default void inboundReadComplete() {}
 }
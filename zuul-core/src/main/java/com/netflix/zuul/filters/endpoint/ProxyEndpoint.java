@@ -22,6 +22,7 @@ import com.google.common.collect.Sets;
 import com.google.errorprone.annotations.ForOverride;
 import com.netflix.client.ClientException;
 import com.netflix.client.config.IClientConfigKey;
+import com.netflix.config.CachedDynamicBooleanProperty;
 import com.netflix.config.DynamicIntegerSetProperty;
 import com.netflix.netty.common.ByteBufUtil;
 import com.netflix.netty.common.HttpLifecycleChannelHandler;
@@ -56,8 +57,10 @@ import com.netflix.zuul.netty.connectionpool.PooledConnection;
 import com.netflix.zuul.netty.connectionpool.RequestStat;
 import com.netflix.zuul.netty.filter.FilterRunner;
 import com.netflix.zuul.netty.server.ClientRequestReceiver;
+import com.netflix.zuul.netty.server.ClientResponseWriter;
 import com.netflix.zuul.netty.server.MethodBinding;
 import com.netflix.zuul.netty.server.OriginResponseReceiver;
+import com.netflix.zuul.netty.server.ServerWarmup;
 import com.netflix.zuul.netty.timeouts.OriginTimeoutManager;
 import com.netflix.zuul.niws.RequestAttempt;
 import com.netflix.zuul.niws.RequestAttempts;
@@ -137,6 +140,17 @@ public class ProxyEndpoint extends SyncZuulFilterAdapter<HttpRequestMessage, Htt
     protected HttpResponseMessage zuulResponse;
     protected boolean startedSendingResponseToClient;
     private boolean pendingInterimResponse;
+
+    @Nullable
+    private ClientResponseWriter responseWriter;
+
+    private boolean responseWriterResolved;
+
+    /** The origin channel with request body writes that have not been flushed yet. */
+    @Nullable
+    private Channel pendingFlushChannel;
+
+    private final Runnable flushOriginWritesTask = this::flushOriginWrites;
     protected Duration timeLeftForAttempt;
 
     /* Individual retry related state */
@@ -153,6 +167,13 @@ public class ProxyEndpoint extends SyncZuulFilterAdapter<HttpRequestMessage, Htt
     private static final DynamicIntegerSetProperty RETRIABLE_STATUSES_FOR_IDEMPOTENT_METHODS =
             new DynamicIntegerSetProperty("zuul.retry.allowed.statuses.idempotent", "500");
 
+    /**
+     * Whether request body chunks streamed to the origin are flushed once per client read burst rather than one by
+     * one.
+     */
+    private static final CachedDynamicBooleanProperty BATCH_REQUEST_BODY_FLUSHES =
+            new CachedDynamicBooleanProperty("zuul.origin.request.body.flush.batch", true);
+
     /**
      * Indicates how long Zuul should remember throttle events for an origin.  As of this writing, throttling is used
      * to decide to cache request bodies.
@@ -227,6 +248,12 @@ public class ProxyEndpoint extends SyncZuulFilterAdapter<HttpRequestMessage, Htt
     @Nullable
     protected NettyOrigin getOrigin(HttpRequestMessage request) {
         SessionContext context = request.getContext();
+        if (context.isWarmup()) {
+            // Warm-up requests exercise the proxying path, but only ever against the local stub origin, which is kept
+            // out of the origin manager.
+            return ServerWarmup.getOrigin();
+        }
+
         OriginManager<NettyOrigin> originManager =
                 (OriginManager<NettyOrigin>) context.get(CommonContextKeys.ORIGIN_MANAGER);
 
@@ -295,6 +322,7 @@ public class ProxyEndpoint extends SyncZuulFilterAdapter<HttpRequestMessage, Htt
 
     @Override
     public void finish(boolean error) {
+        flushOriginWrites();
         Channel origCh = unlinkFromOrigin();
 
         while (concurrentReqCount.get() > 0) {
@@ -354,6 +382,44 @@ public class ProxyEndpoint extends SyncZuulFilterAdapter<HttpRequestMessage, Htt
         }
     }
 
+    /**
+     * Writes a request body chunk to the origin, leaving the flush to the end of the client's read burst unless the
+     * chunk is the last one or the origin channel has stopped being writable.
+     */
+    private void writeChunkToOrigin(Channel originChannel, HttpContent chunk) {
+        if (!BATCH_REQUEST_BODY_FLUSHES.get() || chunk instanceof LastHttpContent) {
+            flushOriginWrites();
+            originChannel.writeAndFlush(chunk);
+            return;
+        }
+        if (pendingFlushChannel != null && pendingFlushChannel != originChannel) {
+            flushOriginWrites();
+        }
+        originChannel.write(chunk);
+        if (!originChannel.isWritable()) {
+            pendingFlushChannel = null;
+            originChannel.flush();
+        } else if (pendingFlushChannel == null) {
+            pendingFlushChannel = originChannel;
+            // Normally flushed by inboundReadComplete(); this covers chunks delivered outside a client read, such as
+            // by async inbound filters, which no read-complete follows.
+            channelCtx.channel().eventLoop().execute(flushOriginWritesTask);
+        }
+    }
+
+    @Override
+    public void inboundReadComplete() {
+        flushOriginWrites();
+    }
+
+    private void flushOriginWrites() {
+        Channel channel = pendingFlushChannel;
+        if (channel != null) {
+            pendingFlushChannel = null;
+            channel.flush();
+        }
+    }
+
     @Override
     public HttpContent processContentChunk(ZuulMessage zuulReq, HttpContent chunk) {
         if (originConn != null) {
@@ -367,7 +433,7 @@ public class ProxyEndpoint extends SyncZuulFilterAdapter<HttpRequestMessage, Htt
             receivedChunkAfterProxyStarted = true;
 
             ByteBufUtil.touch(chunk, "ProxyEndpoint writing chunk to origin, request: ", zuulReq);
-            originConn.getChannel().writeAndFlush(chunk);
+            writeChunkToOrigin(originConn.getChannel(), chunk);
             return null;
         }
 
@@ -394,6 +460,10 @@ public class ProxyEndpoint extends SyncZuulFilterAdapter<HttpRequestMessage, Htt
     public void invokeNext(HttpContent chunk) {
         try {
             ByteBufUtil.touch(chunk, "ProxyEndpoint received chunk from origin, request: ", zuulRequest);
+            ClientResponseWriter responseWriter = getClientResponseWriter();
+            if (responseWriter != null) {
+                responseWriter.originReadInProgress();
+            }
             methodBinding.bind(() -> filterResponseChunk(chunk));
         } catch (Exception ex) {
             ByteBufUtil.touch(chunk, "ProxyEndpoint exception processing chunk from origin, request: ", zuulRequest);
@@ -403,6 +473,26 @@ public class ProxyEndpoint extends SyncZuulFilterAdapter<HttpRequestMessage, Htt
         }
     }
 
+    /**
+     * Called when the origin channel finishes a read burst, so the response content it delivered can be flushed to
+     * the client in one go.
+     */
+    public void originReadComplete() {
+        ClientResponseWriter responseWriter = getClientResponseWriter();
+        if (responseWriter != null) {
+            responseWriter.originReadComplete();
+        }
+    }
+
+    @Nullable
+    private ClientResponseWriter getClientResponseWriter() {
+        if (!responseWriterResolved) {
+            responseWriter = ClientResponseWriter.fromChannel(channelCtx.channel());
+            responseWriterResolved = true;
+        }
+        return responseWriter;
+    }
+
     private void filterResponse(HttpResponseMessage zuulResponse) {
         if (responseFilters != null) {
             responseFilters.filter(zuulResponse);
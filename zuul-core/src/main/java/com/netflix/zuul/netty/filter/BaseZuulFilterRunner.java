@@ -24,6 +24,7 @@ import com.netflix.zuul.FilterUsageNotifier;
 import com.netflix.zuul.context.CommonContextKeys;
 import com.netflix.zuul.context.SessionContext;
 import com.netflix.zuul.exception.ZuulException;
+import com.netflix.zuul.filters.FilterChainCursor;
 import com.netflix.zuul.filters.FilterError;
 import com.netflix.zuul.filters.FilterSyncType;
 import com.netflix.zuul.filters.FilterType;
@@ -42,8 +43,6 @@ import io.perfmark.Link;
 import io.perfmark.PerfMark;
 import io.perfmark.TaskCloseable;
 import jakarta.annotation.Nullable;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
@@ -63,33 +62,20 @@ import org.slf4j.LoggerFactory;
 public abstract class BaseZuulFilterRunner<I extends ZuulMessage, O extends ZuulMessage> implements FilterRunner<I, O> {
 
     private static final Logger logger = LoggerFactory.getLogger(BaseZuulFilterRunner.class);
-    private static final Map<FilterType, SessionContext.Key<AtomicInteger>> RUNNING_FILTER_INDEX_KEYS;
-    private static final Map<FilterType, SessionContext.Key<Boolean>> AWAITING_BODY_FLAG_KEYS;
     private static final CachedDynamicIntProperty FILTER_EXCESSIVE_EXEC_TIME =
             new CachedDynamicIntProperty("zuul.filters.excessive.execTime", 500);
 
-    static {
-        Map<FilterType, SessionContext.Key<AtomicInteger>> runningFilterIndexKeys = new HashMap<>();
-        Map<FilterType, SessionContext.Key<Boolean>> awaitingBodyFlagKeys = new HashMap<>();
-        for (FilterType type : FilterType.values()) {
-            runningFilterIndexKeys.put(type, SessionContext.newKey(type + "_RunningFilterIndex"));
-            awaitingBodyFlagKeys.put(type, SessionContext.newKey(type + "_IsAwaitingBody"));
-        }
-        RUNNING_FILTER_INDEX_KEYS = Map.copyOf(runningFilterIndexKeys);
-        AWAITING_BODY_FLAG_KEYS = Map.copyOf(awaitingBodyFlagKeys);
-    }
-
     private final FilterUsageNotifier usageNotifier;
 
     @Getter
     private final FilterRunner<O, ? extends ZuulMessage> nextStage;
 
-    private final SessionContext.Key<AtomicInteger> runningFilterIndexSessionKey;
-    private final SessionContext.Key<Boolean> awaitingBodyFlagSessionKey;
+    private final FilterType filterType;
 
     private final Registry registry;
     private final Id filterExcessiveTimerId;
     private final FilterConstraints filterConstraints;
+    private final FilterExecutionStats executionStats;
 
     protected BaseZuulFilterRunner(
             FilterType filterType,
@@ -97,13 +83,23 @@ public abstract class BaseZuulFilterRunner<I extends ZuulMessage, O extends Zuul
             FilterRunner<O, ?> nextStage,
             FilterConstraints filterConstraints,
             Registry registry) {
+        this(filterType, usageNotifier, nextStage, filterConstraints, registry, new FilterExecutionStats(registry));
+    }
+
+    protected BaseZuulFilterRunner(
+            FilterType filterType,
+            @NonNull FilterUsageNotifier usageNotifier,
+            FilterRunner<O, ?> nextStage,
+            FilterConstraints filterConstraints,
+            Registry registry,
+            @NonNull FilterExecutionStats executionStats) {
         this.usageNotifier = usageNotifier;
         this.nextStage = nextStage;
-        this.runningFilterIndexSessionKey = RUNNING_FILTER_INDEX_KEYS.get(filterType);
-        this.awaitingBodyFlagSessionKey = AWAITING_BODY_FLAG_KEYS.get(filterType);
+        this.filterType = filterType;
         this.registry = registry;
         this.filterExcessiveTimerId = registry.createId("zuul.request.timing.filterExcessive");
         this.filterConstraints = filterConstraints;
+        this.executionStats = executionStats;
     }
 
     @NonNull
@@ -111,27 +107,60 @@ public abstract class BaseZuulFilterRunner<I extends ZuulMessage, O extends Zuul
         return (ChannelHandlerContext) mesg.getContext().get(CommonContextKeys.NETTY_SERVER_CHANNEL_HANDLER_CONTEXT);
     }
 
+    /**
+     * Starts this runner's filter chain over for a message, with a new cursor at its first filter.
+     */
+    protected final FilterChainCursor initFilterChainCursor(I zuulMesg) {
+        return initFilterChainCursor(zuulMesg, new FilterChainCursor());
+    }
+
+    protected final <C extends FilterChainCursor> C initFilterChainCursor(I zuulMesg, C cursor) {
+        SessionContext ctx = zuulMesg.getContext();
+        FilterChainCursor previous = ctx.getFilterChainCursor(filterType);
+        if (previous != null) {
+            cursor.setAwaitingBody(previous.isAwaitingBody());
+        }
+        ctx.setFilterChainCursor(filterType, cursor);
+        return cursor;
+    }
+
+    protected final FilterChainCursor getFilterChainCursor(I zuulMesg) {
+        return Objects.requireNonNull(zuulMesg.getContext().getFilterChainCursor(filterType), "filterChainCursor");
+    }
+
+    /**
+     * @deprecated Use {@link #initFilterChainCursor}.  The index returned here is the new cursor's position.
+     */
+    @Deprecated
     protected final AtomicInteger initRunningFilterIndex(I zuulMesg) {
-        AtomicInteger idx = new AtomicInteger(0);
-        zuulMesg.getContext().put(runningFilterIndexSessionKey, idx);
-        return idx;
+        return initFilterChainCursor(zuulMesg).sharedIndex();
     }
 
+    /**
+     * @deprecated Use {@link #getFilterChainCursor}.  The index returned here is the cursor's position.
+     */
+    @Deprecated
     protected final AtomicInteger getRunningFilterIndex(I zuulMesg) {
-        SessionContext ctx = zuulMesg.getContext();
-        return Objects.requireNonNull(ctx.get(runningFilterIndexSessionKey), "runningFilterIndex");
+        return getFilterChainCursor(zuulMesg).sharedIndex();
     }
 
     protected final boolean isFilterAwaitingBody(SessionContext context) {
-        return context.containsKey(awaitingBodyFlagSessionKey);
+        FilterChainCursor cursor = context.getFilterChainCursor(filterType);
+        return cursor != null && cursor.isAwaitingBody();
     }
 
     protected final void setFilterAwaitingBody(I zuulMesg, boolean flag) {
-        if (flag) {
-            zuulMesg.getContext().put(awaitingBodyFlagSessionKey, true);
-        } else {
-            zuulMesg.getContext().remove(awaitingBodyFlagSessionKey);
+        SessionContext ctx = zuulMesg.getContext();
+        FilterChainCursor cursor = ctx.getFilterChainCursor(filterType);
+        if (cursor == null) {
+            if (!flag) {
+                return;
+            }
+            // Runners without a chain, such as the endpoint runner, only use the cursor for this flag.
+            cursor = new FilterChainCursor();
+            ctx.setFilterChainCursor(filterType, cursor);
         }
+        cursor.setAwaitingBody(flag);
     }
 
     protected final void invokeNextStage(O zuulMesg, HttpContent chunk) {
@@ -243,6 +272,31 @@ public abstract class BaseZuulFilterRunner<I extends ZuulMessage, O extends Zuul
         }
     }
 
+    /**
+     * Skips a filter without asking it, as if it had declined in {@link ZuulFilter#shouldFilter}.
+     */
+    protected final FilterExecutionResult<O> skipFilter(ZuulFilter<I, O> filter, I inMesg) {
+        recordFilterCompletion(ExecutionStatus.SKIPPED, filter, System.nanoTime(), inMesg);
+        return FilterExecutionResult.completed(filter.getDefaultOutput(inMesg));
+    }
+
+    /**
+     * Records a filter that was left out of the chain because it is disabled, with the status it would have been
+     * given had it been reached: skipped if the message skips every filter at this point, as in
+     * {@link #checkFilterPreconditions}, and disabled otherwise.  The filter's own {@link ZuulFilter#shouldFilter} is
+     * not asked, since leaving it out of the chain is meant to spare that call.
+     */
+    protected final void recordDisabledFilter(ZuulFilter<I, O> filter, I inMesg) {
+        SessionContext zuulCtx = inMesg.getContext();
+        boolean skipped = filter.filterType() != FilterType.ENDPOINT
+                && ((filter.filterType() == FilterType.INBOUND && zuulCtx.shouldSendErrorResponse())
+                        || (zuulCtx.shouldStopFilterProcessing() && !filter.overrideStopFilterProcessing())
+                        || zuulCtx.isCancelled()
+                        || filterConstraints.isConstrained(inMesg, filter));
+        recordFilterCompletion(
+                skipped ? ExecutionStatus.SKIPPED : ExecutionStatus.DISABLED, filter, System.nanoTime(), inMesg);
+    }
+
     @Nullable
     private ExecutionStatus checkFilterPreconditions(ZuulFilter<I, O> filter, I inMesg) {
         if (filter.filterType() == FilterType.INBOUND && inMesg.getContext().shouldSendErrorResponse()) {
@@ -270,7 +324,9 @@ public abstract class BaseZuulFilterRunner<I extends ZuulMessage, O extends Zuul
         O outMesg;
         try (TaskCloseable ignored = PerfMark.traceTask(filter, f -> f.filterName() + ".apply")) {
             addPerfMarkTags(inMesg);
+            long allocationStart = executionStats.allocationStart(inMesg.getContext());
             outMesg = filter.apply(inMesg);
+            executionStats.recordAllocation(filter, allocationStart);
         }
         recordFilterCompletion(ExecutionStatus.SUCCESS, filter, startTime, inMesg);
         return FilterExecutionResult.completed((outMesg != null) ? outMesg : filter.getDefaultOutput(inMesg));
@@ -283,7 +339,9 @@ public abstract class BaseZuulFilterRunner<I extends ZuulMessage, O extends Zuul
         filter.incrementConcurrency();
         try (TaskCloseable ignored = PerfMark.traceTask(filter, f -> f.filterName() + ".applyAsync")) {
             Link perfMarkLink = PerfMark.linkOut();
+            long allocationStart = executionStats.allocationStart(inMesg.getContext());
             CompletableFuture<O> future = filter.applyAsync(inMesg);
+            executionStats.recordAllocation(filter, allocationStart);
             EventExecutor eventExecutor = getChannelHandlerContext(inMesg).executor();
             future.whenComplete((result, error) -> executeOnEventLoop(
                     eventExecutor,
@@ -384,7 +442,11 @@ public abstract class BaseZuulFilterRunner<I extends ZuulMessage, O extends Zuul
             ExecutionStatus status, ZuulFilter<I, O> filter, long startTime, ZuulMessage zuulMesg) {
 
         SessionContext zuulCtx = zuulMesg.getContext();
+        if (zuulCtx.isWarmup()) {
+            return;
+        }
         long execTimeNs = System.nanoTime() - startTime;
+        executionStats.record(filter, status, execTimeNs);
         long execTimeMs = execTimeNs / 1_000_000L;
         if (execTimeMs >= FILTER_EXCESSIVE_EXEC_TIME.get()) {
             zuulCtx.setEventProperty("filter_execution_time_exceeded", true);
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.netty.filter;
+
+import com.netflix.config.CachedDynamicBooleanProperty;
+import com.netflix.config.ConfigurationManager;
+import com.netflix.zuul.filters.BaseFilter;
+import com.netflix.zuul.filters.ZuulFilter;
+import com.netflix.zuul.message.ZuulMessage;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
+
+/**
+ * The filters of a {@link ZuulFilterChainRunner} that can currently run, with disabled filters left out, the
+ * positions of the filters that process content chunks precomputed, and the filters' request matches indexed.
+ *
+ * <p>Only filters that are disabled through {@link BaseFilter}'s own dynamic property are left out, since a compiled
+ * chain is only valid for the configuration it was built from.  Any configuration change bumps
+ * {@link #configVersion()}, and runners compile their chain again on the next message that sees a new version.
+ * Filters that override {@link ZuulFilter#isDisabled()} may change their answer without a configuration change, so
+ * they are always kept and checked when they run.  A filter disabled after its chain was compiled is likewise caught
+ * when it runs, so a stale chain is never wrong, only slower.  Filters left out are kept in
+ * {@link #disabledFilters}, along with their position in the chain, for the runner to report them when a message
+ * reaches that position.
+ */
+final class CompiledFilterChain<T extends ZuulMessage> {
+
+    private static final CachedDynamicBooleanProperty ENABLED =
+            new CachedDynamicBooleanProperty("zuul.filterChain.compile.enabled", true);
+
+    private static final AtomicLong CONFIG_VERSION = new AtomicLong();
+
+    static {
+        // Registered after the dynamic properties' own listener, so the new values are visible once this runs.
+        ConfigurationManager.getConfigInstance().addConfigurationListener(event -> {
+            if (!event.isBeforeUpdate()) {
+                CONFIG_VERSION.incrementAndGet();
+            }
+        });
+    }
+
+    /** Whether a filter class answers {@link ZuulFilter#isDisabled()} from {@link BaseFilter}'s property. */
+    private static final ClassValue<Boolean> DISABLED_BY_PROPERTY = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                return type.getMethod("isDisabled").getDeclaringClass() == BaseFilter.class;
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+    };
+
+    private static final int[] NO_INDEXES = new int[0];
+
+    final long configVersion;
+    final ZuulFilter<T, T>[] filters;
+    final int[] chunkFilterIndexes;
+    final ZuulFilter<T, T>[] disabledFilters;
+
+    /**
+     * For each position in {@link #filters}, and the end of the chain, how many of {@link #disabledFilters} come
+     * before it, or null if there are none.
+     */
+    @Nullable
+    private final int[] disabledBefore;
+
+    @Nullable
+    final FilterMatchIndex matchIndex;
+
+    private CompiledFilterChain(
+            long configVersion,
+            ZuulFilter<T, T>[] filters,
+            int[] chunkFilterIndexes,
+            ZuulFilter<T, T>[] disabledFilters,
+            @Nullable int[] disabledBefore,
+            @Nullable FilterMatchIndex matchIndex) {
+        this.configVersion = configVersion;
+        this.filters = filters;
+        this.chunkFilterIndexes = chunkFilterIndexes;
+        this.disabledFilters = disabledFilters;
+        this.disabledBefore = disabledBefore;
+        this.matchIndex = matchIndex;
+    }
+
+    /** The first of the {@link #disabledFilters} that sit just before the given position. */
+    int disabledFrom(int position) {
+        return disabledBefore == null || position == 0 ? 0 : disabledBefore[position - 1];
+    }
+
+    /** The end of the {@link #disabledFilters} that sit just before the given position. */
+    int disabledTo(int position) {
+        return disabledBefore == null ? 0 : disabledBefore[position];
+    }
+
+    static long configVersion() {
+        return CONFIG_VERSION.get();
+    }
+
+    static <T extends ZuulMessage> CompiledFilterChain<T> compile(ZuulFilter<T, T>[] allFilters) {
+        // Read the version first, so a change made while compiling makes the next message compile again.
+        long version = configVersion();
+        ZuulFilter<T, T>[] filters = allFilters;
+        ZuulFilter<T, T>[] disabledFilters = Arrays.copyOf(allFilters, 0);
+        int[] disabledBefore = null;
+        if (ENABLED.get()) {
+            filters = Arrays.copyOf(allFilters, allFilters.length);
+            disabledFilters = Arrays.copyOf(allFilters, allFilters.length);
+            disabledBefore = new int[allFilters.length + 1];
+            int count = 0;
+            int disabled = 0;
+            for (ZuulFilter<T, T> filter : allFilters) {
+                if (isDisabledByProperty(filter)) {
+                    disabledFilters[disabled++] = filter;
+                } else {
+                    disabledBefore[count] = disabled;
+                    filters[count++] = filter;
+                }
+            }
+            disabledBefore[count] = disabled;
+            filters = Arrays.copyOf(filters, count);
+            disabledFilters = Arrays.copyOf(disabledFilters, disabled);
+            disabledBefore = disabled == 0 ? null : Arrays.copyOf(disabledBefore, count + 1);
+        }
+
+        int chunkFilters = 0;
+        for (ZuulFilter<T, T> filter : filters) {
+            if (filter.processesContentChunks()) {
+                chunkFilters++;
+            }
+        }
+        int[] chunkFilterIndexes = chunkFilters == 0 ? NO_INDEXES : new int[chunkFilters];
+        for (int i = 0, j = 0; j < chunkFilters; i++) {
+            if (filters[i].processesContentChunks()) {
+                chunkFilterIndexes[j++] = i;
+            }
+        }
+        return new CompiledFilterChain<>(
+                version,
+                filters,
+                chunkFilterIndexes,
+                disabledFilters,
+                disabledBefore,
+                FilterMatchIndex.build(filters));
+    }
+
+    private static boolean isDisabledByProperty(ZuulFilter<?, ?> filter) {
+        return filter.isDisabled() && DISABLED_BY_PROPERTY.get(filter.getClass());
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.netty.filter;
+
+import com.netflix.zuul.message.http.HttpRequestMessage;
+import com.netflix.zuul.message.http.HttpResponseMessage;
+import java.util.Objects;
+
+/**
+ * The request and response filter chains of a listener, built from one version of the loaded filters.
+ *
+ * <p>The runners keep all per-request state in the {@link com.netflix.zuul.context.SessionContext}, so a single
+ * snapshot is shared by every connection and HTTP/2 stream of the listener until the filters change.
+ *
+ * @param filtersVersion the {@link com.netflix.zuul.FilterLoader#getFiltersVersion() filters version} the chains
+ *     were built from
+ * @param requestFilterChain the inbound filters, followed by the endpoint and the outbound filters
+ * @param responseFilterChain the outbound filters
+ */
+public record FilterChainSnapshot(
+        long filtersVersion,
+        ZuulFilterChainRunner<HttpRequestMessage> requestFilterChain,
+        ZuulFilterChainRunner<HttpResponseMessage> responseFilterChain) {
+
+    public FilterChainSnapshot {
+        Objects.requireNonNull(requestFilterChain, "requestFilterChain");
+        Objects.requireNonNull(responseFilterChain, "responseFilterChain");
+    }
+
+    public ZuulFilterChainHandler newHandler() {
+        return new ZuulFilterChainHandler(requestFilterChain, responseFilterChain);
+    }
+}
@@ -16,6 +16,7 @@
 
 package com.netflix.zuul.netty.filter;
 
+import com.netflix.netty.common.channel.config.ChannelConfig;
 import com.netflix.zuul.FilterConstraint;
 import com.netflix.zuul.filters.ZuulFilter;
 import com.netflix.zuul.message.ZuulMessage;
@@ -72,6 +73,20 @@ public class FilterConstraints {
         return false;
     }
 
+    /**
+     * Checks if any {@link FilterConstraint}'s constrain every message of the listener with the given config
+     */
+    public boolean isConstrainedOnListener(ChannelConfig listenerConfig, ZuulFilter<?, ?> filter) {
+        List<FilterConstraint> constraints =
+                this.filterConstraints.computeIfAbsent(filter.getClass(), k -> this.resolve(filter));
+        for (int i = 0; i < constraints.size(); i++) {
+            if (constraints.get(i).constrainsListener(listenerConfig)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private List<FilterConstraint> resolve(ZuulFilter<?, ?> filter) {
         Class<? extends FilterConstraint>[] declared = filter.constraints();
         if (declared == null || declared.length == 0) {
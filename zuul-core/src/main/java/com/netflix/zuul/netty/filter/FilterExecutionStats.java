@@ -0,0 +1,246 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.netty.filter;
+
+import com.netflix.config.CachedDynamicIntProperty;
+import com.netflix.spectator.api.Counter;
+import com.netflix.spectator.api.DistributionSummary;
+import com.netflix.spectator.api.Registry;
+import com.netflix.spectator.api.histogram.PercentileTimer;
+import com.netflix.zuul.ExecutionStatus;
+import com.netflix.zuul.context.SessionContext;
+import com.netflix.zuul.filters.ZuulFilter;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nullable;
+
+/**
+ * Samples how long each filter takes to run, and optionally how much it allocates, so that filters can be ranked by
+ * cost at normal latencies rather than only when they exceed {@code zuul.filters.excessive.execTime}.
+ *
+ * <p>One in {@code zuul.filters.stats.latency.sample.rate} filter executions that ran, successfully or not, is
+ * recorded into a {@code zuul.filter.latency} {@link PercentileTimer} tagged by filter and status.  Executions that
+ * did not run the filter, such as skipped or disabled ones, are only counted, into {@code zuul.filter.executions}
+ * tagged the same way.  One in
+ * {@code zuul.filters.stats.allocation.sample.rate} executions of a filter's {@code apply} also has the bytes the
+ * event loop thread allocated meanwhile recorded into {@code zuul.filter.allocation}; for async filters this covers
+ * only the work done before {@code applyAsync} returns.  Allocation sampling is off by default, and either kind of
+ * sampling is turned off by setting its rate to 0.  Counts are of samples, not of executions.
+ *
+ * <p>{@link #dump()} lists the same samples per filter, most expensive first.  A single instance should be shared by
+ * all the filter runners of a server, either bound as a singleton or set as
+ * {@link com.netflix.zuul.netty.server.ZuulDependencyKeys#filterExecutionStats}.
+ */
+@Singleton
+public final class FilterExecutionStats {
+
+    static final CachedDynamicIntProperty LATENCY_SAMPLE_RATE =
+            new CachedDynamicIntProperty("zuul.filters.stats.latency.sample.rate", 16);
+    static final CachedDynamicIntProperty ALLOCATION_SAMPLE_RATE =
+            new CachedDynamicIntProperty("zuul.filters.stats.allocation.sample.rate", 0);
+
+    private static final Duration MIN_LATENCY = Duration.ofNanos(100);
+    private static final Duration MAX_LATENCY = Duration.ofSeconds(10);
+    private static final ExecutionStatus[] STATUSES = ExecutionStatus.values();
+
+    static final long NOT_SAMPLED = -1;
+
+    @Nullable
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = threadMxBean();
+
+    private final Registry registry;
+    private final ConcurrentMap<String, FilterStats> byFilter = new ConcurrentHashMap<>();
+
+    @Inject
+    public FilterExecutionStats(Registry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Records one filter execution: its latency if the filter ran and the execution is sampled, or else a count of
+     * its status.
+     */
+    void record(ZuulFilter<?, ?> filter, ExecutionStatus status, long nanos) {
+        if (status == ExecutionStatus.SUCCESS || status == ExecutionStatus.FAILED) {
+            if (isSampled(LATENCY_SAMPLE_RATE.get())) {
+                statsFor(filter).recordLatency(status, nanos);
+            }
+        } else {
+            statsFor(filter).count(status);
+        }
+    }
+
+    /**
+     * Returns the bytes allocated so far by the current thread if this execution is sampled for allocations, or
+     * {@link #NOT_SAMPLED}.  Pass the result to {@link #recordAllocation} once the filter has run.
+     */
+    long allocationStart() {
+        if (THREAD_MX_BEAN == null || !isSampled(ALLOCATION_SAMPLE_RATE.get())) {
+            return NOT_SAMPLED;
+        }
+        return THREAD_MX_BEAN.getCurrentThreadAllocatedBytes();
+    }
+
+    /**
+     * Same as {@link #allocationStart()}, except that warm-up requests are never sampled.
+     */
+    long allocationStart(SessionContext context) {
+        return context.isWarmup() ? NOT_SAMPLED : allocationStart();
+    }
+
+    void recordAllocation(ZuulFilter<?, ?> filter, long allocationStart) {
+        if (allocationStart == NOT_SAMPLED) {
+            return;
+        }
+        long allocated = THREAD_MX_BEAN.getCurrentThreadAllocatedBytes() - allocationStart;
+        if (allocated >= 0) {
+            statsFor(filter).recordAllocation(allocated);
+        }
+    }
+
+    /**
+     * Returns a table of the sampled cost of each filter, ordered by the total sampled time spent in it.
+     */
+    public String dump() {
+        List<FilterStats> stats = new ArrayList<>(byFilter.values());
+        stats.sort(Comparator.comparingLong((FilterStats s) -> s.latencyNanos.sum())
+                .reversed());
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(
+                Locale.ROOT,
+                "%-60s %-4s %12s %14s %12s %12s %14s%n",
+                "filter",
+                "type",
+                "samples",
+                "mean ns",
+                "not run",
+                "alloc samp",
+                "mean bytes"));
+        for (FilterStats s : stats) {
+            long samples = s.latencySamples.sum();
+            long allocSamples = s.allocationSamples.sum();
+            sb.append(String.format(
+                    Locale.ROOT,
+                    "%-60s %-4s %12d %14d %12d %12d %14d%n",
+                    s.name,
+                    s.type,
+                    samples,
+                    samples == 0 ? 0 : s.latencyNanos.sum() / samples,
+                    s.notRun.sum(),
+                    allocSamples,
+                    allocSamples == 0 ? 0 : s.allocatedBytes.sum() / allocSamples));
+        }
+        return sb.toString();
+    }
+
+    private FilterStats statsFor(ZuulFilter<?, ?> filter) {
+        String name = filter.filterName();
+        FilterStats stats = byFilter.get(name);
+        if (stats == null) {
+            stats = byFilter.computeIfAbsent(name, k -> new FilterStats(name, filter.filterType().toString()));
+        }
+        return stats;
+    }
+
+    private static boolean isSampled(int rate) {
+        return rate > 0 && (rate == 1 || ThreadLocalRandom.current().nextInt(rate) == 0);
+    }
+
+    @Nullable
+    private static com.sun.management.ThreadMXBean threadMxBean() {
+        try {
+            if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                    && bean.isThreadAllocatedMemorySupported()
+                    && bean.isThreadAllocatedMemoryEnabled()) {
+                return bean;
+            }
+        } catch (LinkageError | RuntimeException e) {
+            // Not available on this JVM.
+        }
+        return null;
+    }
+
+    private final class FilterStats {
+        final String name;
+        final String type;
+        final LongAdder latencySamples = new LongAdder();
+        final LongAdder latencyNanos = new LongAdder();
+        final LongAdder allocationSamples = new LongAdder();
+        final LongAdder allocatedBytes = new LongAdder();
+        final LongAdder notRun = new LongAdder();
+        final AtomicReferenceArray<PercentileTimer> timers = new AtomicReferenceArray<>(STATUSES.length);
+        final AtomicReferenceArray<Counter> counters = new AtomicReferenceArray<>(STATUSES.length);
+        final DistributionSummary allocation;
+
+        FilterStats(String name, String type) {
+            this.name = name;
+            this.type = type;
+            this.allocation = registry.distributionSummary(
+                    registry.createId("zuul.filter.allocation", "filter", name, "filtertype", type));
+        }
+
+        void recordLatency(ExecutionStatus status, long nanos) {
+            latencySamples.increment();
+            latencyNanos.add(nanos);
+            timer(status).record(nanos, TimeUnit.NANOSECONDS);
+        }
+
+        void count(ExecutionStatus status) {
+            notRun.increment();
+            Counter counter = counters.get(status.ordinal());
+            if (counter == null) {
+                counter = registry.counter(registry.createId(
+                        "zuul.filter.executions", "filter", name, "filtertype", type, "status", status.name()));
+                counters.set(status.ordinal(), counter);
+            }
+            counter.increment();
+        }
+
+        void recordAllocation(long bytes) {
+            allocationSamples.increment();
+            allocatedBytes.add(bytes);
+            allocation.record(bytes);
+        }
+
+        private PercentileTimer timer(ExecutionStatus status) {
+            PercentileTimer timer = timers.get(status.ordinal());
+            if (timer == null) {
+                timer = PercentileTimer.builder(registry)
+                        .withId(registry.createId(
+                                "zuul.filter.latency", "filter", name, "filtertype", type, "status", status.name()))
+                        .withRange(MIN_LATENCY, MAX_LATENCY)
+                        .build();
+                // Racing threads build equivalent timers over the same registry id, so either may win.
+                timers.compareAndSet(status.ordinal(), null, timer);
+            }
+            return timer;
+        }
+    }
+}
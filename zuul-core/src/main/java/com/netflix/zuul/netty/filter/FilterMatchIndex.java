@@ -0,0 +1,227 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.netty.filter;
+
+import com.netflix.zuul.filters.FilterRequestMatch;
+import com.netflix.zuul.filters.ZuulFilter;
+import com.netflix.zuul.message.ZuulMessage;
+import com.netflix.zuul.message.http.HttpRequestInfo;
+import com.netflix.zuul.message.http.HttpRequestMessage;
+import com.netflix.zuul.message.http.HttpResponseMessage;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import javax.annotation.Nullable;
+
+/**
+ * Indexes the {@link FilterRequestMatch} declarations of a filter chain, to find the filters a request does not match
+ * without asking each of them.
+ *
+ * <p>Filters are identified by their position in the chain, and sets of positions are bit sets.  Path prefixes are
+ * kept in a character trie that is walked once along the request path; hosts and methods are hash lookups.  The cost
+ * of a lookup therefore depends on the length of the path and the size of the chain in words, not on the number of
+ * filters that declare a match.
+ */
+final class FilterMatchIndex {
+
+    private final int words;
+    private final long[] pathDeclared;
+    private final long[] hostDeclared;
+    private final long[] methodDeclared;
+    private final TrieNode paths;
+    private final Map<String, long[]> hosts;
+    private final Map<String, long[]> methods;
+
+    private FilterMatchIndex(
+            int words,
+            long[] pathDeclared,
+            long[] hostDeclared,
+            long[] methodDeclared,
+            TrieNode paths,
+            Map<String, long[]> hosts,
+            Map<String, long[]> methods) {
+        this.words = words;
+        this.pathDeclared = pathDeclared;
+        this.hostDeclared = hostDeclared;
+        this.methodDeclared = methodDeclared;
+        this.paths = paths;
+        this.hosts = hosts;
+        this.methods = methods;
+    }
+
+    /**
+     * Returns the index for the given chain, or {@code null} if none of its filters declare a match.
+     */
+    @Nullable
+    static FilterMatchIndex build(ZuulFilter<?, ?>[] filters) {
+        int words = (filters.length + Long.SIZE - 1) / Long.SIZE;
+        long[] pathDeclared = new long[words];
+        long[] hostDeclared = new long[words];
+        long[] methodDeclared = new long[words];
+        TrieBuilder paths = new TrieBuilder();
+        Map<String, long[]> hosts = new HashMap<>();
+        Map<String, long[]> methods = new HashMap<>();
+        boolean any = false;
+
+        for (int i = 0; i < filters.length; i++) {
+            FilterRequestMatch match = filters[i].requestMatch();
+            if (match == null) {
+                continue;
+            }
+            any = true;
+            if (!match.getPathPrefixes().isEmpty()) {
+                set(pathDeclared, i);
+                for (String prefix : match.getPathPrefixes()) {
+                    set(paths.add(prefix).mask(words), i);
+                }
+            }
+            if (!match.getHosts().isEmpty()) {
+                set(hostDeclared, i);
+                for (String host : match.getHosts()) {
+                    set(hosts.computeIfAbsent(host, k -> new long[words]), i);
+                }
+            }
+            if (!match.getMethods().isEmpty()) {
+                set(methodDeclared, i);
+                for (String method : match.getMethods()) {
+                    set(methods.computeIfAbsent(method, k -> new long[words]), i);
+                }
+            }
+        }
+
+        if (!any) {
+            return null;
+        }
+        return new FilterMatchIndex(
+                words,
+                pathDeclared,
+                hostDeclared,
+                methodDeclared,
+                paths.build(),
+                Map.copyOf(hosts),
+                Map.copyOf(methods));
+    }
+
+    /**
+     * Returns the positions of the filters that the request a message belongs to does not match, or {@code null} if
+     * it matches them all.
+     */
+    @Nullable
+    long[] unmatched(ZuulMessage msg) {
+        HttpRequestInfo request;
+        if (msg instanceof HttpRequestMessage requestMessage) {
+            request = requestMessage.getInboundRequest() != null ? requestMessage.getInboundRequest() : requestMessage;
+        } else if (msg instanceof HttpResponseMessage responseMessage) {
+            request = responseMessage.getInboundRequest();
+        } else {
+            request = null;
+        }
+        if (request == null) {
+            // Nothing to match against, so leave it to the filters as before.
+            return null;
+        }
+
+        long[] unmatched = pathDeclared.clone();
+        String path = request.getPath();
+        TrieNode node = paths;
+        for (int i = 0; node != null; i++) {
+            if (node.mask != null) {
+                clear(unmatched, node.mask);
+            }
+            node = i < path.length() ? node.child(path.charAt(i)) : null;
+        }
+
+        String host = FilterRequestMatch.originalHost(request);
+        long[] hostMatched = host != null ? hosts.get(host.toLowerCase(Locale.ROOT)) : null;
+        long[] methodMatched = methods.get(request.getMethod().toUpperCase(Locale.ROOT));
+
+        long any = 0;
+        for (int w = 0; w < words; w++) {
+            unmatched[w] |= hostDeclared[w] & ~(hostMatched != null ? hostMatched[w] : 0);
+            unmatched[w] |= methodDeclared[w] & ~(methodMatched != null ? methodMatched[w] : 0);
+            any |= unmatched[w];
+        }
+        return any != 0 ? unmatched : null;
+    }
+
+    static boolean contains(@Nullable long[] positions, int i) {
+        return positions != null && (positions[i / Long.SIZE] & (1L << i)) != 0;
+    }
+
+    private static void set(long[] bits, int i) {
+        bits[i / Long.SIZE] |= 1L << i;
+    }
+
+    private static void clear(long[] bits, long[] mask) {
+        for (int w = 0; w < bits.length; w++) {
+            bits[w] &= ~mask[w];
+        }
+    }
+
+    private static final class TrieNode {
+        private final char[] keys;
+        private final TrieNode[] children;
+
+        @Nullable
+        final long[] mask;
+
+        TrieNode(char[] keys, TrieNode[] children, @Nullable long[] mask) {
+            this.keys = keys;
+            this.children = children;
+            this.mask = mask;
+        }
+
+        @Nullable
+        TrieNode child(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            return i >= 0 ? children[i] : null;
+        }
+    }
+
+    private static final class TrieBuilder {
+        private final TreeMap<Character, TrieBuilder> children = new TreeMap<>();
+        private long[] mask;
+
+        TrieBuilder add(String prefix) {
+            TrieBuilder node = this;
+            for (int i = 0; i < prefix.length(); i++) {
+                node = node.children.computeIfAbsent(prefix.charAt(i), k -> new TrieBuilder());
+            }
+            return node;
+        }
+
+        long[] mask(int words) {
+            if (mask == null) {
+                mask = new long[words];
+            }
+            return mask;
+        }
+
+        TrieNode build() {
+            char[] keys = new char[children.size()];
+            TrieNode[] nodes = new TrieNode[children.size()];
+            int i = 0;
+            for (Map.Entry<Character, TrieBuilder> entry : children.entrySet()) {
+                keys[i] = entry.getKey();
+                nodes[i++] = entry.getValue().build();
+            }
+            return new TrieNode(keys, nodes, mask);
+        }
+    }
+}
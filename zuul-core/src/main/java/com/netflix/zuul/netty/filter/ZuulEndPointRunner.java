@@ -70,6 +70,17 @@ public class ZuulEndPointRunner extends BaseZuulFilterRunner<HttpRequestMessage,
         this.filterLoader = filterLoader;
     }
 
+    public ZuulEndPointRunner(
+            FilterUsageNotifier usageNotifier,
+            FilterLoader filterLoader,
+            FilterRunner<HttpResponseMessage, HttpResponseMessage> respFilters,
+            FilterConstraints filterConstraints,
+            Registry registry,
+            FilterExecutionStats executionStats) {
+        super(FilterType.ENDPOINT, usageNotifier, respFilters, filterConstraints, registry, executionStats);
+        this.filterLoader = filterLoader;
+    }
+
     @Nullable
     public static ZuulFilter<HttpRequestMessage, HttpResponseMessage> getEndpoint(
             @Nullable HttpRequestMessage zuulReq) {
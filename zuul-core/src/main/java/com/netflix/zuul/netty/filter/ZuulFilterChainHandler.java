@@ -84,6 +84,15 @@ public class ZuulFilterChainHandler extends ChannelInboundHandlerAdapter {
         }
     }
 
+    @Override
+    public void channelReadComplete(ChannelHandlerContext ctx) throws Exception {
+        if (zuulRequest != null
+                && ZuulEndPointRunner.getEndpoint(zuulRequest) instanceof EndpointLifecycle lifecycleEndpoint) {
+            lifecycleEndpoint.inboundReadComplete();
+        }
+        super.channelReadComplete(ctx);
+    }
+
     @Override
     public final void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
         if (evt instanceof CompleteEvent completeEvent) {
@@ -19,6 +19,7 @@ package com.netflix.zuul.netty.filter;
 import com.netflix.netty.common.ByteBufUtil;
 import com.netflix.spectator.api.Registry;
 import com.netflix.zuul.FilterUsageNotifier;
+import com.netflix.zuul.filters.FilterChainCursor;
 import com.netflix.zuul.filters.ZuulFilter;
 import com.netflix.zuul.message.ZuulMessage;
 import com.netflix.zuul.message.http.HttpRequestMessage;
@@ -30,7 +31,7 @@ import io.netty.util.ReferenceCountUtil;
 import io.perfmark.PerfMark;
 import io.perfmark.TaskCloseable;
 import java.util.Objects;
-import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
@@ -41,6 +42,7 @@ import javax.annotation.concurrent.ThreadSafe;
 public class ZuulFilterChainRunner<T extends ZuulMessage> extends BaseZuulFilterRunner<T, T> {
 
     private final ZuulFilter<T, T>[] filters;
+    private volatile CompiledFilterChain<T> compiledChain;
 
     public ZuulFilterChainRunner(
             ZuulFilter<T, T>[] zuulFilters,
@@ -50,6 +52,19 @@ public class ZuulFilterChainRunner<T extends ZuulMessage> extends BaseZuulFilter
             Registry registry) {
         super(zuulFilters[0].filterType(), usageNotifier, nextStage, filterConstraints, registry);
         this.filters = zuulFilters;
+        this.compiledChain = CompiledFilterChain.compile(zuulFilters);
+    }
+
+    public ZuulFilterChainRunner(
+            ZuulFilter<T, T>[] zuulFilters,
+            FilterUsageNotifier usageNotifier,
+            FilterRunner<T, ?> nextStage,
+            FilterConstraints filterConstraints,
+            Registry registry,
+            FilterExecutionStats executionStats) {
+        super(zuulFilters[0].filterType(), usageNotifier, nextStage, filterConstraints, registry, executionStats);
+        this.filters = zuulFilters;
+        this.compiledChain = CompiledFilterChain.compile(zuulFilters);
     }
 
     public ZuulFilterChainRunner(
@@ -64,8 +79,38 @@ public class ZuulFilterChainRunner<T extends ZuulMessage> extends BaseZuulFilter
     public void filter(T inMesg) {
         try (TaskCloseable ignored = PerfMark.traceTask(this, s -> s.getClass().getSimpleName() + ".filter")) {
             addPerfMarkTags(inMesg);
-            runFilters(inMesg, initRunningFilterIndex(inMesg));
+            CompiledFilterChain<T> chain = currentChain();
+            long[] unmatched = chain.matchIndex != null ? chain.matchIndex.unmatched(inMesg) : null;
+            ChainCursor<T> cursor = initFilterChainCursor(inMesg, new ChainCursor<>(chain, unmatched));
+            runFilters(inMesg, cursor, true);
+        }
+    }
+
+    /**
+     * Returns the compiled chain for the current configuration.  Each message keeps the chain it started with, since
+     * its cursor points into it.
+     */
+    private CompiledFilterChain<T> currentChain() {
+        CompiledFilterChain<T> chain = compiledChain;
+        if (chain.configVersion != CompiledFilterChain.configVersion()) {
+            chain = CompiledFilterChain.compile(filters);
+            compiledChain = chain;
+        }
+        return chain;
+    }
+
+    @Nullable
+    private static long[] unmatchedOf(FilterChainCursor cursor) {
+        return cursor instanceof ChainCursor<?> chainCursor ? chainCursor.unmatched : null;
+    }
+
+    private CompiledFilterChain<T> chainOf(FilterChainCursor cursor) {
+        if (cursor instanceof ChainCursor<?> chainCursor) {
+            @SuppressWarnings("unchecked") // Only this runner stores cursors under its filter type.
+            CompiledFilterChain<T> chain = (CompiledFilterChain<T>) chainCursor.chain;
+            return chain;
         }
+        return currentChain();
     }
 
     @Override
@@ -76,16 +121,20 @@ public class ZuulFilterChainRunner<T extends ZuulMessage> extends BaseZuulFilter
             addPerfMarkTags(inMesg);
             Objects.requireNonNull(inMesg, "input message");
 
-            AtomicInteger runningFilterIdx = getRunningFilterIndex(inMesg);
-            int limit = runningFilterIdx.get();
-            for (int i = 0; i < limit; i++) {
-                ZuulFilter<T, T> filter = filters[i];
-                if (!filter.processesContentChunks()) {
-                    continue;
+            FilterChainCursor cursor = getFilterChainCursor(inMesg);
+            CompiledFilterChain<T> chain = chainOf(cursor);
+            long[] unmatched = unmatchedOf(cursor);
+            int limit = cursor.index();
+            // Only the filters that process chunks are visited, in chain order, up to the one currently running.
+            for (int i : chain.chunkFilterIndexes) {
+                if (i >= limit) {
+                    break;
                 }
-
+                ZuulFilter<T, T> filter = chain.filters[i];
                 filterName = filter.filterName();
-                if (!filter.isDisabled() && !shouldSkipFilter(inMesg, filter)) {
+                if (!FilterMatchIndex.contains(unmatched, i)
+                        && !filter.isDisabled()
+                        && !shouldSkipFilter(inMesg, filter)) {
                     ByteBufUtil.touch(chunk, "Filter runner processing chunk, filter: ", filterName);
                     HttpContent newChunk = filter.processContentChunk(inMesg, chunk);
                     if (newChunk == null) {
@@ -101,7 +150,7 @@ public class ZuulFilterChainRunner<T extends ZuulMessage> extends BaseZuulFilter
                 }
             }
 
-            if (limit >= filters.length) {
+            if (limit >= chain.filters.length) {
                 // Filter chain has run to end, pass down the channel pipeline
                 ByteBufUtil.touch(chunk, "Filter runner chain complete, message: ", inMesg);
                 invokeNextStage(inMesg, chunk);
@@ -109,7 +158,7 @@ public class ZuulFilterChainRunner<T extends ZuulMessage> extends BaseZuulFilter
                 ByteBufUtil.touch(chunk, "Filter runner buffering chunk, message: ", inMesg);
                 inMesg.bufferBodyContents(chunk);
 
-                boolean isAwaitingBody = isFilterAwaitingBody(inMesg.getContext());
+                boolean isAwaitingBody = cursor.isAwaitingBody();
 
                 // Record passport states for start and end of buffering bodies.
                 if (isAwaitingBody) {
@@ -132,7 +181,7 @@ public class ZuulFilterChainRunner<T extends ZuulMessage> extends BaseZuulFilter
                 if (isAwaitingBody && inMesg.hasCompleteBody()) {
                     // whole body has arrived, resume filter chain
                     ByteBufUtil.touch(chunk, "Filter body complete, resume chain, ZuulMessage: ", inMesg);
-                    runFilters(inMesg, runningFilterIdx);
+                    runFilters(inMesg, cursor, false);
                 }
             }
         } catch (Exception ex) {
@@ -144,30 +193,43 @@ public class ZuulFilterChainRunner<T extends ZuulMessage> extends BaseZuulFilter
     @Override
     protected void resume(T inMesg) {
         try (TaskCloseable ignored = PerfMark.traceTask(this, s -> s.getClass().getSimpleName() + ".resume")) {
-            AtomicInteger runningFilterIdx = getRunningFilterIndex(inMesg);
-            runningFilterIdx.incrementAndGet();
-            runFilters(inMesg, runningFilterIdx);
+            FilterChainCursor cursor = getFilterChainCursor(inMesg);
+            cursor.advance();
+            runFilters(inMesg, cursor, true);
         }
     }
 
-    private final void runFilters(T mesg, AtomicInteger runningFilterIdx) {
+    /**
+     * Runs the chain from the cursor's position.  {@code newPosition} is false when the chain picks up again at the
+     * filter that was waiting for the body, whose preceding disabled filters have already been reported.
+     */
+    private final void runFilters(T mesg, FilterChainCursor cursor, boolean newPosition) {
         T inMesg = mesg;
         String filterName = "-";
         try {
             Objects.requireNonNull(mesg, "Input message");
-            int i = runningFilterIdx.get();
+            CompiledFilterChain<T> chain = chainOf(cursor);
+            ZuulFilter<T, T>[] chainFilters = chain.filters;
+            long[] unmatched = unmatchedOf(cursor);
+            int i = cursor.index();
+            if (newPosition) {
+                recordDisabledFilters(chain, i, inMesg);
+            }
 
-            while (i < filters.length) {
-                ZuulFilter<T, T> filter = filters[i];
+            while (i < chainFilters.length) {
+                ZuulFilter<T, T> filter = chainFilters[i];
                 filterName = filter.filterName();
-                FilterExecutionResult<T> result = executeFilter(filter, inMesg);
+                FilterExecutionResult<T> result = FilterMatchIndex.contains(unmatched, i)
+                        ? skipFilter(filter, inMesg)
+                        : executeFilter(filter, inMesg);
                 if (result instanceof FilterExecutionResult.Pending<T>) {
                     return;
                 }
                 if (result instanceof FilterExecutionResult.Complete<T>(T message)) {
                     inMesg = message;
                 }
-                i = runningFilterIdx.incrementAndGet();
+                i = cursor.advance();
+                recordDisabledFilters(chain, i, inMesg);
             }
 
             // Filter chain has reached its end, pass result to the next stage
@@ -176,4 +238,30 @@ public class ZuulFilterChainRunner<T extends ZuulMessage> extends BaseZuulFilter
             handleException(inMesg, filterName, ex);
         }
     }
+
+    /**
+     * Reports the filters left out of the chain just before the given position, in chain order, as each would have
+     * been reported had it been reached in the full chain.
+     */
+    private void recordDisabledFilters(CompiledFilterChain<T> chain, int position, T inMesg) {
+        for (int i = chain.disabledFrom(position), to = chain.disabledTo(position); i < to; i++) {
+            recordDisabledFilter(chain.disabledFilters[i], inMesg);
+        }
+    }
+
+    /**
+     * The cursor of a message, along with the compiled chain it points into and the filters of that chain whose
+     * request match the message's request fails.
+     */
+    private static final class ChainCursor<T extends ZuulMessage> extends FilterChainCursor {
+        final CompiledFilterChain<T> chain;
+
+        @Nullable
+        final long[] unmatched;
+
+        ChainCursor(CompiledFilterChain<T> chain, @Nullable long[] unmatched) {
+            this.chain = chain;
+            this.unmatched = unmatched;
+        }
+    }
 }
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.netty.insights;
+
+import com.netflix.config.CachedDynamicBooleanProperty;
+import com.netflix.netty.common.HttpLifecycleChannelHandler;
+import com.netflix.spectator.api.Registry;
+import com.netflix.spectator.api.histogram.PercentileTimer;
+import com.netflix.zuul.message.http.HttpRequestMessage;
+import com.netflix.zuul.netty.server.ClientRequestReceiver;
+import com.netflix.zuul.passport.CurrentPassport;
+import com.netflix.zuul.passport.PassportItem;
+import com.netflix.zuul.passport.PassportState;
+import com.netflix.zuul.passport.StartAndEnd;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Breaks each completed request down into the standard lifecycle phases using its {@link CurrentPassport}, and
+ * records each phase into a {@link PercentileTimer} tagged by origin and listener. Comparing the phases makes it
+ * possible to tell whether a latency regression comes from Zuul itself or from the origin.
+ *
+ * <p>Disabled by default; enable with {@code zuul.passport.phase.metrics.enabled}.
+ */
+@ChannelHandler.Sharable
+public class PassportPhaseMetricsHandler extends ChannelInboundHandlerAdapter {
+    private static final Logger LOG = LoggerFactory.getLogger(PassportPhaseMetricsHandler.class);
+
+    private static final CachedDynamicBooleanProperty ENABLED =
+            new CachedDynamicBooleanProperty("zuul.passport.phase.metrics.enabled", false);
+
+    private static final Duration MIN_PHASE_TIME = Duration.ofNanos(1000);
+    private static final Duration MAX_PHASE_TIME = Duration.ofMinutes(5);
+
+    static final String UNKNOWN_ORIGIN = "unknown";
+
+    enum Phase {
+        INBOUND_FILTERS("inboundFilters"),
+        CONN_ACQUIRE("connAcquire"),
+        ORIGIN_TTFB("originTtfb"),
+        RESPONSE_STREAMING("responseStreaming"),
+        TOTAL("total");
+
+        private static final Phase[] VALUES = values();
+
+        final String tagValue;
+
+        Phase(String tagValue) {
+            this.tagValue = tagValue;
+        }
+    }
+
+    private final Registry registry;
+    private final String listener;
+    private final ConcurrentMap<String, PercentileTimer[]> timersByOrigin = new ConcurrentHashMap<>();
+
+    public PassportPhaseMetricsHandler(Registry registry, String listener) {
+        this.registry = Objects.requireNonNull(registry);
+        this.listener = Objects.requireNonNull(listener);
+    }
+
+    @Override
+    public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
+        try {
+            super.userEventTriggered(ctx, evt);
+        } finally {
+            if (evt instanceof HttpLifecycleChannelHandler.CompleteEvent && ENABLED.get()) {
+                try {
+                    recordPhases(ctx);
+                } catch (Exception e) {
+                    LOG.error("Error recording passport phase metrics after request completed!", e);
+                }
+            }
+        }
+    }
+
+    private void recordPhases(ChannelHandlerContext ctx) {
+        CurrentPassport passport = CurrentPassport.fromChannelOrNull(ctx.channel());
+        if (passport == null) {
+            return;
+        }
+        HttpRequestMessage request = ClientRequestReceiver.getRequestFromChannel(ctx.channel());
+        String origin = request == null ? null : request.getContext().getRouteVIP();
+        record(passport, origin != null ? origin : UNKNOWN_ORIGIN);
+    }
+
+    void record(CurrentPassport passport, String origin) {
+        PercentileTimer[] timers = timersFor(origin);
+        for (Phase phase : Phase.VALUES) {
+            long nanos = phaseDuration(passport, phase);
+            if (nanos >= 0) {
+                timers[phase.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private PercentileTimer[] timersFor(String origin) {
+        PercentileTimer[] timers = timersByOrigin.get(origin);
+        if (timers == null) {
+            timers = timersByOrigin.computeIfAbsent(origin, this::createTimers);
+        }
+        return timers;
+    }
+
+    private PercentileTimer[] createTimers(String origin) {
+        PercentileTimer[] timers = new PercentileTimer[Phase.VALUES.length];
+        for (Phase phase : Phase.VALUES) {
+            timers[phase.ordinal()] = PercentileTimer.builder(registry)
+                    .withId(registry.createId(
+                            "zuul.passport.phase", "phase", phase.tagValue, "origin", origin, "listener", listener))
+                    .withRange(MIN_PHASE_TIME, MAX_PHASE_TIME)
+                    .build();
+        }
+        return timers;
+    }
+
+    /**
+     * Returns the time spent in the given phase, or {@code -1} if the passport doesn't contain the states needed to
+     * compute it (for example, the connection-acquire phase of a request that was never proxied).
+     */
+    static long phaseDuration(CurrentPassport passport, Phase phase) {
+        return switch (phase) {
+            case INBOUND_FILTERS ->
+                between(passport.findFirstStartAndLastEndStates(
+                        PassportState.FILTERS_INBOUND_START, PassportState.FILTERS_INBOUND_END));
+            case CONN_ACQUIRE -> sumOfPairs(passport.findEachPairOf(
+                    PassportState.ORIGIN_CONN_ACQUIRE_START, PassportState.ORIGIN_CONN_ACQUIRE_END));
+            case ORIGIN_TTFB ->
+                // Measured against the last attempt, as earlier attempts were retried and their responses discarded.
+                between(
+                        passport.findStateBackwards(PassportState.OUT_REQ_LAST_CONTENT_SENT),
+                        passport.findStateBackwards(PassportState.IN_RESP_HEADERS_RECEIVED));
+            case RESPONSE_STREAMING ->
+                between(
+                        passport.findStateBackwards(PassportState.IN_RESP_HEADERS_RECEIVED),
+                        passport.findStateBackwards(PassportState.OUT_RESP_LAST_CONTENT_SENT));
+            case TOTAL ->
+                between(passport.findFirstStartAndLastEndStates(
+                        PassportState.IN_REQ_HEADERS_RECEIVED, PassportState.OUT_RESP_LAST_CONTENT_SENT));
+        };
+    }
+
+    private static long between(StartAndEnd sae) {
+        if (sae.getStart() == -1 || sae.getEnd() == -1 || sae.getEnd() < sae.getStart()) {
+            return -1;
+        }
+        return sae.getEnd() - sae.getStart();
+    }
+
+    private static long between(PassportItem start, PassportItem end) {
+        if (start == null || end == null || end.getTime() < start.getTime()) {
+            return -1;
+        }
+        return end.getTime() - start.getTime();
+    }
+
+    private static long sumOfPairs(List<StartAndEnd> pairs) {
+        if (pairs.isEmpty()) {
+            return -1;
+        }
+        long total = 0;
+        for (StartAndEnd pair : pairs) {
+            total += pair.getEnd() - pair.getStart();
+        }
+        return total;
+    }
+}
@@ -49,12 +49,14 @@ import com.netflix.zuul.filters.passport.OutboundPassportStampingFilter;
 import com.netflix.zuul.message.ZuulMessage;
 import com.netflix.zuul.message.http.HttpRequestMessage;
 import com.netflix.zuul.message.http.HttpResponseMessage;
+import com.netflix.zuul.netty.filter.FilterChainSnapshot;
 import com.netflix.zuul.netty.filter.FilterConstraints;
+import com.netflix.zuul.netty.filter.FilterExecutionStats;
 import com.netflix.zuul.netty.filter.FilterRunner;
 import com.netflix.zuul.netty.filter.ZuulEndPointRunner;
-import com.netflix.zuul.netty.filter.ZuulFilterChainHandler;
 import com.netflix.zuul.netty.filter.ZuulFilterChainRunner;
 import com.netflix.zuul.netty.insights.PassportLoggingHandler;
+import com.netflix.zuul.netty.insights.PassportPhaseMetricsHandler;
 import com.netflix.zuul.netty.insights.PassportStateHttpServerHandler;
 import com.netflix.zuul.netty.insights.ServerStateHandler;
 import com.netflix.zuul.netty.server.ssl.SslHandshakeInfoHandler;
@@ -70,9 +72,11 @@ import io.netty.handler.logging.LogLevel;
 import io.netty.handler.logging.LoggingHandler;
 import io.netty.handler.timeout.IdleStateHandler;
 import io.netty.util.AttributeKey;
+import java.util.Arrays;
 import java.util.List;
 import java.util.SortedSet;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import lombok.NonNull;
 
 /**
@@ -135,6 +139,7 @@ public abstract class BaseZuulChannelInitializer extends ChannelInitializer<Chan
     protected final MaxInboundConnectionsHandler maxConnectionsHandler;
     protected final AccessLogPublisher accessLogPublisher;
     protected final PassportLoggingHandler passportLoggingHandler;
+    protected final PassportPhaseMetricsHandler passportPhaseMetricsHandler;
     protected final boolean withProxyProtocol;
     protected final StripUntrustedProxyHeadersHandler stripInboundProxyHeadersHandler;
     // TODO
@@ -151,6 +156,9 @@ public abstract class BaseZuulChannelInitializer extends ChannelInitializer<Chan
     protected final FilterUsageNotifier filterUsageNotifier;
     protected final SourceAddressChannelHandler sourceAddressChannelHandler;
     protected final FilterConstraints filterConstraints;
+    protected final FilterExecutionStats filterExecutionStats;
+
+    private final AtomicReference<FilterChainSnapshot> filterChains = new AtomicReference<>();
 
     /** A collection of all the active channels that we can use to things like graceful shutdown */
     protected final ChannelGroup channels;
@@ -217,6 +225,7 @@ public abstract class BaseZuulChannelInitializer extends ChannelInitializer<Chan
                 .get();
 
         this.passportLoggingHandler = new PassportLoggingHandler(registry);
+        this.passportPhaseMetricsHandler = new PassportPhaseMetricsHandler(registry, "http-" + metricId);
 
         this.sessionContextDecorator = channelDependencies.get(ZuulDependencyKeys.sessionCtxDecorator);
         this.requestCompleteHandler = channelDependencies.get(ZuulDependencyKeys.requestCompleteHandler);
@@ -231,6 +240,10 @@ public abstract class BaseZuulChannelInitializer extends ChannelInitializer<Chan
         FilterConstraints filterConstraints = channelDependencies.get(ZuulDependencyKeys.filterConstraints);
         this.filterConstraints = filterConstraints != null ? filterConstraints : new FilterConstraints(List.of());
 
+        FilterExecutionStats filterExecutionStats = channelDependencies.get(ZuulDependencyKeys.filterExecutionStats);
+        this.filterExecutionStats =
+                filterExecutionStats != null ? filterExecutionStats : new FilterExecutionStats(registry);
+
         this.sourceAddressChannelHandler = new SourceAddressChannelHandler();
     }
 
@@ -244,14 +257,17 @@ public abstract class BaseZuulChannelInitializer extends ChannelInitializer<Chan
     }
 
     protected void addPassportHandler(ChannelPipeline pipeline) {
-        pipeline.addLast(new ServerStateHandler.InboundHandler(registry, "http-" + metricId));
-        pipeline.addLast(new ServerStateHandler.OutboundHandler(registry));
+        Registry channelRegistry = registryFor(pipeline);
+        pipeline.addLast(new ServerStateHandler.InboundHandler(channelRegistry, "http-" + metricId));
+        pipeline.addLast(new ServerStateHandler.OutboundHandler(channelRegistry));
     }
 
     protected void addTcpRelatedHandlers(ChannelPipeline pipeline) {
         pipeline.addLast(sourceAddressChannelHandler);
-        pipeline.addLast(perEventLoopConnectionMetricsHandler);
-        new ElbProxyProtocolChannelHandler(registry, withProxyProtocol).addProxyProtocol(pipeline);
+        if (!ServerWarmup.isWarmupChannel(pipeline.channel())) {
+            pipeline.addLast(perEventLoopConnectionMetricsHandler);
+        }
+        new ElbProxyProtocolChannelHandler(registryFor(pipeline), withProxyProtocol).addProxyProtocol(pipeline);
 
         pipeline.addLast(maxConnectionsHandler);
     }
@@ -265,7 +281,7 @@ public abstract class BaseZuulChannelInitializer extends ChannelInitializer<Chan
             pipeline.addLast(new Http1FramingEnforcingHandler());
         }
 
-        pipeline.addLast(new Http1ConnectionCloseHandler(registry));
+        pipeline.addLast(new Http1ConnectionCloseHandler(registryFor(pipeline)));
         pipeline.addLast(
                 "conn_expiry_handler", new Http1ConnectionExpiryHandler(maxRequestsPerConnection, connectionExpiry));
     }
@@ -292,14 +308,17 @@ public abstract class BaseZuulChannelInitializer extends ChannelInitializer<Chan
         }
         pipeline.addLast(new HttpServerLifecycleChannelHandler.HttpServerLifecycleInboundChannelHandler());
         pipeline.addLast(new HttpServerLifecycleChannelHandler.HttpServerLifecycleOutboundChannelHandler());
-        pipeline.addLast(new HttpBodySizeRecordingChannelHandler.InboundChannelHandler());
-        pipeline.addLast(new HttpBodySizeRecordingChannelHandler.OutboundChannelHandler());
-        pipeline.addLast(httpMetricsHandler);
-        pipeline.addLast(perEventLoopRequestsMetricsHandler);
-
-        if (accessLogPublisher != null) {
-            pipeline.addLast(new AccessLogChannelHandler.AccessLogInboundChannelHandler(accessLogPublisher));
-            pipeline.addLast(new AccessLogChannelHandler.AccessLogOutboundChannelHandler());
+        // Warm-up requests are kept out of request metrics and access logs.
+        if (!ServerWarmup.isWarmupChannel(pipeline.channel())) {
+            pipeline.addLast(new HttpBodySizeRecordingChannelHandler.InboundChannelHandler());
+            pipeline.addLast(new HttpBodySizeRecordingChannelHandler.OutboundChannelHandler());
+            pipeline.addLast(httpMetricsHandler);
+            pipeline.addLast(perEventLoopRequestsMetricsHandler);
+
+            if (accessLogPublisher != null) {
+                pipeline.addLast(new AccessLogChannelHandler.AccessLogInboundChannelHandler(accessLogPublisher));
+                pipeline.addLast(new AccessLogChannelHandler.AccessLogOutboundChannelHandler());
+            }
         }
 
         pipeline.addLast(stripInboundProxyHeadersHandler);
@@ -313,12 +332,13 @@ public abstract class BaseZuulChannelInitializer extends ChannelInitializer<Chan
 
     protected void addTimeoutHandlers(ChannelPipeline pipeline) {
         pipeline.addLast(new IdleStateHandler(0, 0, idleTimeout, TimeUnit.MILLISECONDS));
-        pipeline.addLast(new CloseOnIdleStateHandler(registry, metricId));
+        pipeline.addLast(new CloseOnIdleStateHandler(registryFor(pipeline), metricId));
     }
 
     protected void addSslInfoHandlers(ChannelPipeline pipeline, boolean isSSlFromIntermediary) {
-        pipeline.addLast("ssl_info", new SslHandshakeInfoHandler(registry, isSSlFromIntermediary, metricId));
-        pipeline.addLast("ssl_exceptions", new SslExceptionsHandler(registry));
+        Registry channelRegistry = registryFor(pipeline);
+        pipeline.addLast("ssl_info", new SslHandshakeInfoHandler(channelRegistry, isSSlFromIntermediary, metricId));
+        pipeline.addLast("ssl_exceptions", new SslExceptionsHandler(channelRegistry));
     }
 
     protected void addSslClientCertChecks(ChannelPipeline pipeline) {
@@ -334,11 +354,43 @@ public abstract class BaseZuulChannelInitializer extends ChannelInitializer<Chan
         pipeline.addLast("logger", nettyLogger);
         pipeline.addLast(new ClientRequestReceiver(sessionContextDecorator));
         pipeline.addLast(passportLoggingHandler);
+        if (!ServerWarmup.isWarmupChannel(pipeline.channel())) {
+            pipeline.addLast(passportPhaseMetricsHandler);
+        }
         addZuulFilterChainHandler(pipeline);
-        pipeline.addLast(new ClientResponseWriter(requestCompleteHandler, registry));
+        pipeline.addLast(new ClientResponseWriter(requestCompleteHandler, registryFor(pipeline)));
+    }
+
+    /**
+     * Returns the registry that per-channel handlers should record into: a no-op one for the connections made by
+     * {@link ServerWarmup}, so that warm-up traffic doesn't show up in production metrics.
+     */
+    protected Registry registryFor(ChannelPipeline pipeline) {
+        return ServerWarmup.isWarmupChannel(pipeline.channel()) ? ServerWarmup.NOOP_REGISTRY : registry;
     }
 
     protected void addZuulFilterChainHandler(ChannelPipeline pipeline) {
+        pipeline.addLast(getFilterChains().newHandler());
+    }
+
+    /**
+     * Returns the filter chains shared by all the pipelines of this listener, building them again first if the
+     * loaded filters have changed since they were last built.
+     */
+    protected FilterChainSnapshot getFilterChains() {
+        // Read the version before the filters, so a change made while building is picked up by the next caller.
+        long version = filterLoader.getFiltersVersion();
+        FilterChainSnapshot current = filterChains.get();
+        if (current != null && current.filtersVersion() == version) {
+            return current;
+        }
+        FilterChainSnapshot built = buildFilterChains(version);
+        // Several channels may race to rebuild; keep whichever snapshot is newest, so an older one never replaces it.
+        return filterChains.accumulateAndGet(
+                built, (prev, next) -> prev != null && prev.filtersVersion() >= next.filtersVersion() ? prev : next);
+    }
+
+    private FilterChainSnapshot buildFilterChains(long version) {
         ZuulFilter<HttpResponseMessage, HttpResponseMessage>[] responseFilters = getFilters(
                 new OutboundPassportStampingFilter(PassportState.FILTERS_OUTBOUND_START),
                 new OutboundPassportStampingFilter(PassportState.FILTERS_OUTBOUND_END));
@@ -359,7 +411,7 @@ public abstract class BaseZuulChannelInitializer extends ChannelInitializer<Chan
         ZuulFilterChainRunner<HttpRequestMessage> requestFilterChain =
                 getFilterChainRunner(requestFilters, filterUsageNotifier, endPoint);
 
-        pipeline.addLast(new ZuulFilterChainHandler(requestFilterChain, responseFilterChain));
+        return new FilterChainSnapshot(version, requestFilterChain, responseFilterChain);
     }
 
     protected ZuulEndPointRunner getEndpointRunner(
@@ -367,19 +419,30 @@ public abstract class BaseZuulChannelInitializer extends ChannelInitializer<Chan
             FilterUsageNotifier filterUsageNotifier,
             FilterLoader filterLoader) {
         return new ZuulEndPointRunner(
-                filterUsageNotifier, filterLoader, responseFilterChain, filterConstraints, registry);
+                filterUsageNotifier,
+                filterLoader,
+                responseFilterChain,
+                filterConstraints,
+                registry,
+                filterExecutionStats);
     }
 
     protected <T extends ZuulMessage> ZuulFilterChainRunner<T> getFilterChainRunner(
             ZuulFilter<T, T>[] filters, FilterUsageNotifier filterUsageNotifier) {
-        return new ZuulFilterChainRunner<>(filters, filterUsageNotifier, filterConstraints, registry);
+        return new ZuulFilterChainRunner<>(
+                filters, filterUsageNotifier, null, filterConstraints, registry, filterExecutionStats);
     }
 
     protected <T extends ZuulMessage, R extends ZuulMessage> ZuulFilterChainRunner<T> getFilterChainRunner(
             ZuulFilter<T, T>[] filters, FilterUsageNotifier filterUsageNotifier, FilterRunner<T, R> filterRunner) {
-        return new ZuulFilterChainRunner<>(filters, filterUsageNotifier, filterRunner, filterConstraints, registry);
+        return new ZuulFilterChainRunner<>(
+                filters, filterUsageNotifier, filterRunner, filterConstraints, registry, filterExecutionStats);
     }
 
+    /**
+     * Returns the loaded filters of the given type between {@code start} and {@code stop}, leaving out the filters
+     * that a {@link com.netflix.zuul.FilterConstraint} excludes from this listener altogether.
+     */
     @SuppressWarnings("unchecked") // For the conversion from getFiltersByType.  It's not safe, sorry.
     public <T extends ZuulMessage> ZuulFilter<T, T>[] getFilters(ZuulFilter<T, T> start, ZuulFilter<T, T> stop) {
         SortedSet<ZuulFilter<?, ?>> zuulFilters = filterLoader.getFiltersByType(start.filterType());
@@ -387,10 +450,13 @@ public abstract class BaseZuulChannelInitializer extends ChannelInitializer<Chan
         filters[0] = start;
         int i = 1;
         for (ZuulFilter<?, ?> filter : zuulFilters) {
+            if (filterConstraints.isConstrainedOnListener(channelConfig, filter)) {
+                continue;
+            }
             // TODO(carl-mastrangelo): find some way to make this cast not needed.
             filters[i++] = (ZuulFilter<T, T>) filter;
         }
-        filters[filters.length - 1] = stop;
-        return filters;
+        filters[i++] = stop;
+        return i == filters.length ? filters : Arrays.copyOf(filters, i);
     }
 }
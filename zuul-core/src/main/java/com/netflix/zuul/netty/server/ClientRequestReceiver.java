@@ -336,6 +336,9 @@ public class ClientRequestReceiver extends ChannelDuplexHandler {
 
         // Get the client IP (ignore XFF headers at this point, as that can be app specific).
         Channel channel = clientCtx.channel();
+        if (ServerWarmup.isWarmupChannel(channel)) {
+            context.setWarmup(true);
+        }
         String clientIp = getClientIp(channel);
 
         // This is the only way I found to get the port of the request with netty...
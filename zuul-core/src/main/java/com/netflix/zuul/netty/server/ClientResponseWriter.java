@@ -20,6 +20,8 @@ import static com.netflix.netty.common.HttpLifecycleChannelHandler.CompleteEvent
 import static com.netflix.netty.common.HttpLifecycleChannelHandler.StartEvent;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.netflix.config.CachedDynamicBooleanProperty;
+import com.netflix.config.DynamicStringSetProperty;
 import com.netflix.netty.common.HttpLifecycleChannelHandler.CompleteReason;
 import com.netflix.spectator.api.Counter;
 import com.netflix.spectator.api.NoopRegistry;
@@ -49,10 +51,14 @@ import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpUtil;
 import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
 import io.netty.handler.codec.http2.HttpConversionUtil;
 import io.netty.handler.timeout.IdleStateEvent;
 import io.netty.handler.timeout.ReadTimeoutException;
+import io.netty.util.AttributeKey;
 import io.netty.util.ReferenceCountUtil;
+import java.util.Locale;
+import javax.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -63,13 +69,35 @@ public class ClientResponseWriter extends ChannelInboundHandlerAdapter {
 
     private static final Registry NOOP_REGISTRY = new NoopRegistry();
 
+    private static final AttributeKey<ClientResponseWriter> CHANNEL_ATTR =
+            AttributeKey.newInstance("_client_response_writer");
+
+    /**
+     * Whether response content written during one read burst of the origin channel is flushed once, when that burst
+     * completes, rather than chunk by chunk.
+     */
+    public static final CachedDynamicBooleanProperty COALESCE_FLUSHES =
+            new CachedDynamicBooleanProperty("zuul.response.flush.coalesce.enabled", true);
+
+    /** Content types whose chunks are always flushed as soon as they are written. */
+    private static final DynamicStringSetProperty IMMEDIATE_FLUSH_CONTENT_TYPES =
+            new DynamicStringSetProperty("zuul.response.flush.immediate.content.types", "text/event-stream");
+
     private final RequestCompleteHandler requestCompleteHandler;
     private final Counter responseBeforeReceivedLastContentCounter;
+    private final Counter chunksWrittenCounter;
+    private final Counter flushCounter;
 
     // state
     private boolean isHandlingRequest;
     private boolean startedSendingResponseToClient;
     private boolean closeConnection;
+    private boolean flushEachChunk;
+    private boolean originReadInProgress;
+    private boolean flushPending;
+
+    @Nullable
+    private ChannelHandlerContext ctx;
 
     // data
     private HttpResponseMessage zuulResponse;
@@ -84,6 +112,44 @@ public class ClientResponseWriter extends ChannelInboundHandlerAdapter {
         this.requestCompleteHandler = requestCompleteHandler;
         this.responseBeforeReceivedLastContentCounter =
                 registry.counter("server.http.requests.responseBeforeReceivedLastContent");
+        this.chunksWrittenCounter = registry.counter("server.http.response.chunks");
+        this.flushCounter = registry.counter("server.http.response.flushes");
+    }
+
+    /**
+     * Returns the writer for the given client channel, if it has one.
+     */
+    @Nullable
+    public static ClientResponseWriter fromChannel(Channel channel) {
+        return channel.hasAttr(CHANNEL_ATTR) ? channel.attr(CHANNEL_ATTR).get() : null;
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) throws Exception {
+        this.ctx = ctx;
+        ctx.channel().attr(CHANNEL_ATTR).set(this);
+        super.handlerAdded(ctx);
+    }
+
+    /**
+     * Marks that response content is being delivered from within a read of the origin channel, so flushing it can
+     * wait for {@link #originReadComplete()}.  Content that arrives outside of a read, such as from an async response
+     * filter, is still flushed straight away.
+     */
+    public void originReadInProgress() {
+        originReadInProgress = true;
+    }
+
+    /**
+     * Called when a read burst of the origin channel completes, to flush whatever it wrote to the client.
+     */
+    public void originReadComplete() {
+        originReadInProgress = false;
+        if (flushPending && ctx != null) {
+            flushPending = false;
+            flushCounter.increment();
+            ctx.channel().flush();
+        }
     }
 
     @Override
@@ -114,6 +180,7 @@ public class ClientResponseWriter extends ChannelInboundHandlerAdapter {
             if ("close".equalsIgnoreCase(zuulResponse.getHeaders().getFirst("Connection"))) {
                 closeConnection = true;
             }
+            flushEachChunk = !COALESCE_FLUSHES.get() || isLatencySensitive(zuulResponse);
             channel.attr(ClientRequestReceiver.ATTR_ZUUL_RESP).set(zuulResponse);
 
             if (channel.isActive()) {
@@ -139,7 +206,15 @@ public class ClientResponseWriter extends ChannelInboundHandlerAdapter {
         } else if (msg instanceof HttpContent chunk) {
 
             if (channel.isActive()) {
-                channel.writeAndFlush(chunk);
+                chunksWrittenCounter.increment();
+                if (originReadInProgress && !flushEachChunk && !(chunk instanceof LastHttpContent)) {
+                    channel.write(chunk);
+                    flushPending = true;
+                } else {
+                    flushPending = false;
+                    flushCounter.increment();
+                    channel.writeAndFlush(chunk);
+                }
             } else {
                 chunk.release();
                 channel.close();
@@ -151,6 +226,18 @@ public class ClientResponseWriter extends ChannelInboundHandlerAdapter {
         }
     }
 
+    private static boolean isLatencySensitive(HttpResponseMessage zuulResponse) {
+        String contentType = zuulResponse.getHeaders().getFirst(HttpHeaderNames.CONTENT_TYPE.toString());
+        if (contentType == null) {
+            return false;
+        }
+        int paramStart = contentType.indexOf(';');
+        String mediaType = (paramStart < 0 ? contentType : contentType.substring(0, paramStart))
+                .trim()
+                .toLowerCase(Locale.ROOT);
+        return IMMEDIATE_FLUSH_CONTENT_TYPES.get().contains(mediaType);
+    }
+
     protected boolean shouldAllowPreemptiveResponse(Channel channel) {
         // If the request timed-out while being read, then there won't have been any LastContent, but that's ok because
         // the connection will have to be discarded anyway.
@@ -215,6 +302,9 @@ public class ClientResponseWriter extends ChannelInboundHandlerAdapter {
             isHandlingRequest = true;
             startedSendingResponseToClient = false;
             closeConnection = false;
+            flushEachChunk = false;
+            originReadInProgress = false;
+            flushPending = false;
             zuulResponse = null;
         } else if (evt instanceof CompleteEvent completeEvent) {
             HttpResponse response = completeEvent.getResponse();
@@ -259,7 +349,10 @@ public class ClientResponseWriter extends ChannelInboundHandlerAdapter {
 
     private void handleComplete(Channel channel) {
         try {
-            if (isHandlingRequest) {
+            if (isHandlingRequest && ServerWarmup.isWarmupChannel(channel)) {
+                // Warm-up requests are not reported.
+                zuulResponse = null;
+            } else if (isHandlingRequest) {
                 completeMetrics(channel, zuulResponse);
 
                 // Notify requestComplete listener if configured.
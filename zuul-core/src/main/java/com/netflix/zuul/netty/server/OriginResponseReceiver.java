@@ -112,6 +112,15 @@ public class OriginResponseReceiver extends ChannelDuplexHandler {
         }
     }
 
+    @Override
+    public void channelReadComplete(ChannelHandlerContext ctx) throws Exception {
+        ProxyEndpoint proxy = edgeProxy;
+        if (proxy != null) {
+            proxy.originReadComplete();
+        }
+        super.channelReadComplete(ctx);
+    }
+
     @Override
     public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
         if (evt instanceof CompleteEvent completeEvent) {
@@ -127,6 +127,10 @@ public class Server {
     private final Map<NamedSocketAddress, Channel> addressesToChannels = new LinkedHashMap<>();
 
     private final EventLoopConfig eventLoopConfig;
+
+    @Nullable
+    private final EventLoopGroupMetrics eventLoopGroupMetrics;
+
     private final Map<Integer, Counter> acceptCountersByPort = new ConcurrentHashMap<>();
 
     /**
@@ -190,6 +194,7 @@ public class Server {
         this.addressesToInitializers = Collections.unmodifiableMap(new LinkedHashMap<>(addressesToInitializers));
         this.serverStatusManager = serverStatusManager;
         this.clientConnectionsShutdown = clientConnectionsShutdown;
+        this.eventLoopGroupMetrics = eventLoopGroupMetrics;
         this.eventLoopConfig = eventLoopConfig;
         this.jvmShutdownHook = new Thread(this::stop, "Zuul-JVM-shutdown-hook");
     }
@@ -209,6 +214,7 @@ public class Server {
         this.addressesToInitializers = Collections.unmodifiableMap(new LinkedHashMap<>(addressesToInitializers));
         this.serverStatusManager = serverStatusManager;
         this.clientConnectionsShutdown = clientConnectionsShutdown;
+        this.eventLoopGroupMetrics = eventLoopGroupMetrics;
         this.eventLoopConfig = eventLoopConfig;
         this.jvmShutdownHook = jvmShutdownHook;
     }
@@ -226,18 +232,29 @@ public class Server {
 
         serverGroup = new ServerGroup("Salamander", eventLoopConfig.acceptorCount(), eventLoopConfig.eventLoopCount());
         serverGroup.initializeTransport();
+        if (eventLoopGroupMetrics != null) {
+            eventLoopGroupMetrics.registerEventLoops(serverGroup.clientToProxyWorkerPool);
+        }
         List<ChannelFuture> allBindFutures = new ArrayList<>(addressesToInitializers.size());
+        boolean warmup = ServerWarmup.ENABLED.get();
 
         // Setup each of the channel initializers on requested ports.
         for (Map.Entry<NamedSocketAddress, ? extends ChannelInitializer<?>> entry :
                 addressesToInitializers.entrySet()) {
             NamedSocketAddress requestedNamedAddr = entry.getKey();
-            ChannelFuture nettyServerFuture = setupServerBootstrap(requestedNamedAddr, entry.getValue());
+            ChannelFuture nettyServerFuture = setupServerBootstrap(requestedNamedAddr, entry.getValue(), !warmup);
             Channel chan = nettyServerFuture.channel();
             addressesToChannels.put(requestedNamedAddr.withNewSocket(chan.localAddress()), chan);
             allBindFutures.add(nettyServerFuture);
         }
 
+        if (warmup) {
+            warmUp();
+            if (MANUAL_DISCOVERY_STATUS.get()) {
+                serverStatusManager.localStatus(InstanceInfo.InstanceStatus.UP);
+            }
+        }
+
         // All channels should share a single ByteBufAllocator instance.
         // Add metrics to monitor that allocator's memory usage.
         if (!allBindFutures.isEmpty()) {
@@ -277,12 +294,44 @@ public class Server {
         }
     }
 
+    /**
+     * Runs {@link ServerWarmup} against one of the listeners.  Failures are logged rather than thrown, since a server
+     * that could not be warmed up can still serve traffic.
+     */
+    private void warmUp() {
+        ChannelInitializer<?> initializer = ServerWarmup.chooseListener(addressesToInitializers);
+        if (initializer == null) {
+            LOG.warn("Warm-up enabled, but there is no matching TCP listener to warm up");
+            return;
+        }
+        ServerWarmup warmup = new ServerWarmup(
+                serverGroup.clientToProxyBossPool,
+                serverGroup.clientToProxyWorkerPool,
+                serverGroup.channelType,
+                defaultOutboundChannelType.get(),
+                initializer);
+        try {
+            ServerWarmup.Result result = warmup.run();
+            LOG.info(
+                    "Warm-up sent {} requests ({} failed) in {} ms, stopped because {}",
+                    result.requests() + result.failures(),
+                    result.failures(),
+                    result.elapsedMillis(),
+                    result.stopReason());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOG.warn("Interrupted during warm-up");
+        } catch (Exception e) {
+            LOG.warn("Warm-up failed", e);
+        }
+    }
+
     Thread getJvmShutdownHook() {
         return jvmShutdownHook;
     }
 
     private ChannelFuture setupServerBootstrap(
-            NamedSocketAddress listenAddress, ChannelInitializer<?> channelInitializer) {
+            NamedSocketAddress listenAddress, ChannelInitializer<?> channelInitializer, boolean markUpBeforeBind) {
         ServerBootstrap serverBootstrap =
                 new ServerBootstrap().group(serverGroup.clientToProxyBossPool, serverGroup.clientToProxyWorkerPool);
 
@@ -305,8 +354,8 @@ public class Server {
 
         LOG.info("Binding to : {}", listenAddress);
 
-        if (MANUAL_DISCOVERY_STATUS.get()) {
-            // Flag status as UP just before binding to the port.
+        if (MANUAL_DISCOVERY_STATUS.get() && markUpBeforeBind) {
+            // Flag status as UP just before binding to the port.  With warm-up enabled this waits until it is done.
             serverStatusManager.localStatus(InstanceInfo.InstanceStatus.UP);
         }
 
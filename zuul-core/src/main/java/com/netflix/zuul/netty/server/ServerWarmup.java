@@ -0,0 +1,498 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.netty.server;
+
+import com.netflix.client.config.IClientConfig;
+import com.netflix.config.ConfigurationManager;
+import com.netflix.config.DynamicBooleanProperty;
+import com.netflix.config.DynamicIntProperty;
+import com.netflix.config.DynamicStringProperty;
+import com.netflix.spectator.api.NoopRegistry;
+import com.netflix.spectator.api.Registry;
+import com.netflix.zuul.context.SessionContext;
+import com.netflix.zuul.discovery.StaticServerList;
+import com.netflix.zuul.message.http.HttpRequestMessage;
+import com.netflix.zuul.netty.connectionpool.ClientChannelManager;
+import com.netflix.zuul.origins.BasicNettyOrigin;
+import com.netflix.zuul.origins.NettyOrigin;
+import com.netflix.zuul.origins.OriginName;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.ServerChannel;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.group.ChannelGroup;
+import io.netty.channel.group.DefaultChannelGroup;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpClientCodec;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
+import io.netty.util.AttributeKey;
+import io.netty.util.concurrent.GlobalEventExecutor;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
+import javax.net.ssl.SSLException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends synthetic requests through the real pipeline of a listener before the server is marked UP, so that the
+ * filters, {@code ProxyEndpoint} and the codecs are compiled by the time production traffic arrives.
+ *
+ * <p>The warm-up binds a second, loopback-only listener with the channel initializer of the listener being warmed up,
+ * and marks its connections with {@link #WARMUP_CHANNEL}.  Requests on them are flagged with
+ * {@link SessionContext#isWarmup()}: {@code ProxyEndpoint} sends them to {@link #getOrigin()}, a stub origin that the
+ * warm-up serves on loopback and that is not registered with the origin manager.  Warm-up connections get no
+ * request metric handlers, record any remaining metrics into {@link #NOOP_REGISTRY}, and are left out of access logs,
+ * the {@code RequestCompleteHandler} and filter stats.
+ *
+ * <p>Warm-up stops after {@code zuul.server.warmup.requests.max} requests, after
+ * {@code zuul.server.warmup.duration.max.ms}, or once the JIT compilers spent no more than
+ * {@code zuul.server.warmup.jit.settled.ms} compiling in the last second, whichever comes first.  Set the last to -1
+ * to always use up a budget.  The first listener is warmed up unless {@code zuul.server.warmup.listener} names
+ * another, and {@code zuul.server.warmup.tls} must be set for a listener that terminates TLS.
+ */
+public final class ServerWarmup {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ServerWarmup.class);
+
+    static final DynamicBooleanProperty ENABLED = new DynamicBooleanProperty("zuul.server.warmup.enabled", false);
+
+    private static final DynamicStringProperty LISTENER = new DynamicStringProperty("zuul.server.warmup.listener", "");
+    private static final DynamicBooleanProperty TLS = new DynamicBooleanProperty("zuul.server.warmup.tls", false);
+    private static final DynamicStringProperty PATH = new DynamicStringProperty("zuul.server.warmup.path", "/");
+    private static final DynamicIntProperty CONCURRENCY =
+            new DynamicIntProperty("zuul.server.warmup.concurrency", 4);
+    private static final DynamicIntProperty MAX_REQUESTS =
+            new DynamicIntProperty("zuul.server.warmup.requests.max", 20_000);
+    private static final DynamicIntProperty MAX_DURATION_MS =
+            new DynamicIntProperty("zuul.server.warmup.duration.max.ms", 30_000);
+    private static final DynamicIntProperty JIT_SETTLED_MS =
+            new DynamicIntProperty("zuul.server.warmup.jit.settled.ms", 20);
+
+    /**
+     * Set on the connections made by the warm-up, and copied to their HTTP/2 streams.
+     */
+    public static final AttributeKey<Boolean> WARMUP_CHANNEL = AttributeKey.newInstance("_zuul_warmup_channel");
+
+    /**
+     * The origin that warm-up requests are proxied to.
+     */
+    public static final OriginName ORIGIN_NAME = OriginName.fromVipAndApp("zuul-warmup", "zuul-warmup");
+
+    private static final String ORIGIN_PROPERTY_PREFIX = ORIGIN_NAME.getNiwsClientName() + ".ribbon.";
+
+    /**
+     * Where per-channel handlers of warm-up connections record their metrics.
+     */
+    static final Registry NOOP_REGISTRY = new NoopRegistry();
+
+    private static final long CHECK_INTERVAL_MS = 1000;
+    private static final long MAX_RECONNECT_DELAY_MS = 1000;
+    private static final int MAX_CONTENT_LENGTH = 1024 * 1024;
+    private static final byte[] STUB_RESPONSE_BODY = "warmup".getBytes(StandardCharsets.US_ASCII);
+
+    private final EventLoopGroup bossGroup;
+    private final EventLoopGroup workerGroup;
+    private final Class<? extends ServerChannel> serverChannelType;
+    private final Class<? extends Channel> channelType;
+    private final ChannelInitializer<?> initializer;
+
+    @Nullable
+    private static volatile WarmupOrigin origin;
+
+    ServerWarmup(
+            EventLoopGroup bossGroup,
+            EventLoopGroup workerGroup,
+            Class<? extends ServerChannel> serverChannelType,
+            Class<? extends Channel> channelType,
+            ChannelInitializer<?> initializer) {
+        this.bossGroup = bossGroup;
+        this.workerGroup = workerGroup;
+        this.serverChannelType = serverChannelType;
+        this.channelType = channelType;
+        this.initializer = initializer;
+    }
+
+    public static boolean isWarmupChannel(Channel channel) {
+        return channel.hasAttr(WARMUP_CHANNEL)
+                && Boolean.TRUE.equals(channel.attr(WARMUP_CHANNEL).get());
+    }
+
+    /**
+     * Returns the origin that warm-up requests are proxied to, or {@code null} when no warm-up is running.
+     */
+    @Nullable
+    public static NettyOrigin getOrigin() {
+        return origin;
+    }
+
+    /**
+     * Returns the initializer of the listener to warm up, or {@code null} if there is no such TCP listener.
+     */
+    @Nullable
+    static ChannelInitializer<?> chooseListener(Map<NamedSocketAddress, ? extends ChannelInitializer<?>> listeners) {
+        String name = LISTENER.get();
+        for (Map.Entry<NamedSocketAddress, ? extends ChannelInitializer<?>> entry : listeners.entrySet()) {
+            if (entry.getKey().unwrap() instanceof InetSocketAddress
+                    && (name.isEmpty() || name.equals(entry.getKey().name()))) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Runs the warm-up to completion, blocking the calling thread.
+     */
+    Result run() throws InterruptedException, SSLException {
+        long startNanos = System.nanoTime();
+        ChannelGroup channels = new DefaultChannelGroup("zuul-warmup", GlobalEventExecutor.INSTANCE);
+        try {
+            Channel stubOrigin = bind(new ChannelInitializer<Channel>() {
+                @Override
+                protected void initChannel(Channel ch) {
+                    ch.pipeline()
+                            .addLast(new HttpServerCodec(), new HttpObjectAggregator(MAX_CONTENT_LENGTH))
+                            .addLast(StubOriginHandler.INSTANCE);
+                }
+            });
+            channels.add(stubOrigin);
+            routeOriginTo((InetSocketAddress) stubOrigin.localAddress());
+            origin = new WarmupOrigin();
+
+            Channel listener = bind(initializer);
+            channels.add(listener);
+
+            SslContext sslContext = TLS.get()
+                    ? SslContextBuilder.forClient()
+                            .trustManager(InsecureTrustManagerFactory.INSTANCE)
+                            .build()
+                    : null;
+            Client client = new Client((InetSocketAddress) listener.localAddress(), sslContext, channels);
+            client.start();
+            String reason = awaitCompletion(client, startNanos);
+            client.stop();
+            return new Result(
+                    client.completed.get(),
+                    client.failed.get(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos),
+                    reason);
+        } finally {
+            WarmupOrigin warmupOrigin = origin;
+            origin = null;
+            if (warmupOrigin != null) {
+                warmupOrigin.shutdown();
+            }
+            clearOriginRoute();
+            channels.close().awaitUninterruptibly(5, TimeUnit.SECONDS);
+        }
+    }
+
+    private String awaitCompletion(Client client, long startNanos) throws InterruptedException {
+        CompilationMXBean jit = ManagementFactory.getCompilationMXBean();
+        boolean jitTimed = jit != null && jit.isCompilationTimeMonitoringSupported();
+        long lastJitMs = jitTimed ? jit.getTotalCompilationTime() : 0;
+        long deadlineNanos = startNanos + TimeUnit.MILLISECONDS.toNanos(MAX_DURATION_MS.get());
+        while (true) {
+            long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+            if (remainingMs <= 0) {
+                return "time budget used up";
+            }
+            if (client.done.await(Math.min(CHECK_INTERVAL_MS, remainingMs), TimeUnit.MILLISECONDS)) {
+                return "request budget used up";
+            }
+            int completed = client.completed.get();
+            if (client.failed.get() > Math.max(100, completed)) {
+                return "requests failing";
+            }
+            int settledMs = JIT_SETTLED_MS.get();
+            if (jitTimed && settledMs >= 0) {
+                long jitMs = jit.getTotalCompilationTime();
+                if (completed > 0 && jitMs - lastJitMs <= settledMs) {
+                    return "JIT settled";
+                }
+                lastJitMs = jitMs;
+            }
+        }
+    }
+
+    private Channel bind(ChannelInitializer<?> childHandler) throws InterruptedException {
+        return new ServerBootstrap()
+                .group(bossGroup, workerGroup)
+                .channel(serverChannelType)
+                .childOption(ChannelOption.TCP_NODELAY, true)
+                .childAttr(WARMUP_CHANNEL, Boolean.TRUE)
+                .childHandler(childHandler)
+                .bind(InetAddress.getLoopbackAddress(), 0)
+                .sync()
+                .channel();
+    }
+
+    private static void routeOriginTo(InetSocketAddress address) {
+        ConfigurationManager.getConfigInstance()
+                .setProperty(ORIGIN_PROPERTY_PREFIX + "NIWSServerListClassName", StaticServerList.class.getName());
+        ConfigurationManager.getConfigInstance()
+                .setProperty(
+                        ORIGIN_PROPERTY_PREFIX + "listOfServers", address.getHostString() + ":" + address.getPort());
+    }
+
+    private static void clearOriginRoute() {
+        ConfigurationManager.getConfigInstance().clearProperty(ORIGIN_PROPERTY_PREFIX + "NIWSServerListClassName");
+        ConfigurationManager.getConfigInstance().clearProperty(ORIGIN_PROPERTY_PREFIX + "listOfServers");
+    }
+
+    record Result(int requests, int failures, long elapsedMillis, String stopReason) {}
+
+    /**
+     * Keeps {@code zuul.server.warmup.concurrency} keep-alive connections busy with one request at a time each,
+     * reconnecting whenever the server closes one, until the request budget is used up or it is stopped.
+     */
+    private final class Client {
+        private final InetSocketAddress address;
+
+        @Nullable
+        private final SslContext sslContext;
+
+        private final ChannelGroup channels;
+        private final String path = PATH.get();
+        private final AtomicInteger remaining = new AtomicInteger(MAX_REQUESTS.get());
+        private final AtomicInteger completed = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final int concurrency = Math.max(1, CONCURRENCY.get());
+        private final CountDownLatch done = new CountDownLatch(concurrency);
+        private volatile boolean stopped;
+
+        Client(InetSocketAddress address, @Nullable SslContext sslContext, ChannelGroup channels) {
+            this.address = address;
+            this.sslContext = sslContext;
+            this.channels = channels;
+        }
+
+        void start() {
+            for (int i = 0; i < concurrency; i++) {
+                new Lane().connect();
+            }
+        }
+
+        void stop() throws InterruptedException {
+            stopped = true;
+            if (!done.await(5, TimeUnit.SECONDS)) {
+                LOG.debug("Warm-up requests still in flight when stopping");
+            }
+        }
+
+        private FullHttpRequest newRequest() {
+            FullHttpRequest request =
+                    new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, path, Unpooled.EMPTY_BUFFER);
+            request.headers().set(HttpHeaderNames.HOST, "localhost");
+            request.headers().set(HttpHeaderNames.USER_AGENT, "zuul-warmup");
+            return request;
+        }
+
+        /**
+         * One connection at a time, replaced when it closes.  Reconnects back off while requests keep failing.
+         */
+        @ChannelHandler.Sharable
+        private final class Lane extends SimpleChannelInboundHandler<FullHttpResponse> {
+            private final AtomicBoolean finished = new AtomicBoolean();
+            private final AtomicInteger consecutiveFailures = new AtomicInteger();
+            private volatile boolean inFlight;
+
+            private void reconnect() {
+                int failures = consecutiveFailures.get();
+                if (failures == 0) {
+                    connect();
+                    return;
+                }
+                long delayMs = Math.min(MAX_RECONNECT_DELAY_MS, 10L << Math.min(failures, 10));
+                workerGroup.schedule(this::connect, delayMs, TimeUnit.MILLISECONDS);
+            }
+
+            void connect() {
+                if (stopped) {
+                    finish();
+                    return;
+                }
+                new Bootstrap()
+                        .group(workerGroup)
+                        .channel(channelType)
+                        .option(ChannelOption.TCP_NODELAY, true)
+                        .handler(new ChannelInitializer<Channel>() {
+                            @Override
+                            protected void initChannel(Channel ch) {
+                                ChannelPipeline pipeline = ch.pipeline();
+                                if (sslContext != null) {
+                                    pipeline.addLast(
+                                            sslContext.newHandler(ch.alloc(), "localhost", address.getPort()));
+                                }
+                                pipeline.addLast(new HttpClientCodec(), new HttpObjectAggregator(MAX_CONTENT_LENGTH));
+                                pipeline.addLast(Lane.this);
+                            }
+                        })
+                        .connect(address)
+                        .addListener((ChannelFutureListener) future -> {
+                            if (future.isSuccess()) {
+                                channels.add(future.channel());
+                            } else {
+                                failed.incrementAndGet();
+                                consecutiveFailures.incrementAndGet();
+                                reconnect();
+                            }
+                        });
+            }
+
+            @Override
+            public void channelActive(ChannelHandlerContext ctx) throws Exception {
+                sendNext(ctx);
+                super.channelActive(ctx);
+            }
+
+            @Override
+            protected void channelRead0(ChannelHandlerContext ctx, FullHttpResponse response) {
+                inFlight = false;
+                if (response.status().code() < HttpResponseStatus.INTERNAL_SERVER_ERROR.code()) {
+                    completed.incrementAndGet();
+                    consecutiveFailures.set(0);
+                } else {
+                    failed.incrementAndGet();
+                    consecutiveFailures.incrementAndGet();
+                }
+                if (HttpUtil.isKeepAlive(response)) {
+                    sendNext(ctx);
+                } else {
+                    ctx.close();
+                }
+            }
+
+            @Override
+            public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+                if (inFlight) {
+                    inFlight = false;
+                    failed.incrementAndGet();
+                    consecutiveFailures.incrementAndGet();
+                }
+                if (!finished.get()) {
+                    reconnect();
+                }
+                super.channelInactive(ctx);
+            }
+
+            @Override
+            public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+                LOG.debug("Warm-up request failed", cause);
+                ctx.close();
+            }
+
+            private void sendNext(ChannelHandlerContext ctx) {
+                if (stopped || remaining.getAndDecrement() <= 0) {
+                    finish();
+                    ctx.close();
+                    return;
+                }
+                inFlight = true;
+                ctx.writeAndFlush(newRequest());
+            }
+
+            private void finish() {
+                if (finished.compareAndSet(false, true)) {
+                    done.countDown();
+                }
+            }
+        }
+    }
+
+    /**
+     * The stub origin, with its connection pool recording into {@link #NOOP_REGISTRY} and shut down after warm-up.
+     */
+    private static final class WarmupOrigin extends BasicNettyOrigin {
+        // Set from the super constructor, through createClientChannelManager, so it must not have an initializer.
+        private ClientChannelManager channelManager;
+
+        WarmupOrigin() {
+            super(ORIGIN_NAME, NOOP_REGISTRY);
+        }
+
+        @Override
+        protected ClientChannelManager createClientChannelManager(
+                OriginName originName, IClientConfig config, Registry registry) {
+            channelManager = super.createClientChannelManager(originName, config, registry);
+            return channelManager;
+        }
+
+        // The global concurrency meters of the origin are left untouched.
+        @Override
+        public void preRequestChecks(HttpRequestMessage zuulRequest) {}
+
+        @Override
+        public void recordProxyRequestEnd() {}
+
+        void shutdown() {
+            channelManager.shutdown();
+        }
+    }
+
+    /**
+     * Answers every request with a small 200 response.
+     */
+    @ChannelHandler.Sharable
+    private static final class StubOriginHandler extends SimpleChannelInboundHandler<FullHttpRequest> {
+        static final StubOriginHandler INSTANCE = new StubOriginHandler();
+
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, FullHttpRequest request) {
+            FullHttpResponse response = new DefaultFullHttpResponse(
+                    HttpVersion.HTTP_1_1, HttpResponseStatus.OK, Unpooled.wrappedBuffer(STUB_RESPONSE_BODY));
+            HttpUtil.setContentLength(response, STUB_RESPONSE_BODY.length);
+            boolean keepAlive = HttpUtil.isKeepAlive(request);
+            HttpUtil.setKeepAlive(response, keepAlive);
+            if (keepAlive) {
+                ctx.writeAndFlush(response);
+            } else {
+                ctx.writeAndFlush(response).addListener(ChannelFutureListener.CLOSE);
+            }
+        }
+    }
+}
@@ -30,6 +30,7 @@ import com.netflix.zuul.FilterUsageNotifier;
 import com.netflix.zuul.RequestCompleteHandler;
 import com.netflix.zuul.context.SessionContextDecorator;
 import com.netflix.zuul.netty.filter.FilterConstraints;
+import com.netflix.zuul.netty.filter.FilterExecutionStats;
 import com.netflix.zuul.netty.server.push.PushConnectionRegistry;
 import io.netty.channel.ChannelHandler;
 import jakarta.inject.Provider;
@@ -75,4 +76,6 @@ public class ZuulDependencyKeys {
             new ChannelConfigKey<>("pushConnectionRegistry");
     public static final ChannelConfigKey<FilterConstraints> filterConstraints =
             new ChannelConfigKey<>("filterConstraints");
+    public static final ChannelConfigKey<FilterExecutionStats> filterExecutionStats =
+            new ChannelConfigKey<>("filterExecutionStats");
 }
@@ -0,0 +1,465 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.netty.server.push;
+
+import com.netflix.config.CachedDynamicBooleanProperty;
+import com.netflix.config.CachedDynamicIntProperty;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Future;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Serves "/push/batch", which carries many push messages in a single streamed POST.  It sits in front of the
+ * {@link io.netty.handler.codec.http.HttpObjectAggregator} of the push sender pipeline, decodes records as the body
+ * arrives rather than aggregating it, and passes every other request through untouched.  Since the aggregator never
+ * sees a batch, this answers {@code Expect: 100-continue} itself.  Like {@link PushMessageSender}, it must only be
+ * reachable from the internal network.
+ *
+ * <p>The request body is a sequence of records, each made up of:
+ * <pre>
+ *   u16  client id length, followed by the UTF-8 client id
+ *   u8   secure token length (0 to skip the token check), followed by the token
+ *   u32  payload length, followed by the payload
+ * </pre>
+ *
+ * <p>The chunked response streams back one 6 byte status per record as soon as it is known: the u32 index of the
+ * record in the request, then the u16 HTTP status code, with the same meaning as for a single push.  Statuses are
+ * not necessarily in request order.  A malformed record gets a 400 (or a 413 if its payload is too large), which
+ * is the last status written: records still being sent at that point are not reported, and the connection is closed
+ * once they complete.
+ *
+ * <p>The records decoded from each chunk of the body are grouped by the event loop of their target connection, and
+ * each event loop is handed one task that writes all of its messages before flushing.  Once more than
+ * {@code zuul.push.batch.max.inflight} messages are pending, reading from the request is paused until some
+ * complete.  Requests pipelined behind a batch are held back until its response has ended.
+ */
+public class PushBatchSender extends ChannelInboundHandlerAdapter {
+
+    private static final Logger logger = LoggerFactory.getLogger(PushBatchSender.class);
+
+    public static final CachedDynamicBooleanProperty ENABLED =
+            new CachedDynamicBooleanProperty("zuul.push.batch.enabled", false);
+    public static final CachedDynamicIntProperty MAX_PAYLOAD_BYTES =
+            new CachedDynamicIntProperty("zuul.push.batch.max.payload.bytes", 65536);
+    public static final CachedDynamicIntProperty MAX_IN_FLIGHT =
+            new CachedDynamicIntProperty("zuul.push.batch.max.inflight", 10_000);
+
+    static final int RESULT_BYTES = Integer.BYTES + Short.BYTES;
+
+    private final PushConnectionRegistry pushConnectionRegistry;
+
+    private ChannelHandlerContext ctx;
+    private boolean inBatch;
+    private boolean keepAlive;
+    private boolean malformed;
+    private boolean lastContentReceived;
+    private int nextIndex;
+    private int inFlight;
+
+    @Nullable
+    private ByteBuf cumulation;
+
+    @Nullable
+    private ByteBuf pendingResults;
+
+    // Messages read after the batch body ended but before its response did.
+    private final ArrayDeque<Object> queued = new ArrayDeque<>();
+
+    public PushBatchSender(PushConnectionRegistry pushConnectionRegistry) {
+        this.pushConnectionRegistry = pushConnectionRegistry;
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) {
+        this.ctx = ctx;
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        if (awaitingResults() || !queued.isEmpty()) {
+            queued.add(msg);
+        } else {
+            read(msg);
+        }
+    }
+
+    private void read(Object msg) {
+        if (!inBatch) {
+            if (msg instanceof HttpRequest request && isBatchRequest(request)) {
+                try {
+                    startBatch(request);
+                    if (msg instanceof HttpContent content) {
+                        handleContent(content);
+                    }
+                } finally {
+                    ReferenceCountUtil.release(msg);
+                }
+            } else {
+                ctx.fireChannelRead(msg);
+            }
+            return;
+        }
+
+        try {
+            if (msg instanceof HttpContent content) {
+                handleContent(content);
+            }
+        } finally {
+            ReferenceCountUtil.release(msg);
+        }
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        reset();
+        releaseQueued();
+        super.channelInactive(ctx);
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) {
+        reset();
+        releaseQueued();
+    }
+
+    private boolean awaitingResults() {
+        return inBatch && lastContentReceived;
+    }
+
+    private static boolean isBatchRequest(HttpRequest request) {
+        return ENABLED.get()
+                && HttpMethod.POST.equals(request.method())
+                // Left to the aggregator, which rejects expectations other than 100-continue with a 417.
+                && !HttpUtil.isUnsupportedExpectation(request)
+                && new QueryStringDecoder(request.uri()).path().endsWith("/push/batch");
+    }
+
+    private void startBatch(HttpRequest request) {
+        inBatch = true;
+        keepAlive = HttpUtil.isKeepAlive(request);
+        malformed = false;
+        lastContentReceived = false;
+        nextIndex = 0;
+        inFlight = 0;
+
+        if (HttpUtil.is100ContinueExpected(request)) {
+            // The aggregator would normally answer this, but the body never reaches it.
+            ctx.writeAndFlush(new DefaultFullHttpResponse(
+                    HttpVersion.HTTP_1_1, HttpResponseStatus.CONTINUE, Unpooled.EMPTY_BUFFER));
+        }
+
+        HttpResponse response = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+        response.headers().set(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_OCTET_STREAM);
+        HttpUtil.setTransferEncodingChunked(response, true);
+        ctx.write(response);
+    }
+
+    private void handleContent(HttpContent content) {
+        if (!malformed) {
+            cumulation = ByteToMessageDecoder.MERGE_CUMULATOR.cumulate(
+                    ctx.alloc(),
+                    cumulation != null ? cumulation : Unpooled.EMPTY_BUFFER,
+                    content.content().retain());
+            decodeAndDispatch();
+        }
+        if (content instanceof LastHttpContent) {
+            lastContentReceived = true;
+            if (!malformed && cumulation != null && cumulation.isReadable()) {
+                // A truncated trailing record.
+                malformed(HttpResponseStatus.BAD_REQUEST);
+            }
+            // Anything read from here on belongs to the next request, so stop reading until this one is answered.
+            ctx.channel().config().setAutoRead(false);
+        }
+        flushResults();
+        maybeFinish();
+    }
+
+    private void decodeAndDispatch() {
+        Map<EventExecutor, List<Record>> byEventLoop = null;
+        boolean tooLarge = false;
+        ByteBuf in = cumulation;
+        while (in.isReadable()) {
+            int start = in.readerIndex();
+            if (in.readableBytes() < Short.BYTES) {
+                break;
+            }
+            int clientIdLength = in.readUnsignedShort();
+            if (in.readableBytes() < clientIdLength + Byte.BYTES) {
+                in.readerIndex(start);
+                break;
+            }
+            int tokenLength = in.getUnsignedByte(in.readerIndex() + clientIdLength);
+            if (in.readableBytes() < clientIdLength + Byte.BYTES + tokenLength + Integer.BYTES) {
+                in.readerIndex(start);
+                break;
+            }
+            long payloadLength = in.getUnsignedInt(in.readerIndex() + clientIdLength + Byte.BYTES + tokenLength);
+            if (payloadLength > MAX_PAYLOAD_BYTES.get()) {
+                tooLarge = true;
+                break;
+            }
+            if (in.readableBytes() < clientIdLength + Byte.BYTES + tokenLength + Integer.BYTES + payloadLength) {
+                in.readerIndex(start);
+                break;
+            }
+
+            String clientId = in.readCharSequence(clientIdLength, StandardCharsets.UTF_8)
+                    .toString();
+            in.skipBytes(Byte.BYTES);
+            String secureToken = tokenLength > 0
+                    ? in.readCharSequence(tokenLength, StandardCharsets.US_ASCII)
+                            .toString()
+                    : null;
+            in.skipBytes(Integer.BYTES);
+            int index = nextIndex++;
+
+            PushConnection conn = pushConnectionRegistry.get(clientId);
+            HttpResponseStatus status = null;
+            if (conn == null) {
+                status = HttpResponseStatus.NOT_FOUND;
+            } else if (secureToken != null && !conn.isSecureTokenEqual(secureToken)) {
+                status = HttpResponseStatus.FORBIDDEN;
+            } else if (payloadLength == 0) {
+                status = HttpResponseStatus.NO_CONTENT;
+            } else if (conn.isRateLimited()) {
+                status = HttpResponseStatus.SERVICE_UNAVAILABLE;
+            }
+            if (status != null) {
+                in.skipBytes((int) payloadLength);
+                writeResult(index, status.code());
+                continue;
+            }
+
+            if (byEventLoop == null) {
+                byEventLoop = new IdentityHashMap<>();
+            }
+            Record record = new Record(index, conn, in.readRetainedSlice((int) payloadLength));
+            byEventLoop
+                    .computeIfAbsent(conn.getChannel().eventLoop(), k -> new ArrayList<>())
+                    .add(record);
+            inFlight++;
+        }
+        if (tooLarge) {
+            malformed(HttpResponseStatus.REQUEST_ENTITY_TOO_LARGE);
+        } else {
+            in.discardSomeReadBytes();
+        }
+
+        if (byEventLoop != null) {
+            for (Map.Entry<EventExecutor, List<Record>> entry : byEventLoop.entrySet()) {
+                dispatch(entry.getKey(), entry.getValue());
+            }
+        }
+        if (inFlight > MAX_IN_FLIGHT.get()) {
+            ctx.channel().config().setAutoRead(false);
+        }
+    }
+
+    private void dispatch(EventExecutor eventLoop, List<Record> records) {
+        Group group = new Group(records);
+        try {
+            eventLoop.execute(group);
+        } catch (RejectedExecutionException e) {
+            logger.debug("Event loop rejected {} batched push messages", records.size(), e);
+            for (int i = 0; i < records.size(); i++) {
+                records.get(i).payload.release();
+                group.complete(i, HttpResponseStatus.INTERNAL_SERVER_ERROR);
+            }
+        }
+    }
+
+    private void onGroupComplete(Group group) {
+        if (!inBatch) {
+            // The channel was closed while the messages were being sent.
+            return;
+        }
+        if (!malformed) {
+            for (int i = 0; i < group.records.size(); i++) {
+                writeResult(group.records.get(i).index, group.statuses[i]);
+            }
+        }
+        inFlight -= group.records.size();
+        if (inFlight <= MAX_IN_FLIGHT.get() && !malformed && !lastContentReceived) {
+            ctx.channel().config().setAutoRead(true);
+        }
+        flushResults();
+        maybeFinish();
+    }
+
+    private void malformed(HttpResponseStatus status) {
+        malformed = true;
+        keepAlive = false;
+        writeResult(nextIndex, status.code());
+        if (cumulation != null) {
+            cumulation.release();
+            cumulation = null;
+        }
+        // Keep reading so the rest of the request is drained and the response can end.
+        ctx.channel().config().setAutoRead(true);
+    }
+
+    private void writeResult(int index, int statusCode) {
+        if (pendingResults == null) {
+            pendingResults = ctx.alloc().buffer(RESULT_BYTES * 64);
+        }
+        pendingResults.writeInt(index);
+        pendingResults.writeShort(statusCode);
+    }
+
+    private void flushResults() {
+        if (pendingResults != null) {
+            ctx.writeAndFlush(new DefaultHttpContent(pendingResults));
+            pendingResults = null;
+        }
+    }
+
+    private void maybeFinish() {
+        if (!inBatch || !lastContentReceived || inFlight > 0) {
+            return;
+        }
+        boolean close = !keepAlive;
+        reset();
+        ctx.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT)
+                .addListener(close ? ChannelFutureListener.CLOSE : ChannelFutureListener.CLOSE_ON_FAILURE);
+        if (close) {
+            releaseQueued();
+            return;
+        }
+        ctx.channel().config().setAutoRead(true);
+        forwardQueued();
+    }
+
+    private void forwardQueued() {
+        if (queued.isEmpty()) {
+            return;
+        }
+        // Replayed through read(), as the next message may start another batch.  Whatever is left once that one
+        // ends its body stays queued, in order, until its own response has ended.
+        Object msg;
+        while (!awaitingResults() && (msg = queued.poll()) != null) {
+            read(msg);
+        }
+        ctx.fireChannelReadComplete();
+    }
+
+    private void releaseQueued() {
+        Object msg;
+        while ((msg = queued.poll()) != null) {
+            ReferenceCountUtil.release(msg);
+        }
+    }
+
+    private void reset() {
+        inBatch = false;
+        if (cumulation != null) {
+            cumulation.release();
+            cumulation = null;
+        }
+        if (pendingResults != null) {
+            pendingResults.release();
+            pendingResults = null;
+        }
+    }
+
+    private static HttpResponseStatus statusOf(Future<?> future) {
+        if (future.isSuccess()) {
+            return HttpResponseStatus.OK;
+        }
+        // The client isn't keeping up, which like rate limiting is worth retrying later.
+        return future.cause() == PushConnection.OUTBOUND_OVERFLOW
+                ? HttpResponseStatus.SERVICE_UNAVAILABLE
+                : HttpResponseStatus.INTERNAL_SERVER_ERROR;
+    }
+
+    private record Record(int index, PushConnection conn, ByteBuf payload) {}
+
+    /**
+     * The records of one chunk that target the same event loop.  Runs on that event loop, and reports back to the
+     * batch's own event loop once every write has completed.
+     */
+    private final class Group implements Runnable {
+        private final List<Record> records;
+        private final short[] statuses;
+        private final AtomicInteger remaining;
+
+        Group(List<Record> records) {
+            this.records = records;
+            this.statuses = new short[records.size()];
+            this.remaining = new AtomicInteger(records.size());
+        }
+
+        @Override
+        public void run() {
+            for (int i = 0; i < records.size(); i++) {
+                Record record = records.get(i);
+                Channel channel = record.conn.getChannel();
+                PushProtocol protocol = record.conn.getPushProtocol();
+                int position = i;
+                record.conn
+                        .writeFrame(protocol.newPushFrame(protocol.encodePushMessage(channel.alloc(), record.payload)))
+                        .addListener(f -> complete(position, statusOf(f)));
+            }
+            for (Record record : records) {
+                record.conn.getChannel().flush();
+            }
+        }
+
+        void complete(int position, HttpResponseStatus status) {
+            statuses[position] = (short) status.code();
+            if (remaining.decrementAndGet() == 0) {
+                if (ctx.executor().inEventLoop()) {
+                    onGroupComplete(this);
+                } else {
+                    ctx.executor().execute(() -> onGroupComplete(this));
+                }
+            }
+        }
+    }
+}
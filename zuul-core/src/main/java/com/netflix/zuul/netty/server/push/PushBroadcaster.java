@@ -0,0 +1,218 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.netty.server.push;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.concurrent.EventExecutor;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends one push message to many connections in a single call: every connection in the registry, the subscribers of
+ * a topic, or an explicit list of client ids.
+ *
+ * <p>The message is framed once per {@link PushProtocol} and each recipient is written a retained duplicate of the
+ * same buffer, so the payload is neither copied nor re-encoded per client.  Recipients are grouped by event loop, and
+ * each event loop is handed a single task that writes to all of its channels before flushing them.
+ *
+ * <p>Unlike {@link PushMessageSender}, the per-client rate limit is not applied, since fan-out messages are not sent
+ * on behalf of any one client.
+ */
+@Singleton
+public class PushBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(PushBroadcaster.class);
+
+    private static final PushProtocol[] PROTOCOLS = PushProtocol.values();
+
+    private final PushConnectionRegistry pushConnectionRegistry;
+
+    @Inject
+    public PushBroadcaster(PushConnectionRegistry pushConnectionRegistry) {
+        this.pushConnectionRegistry = pushConnectionRegistry;
+    }
+
+    /**
+     * Sends the message to every connection in the registry.  Takes ownership of {@code mesg}.
+     */
+    public CompletableFuture<Result> broadcast(ByteBuf mesg) {
+        return send(pushConnectionRegistry.getAllEntries().values(), 0, mesg);
+    }
+
+    /**
+     * Sends the message to every connection subscribed to the topic.  Takes ownership of {@code mesg}.
+     */
+    public CompletableFuture<Result> publish(String topic, ByteBuf mesg) {
+        return send(pushConnectionRegistry.getSubscribers(topic), 0, mesg);
+    }
+
+    /**
+     * Sends the message to each of the given clients that is connected to this instance.  Takes ownership of
+     * {@code mesg}.
+     */
+    public CompletableFuture<Result> multicast(Collection<String> clientIds, ByteBuf mesg) {
+        List<PushConnection> connections = new ArrayList<>(clientIds.size());
+        int notConnected = 0;
+        for (String clientId : clientIds) {
+            PushConnection conn = pushConnectionRegistry.get(clientId);
+            if (conn != null) {
+                connections.add(conn);
+            } else {
+                notConnected++;
+            }
+        }
+        return send(connections, notConnected, mesg);
+    }
+
+    private CompletableFuture<Result> send(Iterable<PushConnection> connections, int notConnected, ByteBuf mesg) {
+        ByteBuf[] frames = new ByteBuf[PROTOCOLS.length];
+        try {
+            Map<EventExecutor, List<PushConnection>> byEventLoop = new IdentityHashMap<>();
+            int targeted = 0;
+            for (PushConnection conn : connections) {
+                Channel channel = conn.getChannel();
+                if (!channel.isActive()) {
+                    notConnected++;
+                    continue;
+                }
+                int protocol = conn.getPushProtocol().ordinal();
+                if (frames[protocol] == null) {
+                    frames[protocol] = PROTOCOLS[protocol].encodePushMessage(channel.alloc(), mesg.retainedDuplicate());
+                }
+                byEventLoop
+                        .computeIfAbsent(channel.eventLoop(), k -> new ArrayList<>())
+                        .add(conn);
+                targeted++;
+            }
+
+            Delivery delivery = new Delivery(targeted, notConnected);
+            for (Map.Entry<EventExecutor, List<PushConnection>> entry : byEventLoop.entrySet()) {
+                List<PushConnection> group = entry.getValue();
+                // Each task holds its own reference to the frames, so they outlive this method if the task runs late.
+                retainAll(frames);
+                try {
+                    entry.getKey().execute(() -> writeAndFlush(group, frames, delivery));
+                } catch (RejectedExecutionException e) {
+                    logger.debug("Event loop rejected push fan-out to {} connections", group.size(), e);
+                    releaseAll(frames);
+                    delivery.failed(group.size());
+                }
+            }
+            return delivery.result;
+        } finally {
+            releaseAll(frames);
+            ReferenceCountUtil.safeRelease(mesg);
+        }
+    }
+
+    private static void writeAndFlush(List<PushConnection> group, ByteBuf[] frames, Delivery delivery) {
+        try {
+            for (PushConnection conn : group) {
+                PushProtocol protocol = conn.getPushProtocol();
+                Object frame = protocol.newPushFrame(frames[protocol.ordinal()].retainedDuplicate());
+                conn.writeFrame(frame).addListener(delivery);
+            }
+            for (PushConnection conn : group) {
+                conn.getChannel().flush();
+            }
+        } finally {
+            releaseAll(frames);
+        }
+    }
+
+    private static void retainAll(ByteBuf[] frames) {
+        for (ByteBuf frame : frames) {
+            if (frame != null) {
+                frame.retain();
+            }
+        }
+    }
+
+    private static void releaseAll(ByteBuf[] frames) {
+        for (ByteBuf frame : frames) {
+            if (frame != null) {
+                frame.release();
+            }
+        }
+    }
+
+    /**
+     * Delivery counts for a single fan-out call.
+     *
+     * @param targeted the number of connections the message was written to
+     * @param delivered the number of those writes that succeeded
+     * @param failed the number of those writes that failed
+     * @param notConnected the number of recipients that were not connected, or whose channel was already inactive
+     */
+    public record Result(int targeted, int delivered, int failed, int notConnected) {}
+
+    private static final class Delivery implements ChannelFutureListener {
+        private final int targeted;
+        private final int notConnected;
+        private final AtomicInteger delivered = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final AtomicInteger remaining;
+        private final CompletableFuture<Result> result = new CompletableFuture<>();
+
+        Delivery(int targeted, int notConnected) {
+            this.targeted = targeted;
+            this.notConnected = notConnected;
+            this.remaining = new AtomicInteger(targeted);
+            if (targeted == 0) {
+                complete();
+            }
+        }
+
+        @Override
+        public void operationComplete(ChannelFuture future) {
+            if (future.isSuccess()) {
+                delivered.incrementAndGet();
+            } else {
+                failed.incrementAndGet();
+            }
+            if (remaining.decrementAndGet() == 0) {
+                complete();
+            }
+        }
+
+        void failed(int count) {
+            failed.addAndGet(count);
+            if (remaining.addAndGet(-count) == 0) {
+                complete();
+            }
+        }
+
+        private void complete() {
+            result.complete(new Result(targeted, delivered.get(), failed.get(), notConnected));
+        }
+    }
+}
@@ -22,6 +22,7 @@ import io.netty.channel.ChannelPipeline;
 import io.netty.channel.group.ChannelGroup;
 import io.netty.handler.codec.http.HttpObjectAggregator;
 import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.websocketx.extensions.compression.WebSocketServerCompressionHandler;
 
 /**
  * Author: Susheel Aroskar
@@ -67,4 +68,17 @@ public abstract class PushChannelInitializer extends BaseZuulChannelInitializer
     }
 
     protected abstract void addPushHandlers(ChannelPipeline pipeline);
+
+    /**
+     * Adds permessage-deflate support for WebSocket push, ahead of the WebSocket protocol handler.  When
+     * {@code zuul.push.ws.deflate.enabled} is set, this uses {@link PushWebSocketCompression}, whose memory use does
+     * not grow with the number of connections; otherwise it uses Netty's per-connection compression.
+     */
+    protected void addWebSocketCompressionHandler(ChannelPipeline pipeline, int maxAllocation) {
+        if (PushWebSocketCompression.ENABLED.get()) {
+            pipeline.addLast(PushWebSocketCompression.newHandler(maxAllocation));
+        } else {
+            pipeline.addLast(new WebSocketServerCompressionHandler(maxAllocation));
+        }
+    }
 }
@@ -17,81 +17,321 @@
 package com.netflix.zuul.netty.server.push;
 
 import com.google.common.base.Charsets;
+import com.netflix.config.CachedDynamicBooleanProperty;
 import com.netflix.config.CachedDynamicIntProperty;
+import com.netflix.spectator.api.Counter;
+import com.netflix.spectator.api.Registry;
+import com.netflix.spectator.api.Spectator;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundBuffer;
+import io.netty.channel.ChannelPromise;
 import io.netty.handler.codec.http.websocketx.CloseWebSocketFrame;
 import io.netty.handler.codec.http.websocketx.WebSocketCloseStatus;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.concurrent.EventExecutor;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
 
 /**
+ * A single push client connection.  Registries may hold millions of these, so the per-connection state is kept in
+ * primitive fields: the secure token as two longs rather than a String when it has the minted size, and the rate limiter's token bucket packed
+ * into a single long that is updated with a CAS instead of under a lock.
+ *
+ * Messages sent through {@link #sendPushMessage(ByteBuf)} are written on the channel's event loop and flushed
+ * together: one flush covers every message written before it runs, which is at the end of the current event loop
+ * task, or after {@code zuul.push.flush.window.micros} if set.  A flush happens right away once the channel stops
+ * being writable.  If a client reads too slowly and more than {@code zuul.push.outbound.max.pending.bytes} are
+ * queued for it, further messages are dropped, or the connection is closed when
+ * {@code zuul.push.outbound.overflow.close} is set.
+ *
  * Author: Susheel Aroskar
  * Date:
  */
 public class PushConnection {
 
+    /** Size in bytes of the secure tokens minted by {@link PushConnectionRegistry}. */
+    public static final int SECURE_TOKEN_BYTES = 15;
+
     private final PushProtocol pushProtocol;
     private final ChannelHandlerContext ctx;
-    private String secureToken;
 
-    // Token bucket implementation state.
-    private double tkBktAllowance;
-    private long tkBktLastCheckTime;
+    // Secure token, big endian.  The high long holds the first 8 bytes, the low long the remaining 7.
+    private long secureTokenHigh;
+    private long secureTokenLow;
+    private boolean hasSecureToken;
+    // Tokens that don't have the minted size, for callers that set their own.
+    @Nullable
+    private String secureTokenFallback;
+
+    // Token bucket implementation state: the time of the last check in the high bits, and the allowance in
+    // millionths of a token in the low bits.  The time wraps, which is harmless as long as two checks are never more
+    // than ~2 years apart.
+    private static final int ALLOWANCE_BITS = 28;
+    private static final long ALLOWANCE_MASK = (1L << ALLOWANCE_BITS) - 1;
+    private static final long TIME_MASK = (1L << (Long.SIZE - ALLOWANCE_BITS)) - 1;
+    private static final double MICROS_PER_TOKEN = 1_000_000;
+    private static final VarHandle TOKEN_BUCKET;
+
+    static {
+        try {
+            TOKEN_BUCKET = MethodHandles.lookup().findVarHandle(PushConnection.class, "tokenBucket", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @SuppressWarnings("unused") // Accessed through TOKEN_BUCKET
+    private volatile long tokenBucket;
+
     public static final CachedDynamicIntProperty TOKEN_BUCKET_RATE =
             new CachedDynamicIntProperty("zuul.push.tokenBucket.rate", 3);
     public static final CachedDynamicIntProperty TOKEN_BUCKET_WINDOW =
             new CachedDynamicIntProperty("zuul.push.tokenBucket.window.millis", 2000);
 
+    public static final CachedDynamicIntProperty FLUSH_WINDOW_MICROS =
+            new CachedDynamicIntProperty("zuul.push.flush.window.micros", 0);
+    public static final CachedDynamicIntProperty MAX_PENDING_OUTBOUND_BYTES =
+            new CachedDynamicIntProperty("zuul.push.outbound.max.pending.bytes", 1024 * 1024);
+    public static final CachedDynamicBooleanProperty CLOSE_ON_OUTBOUND_OVERFLOW =
+            new CachedDynamicBooleanProperty("zuul.push.outbound.overflow.close", false);
+
+    private static final Registry REGISTRY = Spectator.globalRegistry();
+    private static final Counter MESSAGES_WRITTEN = REGISTRY.counter("zuul.push.outbound.messages");
+    private static final Counter FLUSHES = REGISTRY.counter("zuul.push.outbound.flushes");
+    private static final Counter OVERFLOW_DROPPED = REGISTRY.counter("zuul.push.outbound.overflow", "action", "drop");
+    private static final Counter OVERFLOW_CLOSED = REGISTRY.counter("zuul.push.outbound.overflow", "action", "close");
+
+    /** Failure of messages that were not sent because too much was already queued for the client. */
+    static final OutboundOverflowException OUTBOUND_OVERFLOW = new OutboundOverflowException();
+
+    // Only accessed from the channel's event loop.
+    private boolean flushPending;
+
     public PushConnection(PushProtocol pushProtocol, ChannelHandlerContext ctx) {
         this.pushProtocol = pushProtocol;
         this.ctx = ctx;
-        tkBktAllowance = TOKEN_BUCKET_RATE.get();
-        tkBktLastCheckTime = System.currentTimeMillis();
+        this.tokenBucket = packTokenBucket(System.currentTimeMillis(), maxAllowance(TOKEN_BUCKET_RATE.get()));
     }
 
     public String getSecureToken() {
-        return secureToken;
+        if (secureTokenFallback != null) {
+            return secureTokenFallback;
+        }
+        if (!hasSecureToken) {
+            return null;
+        }
+        byte[] token = new byte[SECURE_TOKEN_BYTES];
+        for (int i = 0; i < 8; i++) {
+            token[i] = (byte) (secureTokenHigh >>> (56 - 8 * i));
+        }
+        for (int i = 8; i < SECURE_TOKEN_BYTES; i++) {
+            token[i] = (byte) (secureTokenLow >>> (8 * (SECURE_TOKEN_BYTES - 1 - i)));
+        }
+        return Base64.getUrlEncoder().encodeToString(token);
     }
 
+    /**
+     * Sets the secure token.  Tokens that are a URL safe Base64 encoding of {@link #SECURE_TOKEN_BYTES} bytes, such as
+     * the ones minted by {@link PushConnectionRegistry#mintNewSecureToken()}, are stored packed; any other token is
+     * kept as is.  A {@code null} token clears it.
+     */
     public void setSecureToken(String secureToken) {
-        this.secureToken = secureToken;
+        byte[] token = secureToken != null ? decodeSecureToken(secureToken) : null;
+        if (token != null) {
+            secureTokenHigh = high(token);
+            secureTokenLow = low(token);
+            hasSecureToken = true;
+            secureTokenFallback = null;
+        } else {
+            secureTokenHigh = 0;
+            secureTokenLow = 0;
+            hasSecureToken = false;
+            secureTokenFallback = secureToken;
+        }
+    }
+
+    /**
+     * Compares the given token against this connection's secure token without decoding the stored one to a String.
+     */
+    public boolean isSecureTokenEqual(String secureToken) {
+        if (secureToken == null) {
+            return false;
+        }
+        String fallback = secureTokenFallback;
+        if (fallback != null) {
+            return MessageDigest.isEqual(
+                    fallback.getBytes(StandardCharsets.UTF_8), secureToken.getBytes(StandardCharsets.UTF_8));
+        }
+        if (!hasSecureToken) {
+            return false;
+        }
+        byte[] token = decodeSecureToken(secureToken);
+        if (token == null) {
+            return false;
+        }
+        return ((high(token) ^ secureTokenHigh) | (low(token) ^ secureTokenLow)) == 0;
+    }
+
+    private static byte[] decodeSecureToken(String secureToken) {
+        byte[] token;
+        try {
+            token = Base64.getUrlDecoder().decode(secureToken);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        return token.length == SECURE_TOKEN_BYTES ? token : null;
+    }
+
+    private static long high(byte[] token) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (token[i] & 0xFF);
+        }
+        return value;
+    }
+
+    private static long low(byte[] token) {
+        long value = 0;
+        for (int i = 8; i < SECURE_TOKEN_BYTES; i++) {
+            value = (value << 8) | (token[i] & 0xFF);
+        }
+        return value;
     }
 
     /**
      * Implementation of TokenBucket algorithm to do rate limiting: http://stackoverflow.com/a/668327
      * @return true if should be rate limited, false if it is OK to send the message
      */
-    public synchronized boolean isRateLimited() {
+    public boolean isRateLimited() {
         double rate = TOKEN_BUCKET_RATE.get();
         double window = TOKEN_BUCKET_WINDOW.get();
+        long maxAllowance = maxAllowance(rate);
         long current = System.currentTimeMillis();
-        double timePassed = current - tkBktLastCheckTime;
 
-        tkBktLastCheckTime = current;
-        tkBktAllowance = tkBktAllowance + timePassed * (rate / window);
+        while (true) {
+            long prev = (long) TOKEN_BUCKET.getVolatile(this);
+            long lastCheckTime = prev >>> ALLOWANCE_BITS;
+            long checkTime = current;
+            long timePassed = (current - lastCheckTime) & TIME_MASK;
+            if (timePassed > TIME_MASK / 2) {
+                // Another thread already checked with a later time.
+                checkTime = lastCheckTime;
+                timePassed = 0;
+            }
+            double refill = timePassed * (rate / window) * MICROS_PER_TOKEN;
+            long allowance = (long) Math.min(maxAllowance, (prev & ALLOWANCE_MASK) + refill);
 
-        if (tkBktAllowance > rate) {
-            tkBktAllowance = rate; // cap max to rate
+            boolean limited = allowance < MICROS_PER_TOKEN;
+            if (!limited) {
+                allowance -= (long) MICROS_PER_TOKEN;
+            }
+            if (TOKEN_BUCKET.compareAndSet(this, prev, packTokenBucket(checkTime, allowance))) {
+                return limited;
+            }
         }
+    }
 
-        if (tkBktAllowance < 1.0) {
-            return true;
-        }
+    private static long maxAllowance(double rate) {
+        // The allowance can hold a little over 268 tokens, far more than any sensible burst size.
+        return (long) Math.min(ALLOWANCE_MASK, rate * MICROS_PER_TOKEN);
+    }
 
-        tkBktAllowance = tkBktAllowance - 1.0;
-        return false;
+    private static long packTokenBucket(long timeMillis, long allowance) {
+        return ((timeMillis & TIME_MASK) << ALLOWANCE_BITS) | allowance;
     }
 
     public ChannelFuture sendPushMessage(ByteBuf mesg) {
-        return pushProtocol.sendPushMessage(ctx, mesg);
+        ChannelPromise promise = ctx.newPromise();
+        EventExecutor executor = ctx.executor();
+        if (executor.inEventLoop()) {
+            writeAndRequestFlush(mesg, promise);
+        } else {
+            // Hand off the whole write, so that flushes are requested in the same order as the writes they cover.
+            try {
+                executor.execute(() -> writeAndRequestFlush(mesg, promise));
+            } catch (RejectedExecutionException e) {
+                mesg.release();
+                promise.setFailure(e);
+            }
+        }
+        return promise;
+    }
+
+    private void writeAndRequestFlush(ByteBuf mesg, ChannelPromise promise) {
+        writeFrame(pushProtocol.newPushFrame(pushProtocol.encodePushMessage(ctx.alloc(), mesg)), promise);
+        Channel channel = ctx.channel();
+        if (!channel.isWritable()) {
+            channel.flush();
+            FLUSHES.increment();
+        } else if (!flushPending) {
+            flushPending = true;
+            int window = FLUSH_WINDOW_MICROS.get();
+            if (window > 0) {
+                ctx.executor().schedule(this::flushCoalesced, window, TimeUnit.MICROSECONDS);
+            } else {
+                ctx.executor().execute(this::flushCoalesced);
+            }
+        }
+    }
+
+    private void flushCoalesced() {
+        flushPending = false;
+        ctx.channel().flush();
+        FLUSHES.increment();
+    }
+
+    /**
+     * Writes a frame without flushing it, unless too much is already queued for the client.  Must be called from the
+     * channel's event loop.
+     */
+    ChannelFuture writeFrame(Object frame) {
+        return writeFrame(frame, ctx.newPromise());
+    }
+
+    private ChannelFuture writeFrame(Object frame, ChannelPromise promise) {
+        Channel channel = ctx.channel();
+        ChannelOutboundBuffer outbound = channel.unsafe().outboundBuffer();
+        if (outbound != null && outbound.totalPendingWriteBytes() > MAX_PENDING_OUTBOUND_BYTES.get()) {
+            ReferenceCountUtil.release(frame);
+            if (CLOSE_ON_OUTBOUND_OVERFLOW.get()) {
+                OVERFLOW_CLOSED.increment();
+                channel.close();
+            } else {
+                OVERFLOW_DROPPED.increment();
+            }
+            return promise.setFailure(OUTBOUND_OVERFLOW);
+        }
+        MESSAGES_WRITTEN.increment();
+        return channel.write(frame, promise);
     }
 
     public ChannelFuture sendPushMessage(String mesg) {
         return sendPushMessage(Unpooled.copiedBuffer(mesg, Charsets.UTF_8));
     }
 
+    PushProtocol getPushProtocol() {
+        return pushProtocol;
+    }
+
+    Channel getChannel() {
+        return ctx.channel();
+    }
+
+    EventExecutor getEventLoop() {
+        return ctx.executor();
+    }
+
     public ChannelFuture sendPing() {
         return pushProtocol.sendPing(ctx);
     }
@@ -99,4 +339,13 @@ public class PushConnection {
     public void closeConnection(WebSocketCloseStatus status, String message) {
         ctx.writeAndFlush(new CloseWebSocketFrame(status, message)).addListener(ChannelFutureListener.CLOSE);
     }
+
+    static final class OutboundOverflowException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        OutboundOverflowException() {
+            // Shared and thrown often under overload, so skip the stack trace.
+            super("Too many push messages pending for a slow client", null, false, false);
+        }
+    }
 }
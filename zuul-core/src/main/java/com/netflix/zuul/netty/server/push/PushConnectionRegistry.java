@@ -15,65 +15,230 @@
  */
 package com.netflix.zuul.netty.server.push;
 
+import com.google.common.collect.Iterators;
+import io.netty.util.concurrent.EventExecutor;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.security.SecureRandom;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
 import javax.annotation.Nullable;
 
 /**
  * Maintains client identity to web socket or SSE channel mapping.
  *
+ * Connections are sharded by a hash of their client identity over a fixed number of maps, which are the only place
+ * they are stored.  Registrations during a mass reconnect are therefore spread over independent maps rather than
+ * contending on (and resizing) a single one.  A client always maps to the same shard, so replacing a reconnecting
+ * client's connection is one atomic update even when the old and new connections are on different event loops.
+ *
+ * Topic subscriptions are indexed both ways, by topic for publishing and by connection, so that removing a connection
+ * only visits the topics it was subscribed to.
+ *
+ * Prefer {@link #forEach(BiConsumer)} and {@link #getAllEntries()} over {@link #getAll()} for bulk operations, as
+ * they iterate the shards in place instead of copying every connection.
+ *
  * Created by saroskar on 9/26/16.
  */
 @Singleton
 public class PushConnectionRegistry {
 
-    private final ConcurrentMap<String, PushConnection> clientPushConnectionMap;
+    private static final int INITIAL_CAPACITY = 1024 * 32;
+    private static final int SHARD_BITS = 6;
+
+    private final Shard[] shards;
+    private final Map<String, PushConnection> allEntries;
+
+    private final ConcurrentMap<String, Set<PushConnection>> topicSubscribers;
+    private final ConcurrentMap<PushConnection, Set<String>> topicsByConnection;
     private final SecureRandom secureTokenGenerator;
 
     @Inject
     public PushConnectionRegistry() {
-        clientPushConnectionMap = new ConcurrentHashMap<>(1024 * 32);
+        shards = new Shard[1 << SHARD_BITS];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard(INITIAL_CAPACITY >> SHARD_BITS);
+        }
+        allEntries = Collections.unmodifiableMap(new AllEntries());
+        topicSubscribers = new ConcurrentHashMap<>();
+        topicsByConnection = new ConcurrentHashMap<>();
         secureTokenGenerator = new SecureRandom();
     }
 
     @Nullable
     public PushConnection get(String clientId) {
-        return clientPushConnectionMap.get(clientId);
+        return shardFor(clientId).connections.get(clientId);
     }
 
+    /**
+     * Returns a copy of all connections.  Use {@link #forEach(BiConsumer)} to avoid the copy.
+     */
     public List<PushConnection> getAll() {
-        return new ArrayList<>(clientPushConnectionMap.values());
+        List<PushConnection> all = new ArrayList<>(size());
+        forEach((clientId, conn) -> all.add(conn));
+        return all;
     }
 
+    /**
+     * Returns a read-only live view of all client identity to connection mappings, spanning every shard.
+     */
     public Map<String, PushConnection> getAllEntries() {
-        return Collections.unmodifiableMap(clientPushConnectionMap);
+        return allEntries;
+    }
+
+    /**
+     * Visits every registered connection without copying.  The iteration is weakly consistent, as for
+     * {@link ConcurrentHashMap}.
+     */
+    public void forEach(BiConsumer<? super String, ? super PushConnection> action) {
+        for (Shard shard : shards) {
+            shard.connections.forEach(action);
+        }
+    }
+
+    /**
+     * Visits the connections owned by the given event loop without copying.  Every connection is checked, as they are
+     * not stored by event loop, but calling this from the event loop itself allows acting on the matching connections
+     * without any further hand-off.
+     */
+    public void forEach(EventExecutor eventLoop, BiConsumer<? super String, ? super PushConnection> action) {
+        forEach((clientId, conn) -> {
+            if (conn.getEventLoop() == eventLoop) {
+                action.accept(clientId, conn);
+            }
+        });
     }
 
     public String mintNewSecureToken() {
-        byte[] tokenBuffer = new byte[15];
+        byte[] tokenBuffer = new byte[PushConnection.SECURE_TOKEN_BYTES];
         secureTokenGenerator.nextBytes(tokenBuffer);
         return Base64.getUrlEncoder().encodeToString(tokenBuffer);
     }
 
     public void put(String clientId, PushConnection pushConnection) {
         pushConnection.setSecureToken(mintNewSecureToken());
-        clientPushConnectionMap.put(clientId, pushConnection);
+        PushConnection previous = shardFor(clientId).connections.put(clientId, pushConnection);
+        if (previous != null && previous != pushConnection) {
+            // The replaced connection is about to be closed, and must not keep receiving topic messages until then.
+            unsubscribeAll(previous);
+        }
     }
 
     public PushConnection remove(String clientId) {
-        PushConnection pc = clientPushConnectionMap.remove(clientId);
+        PushConnection pc = shardFor(clientId).connections.remove(clientId);
+        if (pc != null) {
+            unsubscribeAll(pc);
+        }
         return pc;
     }
 
+    /**
+     * Adds the connection to the given topic so that it receives messages published to it through
+     * {@link PushBroadcaster#publish(String, io.netty.buffer.ByteBuf)}.  Connections are unsubscribed from all their
+     * topics when they are removed from the registry or replaced by a new connection of the same client.
+     * {@link PushRegistrationHandler#getTopics(PushUserAuth)} subscribes connections as they register.
+     */
+    public void subscribe(String topic, PushConnection pushConnection) {
+        addTo(topicsByConnection, pushConnection, topic);
+        addTo(topicSubscribers, topic, pushConnection);
+    }
+
+    public void unsubscribe(String topic, PushConnection pushConnection) {
+        removeFrom(topicSubscribers, topic, pushConnection);
+        removeFrom(topicsByConnection, pushConnection, topic);
+    }
+
+    private void unsubscribeAll(PushConnection pushConnection) {
+        Set<String> topics = topicsByConnection.remove(pushConnection);
+        if (topics != null) {
+            for (String topic : topics) {
+                removeFrom(topicSubscribers, topic, pushConnection);
+            }
+        }
+    }
+
+    public Set<PushConnection> getSubscribers(String topic) {
+        Set<PushConnection> subscribers = topicSubscribers.get(topic);
+        return subscribers != null ? Collections.unmodifiableSet(subscribers) : Collections.emptySet();
+    }
+
     public int size() {
-        return clientPushConnectionMap.size();
+        int size = 0;
+        for (Shard shard : shards) {
+            size += shard.connections.size();
+        }
+        return size;
+    }
+
+    private static <K, V> void addTo(ConcurrentMap<K, Set<V>> index, K key, V value) {
+        index.compute(key, (k, values) -> {
+            Set<V> s = values != null ? values : ConcurrentHashMap.newKeySet();
+            s.add(value);
+            return s;
+        });
+    }
+
+    private static <K, V> void removeFrom(ConcurrentMap<K, Set<V>> index, K key, V value) {
+        index.computeIfPresent(key, (k, values) -> {
+            values.remove(value);
+            return values.isEmpty() ? null : values;
+        });
+    }
+
+    private Shard shardFor(String clientId) {
+        // The top bits of a multiplicative hash, leaving the low bits that ConcurrentHashMap uses varied in each shard.
+        return shards[(clientId.hashCode() * 0x9E3779B9) >>> (Integer.SIZE - SHARD_BITS)];
+    }
+
+    private static final class Shard {
+        final ConcurrentMap<String, PushConnection> connections;
+
+        Shard(int initialCapacity) {
+            connections = new ConcurrentHashMap<>(initialCapacity);
+        }
+    }
+
+    private final class AllEntries extends AbstractMap<String, PushConnection> {
+        @Override
+        public PushConnection get(Object key) {
+            return key instanceof String clientId ? PushConnectionRegistry.this.get(clientId) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public int size() {
+            return PushConnectionRegistry.this.size();
+        }
+
+        @Override
+        public Set<Entry<String, PushConnection>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, PushConnection>> iterator() {
+                    return Iterators.concat(Iterators.transform(
+                            Arrays.asList(shards).iterator(), shard -> shard.connections.entrySet().iterator()));
+                }
+
+                @Override
+                public int size() {
+                    return PushConnectionRegistry.this.size();
+                }
+            };
+        }
     }
 }
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.netty.server.push;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.websocketx.BinaryWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.WebSocketFrame;
+import io.netty.handler.codec.http.websocketx.extensions.WebSocketExtension;
+import io.netty.handler.codec.http.websocketx.extensions.WebSocketExtensionEncoder;
+import io.netty.util.concurrent.FastThreadLocal;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.zip.Deflater;
+import javax.annotation.Nullable;
+
+/**
+ * permessage-deflate encoder for push messages that never keeps compression state between messages.
+ *
+ * <p>Netty's encoder holds a zlib stream per connection, which costs hundreds of KB of native memory for each of
+ * potentially millions of mostly idle push connections.  Since every message here is compressed without context
+ * takeover, a message can instead be compressed start to finish on one {@link Deflater} that is shared by all the
+ * connections of an event loop and reset after each use.
+ *
+ * <p>Only complete, unfragmented text and binary messages of at least {@code zuul.push.ws.deflate.min.bytes} are
+ * compressed, and a message is sent as is when compressing it would not make it smaller.
+ */
+final class PushDeflateEncoder extends WebSocketExtensionEncoder {
+
+    // Trailer of the empty stored block that ends a sync flush, which RFC 7692 says to strip from each message.
+    private static final int SYNC_FLUSH_TRAILER = 0x0000FFFF;
+    private static final int MIN_OUTPUT_GROWTH = 64;
+
+    private static final FastThreadLocal<Deflater> DEFLATERS = new FastThreadLocal<>() {
+        @Override
+        protected Deflater initialValue() {
+            PushWebSocketCompression.DEFLATERS.incrementAndGet();
+            return new Deflater(PushWebSocketCompression.LEVEL.get(), true);
+        }
+
+        @Override
+        protected void onRemoval(Deflater deflater) {
+            deflater.end();
+            PushWebSocketCompression.DEFLATERS.decrementAndGet();
+        }
+    };
+
+    @Override
+    protected void encode(ChannelHandlerContext ctx, WebSocketFrame frame, List<Object> out) {
+        ByteBuf content = frame.content();
+        ByteBuf compressed = isCompressible(frame) && content.readableBytes() >= PushWebSocketCompression.MIN_BYTES.get()
+                ? deflate(ctx.alloc(), content)
+                : null;
+        if (compressed == null) {
+            PushWebSocketCompression.UNCOMPRESSED.increment();
+            out.add(frame.retain());
+            return;
+        }
+
+        PushWebSocketCompression.BYTES_IN.increment(content.readableBytes());
+        PushWebSocketCompression.BYTES_OUT.increment(compressed.readableBytes());
+        int rsv = frame.rsv() | WebSocketExtension.RSV1;
+        out.add(
+                frame instanceof TextWebSocketFrame
+                        ? new TextWebSocketFrame(true, rsv, compressed)
+                        : new BinaryWebSocketFrame(true, rsv, compressed));
+    }
+
+    private static boolean isCompressible(WebSocketFrame frame) {
+        return (frame instanceof TextWebSocketFrame || frame instanceof BinaryWebSocketFrame)
+                && frame.isFinalFragment()
+                && (frame.rsv() & WebSocketExtension.RSV1) == 0;
+    }
+
+    /**
+     * Returns the compressed message, or {@code null} if it would not be smaller than the original.
+     */
+    @Nullable
+    static ByteBuf deflate(ByteBufAllocator alloc, ByteBuf content) {
+        int inputLength = content.readableBytes();
+        Deflater deflater = DEFLATERS.get();
+        deflater.setLevel(PushWebSocketCompression.LEVEL.get());
+        ByteBuf out = alloc.buffer(inputLength);
+        try {
+            ByteBuffer[] inputs = content.nioBuffers();
+            for (int i = 0; i < inputs.length; i++) {
+                deflater.setInput(inputs[i]);
+                int flush = i == inputs.length - 1 ? Deflater.SYNC_FLUSH : Deflater.NO_FLUSH;
+                while (true) {
+                    ByteBuffer dst = out.nioBuffer(out.writerIndex(), out.writableBytes());
+                    out.writerIndex(out.writerIndex() + deflater.deflate(dst, flush));
+                    if (deflater.needsInput() && out.isWritable()) {
+                        break;
+                    }
+                    out.ensureWritable(Math.max(MIN_OUTPUT_GROWTH, inputLength >> 2));
+                }
+            }
+        } catch (RuntimeException e) {
+            out.release();
+            throw e;
+        } finally {
+            // Compressing without context takeover, so nothing carries over to the next message.
+            deflater.reset();
+        }
+
+        if (out.readableBytes() >= Integer.BYTES && out.getInt(out.writerIndex() - Integer.BYTES) == SYNC_FLUSH_TRAILER) {
+            out.writerIndex(out.writerIndex() - Integer.BYTES);
+        }
+        if (out.readableBytes() >= inputLength) {
+            out.release();
+            return null;
+        }
+        return out;
+    }
+}
@@ -16,7 +16,9 @@
 package com.netflix.zuul.netty.server.push;
 
 import com.google.common.base.Strings;
+import com.netflix.config.CachedDynamicBooleanProperty;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandler;
@@ -25,13 +27,19 @@ import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.handler.codec.http.DefaultFullHttpResponse;
 import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
 import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpUtil;
 import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import io.netty.util.CharsetUtil;
 import io.netty.util.ReferenceCountUtil;
 import jakarta.inject.Inject;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -41,6 +49,12 @@ import org.slf4j.LoggerFactory;
  * external applications/agents cannot push messages to your client. In AWS this can typically be achieved using
  * correctly configured security groups.
  *
+ * When {@code zuul.push.broadcast.enabled} is set, "/push/broadcast" additionally accepts a POST whose body is sent to
+ * every connected client, or only to the subscribers of the topic given in the {@code topic} query parameter, and
+ * "/push/multicast" accepts a POST whose body is sent to each client named by a {@code clientId} query parameter.
+ * Both respond with the {@link PushBroadcaster.Result} delivery counts as JSON.  Connections are subscribed to topics
+ * by {@link PushRegistrationHandler#getTopics(PushUserAuth)}.
+ *
  * Author: Susheel Aroskar
  * Date: 5/14/18
  */
@@ -48,13 +62,25 @@ import org.slf4j.LoggerFactory;
 public abstract class PushMessageSender extends SimpleChannelInboundHandler<FullHttpRequest> {
 
     private final PushConnectionRegistry pushConnectionRegistry;
+    private final PushBroadcaster pushBroadcaster;
 
     public static final String SECURE_TOKEN_HEADER_NAME = "X-Zuul.push.secure.token";
+    public static final CachedDynamicBooleanProperty BROADCAST_ENABLED =
+            new CachedDynamicBooleanProperty("zuul.push.broadcast.enabled", false);
     private static final Logger logger = LoggerFactory.getLogger(PushMessageSender.class);
 
     @Inject
-    public PushMessageSender(PushConnectionRegistry pushConnectionRegistry) {
+    public PushMessageSender(PushConnectionRegistry pushConnectionRegistry, PushBroadcaster pushBroadcaster) {
         this.pushConnectionRegistry = pushConnectionRegistry;
+        this.pushBroadcaster = pushBroadcaster;
+    }
+
+    /**
+     * @deprecated Use {@link #PushMessageSender(PushConnectionRegistry, PushBroadcaster)} with the shared broadcaster.
+     */
+    @Deprecated
+    public PushMessageSender(PushConnectionRegistry pushConnectionRegistry) {
+        this(pushConnectionRegistry, new PushBroadcaster(pushConnectionRegistry));
     }
 
     protected void sendHttpResponse(
@@ -74,7 +100,7 @@ public abstract class PushMessageSender extends SimpleChannelInboundHandler<Full
             // caller is not asking to verify secure token
             return true;
         }
-        return secureToken.equals(conn.getSecureToken());
+        return conn.isSecureTokenEqual(secureToken);
     }
 
     @Override
@@ -153,12 +179,92 @@ public abstract class PushMessageSender extends SimpleChannelInboundHandler<Full
                 }
                 sendHttpResponse(ctx, request, status, userAuth);
             });
+        } else if (BROADCAST_ENABLED.get() && isBroadcastPath(path)) {
+            handleBroadcast(ctx, request);
+        } else if (BROADCAST_ENABLED.get() && isMulticastPath(path)) {
+            handleMulticast(ctx, request);
         } else {
             // Last handler in the chain
             sendHttpResponse(ctx, request, HttpResponseStatus.BAD_REQUEST, null);
         }
     }
 
+    private static boolean isBroadcastPath(String uri) {
+        return new QueryStringDecoder(uri).path().endsWith("/push/broadcast");
+    }
+
+    private static boolean isMulticastPath(String uri) {
+        return new QueryStringDecoder(uri).path().endsWith("/push/multicast");
+    }
+
+    private void handleBroadcast(ChannelHandlerContext ctx, FullHttpRequest request) {
+        if (!Objects.equals(request.method(), HttpMethod.POST)) {
+            sendHttpResponse(ctx, request, HttpResponseStatus.METHOD_NOT_ALLOWED, null);
+            return;
+        }
+        ByteBuf body = request.content();
+        if (body.readableBytes() <= 0) {
+            sendHttpResponse(ctx, request, HttpResponseStatus.NO_CONTENT, null);
+            return;
+        }
+
+        List<String> topics = new QueryStringDecoder(request.uri()).parameters().get("topic");
+        String topic = topics == null || topics.isEmpty() ? null : topics.get(0);
+        CompletableFuture<PushBroadcaster.Result> result = topic == null
+                ? pushBroadcaster.broadcast(body.retain())
+                : pushBroadcaster.publish(topic, body.retain());
+        result.whenComplete((r, t) -> {
+            if (t != null) {
+                logPushError(t);
+                sendHttpResponse(ctx, request, HttpResponseStatus.INTERNAL_SERVER_ERROR, null);
+            } else {
+                logBroadcast(topic, r);
+                sendBroadcastResponse(ctx, request, r);
+            }
+        });
+    }
+
+    private void handleMulticast(ChannelHandlerContext ctx, FullHttpRequest request) {
+        if (!Objects.equals(request.method(), HttpMethod.POST)) {
+            sendHttpResponse(ctx, request, HttpResponseStatus.METHOD_NOT_ALLOWED, null);
+            return;
+        }
+        List<String> clientIds = new QueryStringDecoder(request.uri()).parameters().get("clientId");
+        if (clientIds == null || clientIds.isEmpty()) {
+            sendHttpResponse(ctx, request, HttpResponseStatus.BAD_REQUEST, null);
+            return;
+        }
+        ByteBuf body = request.content();
+        if (body.readableBytes() <= 0) {
+            sendHttpResponse(ctx, request, HttpResponseStatus.NO_CONTENT, null);
+            return;
+        }
+
+        pushBroadcaster.multicast(clientIds, body.retain()).whenComplete((r, t) -> {
+            if (t != null) {
+                logPushError(t);
+                sendHttpResponse(ctx, request, HttpResponseStatus.INTERNAL_SERVER_ERROR, null);
+            } else {
+                logMulticast(clientIds, r);
+                sendBroadcastResponse(ctx, request, r);
+            }
+        });
+    }
+
+    private void sendBroadcastResponse(
+            ChannelHandlerContext ctx, FullHttpRequest request, PushBroadcaster.Result result) {
+        String json = "{\"targeted\":" + result.targeted() + ",\"delivered\":" + result.delivered() + ",\"failed\":"
+                + result.failed() + ",\"notConnected\":" + result.notConnected() + "}";
+        FullHttpResponse resp = new DefaultFullHttpResponse(
+                HttpVersion.HTTP_1_1, HttpResponseStatus.OK, Unpooled.copiedBuffer(json, CharsetUtil.UTF_8));
+        resp.headers().set(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON);
+        resp.headers().set(HttpHeaderNames.CONTENT_LENGTH, resp.content().readableBytes());
+        ChannelFuture cf = ctx.channel().writeAndFlush(resp);
+        if (!HttpUtil.isKeepAlive(request)) {
+            cf.addListener(ChannelFutureListener.CLOSE);
+        }
+    }
+
     protected void logPushAttempt() {
         logger.debug("pushing notification");
     }
@@ -191,6 +297,14 @@ public abstract class PushMessageSender extends SimpleChannelInboundHandler<Full
         logger.debug("Push notification status: {}, auth: {}", status.code(), userAuth != null ? userAuth : "-");
     }
 
+    protected void logBroadcast(String topic, PushBroadcaster.Result result) {
+        logger.debug("Push broadcast to topic {}: {}", topic != null ? topic : "*", result);
+    }
+
+    protected void logMulticast(List<String> clientIds, PushBroadcaster.Result result) {
+        logger.debug("Push multicast to {} clients: {}", clientIds.size(), result);
+    }
+
     protected void logPushEventBody(FullHttpRequest request, ByteBuf body) {
         logger.debug("push event body");
     }
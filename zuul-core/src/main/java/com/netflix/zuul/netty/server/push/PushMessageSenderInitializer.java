@@ -20,16 +20,36 @@ import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelPipeline;
 import io.netty.handler.codec.http.HttpObjectAggregator;
 import io.netty.handler.codec.http.HttpServerCodec;
+import javax.annotation.Nullable;
 
 /**
  * Author: Susheel Aroskar
  * Date: 5/16/18
  */
 public abstract class PushMessageSenderInitializer extends ChannelInitializer<Channel> {
+
+    @Nullable
+    private final PushConnectionRegistry pushConnectionRegistry;
+
+    protected PushMessageSenderInitializer() {
+        this(null);
+    }
+
+    /**
+     * Also serves the streamed "/push/batch" endpoint for the given registry, see {@link PushBatchSender}.
+     */
+    protected PushMessageSenderInitializer(@Nullable PushConnectionRegistry pushConnectionRegistry) {
+        this.pushConnectionRegistry = pushConnectionRegistry;
+    }
+
     @Override
     protected void initChannel(Channel ch) throws Exception {
         ChannelPipeline pipeline = ch.pipeline();
         pipeline.addLast(new HttpServerCodec());
+        if (pushConnectionRegistry != null) {
+            // Batches are decoded as they stream in, so this must come before the aggregator.
+            pipeline.addLast(new PushBatchSender(pushConnectionRegistry));
+        }
         pipeline.addLast(new HttpObjectAggregator(65536));
         addPushMessageHandlers(pipeline);
     }
@@ -17,6 +17,8 @@ package com.netflix.zuul.netty.server.push;
 
 import com.google.common.base.Charsets;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
@@ -45,8 +47,18 @@ public enum PushProtocol {
 
         @Override
         public ChannelFuture sendPushMessage(ChannelHandlerContext ctx, ByteBuf mesg) {
-            TextWebSocketFrame wsf = new TextWebSocketFrame(mesg);
-            return ctx.channel().writeAndFlush(wsf);
+            return ctx.channel().writeAndFlush(newPushFrame(encodePushMessage(ctx.alloc(), mesg)));
+        }
+
+        @Override
+        public ByteBuf encodePushMessage(ByteBufAllocator alloc, ByteBuf mesg) {
+            // The frame header is added by the WebSocket encoder, so the payload is shared as is.
+            return mesg;
+        }
+
+        @Override
+        public Object newPushFrame(ByteBuf encoded) {
+            return new TextWebSocketFrame(encoded);
         }
 
         @Override
@@ -78,30 +90,34 @@ public enum PushProtocol {
             return "/sse";
         }
 
-        private static final String SSE_PREAMBLE = "event: push\r\ndata: ";
-        private static final String SSE_TERMINATION = "\r\n\r\n";
+        // Shared by every message, so the payload is framed without being copied.
+        private static final ByteBuf SSE_PREAMBLE =
+                Unpooled.unreleasableBuffer(Unpooled.copiedBuffer("event: push\r\ndata: ", Charsets.UTF_8));
+        private static final ByteBuf SSE_TERMINATION =
+                Unpooled.unreleasableBuffer(Unpooled.copiedBuffer("\r\n\r\n", Charsets.UTF_8));
 
         @Override
         public ChannelFuture sendPushMessage(ChannelHandlerContext ctx, ByteBuf mesg) {
-            ByteBuf newBuff = ctx.alloc().buffer();
-            newBuff.ensureWritable(SSE_PREAMBLE.length());
-            newBuff.writeCharSequence(SSE_PREAMBLE, Charsets.UTF_8);
-            newBuff.ensureWritable(mesg.writableBytes());
-            newBuff.writeBytes(mesg);
-            newBuff.ensureWritable(SSE_TERMINATION.length());
-            newBuff.writeCharSequence(SSE_TERMINATION, Charsets.UTF_8);
-            mesg.release();
-            return ctx.channel().writeAndFlush(newBuff);
+            return ctx.channel().writeAndFlush(encodePushMessage(ctx.alloc(), mesg));
+        }
+
+        @Override
+        public ByteBuf encodePushMessage(ByteBufAllocator alloc, ByteBuf mesg) {
+            return alloc.compositeBuffer(3)
+                    .addComponents(true, SSE_PREAMBLE.duplicate(), mesg, SSE_TERMINATION.duplicate());
         }
 
-        private static final String SSE_PING = "event: ping\r\ndata: ping\r\n\r\n";
+        @Override
+        public Object newPushFrame(ByteBuf encoded) {
+            return encoded;
+        }
+
+        private static final ByteBuf SSE_PING =
+                Unpooled.unreleasableBuffer(Unpooled.copiedBuffer("event: ping\r\ndata: ping\r\n\r\n", Charsets.UTF_8));
 
         @Override
         public ChannelFuture sendPing(ChannelHandlerContext ctx) {
-            ByteBuf newBuff = ctx.alloc().buffer();
-            newBuff.ensureWritable(SSE_PING.length());
-            newBuff.writeCharSequence(SSE_PING, Charsets.UTF_8);
-            return ctx.channel().writeAndFlush(newBuff);
+            return ctx.channel().writeAndFlush(SSE_PING.duplicate());
         }
 
         @Override
@@ -126,6 +142,19 @@ public enum PushProtocol {
 
     public abstract ChannelFuture sendPushMessage(ChannelHandlerContext ctx, ByteBuf mesg);
 
+    /**
+     * Frames a push message in a form that can be shared by any number of connections.  Each connection is written
+     * {@link #newPushFrame(ByteBuf)} of a {@link ByteBuf#retainedDuplicate()} of the result, so the payload is
+     * encoded only once no matter how many clients receive it.  Takes ownership of {@code mesg}.
+     */
+    public abstract ByteBuf encodePushMessage(ByteBufAllocator alloc, ByteBuf mesg);
+
+    /**
+     * Wraps a buffer returned by {@link #encodePushMessage(ByteBufAllocator, ByteBuf)} in the message type expected
+     * by this protocol's pipeline.  Takes ownership of {@code encoded}.
+     */
+    public abstract Object newPushFrame(ByteBuf encoded);
+
     public abstract ChannelFuture sendPing(ChannelHandlerContext ctx);
     /**
      * Application level protocol for asking client to close connection
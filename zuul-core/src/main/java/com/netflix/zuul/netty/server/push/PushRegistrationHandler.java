@@ -21,10 +21,8 @@ import com.netflix.config.CachedDynamicIntProperty;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.handler.codec.http.websocketx.PingWebSocketFrame;
-import io.netty.util.concurrent.ScheduledFuture;
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.List;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -32,6 +30,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
+ * Registers authenticated push connections, and drives their lifecycle timers: the unauthenticated connection TTL,
+ * the reconnect deadline and its close grace period, and keep-alive pings.  The timers live on the event loop's
+ * shared {@link PushTimerWheel} rather than being scheduled individually on the event loop.
+ *
  * Author: Susheel Aroskar
  * Date: 5/14/18
  */
@@ -47,7 +49,17 @@ public class PushRegistrationHandler extends ChannelInboundHandlerAdapter {
     protected final AtomicBoolean destroyed;
     private ChannelHandlerContext ctx;
     private volatile PushConnection pushConnection;
-    private final List<ScheduledFuture<?>> scheduledFutures;
+
+    /* timers */
+    private enum LifecyclePhase {
+        AWAITING_AUTH,
+        AWAITING_RECONNECT,
+        AWAITING_CLIENT_CLOSE
+    }
+
+    private LifecyclePhase lifecyclePhase;
+    private PushTimerWheel.Timer lifecycleTimer;
+    private PushTimerWheel.Timer keepAliveTimer;
 
     public static final CachedDynamicIntProperty PUSH_REGISTRY_TTL =
             new CachedDynamicIntProperty("zuul.push.registry.ttl.seconds", 30 * 60);
@@ -68,7 +80,6 @@ public class PushRegistrationHandler extends ChannelInboundHandlerAdapter {
         this.pushConnectionRegistry = pushConnectionRegistry;
         this.pushProtocol = pushProtocol;
         this.destroyed = new AtomicBoolean();
-        this.scheduledFutures = Collections.synchronizedList(new ArrayList<>());
     }
 
     protected final boolean isAuthenticated() {
@@ -88,8 +99,12 @@ public class PushRegistrationHandler extends ChannelInboundHandlerAdapter {
                 logger.debug("Closing connection for {}", authEvent);
             }
         }
-        scheduledFutures.forEach(f -> f.cancel(false));
-        scheduledFutures.clear();
+        if (lifecycleTimer != null) {
+            lifecycleTimer.cancel();
+        }
+        if (keepAliveTimer != null) {
+            keepAliveTimer.cancel();
+        }
     }
 
     @Override
@@ -126,22 +141,48 @@ public class PushRegistrationHandler extends ChannelInboundHandlerAdapter {
             // Application level protocol for asking client to close connection
             ctx.writeAndFlush(pushProtocol.goAwayMessage());
             // Force close connection if client doesn't close in reasonable time after we made request
-            scheduledFutures.add(ctx.executor()
-                    .schedule(
-                            this::forceCloseConnectionFromServerSide,
-                            CLIENT_CLOSE_GRACE_PERIOD.get(),
-                            TimeUnit.SECONDS));
+            scheduleLifecycle(LifecyclePhase.AWAITING_CLIENT_CLOSE, CLIENT_CLOSE_GRACE_PERIOD.get());
         } else {
             forceCloseConnectionFromServerSide();
         }
     }
 
+    private void onLifecycleTimer() {
+        switch (lifecyclePhase) {
+            case AWAITING_AUTH -> closeIfNotAuthenticated();
+            case AWAITING_RECONNECT -> requestClientToCloseConnection();
+            case AWAITING_CLIENT_CLOSE -> forceCloseConnectionFromServerSide();
+        }
+    }
+
+    private void scheduleLifecycle(LifecyclePhase phase, int delaySeconds) {
+        lifecyclePhase = phase;
+        lifecycleTimer.schedule(delaySeconds, TimeUnit.SECONDS);
+    }
+
+    private void onKeepAliveTimer() {
+        if (!destroyed.get()) {
+            keepAlive();
+            keepAliveTimer.schedule(getKeepAliveInterval(), TimeUnit.SECONDS);
+        }
+    }
+
     protected void keepAlive() {
         if (KEEP_ALIVE_ENABLED.get()) {
-            ctx.writeAndFlush(new PingWebSocketFrame());
+            // Pings due in the same tick of the timer wheel are flushed together once they have all been written.
+            ctx.write(new PingWebSocketFrame());
+            timerWheel(ctx).flushAfterTick(ctx);
         }
     }
 
+    /**
+     * Returns the timer wheel used for this connection's timers, by default the one shared by all the connections of
+     * the channel's event loop.
+     */
+    protected PushTimerWheel timerWheel(ChannelHandlerContext ctx) {
+        return PushTimerWheel.forEventLoop(ctx.executor());
+    }
+
     private int ditheredReconnectDeadline() {
         int dither = ThreadLocalRandom.current().nextInt(RECONNECT_DITHER.get());
         return PUSH_REGISTRY_TTL.get() - dither - CLIENT_CLOSE_GRACE_PERIOD.get();
@@ -153,10 +194,10 @@ public class PushRegistrationHandler extends ChannelInboundHandlerAdapter {
         if (!destroyed.get()) {
             if (evt == pushProtocol.getHandshakeCompleteEvent()) {
                 pushConnection = new PushConnection(pushProtocol, ctx);
+                lifecycleTimer = timerWheel(ctx).newTimer(this::onLifecycleTimer);
                 // Unauthenticated connection, wait for small amount of time for a client to send auth token in
                 // a first web socket frame, otherwise close connection
-                ctx.executor()
-                        .schedule(this::closeIfNotAuthenticated, UNAUTHENTICATED_CONN_TTL.get(), TimeUnit.SECONDS);
+                scheduleLifecycle(LifecyclePhase.AWAITING_AUTH, UNAUTHENTICATED_CONN_TTL.get());
                 logger.debug("WebSocket handshake complete.");
             } else if (evt instanceof PushUserAuth pushUserAuth) {
                 authEvent = pushUserAuth;
@@ -200,23 +241,38 @@ public class PushRegistrationHandler extends ChannelInboundHandlerAdapter {
     protected void registerClient(
             ChannelHandlerContext ctx, PushUserAuth authEvent, PushConnection conn, PushConnectionRegistry registry) {
         registry.put(authEvent.getClientIdentity(), conn);
-        // Make client reconnect after ttl seconds by closing this connection to limit stickiness of the client
-        scheduledFutures.add(ctx.executor()
-                .schedule(this::requestClientToCloseConnection, ditheredReconnectDeadline(), TimeUnit.SECONDS));
+        for (String topic : getTopics(authEvent)) {
+            registry.subscribe(topic, conn);
+        }
+        // Make client reconnect after ttl seconds by closing this connection to limit stickiness of the client.
+        // This replaces the unauthenticated connection TTL, which no longer applies.
+        scheduleLifecycle(LifecyclePhase.AWAITING_RECONNECT, ditheredReconnectDeadline());
         if (KEEP_ALIVE_ENABLED.get()) {
-            scheduledFutures.add(ctx.executor()
-                    .scheduleWithFixedDelay(
-                            this::keepAlive, getKeepAliveInterval(), getKeepAliveInterval(), TimeUnit.SECONDS));
+            keepAliveTimer = timerWheel(ctx).newTimer(this::onKeepAliveTimer);
+            keepAliveTimer.schedule(getKeepAliveInterval(), TimeUnit.SECONDS);
         }
     }
 
+    /**
+     * Returns the topics the authenticated client is subscribed to when it registers, so that it receives messages
+     * published to them through {@link PushBroadcaster#publish(String, io.netty.buffer.ByteBuf)}.  None by default.
+     */
+    protected Collection<String> getTopics(PushUserAuth authEvent) {
+        return Collections.emptyList();
+    }
+
     @VisibleForTesting
     PushConnection getPushConnection() {
         return pushConnection;
     }
 
     @VisibleForTesting
-    List<ScheduledFuture<?>> getScheduledFutures() {
-        return scheduledFutures;
+    PushTimerWheel.Timer getLifecycleTimer() {
+        return lifecycleTimer;
+    }
+
+    @VisibleForTesting
+    PushTimerWheel.Timer getKeepAliveTimer() {
+        return keepAliveTimer;
     }
 }
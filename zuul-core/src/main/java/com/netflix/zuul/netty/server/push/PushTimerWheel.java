@@ -0,0 +1,243 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.netty.server.push;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.netflix.config.CachedDynamicIntProperty;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.util.concurrent.EventExecutor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A hashed timer wheel owned by a single event loop, used for the long lived, coarse grained timers of push
+ * connections: authentication TTLs, reconnect deadlines, close grace periods and keep-alive pings.
+ *
+ * <p>Scheduling these directly on the event loop puts a task object in the loop's scheduled-task priority queue for
+ * every timer of every connection, and cancelling one is a linear removal from that queue.  Here each connection
+ * instead owns a few reusable {@link Timer} nodes, and the loop runs a single periodic tick task per wheel.  Adding
+ * and cancelling a timer are O(1) list operations on one of the wheel's buckets.
+ *
+ * <p>Timers that expire in the same tick run together, and writes they make through {@link #flushAfterTick} are
+ * flushed once the whole batch has run, so the keep-alive pings due in a tick go out back to back.
+ *
+ * <p>All state is confined to the event loop; calls made from other threads are handed off to it.
+ */
+public final class PushTimerWheel {
+
+    private static final Logger logger = LoggerFactory.getLogger(PushTimerWheel.class);
+
+    public static final CachedDynamicIntProperty TICK_MILLIS =
+            new CachedDynamicIntProperty("zuul.push.timer.tick.millis", 1000);
+    private static final int DEFAULT_WHEEL_SIZE = 512;
+
+    private static final ConcurrentMap<EventExecutor, PushTimerWheel> WHEELS = new ConcurrentHashMap<>();
+
+    private final EventExecutor eventLoop;
+    private final long tickMillis;
+    private final Timer[] buckets;
+    private final int mask;
+    private final List<Timer> expired = new ArrayList<>();
+    private final List<ChannelHandlerContext> pendingFlushes = new ArrayList<>();
+
+    private long currentTick;
+    private boolean inTick;
+
+    @VisibleForTesting
+    PushTimerWheel(EventExecutor eventLoop, long tickMillis, int wheelSize) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of 2: " + wheelSize);
+        }
+        this.eventLoop = Objects.requireNonNull(eventLoop);
+        this.tickMillis = tickMillis;
+        this.buckets = new Timer[wheelSize];
+        this.mask = wheelSize - 1;
+    }
+
+    /**
+     * Returns the wheel for the given event loop, creating and starting it on first use.
+     */
+    public static PushTimerWheel forEventLoop(EventExecutor eventLoop) {
+        PushTimerWheel wheel = WHEELS.get(eventLoop);
+        if (wheel == null) {
+            wheel = WHEELS.computeIfAbsent(eventLoop, PushTimerWheel::start);
+        }
+        return wheel;
+    }
+
+    private static PushTimerWheel start(EventExecutor eventLoop) {
+        long tickMillis = Math.max(1, TICK_MILLIS.get());
+        PushTimerWheel wheel = new PushTimerWheel(eventLoop, tickMillis, DEFAULT_WHEEL_SIZE);
+        eventLoop.scheduleAtFixedRate(wheel::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        eventLoop.terminationFuture().addListener(f -> WHEELS.remove(eventLoop));
+        return wheel;
+    }
+
+    /**
+     * Creates a timer that runs the given task on this wheel's event loop each time it expires.  The timer is not
+     * scheduled until {@link Timer#schedule} is called, and can be rescheduled any number of times.
+     */
+    public Timer newTimer(Runnable task) {
+        return new Timer(this, task);
+    }
+
+    /**
+     * Flushes the context once all the timers expiring in the current tick have run, or immediately when not called
+     * from a timer.
+     */
+    public void flushAfterTick(ChannelHandlerContext ctx) {
+        if (inTick) {
+            pendingFlushes.add(ctx);
+        } else {
+            ctx.flush();
+        }
+    }
+
+    @VisibleForTesting
+    void tick() {
+        long tick = ++currentTick;
+        int bucket = (int) (tick & mask);
+        for (Timer timer = buckets[bucket]; timer != null; ) {
+            Timer next = timer.next;
+            if (timer.deadlineTick <= tick) {
+                unlink(timer);
+                timer.state = Timer.EXPIRING;
+                expired.add(timer);
+            }
+            timer = next;
+        }
+        if (expired.isEmpty()) {
+            return;
+        }
+
+        inTick = true;
+        try {
+            for (int i = 0; i < expired.size(); i++) {
+                Timer timer = expired.get(i);
+                // An earlier task in the batch may have cancelled or rescheduled this one.
+                if (timer.state == Timer.EXPIRING) {
+                    timer.state = Timer.IDLE;
+                    runSafely(timer.task);
+                }
+            }
+            for (int i = 0; i < pendingFlushes.size(); i++) {
+                pendingFlushes.get(i).flush();
+            }
+        } finally {
+            inTick = false;
+            expired.clear();
+            pendingFlushes.clear();
+        }
+    }
+
+    private static void runSafely(Runnable task) {
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            logger.error("Push timer task failed", e);
+        }
+    }
+
+    private void add(Timer timer, long delayMillis) {
+        // Round up, so a timer never fires early.
+        long ticks = Math.max(1, (delayMillis + tickMillis - 1) / tickMillis);
+        timer.deadlineTick = currentTick + ticks;
+        int bucket = (int) (timer.deadlineTick & mask);
+        timer.bucket = bucket;
+        timer.next = buckets[bucket];
+        if (timer.next != null) {
+            timer.next.prev = timer;
+        }
+        buckets[bucket] = timer;
+        timer.state = Timer.SCHEDULED;
+    }
+
+    private void unlink(Timer timer) {
+        if (timer.prev != null) {
+            timer.prev.next = timer.next;
+        } else {
+            buckets[timer.bucket] = timer.next;
+        }
+        if (timer.next != null) {
+            timer.next.prev = timer.prev;
+        }
+        timer.prev = null;
+        timer.next = null;
+        timer.state = Timer.IDLE;
+    }
+
+    /**
+     * A reusable timer node.  A timer is scheduled at most once at a time; scheduling it again replaces its current
+     * deadline.
+     */
+    public static final class Timer {
+        private static final byte IDLE = 0;
+        private static final byte SCHEDULED = 1;
+        private static final byte EXPIRING = 2;
+
+        private final PushTimerWheel wheel;
+        private final Runnable task;
+
+        private long deadlineTick;
+        private int bucket;
+        private byte state;
+
+        @Nullable
+        private Timer prev;
+
+        @Nullable
+        private Timer next;
+
+        private Timer(PushTimerWheel wheel, Runnable task) {
+            this.wheel = wheel;
+            this.task = Objects.requireNonNull(task);
+        }
+
+        public void schedule(long delay, TimeUnit unit) {
+            if (!wheel.eventLoop.inEventLoop()) {
+                wheel.eventLoop.execute(() -> schedule(delay, unit));
+                return;
+            }
+            if (state == SCHEDULED) {
+                wheel.unlink(this);
+            }
+            wheel.add(this, unit.toMillis(delay));
+        }
+
+        public void cancel() {
+            if (!wheel.eventLoop.inEventLoop()) {
+                wheel.eventLoop.execute(this::cancel);
+                return;
+            }
+            if (state == SCHEDULED) {
+                wheel.unlink(this);
+            }
+            state = IDLE;
+        }
+
+        public boolean isScheduled() {
+            return state == SCHEDULED;
+        }
+    }
+}
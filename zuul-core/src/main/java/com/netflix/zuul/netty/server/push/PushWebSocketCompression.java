@@ -0,0 +1,131 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.netty.server.push;
+
+import com.netflix.config.CachedDynamicBooleanProperty;
+import com.netflix.config.CachedDynamicIntProperty;
+import com.netflix.spectator.api.Counter;
+import com.netflix.spectator.api.Registry;
+import com.netflix.spectator.api.Spectator;
+import com.netflix.spectator.api.patterns.PolledMeter;
+import io.netty.handler.codec.http.websocketx.extensions.WebSocketExtensionData;
+import io.netty.handler.codec.http.websocketx.extensions.WebSocketExtensionDecoder;
+import io.netty.handler.codec.http.websocketx.extensions.WebSocketExtensionEncoder;
+import io.netty.handler.codec.http.websocketx.extensions.WebSocketServerExtension;
+import io.netty.handler.codec.http.websocketx.extensions.WebSocketServerExtensionHandler;
+import io.netty.handler.codec.http.websocketx.extensions.WebSocketServerExtensionHandshaker;
+import io.netty.handler.codec.http.websocketx.extensions.compression.PerMessageDeflateServerExtensionHandshaker;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
+
+/**
+ * permessage-deflate (RFC 7692) for WebSocket push connections, with memory use that does not grow with the number
+ * of connections.
+ *
+ * <p>Outbound messages are compressed by {@link PushDeflateEncoder} without context takeover, on a deflater shared by
+ * all connections of an event loop.  Clients are asked to compress without context takeover too, so the inflater
+ * used for their messages holds no window between messages, and inflated messages are capped at the given maximum
+ * allocation.  Clients asking for a smaller server window than the JDK deflater supports get no compression rather
+ * than a failed handshake.
+ *
+ * <p>Compression ratio is reported as {@code zuul.push.ws.deflate.bytes} tagged {@code direction=in|out}, and the
+ * number of pooled deflaters, with an estimate of their native memory, as {@code zuul.push.ws.deflate.deflaters} and
+ * {@code zuul.push.ws.deflate.native.bytes}.
+ */
+public final class PushWebSocketCompression {
+
+    public static final CachedDynamicBooleanProperty ENABLED =
+            new CachedDynamicBooleanProperty("zuul.push.ws.deflate.enabled", false);
+    public static final CachedDynamicIntProperty LEVEL = new CachedDynamicIntProperty("zuul.push.ws.deflate.level", 6);
+    public static final CachedDynamicIntProperty MIN_BYTES =
+            new CachedDynamicIntProperty("zuul.push.ws.deflate.min.bytes", 256);
+
+    // zlib's own estimate for a deflater with the default 32KB window and memLevel of 8.
+    private static final long ESTIMATED_DEFLATER_BYTES = (1L << (15 + 2)) + (1L << (8 + 9));
+    private static final int SERVER_WINDOW_BITS = 15;
+
+    private static final Registry REGISTRY = Spectator.globalRegistry();
+    static final Counter BYTES_IN = REGISTRY.counter("zuul.push.ws.deflate.bytes", "direction", "in");
+    static final Counter BYTES_OUT = REGISTRY.counter("zuul.push.ws.deflate.bytes", "direction", "out");
+    static final Counter UNCOMPRESSED = REGISTRY.counter("zuul.push.ws.deflate.uncompressed");
+    static final AtomicInteger DEFLATERS = PolledMeter.using(REGISTRY)
+            .withName("zuul.push.ws.deflate.deflaters")
+            .monitorValue(new AtomicInteger());
+
+    static {
+        PolledMeter.using(REGISTRY)
+                .withName("zuul.push.ws.deflate.native.bytes")
+                .monitorValue(DEFLATERS, d -> d.get() * (double) ESTIMATED_DEFLATER_BYTES);
+    }
+
+    private PushWebSocketCompression() {}
+
+    /**
+     * Returns a handler negotiating permessage-deflate, to be added ahead of the
+     * {@link io.netty.handler.codec.http.websocketx.WebSocketServerProtocolHandler}.
+     *
+     * @param maxAllocation the largest size a compressed client message may inflate to, or 0 for no limit
+     */
+    public static WebSocketServerExtensionHandler newHandler(int maxAllocation) {
+        return new WebSocketServerExtensionHandler(new Handshaker(maxAllocation));
+    }
+
+    private static final class Handshaker implements WebSocketServerExtensionHandshaker {
+        private final PerMessageDeflateServerExtensionHandshaker delegate;
+
+        Handshaker(int maxAllocation) {
+            // Negotiation and the inbound side are Netty's; only the encoder is swapped for the pooled one.
+            this.delegate = new PerMessageDeflateServerExtensionHandshaker(
+                    LEVEL.get(), false, SERVER_WINDOW_BITS, true, true, maxAllocation);
+        }
+
+        @Nullable
+        @Override
+        public WebSocketServerExtension handshakeExtension(WebSocketExtensionData extensionData) {
+            WebSocketServerExtension extension = delegate.handshakeExtension(extensionData);
+            return extension == null ? null : new PooledDeflateExtension(extension);
+        }
+    }
+
+    private static final class PooledDeflateExtension implements WebSocketServerExtension {
+        private final WebSocketServerExtension negotiated;
+
+        PooledDeflateExtension(WebSocketServerExtension negotiated) {
+            this.negotiated = negotiated;
+        }
+
+        @Override
+        public int rsv() {
+            return negotiated.rsv();
+        }
+
+        @Override
+        public WebSocketExtensionEncoder newExtensionEncoder() {
+            return new PushDeflateEncoder();
+        }
+
+        @Override
+        public WebSocketExtensionDecoder newExtensionDecoder() {
+            return negotiated.newExtensionDecoder();
+        }
+
+        @Override
+        public WebSocketExtensionData newReponseData() {
+            return negotiated.newReponseData();
+        }
+    }
+}
@@ -17,16 +17,28 @@
 package com.netflix.zuul.netty.timeouts;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.math.LongMath;
 import com.netflix.client.config.CommonClientConfigKey;
-import com.netflix.client.config.DefaultClientConfigImpl;
 import com.netflix.client.config.IClientConfig;
+import com.netflix.config.CachedDynamicBooleanProperty;
+import com.netflix.config.CachedDynamicIntProperty;
 import com.netflix.config.DynamicLongProperty;
+import com.netflix.config.DynamicStringProperty;
+import com.netflix.netty.common.channel.config.ChannelConfig;
+import com.netflix.netty.common.channel.config.CommonChannelConfigKeys;
 import com.netflix.zuul.context.CommonContextKeys;
+import com.netflix.zuul.context.SessionContext;
+import com.netflix.zuul.exception.RequestExpiredException;
 import com.netflix.zuul.message.http.HttpRequestMessage;
+import com.netflix.zuul.netty.server.BaseZuulChannelInitializer;
 import com.netflix.zuul.origins.NettyOrigin;
+import com.netflix.zuul.passport.CurrentPassport;
+import com.netflix.zuul.passport.PassportItem;
+import com.netflix.zuul.passport.PassportState;
+import io.netty.channel.ChannelHandlerContext;
 import java.time.Duration;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import javax.annotation.Nullable;
 
 /**
@@ -47,6 +59,28 @@ public class OriginTimeoutManager {
     static final DynamicLongProperty MAX_OUTBOUND_READ_TIMEOUT_MS = new DynamicLongProperty(
             "zuul.origin.readtimeout.max", Duration.ofSeconds(90).toMillis());
 
+    @VisibleForTesting
+    static final CachedDynamicBooleanProperty DEADLINE_ENABLED =
+            new CachedDynamicBooleanProperty("zuul.request.deadline.enabled", false);
+
+    /** Header carrying the remaining end-to-end budget of a request in milliseconds, both inbound and to the origin. */
+    @VisibleForTesting
+    static final DynamicStringProperty DEADLINE_HEADER =
+            new DynamicStringProperty("zuul.request.deadline.header", "x-request-deadline-ms");
+
+    /** Time kept back from each attempt's budget, for the response to make it back to the client. */
+    @VisibleForTesting
+    static final CachedDynamicIntProperty DEADLINE_MARGIN_MS =
+            new CachedDynamicIntProperty("zuul.request.deadline.margin.ms", 20);
+
+    /** Attempts are not made when less than this is left of the budget. */
+    @VisibleForTesting
+    static final CachedDynamicIntProperty DEADLINE_MIN_ATTEMPT_MS =
+            new CachedDynamicIntProperty("zuul.request.deadline.min.attempt.ms", 50);
+
+    private static final long NO_DEADLINE = Long.MAX_VALUE;
+    private static final int NOT_SET = -1;
+
     /**
      * Derives the read timeout from the configuration.  This implementation prefers the longer of either the origin
      * timeout or the request timeout.
@@ -59,57 +93,112 @@ public class OriginTimeoutManager {
      * @param attemptNum the attempt number, starting at 1.
      */
     public Duration computeReadTimeout(HttpRequestMessage request, int attemptNum) {
-        IClientConfig clientConfig = getRequestClientConfig(request);
-        Long originTimeout = getOriginReadTimeout();
-        Long requestTimeout = getRequestReadTimeout(clientConfig);
+        int originTimeout = readTimeout(origin.getClientConfig());
+        IClientConfig requestConfig = getRequestClientConfig(request);
+        int requestTimeout = requestConfig == null ? NOT_SET : readTimeout(requestConfig);
 
         long computedTimeout;
-        if (originTimeout == null && requestTimeout == null) {
+        if (originTimeout == NOT_SET && requestTimeout == NOT_SET) {
             computedTimeout = MAX_OUTBOUND_READ_TIMEOUT_MS.get();
-        } else if (originTimeout == null || requestTimeout == null) {
-            computedTimeout = originTimeout == null ? requestTimeout : originTimeout;
+        } else if (originTimeout == NOT_SET || requestTimeout == NOT_SET) {
+            computedTimeout = originTimeout == NOT_SET ? requestTimeout : originTimeout;
         } else {
             // return the stricter (i.e. lower) of the two timeouts
             computedTimeout = Math.min(originTimeout, requestTimeout);
         }
 
         // enforce max timeout upperbound
-        return Duration.ofMillis(Math.min(computedTimeout, MAX_OUTBOUND_READ_TIMEOUT_MS.get()));
+        long timeout = Math.min(computedTimeout, MAX_OUTBOUND_READ_TIMEOUT_MS.get());
+        if (DEADLINE_ENABLED.get()) {
+            timeout = applyDeadline(request, attemptNum, timeout);
+        }
+        return Duration.ofMillis(timeout);
     }
 
     /**
-     * This method will create a new client config or retrieve the existing one from the current request.
+     * Limits the attempt's timeout to what is left of the request's end-to-end deadline, less a safety margin, and
+     * passes the attempt's deadline on to the origin.  Retries therefore share the one budget rather than each getting
+     * a full timeout.
      *
-     * @param zuulRequest - the request
-     * @return the config
+     * @throws RequestExpiredException if too little of the budget is left for an attempt to be worthwhile
      */
-    protected IClientConfig getRequestClientConfig(HttpRequestMessage zuulRequest) {
-        IClientConfig overriddenClientConfig = zuulRequest.getContext().get(CommonContextKeys.REST_CLIENT_CONFIG);
-        if (overriddenClientConfig == null) {
-            overriddenClientConfig = new DefaultClientConfigImpl();
-            zuulRequest.getContext().put(CommonContextKeys.REST_CLIENT_CONFIG, overriddenClientConfig);
+    private long applyDeadline(HttpRequestMessage request, int attemptNum, long timeout) {
+        long deadlineNanos = getDeadlineNanos(request);
+        if (deadlineNanos == NO_DEADLINE) {
+            return timeout;
+        }
+        long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime()) - DEADLINE_MARGIN_MS.get();
+        if (remainingMs < DEADLINE_MIN_ATTEMPT_MS.get()) {
+            throw new RequestExpiredException(
+                    "Request deadline leaves " + Math.max(0, remainingMs) + "ms for attempt " + attemptNum);
         }
+        long attemptTimeout = Math.min(timeout, remainingMs);
+        request.getHeaders().set(DEADLINE_HEADER.get(), Long.toString(attemptTimeout));
+        return attemptTimeout;
+    }
 
-        return overriddenClientConfig;
+    /**
+     * Returns the request's deadline, working it out on first use from the deadline header or the listener's default.
+     * The deadline counts from when the request headers were received, not from the first attempt.  Budgets longer
+     * than {@code zuul.origin.readtimeout.max} are cut down to it, since no attempt may take longer anyway.
+     */
+    private long getDeadlineNanos(HttpRequestMessage request) {
+        SessionContext context = request.getContext();
+        Long deadline = context.get(CommonContextKeys.REQUEST_DEADLINE_NANOS);
+        if (deadline == null) {
+            long budgetMs = Math.min(getDeadlineBudgetMs(request), MAX_OUTBOUND_READ_TIMEOUT_MS.get());
+            deadline = budgetMs > 0
+                    ? LongMath.saturatedAdd(receivedNanos(context), TimeUnit.MILLISECONDS.toNanos(budgetMs))
+                    : NO_DEADLINE;
+            context.put(CommonContextKeys.REQUEST_DEADLINE_NANOS, deadline);
+        }
+        return deadline;
     }
 
     /**
-     * This method makes the assumption that the timeout is a numeric value
+     * Returns the request's end-to-end budget in milliseconds, or 0 if it has none.  Malformed and negative header
+     * values are ignored in favour of the listener default.
      */
-    @Nullable
-    private Long getRequestReadTimeout(IClientConfig clientConfig) {
-        return Optional.ofNullable(clientConfig.get(CommonClientConfigKey.ReadTimeout))
-                .map(Long::valueOf)
-                .orElse(null);
+    protected long getDeadlineBudgetMs(HttpRequestMessage request) {
+        String header = request.getHeaders().getFirst(DEADLINE_HEADER.get());
+        if (header != null) {
+            try {
+                long budgetMs = Long.parseLong(header.trim());
+                if (budgetMs >= 0) {
+                    return budgetMs;
+                }
+            } catch (NumberFormatException e) {
+                // fall back to the listener default
+            }
+        }
+        ChannelHandlerContext ctx = (ChannelHandlerContext)
+                request.getContext().get(CommonContextKeys.NETTY_SERVER_CHANNEL_HANDLER_CONTEXT);
+        ChannelConfig channelConfig = ctx == null
+                ? null
+                : ctx.channel().attr(BaseZuulChannelInitializer.ATTR_CHANNEL_CONFIG).get();
+        return channelConfig == null ? 0 : channelConfig.get(CommonChannelConfigKeys.requestDeadline);
+    }
+
+    private static long receivedNanos(SessionContext context) {
+        CurrentPassport passport = CurrentPassport.fromSessionContext(context);
+        PassportItem received = passport == null ? null : passport.findState(PassportState.IN_REQ_HEADERS_RECEIVED);
+        return received == null ? System.nanoTime() : received.getTime();
     }
 
     /**
-     * This method makes the assumption that the timeout is a numeric value
+     * Returns the client config overrides of the current request, used by {@link #computeReadTimeout}.  This
+     * implementation returns the one in the request's context, if any, without creating one.
+     *
+     * @param zuulRequest - the request
+     * @return the config, or {@code null} if the request has no overrides
      */
     @Nullable
-    private Long getOriginReadTimeout() {
-        return Optional.ofNullable(origin.getClientConfig().get(CommonClientConfigKey.ReadTimeout))
-                .map(Long::valueOf)
-                .orElse(null);
+    protected IClientConfig getRequestClientConfig(HttpRequestMessage zuulRequest) {
+        return zuulRequest.getContext().get(CommonContextKeys.REST_CLIENT_CONFIG);
+    }
+
+    private static int readTimeout(IClientConfig clientConfig) {
+        Integer timeout = clientConfig.get(CommonClientConfigKey.ReadTimeout);
+        return timeout == null ? NOT_SET : timeout;
     }
 }
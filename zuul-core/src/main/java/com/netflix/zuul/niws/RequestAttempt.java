@@ -16,7 +16,7 @@
 
 package com.netflix.zuul.niws;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.netflix.appinfo.AmazonInfo;
@@ -28,8 +28,11 @@ import com.netflix.zuul.discovery.SimpleMetaInfo;
 import com.netflix.zuul.exception.OutboundException;
 import com.netflix.zuul.netty.connectionpool.OriginConnectException;
 import io.netty.handler.timeout.ReadTimeoutException;
+import java.io.IOException;
+import java.io.StringWriter;
 import java.net.InetAddress;
 import java.util.Locale;
+import javax.annotation.Nullable;
 import javax.net.ssl.SSLHandshakeException;
 
 /**
@@ -59,6 +62,13 @@ public class RequestAttempt {
     private int connectTimeout;
     private int maxRetries;
 
+    /**
+     * The server the attempt was made against, whose app, ASG, instance id (and, if not discovery enabled, vip) have
+     * not been copied out yet. Most attempts are never serialized, so these are only resolved when first needed.
+     */
+    @Nullable
+    private DiscoveryResult unresolvedServer;
+
     public RequestAttempt(
             int attemptNumber,
             InstanceInfo server,
@@ -129,22 +139,12 @@ public class RequestAttempt {
             this.availabilityZone = server.getZone();
 
             if (server.isDiscoveryEnabled()) {
-                this.app = server.getAppName().toLowerCase(Locale.ROOT);
-                this.asg = server.getASGName();
-                this.instanceId = server.getServerId();
                 this.host = server.getHost();
                 this.port = server.getPort();
                 this.vip = server.getTarget();
                 this.availabilityZone = server.getAvailabilityZone();
-
-            } else {
-                SimpleMetaInfo metaInfo = server.getMetaInfo();
-                if (metaInfo != null) {
-                    this.asg = metaInfo.getServerGroup();
-                    this.vip = metaInfo.getServiceIdForDiscovery();
-                    this.instanceId = metaInfo.getInstanceId();
-                }
             }
+            this.unresolvedServer = server;
             // HACK - get region by just removing the last char from zone.
             if (availabilityZone != null && availabilityZone.length() > 0) {
                 region = availabilityZone.substring(0, availabilityZone.length() - 1);
@@ -162,6 +162,27 @@ public class RequestAttempt {
 
     private RequestAttempt() {}
 
+    private void resolveServer() {
+        DiscoveryResult server = unresolvedServer;
+        if (server == null) {
+            return;
+        }
+        unresolvedServer = null;
+        if (server.isDiscoveryEnabled()) {
+            // DiscoveryResult already lower cases the app name.
+            this.app = server.getAppName();
+            this.asg = server.getASGName();
+            this.instanceId = server.getServerId();
+        } else {
+            SimpleMetaInfo metaInfo = server.getMetaInfo();
+            if (metaInfo != null) {
+                this.asg = metaInfo.getServerGroup();
+                this.vip = metaInfo.getServiceIdForDiscovery();
+                this.instanceId = metaInfo.getInstanceId();
+            }
+        }
+    }
+
     public void complete(int responseStatus, long durationMs, Throwable exception) {
         if (responseStatus > -1) {
             setStatus(responseStatus);
@@ -179,6 +200,7 @@ public class RequestAttempt {
     }
 
     public String getVip() {
+        resolveServer();
         return vip;
     }
 
@@ -199,14 +221,17 @@ public class RequestAttempt {
     }
 
     public String getApp() {
+        resolveServer();
         return app;
     }
 
     public String getAsg() {
+        resolveServer();
         return asg;
     }
 
     public String getInstanceId() {
+        resolveServer();
         return instanceId;
     }
 
@@ -259,14 +284,17 @@ public class RequestAttempt {
     }
 
     public void setApp(String app) {
+        resolveServer();
         this.app = app;
     }
 
     public void setAsg(String asg) {
+        resolveServer();
         this.asg = asg;
     }
 
     public void setInstanceId(String instanceId) {
+        resolveServer();
         this.instanceId = instanceId;
     }
 
@@ -283,6 +311,7 @@ public class RequestAttempt {
     }
 
     public void setVip(String vip) {
+        resolveServer();
         this.vip = vip;
     }
 
@@ -356,14 +385,17 @@ public class RequestAttempt {
 
     @Override
     public String toString() {
-        try {
-            return JACKSON_MAPPER.writeValueAsString(toJsonNode());
-        } catch (JsonProcessingException e) {
+        StringWriter writer = new StringWriter(256);
+        try (JsonGenerator gen = JACKSON_MAPPER.getFactory().createGenerator(writer)) {
+            writeJson(gen);
+        } catch (IOException e) {
             throw new RuntimeException("Error serializing RequestAttempt!", e);
         }
+        return writer.toString();
     }
 
     public ObjectNode toJsonNode() {
+        resolveServer();
         ObjectNode root = JACKSON_MAPPER.createObjectNode();
         root.put("status", status);
         root.put("duration", duration);
@@ -391,6 +423,44 @@ public class RequestAttempt {
         return root;
     }
 
+    /**
+     * Writes this attempt as a JSON object, with the same fields as {@link #toJsonNode()}, without building an
+     * intermediate tree.
+     */
+    public void writeJson(JsonGenerator gen) throws IOException {
+        resolveServer();
+        gen.writeStartObject();
+        gen.writeNumberField("status", status);
+        gen.writeNumberField("duration", duration);
+        gen.writeNumberField("attempt", attempt);
+
+        writeNullableField(gen, "error", error);
+        writeNullableField(gen, "cause", cause);
+        writeNullableField(gen, "exceptionType", exceptionType);
+        writeNullableField(gen, "region", region);
+        writeNullableField(gen, "availabilityZone", availabilityZone);
+        writeNullableField(gen, "asg", asg);
+        writeNullableField(gen, "instanceId", instanceId);
+        writeNullableField(gen, "vip", vip);
+        writeNullableField(gen, "ipAddress", ipAddress);
+
+        if (port > 0) {
+            gen.writeNumberField("port", port);
+        }
+
+        if (status < 1) {
+            gen.writeNumberField("readTimeout", readTimeout);
+            gen.writeNumberField("connectTimeout", connectTimeout);
+        }
+        gen.writeEndObject();
+    }
+
+    private static void writeNullableField(JsonGenerator gen, String name, String value) throws IOException {
+        if (value != null) {
+            gen.writeStringField(name, value);
+        }
+    }
+
     private static ObjectNode putNullableAttribute(ObjectNode node, String name, String value) {
         if (value != null) {
             node.put(name, value);
@@ -16,12 +16,12 @@
 
 package com.netflix.zuul.niws;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.netflix.zuul.context.CommonContextKeys;
 import com.netflix.zuul.context.SessionContext;
 import java.io.IOException;
+import java.io.StringWriter;
 import java.util.ArrayList;
 import javax.annotation.Nullable;
 import org.slf4j.Logger;
@@ -58,16 +58,24 @@ public class RequestAttempts extends ArrayList<RequestAttempt> {
     }
 
     public String toJSON() {
-        ArrayNode array = JACKSON_MAPPER.createArrayNode();
-        for (RequestAttempt attempt : this) {
-            array.add(attempt.toJsonNode());
+        StringWriter writer = new StringWriter(256 * size() + 2);
+        try (JsonGenerator gen = JACKSON_MAPPER.getFactory().createGenerator(writer)) {
+            writeJson(gen);
+        } catch (IOException e) {
+            throw new RuntimeException("Error serializing RequestAttempts!", e);
         }
+        return writer.toString();
+    }
 
-        try {
-            return JACKSON_MAPPER.writeValueAsString(array);
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException("Error serializing RequestAttempts!", e);
+    /**
+     * Streams the attempts as a JSON array, e.g. straight into a response body or log buffer.
+     */
+    public void writeJson(JsonGenerator gen) throws IOException {
+        gen.writeStartArray();
+        for (RequestAttempt attempt : this) {
+            attempt.writeJson(gen);
         }
+        gen.writeEndArray();
     }
 
     @Override
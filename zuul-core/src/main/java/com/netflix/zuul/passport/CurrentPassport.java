@@ -18,7 +18,6 @@ package com.netflix.zuul.passport;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Ticker;
-import com.google.common.collect.Sets;
 import com.netflix.config.CachedDynamicBooleanProperty;
 import com.netflix.spectator.api.Counter;
 import com.netflix.spectator.api.Spectator;
@@ -26,21 +25,30 @@ import com.netflix.zuul.context.CommonContextKeys;
 import com.netflix.zuul.context.SessionContext;
 import io.netty.channel.Channel;
 import io.netty.util.AttributeKey;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.ConcurrentModificationException;
 import java.util.Deque;
-import java.util.HashSet;
-import java.util.Iterator;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Set;
-import java.util.concurrent.locks.ReentrantLock;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * History of the {@link PassportState}s a request has gone through.
+ *
+ * <p>States are stored as (ordinal, nanotime) pairs in a flat {@code long[]}, and the set of states seen so far is
+ * kept as a bitmask, so stamping a state does not allocate unless the array needs to grow. Writers may come from both
+ * the client and the origin channel, so appends are serialized with a CAS on a writer flag rather than a lock. Readers
+ * never block: they read the published size and then the array, which is guaranteed to hold at least that many
+ * entries.
+ */
 public class CurrentPassport {
     protected static final Logger logger = LoggerFactory.getLogger(CurrentPassport.class);
 
@@ -49,7 +57,7 @@ public class CurrentPassport {
 
     public static final AttributeKey<CurrentPassport> CHANNEL_ATTR = AttributeKey.newInstance("_current_passport");
     private static final Ticker SYSTEM_TICKER = Ticker.systemTicker();
-    private static final Set<PassportState> CONTENT_STATES = Sets.newHashSet(
+    private static final Set<PassportState> CONTENT_STATES = EnumSet.of(
             PassportState.IN_REQ_CONTENT_RECEIVED,
             PassportState.IN_RESP_CONTENT_RECEIVED,
             PassportState.OUT_REQ_CONTENT_SENDING,
@@ -59,46 +67,40 @@ public class CurrentPassport {
     private static final CachedDynamicBooleanProperty CONTENT_STATE_ENABLED =
             new CachedDynamicBooleanProperty("zuul.passport.state.content.enabled", false);
 
-    private final Ticker ticker;
-    private final ArrayDeque<PassportItem> history;
-    private final HashSet<PassportState> statesAdded;
-    private final long creationTimeSinceEpochMs;
-
-    private final IntrospectiveReentrantLock historyLock = new IntrospectiveReentrantLock();
-    private final Unlocker unlocker = new Unlocker();
+    private static final PassportState[] STATES = PassportState.values();
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int STATE_WORDS = (STATES.length + Long.SIZE - 1) / Long.SIZE;
 
-    private final class Unlocker implements AutoCloseable {
+    private static final VarHandle WRITER;
+    private static final VarHandle STATE_WORD = MethodHandles.arrayElementVarHandle(long[].class);
 
-        @Override
-        public void close() {
-            historyLock.unlock();
+    static {
+        try {
+            WRITER = MethodHandles.lookup().findVarHandle(CurrentPassport.class, "writer", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
         }
     }
 
-    private static final class IntrospectiveReentrantLock extends ReentrantLock {
+    private final Ticker ticker;
+    private final long creationTimeSinceEpochMs;
 
-        @Override
-        protected Thread getOwner() {
-            return super.getOwner();
-        }
-    }
+    /**
+     * Pairs of (state ordinal, time). Always written before {@link #size}, so a reader that reads {@code size} first
+     * will see an array holding at least {@code size} entries.
+     */
+    private volatile long[] entries;
 
-    private Unlocker lock() {
-        boolean locked = false;
-        if ((historyLock.isLocked() && !historyLock.isHeldByCurrentThread()) || !(locked = historyLock.tryLock())) {
-            Thread owner = historyLock.getOwner();
-            String ownerStack = String.valueOf(owner != null ? Arrays.asList(owner.getStackTrace()) : historyLock);
-            logger.warn(
-                    "CurrentPassport already locked!, other={}, self={}",
-                    ownerStack,
-                    Thread.currentThread(),
-                    new ConcurrentModificationException());
-        }
-        if (!locked) {
-            historyLock.lock();
-        }
-        return unlocker;
-    }
+    private volatile int size;
+
+    /**
+     * Bitset of the states added so far, indexed by ordinal. Words are written with release semantics while holding
+     * the writer flag, and read with acquire semantics.
+     */
+    private final long[] statesAdded = new long[STATE_WORDS];
+
+    @SuppressWarnings("unused") // accessed through WRITER
+    private volatile int writer;
 
     CurrentPassport() {
         this(SYSTEM_TICKER);
@@ -107,8 +109,7 @@ public class CurrentPassport {
     @VisibleForTesting
     public CurrentPassport(Ticker ticker) {
         this.ticker = ticker;
-        this.history = new ArrayDeque<>();
-        this.statesAdded = new HashSet<>();
+        this.entries = new long[INITIAL_CAPACITY * 2];
         this.creationTimeSinceEpochMs = System.currentTimeMillis();
     }
 
@@ -151,18 +152,25 @@ public class CurrentPassport {
     }
 
     public PassportState getState() {
-        try (Unlocker ignored = lock()) {
-            PassportItem passportItem = history.peekLast();
-            return passportItem != null ? passportItem.getState() : null;
+        int n = size;
+        if (n == 0) {
+            return null;
         }
+        return stateAt(entries, n - 1);
     }
 
+    /**
+     * Returns a copy of the current history. Mutating the returned deque has no effect on this passport.
+     */
     @VisibleForTesting
     public Deque<PassportItem> getHistory() {
-        try (Unlocker ignored = lock()) {
-            // best effort, but doesn't actually protect anything
-            return history;
+        int n = size;
+        long[] arr = entries;
+        ArrayDeque<PassportItem> history = new ArrayDeque<>(n);
+        for (int i = 0; i < n; i++) {
+            history.addLast(itemAt(arr, i));
         }
+        return history;
     }
 
     public void add(PassportState state) {
@@ -173,25 +181,49 @@ public class CurrentPassport {
             }
         }
 
-        try (Unlocker ignored = lock()) {
-            history.addLast(new PassportItem(state, now()));
-        }
-        statesAdded.add(state);
+        append(state, now());
     }
 
     public void addIfNotAlready(PassportState state) {
-        if (!statesAdded.contains(state)) {
+        if (!hasAdded(state)) {
             add(state);
         }
     }
 
+    private void append(PassportState state, long time) {
+        acquireWriter();
+        try {
+            int n = size;
+            long[] arr = entries;
+            int idx = n << 1;
+            if (idx + 2 > arr.length) {
+                arr = Arrays.copyOf(arr, arr.length << 1);
+            }
+            arr[idx] = state.ordinal();
+            arr[idx + 1] = time;
+            entries = arr;
+            int word = state.ordinal() / Long.SIZE;
+            STATE_WORD.setRelease(statesAdded, word, statesAdded[word] | bit(state));
+            size = n + 1;
+        } finally {
+            WRITER.setRelease(this, 0);
+        }
+    }
+
+    private void acquireWriter() {
+        // Nearly always uncontended, as both the client and origin channels are usually on the same event loop.
+        while (!WRITER.compareAndSet(this, 0, 1)) {
+            Thread.onSpinWait();
+        }
+    }
+
     public long calculateTimeBetweenFirstAnd(PassportState endState) {
         long startTime = firstTime();
-        try (Unlocker ignored = lock()) {
-            for (PassportItem item : history) {
-                if (item.getState() == endState) {
-                    return item.getTime() - startTime;
-                }
+        int n = size;
+        long[] arr = entries;
+        for (int i = 0; i < n; i++) {
+            if (isStateAt(arr, i, endState)) {
+                return timeAt(arr, i) - startTime;
             }
         }
         return now() - startTime;
@@ -201,9 +233,10 @@ public class CurrentPassport {
      * NOTE: This is NOT nanos since epoch. It's just since an arbitrary point in time. So only use relatively.
      */
     public long firstTime() {
-        try (Unlocker ignored = lock()) {
-            return history.getFirst().getTime();
+        if (size == 0) {
+            throw new NoSuchElementException();
         }
+        return timeAt(entries, 0);
     }
 
     public long creationTimeSinceEpochMs() {
@@ -232,28 +265,27 @@ public class CurrentPassport {
 
     public StartAndEnd findStartAndEndStates(PassportState startState, PassportState endState) {
         StartAndEnd sae = new StartAndEnd();
-        try (Unlocker ignored = lock()) {
-            for (PassportItem item : history) {
-                if (item.getState() == startState) {
-                    sae.startTime = item.getTime();
-                } else if (item.getState() == endState) {
-                    sae.endTime = item.getTime();
-                }
+        int n = size;
+        long[] arr = entries;
+        for (int i = 0; i < n; i++) {
+            if (isStateAt(arr, i, startState)) {
+                sae.startTime = timeAt(arr, i);
+            } else if (isStateAt(arr, i, endState)) {
+                sae.endTime = timeAt(arr, i);
             }
         }
-
         return sae;
     }
 
     public StartAndEnd findFirstStartAndLastEndStates(PassportState startState, PassportState endState) {
         StartAndEnd sae = new StartAndEnd();
-        try (Unlocker ignored = lock()) {
-            for (PassportItem item : history) {
-                if (sae.startNotFound() && item.getState() == startState) {
-                    sae.startTime = item.getTime();
-                } else if (item.getState() == endState) {
-                    sae.endTime = item.getTime();
-                }
+        int n = size;
+        long[] arr = entries;
+        for (int i = 0; i < n; i++) {
+            if (sae.startNotFound() && isStateAt(arr, i, startState)) {
+                sae.startTime = timeAt(arr, i);
+            } else if (isStateAt(arr, i, endState)) {
+                sae.endTime = timeAt(arr, i);
             }
         }
         return sae;
@@ -261,13 +293,13 @@ public class CurrentPassport {
 
     public StartAndEnd findLastStartAndFirstEndStates(PassportState startState, PassportState endState) {
         StartAndEnd sae = new StartAndEnd();
-        try (Unlocker ignored = lock()) {
-            for (PassportItem item : history) {
-                if (item.getState() == startState) {
-                    sae.startTime = item.getTime();
-                } else if (sae.endNotFound() && item.getState() == endState) {
-                    sae.endTime = item.getTime();
-                }
+        int n = size;
+        long[] arr = entries;
+        for (int i = 0; i < n; i++) {
+            if (isStateAt(arr, i, startState)) {
+                sae.startTime = timeAt(arr, i);
+            } else if (sae.endNotFound() && isStateAt(arr, i, endState)) {
+                sae.endTime = timeAt(arr, i);
             }
         }
         return sae;
@@ -278,20 +310,19 @@ public class CurrentPassport {
 
         StartAndEnd currentPair = null;
 
-        try (Unlocker ignored = lock()) {
-            for (PassportItem item : history) {
-
-                if (item.getState() == startState) {
-                    if (currentPair == null) {
-                        currentPair = new StartAndEnd();
-                        currentPair.startTime = item.getTime();
-                    }
-                } else if (item.getState() == endState) {
-                    if (currentPair != null) {
-                        currentPair.endTime = item.getTime();
-                        items.add(currentPair);
-                        currentPair = null;
-                    }
+        int n = size;
+        long[] arr = entries;
+        for (int i = 0; i < n; i++) {
+            if (isStateAt(arr, i, startState)) {
+                if (currentPair == null) {
+                    currentPair = new StartAndEnd();
+                    currentPair.startTime = timeAt(arr, i);
+                }
+            } else if (isStateAt(arr, i, endState)) {
+                if (currentPair != null) {
+                    currentPair.endTime = timeAt(arr, i);
+                    items.add(currentPair);
+                    currentPair = null;
                 }
             }
         }
@@ -300,24 +331,25 @@ public class CurrentPassport {
     }
 
     public PassportItem findState(PassportState state) {
-        try (Unlocker ignored = lock()) {
-            for (PassportItem item : history) {
-                if (item.getState() == state) {
-                    return item;
-                }
+        if (!hasAdded(state)) {
+            return null;
+        }
+        int n = size;
+        long[] arr = entries;
+        for (int i = 0; i < n; i++) {
+            if (isStateAt(arr, i, state)) {
+                return itemAt(arr, i);
             }
         }
         return null;
     }
 
     public PassportItem findStateBackwards(PassportState state) {
-        try (Unlocker ignored = lock()) {
-            Iterator itr = history.descendingIterator();
-            while (itr.hasNext()) {
-                PassportItem item = (PassportItem) itr.next();
-                if (item.getState() == state) {
-                    return item;
-                }
+        int n = size;
+        long[] arr = entries;
+        for (int i = n - 1; i >= 0; i--) {
+            if (isStateAt(arr, i, state)) {
+                return itemAt(arr, i);
             }
         }
         return null;
@@ -325,11 +357,11 @@ public class CurrentPassport {
 
     public List<PassportItem> findStates(PassportState state) {
         ArrayList<PassportItem> items = new ArrayList<>();
-        try (Unlocker ignored = lock()) {
-            for (PassportItem item : history) {
-                if (item.getState() == state) {
-                    items.add(item);
-                }
+        int n = size;
+        long[] arr = entries;
+        for (int i = 0; i < n; i++) {
+            if (isStateAt(arr, i, state)) {
+                items.add(itemAt(arr, i));
             }
         }
         return items;
@@ -338,11 +370,11 @@ public class CurrentPassport {
     public List<Long> findTimes(PassportState state) {
         long startTick = firstTime();
         ArrayList<Long> items = new ArrayList<>();
-        try (Unlocker ignored = lock()) {
-            for (PassportItem item : history) {
-                if (item.getState() == state) {
-                    items.add(item.getTime() - startTick);
-                }
+        int n = size;
+        long[] arr = entries;
+        for (int i = 0; i < n; i++) {
+            if (isStateAt(arr, i, state)) {
+                items.add(timeAt(arr, i) - startTick);
             }
         }
         return items;
@@ -351,38 +383,64 @@ public class CurrentPassport {
     public boolean wasProxyAttempt() {
         // If an attempt was made to send outbound request headers on this session, then assume it was an
         // attempt to proxy.
-        return findState(PassportState.OUT_REQ_HEADERS_SENDING) != null;
+        return hasAdded(PassportState.OUT_REQ_HEADERS_SENDING);
     }
 
     private long now() {
         return ticker.read();
     }
 
+    private boolean hasAdded(PassportState state) {
+        long word = (long) STATE_WORD.getAcquire(statesAdded, state.ordinal() / Long.SIZE);
+        return (word & bit(state)) != 0;
+    }
+
+    private static long bit(PassportState state) {
+        // Shifts of a long only use the low six bits, so this is the bit within the state's word.
+        return 1L << state.ordinal();
+    }
+
+    private static boolean isStateAt(long[] arr, int i, PassportState state) {
+        return arr[i << 1] == state.ordinal();
+    }
+
+    private static PassportState stateAt(long[] arr, int i) {
+        return STATES[(int) arr[i << 1]];
+    }
+
+    private static long timeAt(long[] arr, int i) {
+        return arr[(i << 1) + 1];
+    }
+
+    private static PassportItem itemAt(long[] arr, int i) {
+        return new PassportItem(stateAt(arr, i), timeAt(arr, i));
+    }
+
     @Override
     public String toString() {
-        try (Unlocker ignored = lock()) {
-            long startTime = history.size() > 0 ? firstTime() : 0;
-            long now = now();
-
-            StringBuilder sb = new StringBuilder();
-            sb.append("CurrentPassport {");
-            sb.append("start_ms=").append(creationTimeSinceEpochMs()).append(", ");
-
-            sb.append('[');
-            for (PassportItem item : history) {
-                sb.append('+')
-                        .append(item.getTime() - startTime)
-                        .append('=')
-                        .append(item.getState().name())
-                        .append(", ");
-            }
-            sb.append('+').append(now - startTime).append('=').append("NOW");
-            sb.append(']');
+        int n = size;
+        long[] arr = entries;
+        long startTime = n > 0 ? timeAt(arr, 0) : 0;
+        long now = now();
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("CurrentPassport {");
+        sb.append("start_ms=").append(creationTimeSinceEpochMs()).append(", ");
+
+        sb.append('[');
+        for (int i = 0; i < n; i++) {
+            sb.append('+')
+                    .append(timeAt(arr, i) - startTime)
+                    .append('=')
+                    .append(stateAt(arr, i).name())
+                    .append(", ");
+        }
+        sb.append('+').append(now - startTime).append('=').append("NOW");
+        sb.append(']');
 
-            sb.append('}');
+        sb.append('}');
 
-            return sb.toString();
-        }
+        return sb.toString();
     }
 
     @VisibleForTesting
@@ -395,20 +453,17 @@ public class CurrentPassport {
             String[] stateStrs = m.group(1).split(", ", -1);
             MockTicker ticker = new MockTicker();
             passport = new CurrentPassport(ticker);
-            try (Unlocker ignored = passport.lock()) {
-                for (String stateStr : stateStrs) {
-                    Matcher stateMatch = ptnState.matcher(stateStr);
-                    if (stateMatch.matches()) {
-                        String stateName = stateMatch.group(2);
-                        if (stateName.equals("NOW")) {
-                            long startTime = passport.history.size() > 0 ? passport.firstTime() : 0;
-                            long now = Long.parseLong(stateMatch.group(1)) + startTime;
-                            ticker.setNow(now);
-                        } else {
-                            PassportState state = PassportState.valueOf(stateName);
-                            PassportItem item = new PassportItem(state, Long.parseLong(stateMatch.group(1)));
-                            passport.history.add(item);
-                        }
+            for (String stateStr : stateStrs) {
+                Matcher stateMatch = ptnState.matcher(stateStr);
+                if (stateMatch.matches()) {
+                    String stateName = stateMatch.group(2);
+                    if (stateName.equals("NOW")) {
+                        long startTime = passport.size > 0 ? passport.firstTime() : 0;
+                        long now = Long.parseLong(stateMatch.group(1)) + startTime;
+                        ticker.setNow(now);
+                    } else {
+                        PassportState state = PassportState.valueOf(stateName);
+                        passport.append(state, Long.parseLong(stateMatch.group(1)));
                     }
                 }
             }
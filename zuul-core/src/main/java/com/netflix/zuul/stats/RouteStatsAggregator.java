@@ -0,0 +1,262 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.stats;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.netflix.config.CachedDynamicIntProperty;
+import com.netflix.spectator.api.Gauge;
+import com.netflix.spectator.api.Id;
+import com.netflix.spectator.api.Registry;
+import com.netflix.spectator.api.Spectator;
+import com.netflix.spectator.api.patterns.PolledMeter;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nullable;
+
+/**
+ * Counts requests by route, status and error cause in a fixed-size table, as a bounded alternative to creating a
+ * {@link RouteStatusCodeMonitor} or {@link ErrorStatsData} per key.
+ *
+ * <p>Each distinct key claims a cell in an open-addressed table the first time it is seen; after that, recording is
+ * a lookup and a {@link LongAdder} increment, with no allocation.  Once the table is full, or a key's probe sequence
+ * is, new keys are counted under route {@value #OTHER} with only their status class, so memory and metric
+ * cardinality stay bounded however many distinct routes or causes show up.
+ *
+ * <p>Counts are published as gauges named after the aggregator, tagged with {@code route}, {@code status} and, when
+ * present, {@code cause}.  A single polled meter, {@code <name>.keys}, reports the number of claimed cells and
+ * refreshes all the gauges each time it is polled.  A cell whose count has not moved for
+ * {@code zuul.stats.route.expire.idle.polls} polls is expired: its gauge is cleared and its slot can be claimed by
+ * another key.  A key that shows up again after expiring starts counting from zero, and an increment racing with the
+ * expiry may be lost.
+ */
+public final class RouteStatsAggregator {
+
+    static final String OTHER = "other";
+    private static final String UNKNOWN_ROUTE = "UNKNOWN";
+    private static final int MAX_PROBES = 16;
+    private static final int STATUS_CLASSES = 6;
+    private static final CachedDynamicIntProperty EXPIRE_AFTER_IDLE_POLLS =
+            new CachedDynamicIntProperty("zuul.stats.route.expire.idle.polls", 10);
+
+    private final Registry registry;
+    private final String name;
+    private final boolean statusClassOnly;
+    private final AtomicReferenceArray<Cell> cells;
+    private final int mask;
+    private final Cell[] overflow = new Cell[STATUS_CLASSES];
+    // Marks a slot whose cell has expired: lookups probe past it, and claims may reuse it.
+    private final Cell tombstone;
+
+    /**
+     * @param name the metric name the counts are published under
+     * @param capacity the number of distinct keys tracked, rounded up to a power of 2
+     * @param statusClassOnly whether to count by status class ({@code 2xx}, {@code 5xx}...) rather than by code
+     */
+    public RouteStatsAggregator(String name, int capacity, boolean statusClassOnly) {
+        this(Spectator.globalRegistry(), name, capacity, statusClassOnly);
+    }
+
+    @VisibleForTesting
+    RouteStatsAggregator(Registry registry, String name, int capacity, boolean statusClassOnly) {
+        if (capacity <= 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        }
+        this.registry = registry;
+        this.name = Objects.requireNonNull(name);
+        this.statusClassOnly = statusClassOnly;
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.cells = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.tombstone = new Cell("", -1, "", null);
+        for (int i = 0; i < STATUS_CLASSES; i++) {
+            overflow[i] = new Cell(OTHER, i, i + "xx", null);
+            overflow[i].register();
+        }
+        PolledMeter.using(registry).withName(name + ".keys").monitorValue(this, RouteStatsAggregator::publish);
+    }
+
+    public void record(@Nullable String route, int status) {
+        record(route, status, null);
+    }
+
+    public void record(@Nullable String route, int status, @Nullable String cause) {
+        find(route, status, cause, true).count.increment();
+    }
+
+    /**
+     * Returns the count recorded for the key, which is the shared overflow count if the key did not get its own cell.
+     */
+    @VisibleForTesting
+    long getCount(@Nullable String route, int status, @Nullable String cause) {
+        return find(route, status, cause, false).count.sum();
+    }
+
+    private Cell find(@Nullable String route, int status, @Nullable String cause, boolean claim) {
+        if (route == null || route.isEmpty()) {
+            route = UNKNOWN_ROUTE;
+        }
+        int statusKey = statusClassOnly ? statusClass(status) : status;
+        int hash = (route.hashCode() * 31 + statusKey) * 31 + (cause == null ? 0 : cause.hashCode());
+        hash ^= hash >>> 16;
+        int probes = Math.min(MAX_PROBES, mask + 1);
+        while (true) {
+            int free = -1;
+            Cell freeCell = null;
+            for (int probe = 0; probe < probes; probe++) {
+                Cell cell = cells.get((hash + probe) & mask);
+                if (cell == null || cell == tombstone) {
+                    if (free < 0) {
+                        free = probe;
+                        freeCell = cell;
+                    }
+                    if (cell == null) {
+                        break;
+                    }
+                } else if (cell.matches(route, statusKey, cause)) {
+                    return cell;
+                }
+            }
+            if (!claim || free < 0) {
+                return overflow[statusClass(status)];
+            }
+            Cell created = new Cell(route, statusKey, statusTag(status), cause);
+            if (cells.compareAndSet((hash + free) & mask, freeCell, created)) {
+                return settleClaim(created, hash, free, probes);
+            }
+            // Another thread took the slot first, possibly for the same key, so look again.
+        }
+    }
+
+    /**
+     * Makes sure a newly claimed cell is the only one for its key.  Two threads can claim different slots for the same
+     * key when a slot earlier in its probe sequence expires meanwhile; the cell earliest in the sequence is kept.
+     */
+    private Cell settleClaim(Cell created, int hash, int claimed, int probes) {
+        for (int probe = 0; probe < probes; probe++) {
+            if (probe == claimed) {
+                continue;
+            }
+            int index = (hash + probe) & mask;
+            Cell cell = cells.get(index);
+            if (cell == null) {
+                break;
+            }
+            if (cell == tombstone || !cell.matches(created.route, created.statusKey, created.cause)) {
+                continue;
+            }
+            if (probe < claimed) {
+                cells.compareAndSet((hash + claimed) & mask, created, tombstone);
+                return cell;
+            }
+            if (cells.compareAndSet(index, cell, tombstone)) {
+                created.count.add(cell.count.sumThenReset());
+            }
+        }
+        // Only the surviving cell registers a gauge, so a lost race leaves no orphaned meter behind.
+        created.register();
+        return created;
+    }
+
+    private String statusTag(int status) {
+        return statusClassOnly ? statusClass(status) + "xx" : Integer.toString(status);
+    }
+
+    private static int statusClass(int status) {
+        return Math.max(0, Math.min(STATUS_CLASSES - 1, status / 100));
+    }
+
+    private double publish() {
+        int expireAfter = EXPIRE_AFTER_IDLE_POLLS.get();
+        int claimed = 0;
+        for (int i = 0; i < cells.length(); i++) {
+            Cell cell = cells.get(i);
+            if (cell == null || cell == tombstone) {
+                continue;
+            }
+            if (cell.isIdle(expireAfter) && cells.compareAndSet(i, cell, tombstone)) {
+                cell.expire();
+                continue;
+            }
+            cell.publish();
+            claimed++;
+        }
+        for (Cell cell : overflow) {
+            cell.publish();
+        }
+        return claimed;
+    }
+
+    private final class Cell {
+        private final String route;
+        private final int statusKey;
+
+        @Nullable
+        private final String cause;
+
+        private final String statusTag;
+        private final LongAdder count = new LongAdder();
+
+        @Nullable
+        private volatile Gauge gauge;
+
+        // Only accessed from the polling thread.
+        private long lastPublished;
+        private int idlePolls;
+
+        Cell(String route, int statusKey, String statusTag, @Nullable String cause) {
+            this.route = route;
+            this.statusKey = statusKey;
+            this.statusTag = statusTag;
+            this.cause = cause;
+        }
+
+        boolean matches(String route, int statusKey, @Nullable String cause) {
+            return this.statusKey == statusKey && this.route.equals(route) && Objects.equals(this.cause, cause);
+        }
+
+        void register() {
+            Id id = registry.createId(name, "route", route, "status", statusTag);
+            gauge = registry.gauge(cause == null ? id : id.withTag("cause", cause));
+        }
+
+        boolean isIdle(int expireAfter) {
+            long sum = count.sum();
+            if (sum != lastPublished) {
+                lastPublished = sum;
+                idlePolls = 0;
+                return false;
+            }
+            return expireAfter > 0 && ++idlePolls >= expireAfter;
+        }
+
+        void publish() {
+            Gauge g = gauge;
+            if (g != null) {
+                g.set(count.sum());
+            }
+        }
+
+        void expire() {
+            Gauge g = gauge;
+            if (g != null) {
+                // Spectator stops reporting gauges set to NaN.
+                g.set(Double.NaN);
+            }
+        }
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.netty.common.accesslog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import com.netflix.netty.common.accesslog.AsyncAccessLogWriterConfig.OverflowPolicy;
+import com.netflix.spectator.api.DefaultRegistry;
+import com.netflix.spectator.api.Registry;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AsyncAccessLogWriterTest {
+
+    @TempDir
+    Path dir;
+
+    private final Registry registry = new DefaultRegistry();
+
+    @Test
+    void writesTsvLines() throws IOException {
+        Path file = dir.resolve("access.log");
+        AsyncAccessLogWriter writer = new AsyncAccessLogWriter(
+                AsyncAccessLogWriterConfig.builder().file(file).build(), registry);
+        writer.start();
+
+        assertThat(writer.offer(record("/a"))).isTrue();
+        assertThat(writer.offer(record("/b"))).isTrue();
+        writer.close();
+
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines)
+                .containsExactly(
+                        "2026-01-02T03:04:05\t10.0.0.1\t7001\tGET\t/a\t200\t1500\t42\treq-1\t-\t\"example.com\"\t\"-\"\t\"-\"",
+                        "2026-01-02T03:04:05\t10.0.0.1\t7001\tGET\t/b\t200\t1500\t42\treq-1\t-\t\"example.com\"\t\"-\"\t\"-\"");
+        assertThat(registry.counter("zuul.accesslog.written").count()).isEqualTo(2);
+    }
+
+    @Test
+    void flushesPartialBatchAfterInterval() throws IOException {
+        Path file = dir.resolve("access.log");
+        AsyncAccessLogWriter writer = new AsyncAccessLogWriter(
+                AsyncAccessLogWriterConfig.builder()
+                        .file(file)
+                        .flushInterval(Duration.ofMillis(10))
+                        .build(),
+                registry);
+        writer.start();
+        try {
+            writer.offer(record("/a"));
+
+            await().atMost(Duration.ofSeconds(5))
+                    .untilAsserted(() -> assertThat(Files.size(file)).isGreaterThan(0));
+        } finally {
+            writer.close();
+        }
+    }
+
+    @Test
+    void rotatesBySize() throws IOException {
+        Path file = dir.resolve("access.log");
+        AsyncAccessLogWriter writer = new AsyncAccessLogWriter(
+                AsyncAccessLogWriterConfig.builder()
+                        .file(file)
+                        .batchSizeBytes(1)
+                        .maxFileSizeBytes(1)
+                        .build(),
+                registry);
+        writer.start();
+        for (int i = 0; i < 3; i++) {
+            writer.offer(record("/" + i));
+        }
+        writer.close();
+
+        // Each record fills a file, and rotations within the same millisecond get a sequence suffix instead of
+        // clashing.
+        try (Stream<Path> files = Files.list(dir)) {
+            List<Path> rotated = files.filter(p -> !p.equals(file)).toList();
+            assertThat(rotated).hasSize(3);
+            for (Path p : rotated) {
+                assertThat(Files.readAllLines(p)).hasSize(1);
+            }
+        }
+        assertThat(Files.size(file)).isZero();
+        assertThat(registry.counter("zuul.accesslog.errors").count()).isZero();
+    }
+
+    @Test
+    void dropsWhenFull() {
+        AsyncAccessLogWriter writer = new AsyncAccessLogWriter(
+                AsyncAccessLogWriterConfig.builder()
+                        .file(dir.resolve("access.log"))
+                        .queueCapacity(8)
+                        .overflowPolicy(OverflowPolicy.DROP)
+                        .build(),
+                registry);
+
+        // Not started, so nothing drains the queue.
+        int accepted = 0;
+        for (int i = 0; i < 100; i++) {
+            if (writer.offer(record("/" + i))) {
+                accepted++;
+            }
+        }
+
+        assertThat(accepted).isLessThan(100);
+        assertThat(registry.counter("zuul.accesslog.dropped").count()).isEqualTo(100 - accepted);
+    }
+
+    @Test
+    void rejectsRecordsOnceClosed() throws IOException {
+        Path file = dir.resolve("access.log");
+        AsyncAccessLogWriter writer = new AsyncAccessLogWriter(
+                AsyncAccessLogWriterConfig.builder().file(file).build(), registry);
+        writer.start();
+        writer.offer(record("/a"));
+        writer.close();
+
+        assertThat(writer.offer(record("/b"))).isFalse();
+        assertThat(Files.readAllLines(file)).hasSize(1);
+        assertThat(registry.counter("zuul.accesslog.written").count()).isEqualTo(1);
+        assertThat(registry.counter("zuul.accesslog.dropped").count()).isEqualTo(1);
+    }
+
+    @Test
+    void encodesJsonLines() {
+        ByteBuf buf = Unpooled.buffer();
+        new JsonLinesAccessLogFormat().encode(record("/a?b=\"c\""), buf);
+
+        assertThat(buf.toString(StandardCharsets.UTF_8))
+                .isEqualTo("{\"time\":\"2026-01-02T03:04:05\",\"remote_ip\":\"10.0.0.1\",\"port\":7001,"
+                        + "\"method\":\"GET\",\"uri\":\"/a?b=\\\"c\\\"\",\"status\":200,\"duration_us\":1500,"
+                        + "\"response_body_size\":42,\"request_id\":\"req-1\","
+                        + "\"request_headers\":{\"host\":\"example.com\"},\"response_headers\":{}}\n");
+    }
+
+    @Test
+    void encodesLengthPrefixedBinary() {
+        ByteBuf buf = Unpooled.buffer();
+        BinaryAccessLogFormat format = new BinaryAccessLogFormat();
+        format.encode(record("/a"), buf);
+        format.encode(record("/bb"), buf);
+
+        int first = buf.readInt();
+        assertThat(buf.getByte(buf.readerIndex())).isEqualTo(BinaryAccessLogFormat.VERSION);
+        buf.skipBytes(first);
+        int second = buf.readInt();
+        assertThat(second).isEqualTo(first + 1);
+        buf.skipBytes(second);
+        assertThat(buf.isReadable()).isFalse();
+    }
+
+    private static AccessLogRecord record(String uri) {
+        return new AccessLogRecord(
+                LocalDateTime.of(2026, 1, 2, 3, 4, 5),
+                "10.0.0.1",
+                7001,
+                "GET",
+                uri,
+                200,
+                1_500_000,
+                0,
+                42,
+                "req-1",
+                List.of("host", "user-agent"),
+                new String[] {"example.com", null},
+                List.of("server"),
+                new String[] {null});
+    }
+}
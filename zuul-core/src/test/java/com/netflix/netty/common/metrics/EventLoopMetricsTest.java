@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.netty.common.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import com.netflix.spectator.api.DefaultRegistry;
+import com.netflix.spectator.api.Registry;
+import io.netty.channel.DefaultEventLoop;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class EventLoopMetricsTest {
+
+    private Registry registry;
+    private DefaultEventLoop eventLoop;
+
+    @BeforeEach
+    void setup() {
+        registry = new DefaultRegistry();
+        eventLoop = new DefaultEventLoop();
+    }
+
+    @AfterEach
+    void teardown() throws InterruptedException {
+        eventLoop.shutdownGracefully(0, 1, TimeUnit.SECONDS).await();
+    }
+
+    @Test
+    void updatesGauges() {
+        EventLoopMetrics metrics = new EventLoopMetrics(registry, "0");
+
+        metrics.incrementCurrentRequests();
+        metrics.incrementCurrentRequests();
+        metrics.decrementCurrentRequests();
+        metrics.incrementCurrentConnections();
+
+        assertThat(gauge("server.eventloop.http.requests.current")).isEqualTo(1);
+        assertThat(gauge("server.eventloop.connections.current")).isEqualTo(1);
+        assertThat(metrics.currentHttpRequestsCount()).isEqualTo(1);
+    }
+
+    @Test
+    void healthProbeReportsLagAndQueueDepth() throws Exception {
+        EventLoopMetrics metrics = new EventLoopMetrics(registry, "0");
+        eventLoop.submit(() -> metrics.startHealthProbe(eventLoop, 10)).get();
+
+        // Keep the loop busy so the probe runs late.
+        eventLoop.submit(() -> sleep(50)).get();
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(registry.timer(
+                                registry.createId("server.eventloop.scheduling.lag", "eventloop", "0"))
+                        .totalTime())
+                .isGreaterThan(0));
+        assertThat(gauge("server.eventloop.tasks.pending")).isGreaterThanOrEqualTo(0);
+    }
+
+    @Test
+    void healthProbeMustStartOnItsEventLoop() {
+        EventLoopMetrics metrics = new EventLoopMetrics(registry, "0");
+
+        assertThatThrownBy(() -> metrics.startHealthProbe(eventLoop, 10))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private double gauge(String name) {
+        return registry.gauge(registry.createId(name, "eventloop", "0")).value();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
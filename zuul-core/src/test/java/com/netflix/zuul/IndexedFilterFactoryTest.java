@@ -0,0 +1,64 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.netflix.zuul.StaticFilterLoaderTest.DummyFilter1;
+import com.netflix.zuul.StaticFilterLoaderTest.DummyFilter2;
+import com.netflix.zuul.StaticFilterLoaderTest.DummyFilter22;
+import com.netflix.zuul.filters.FilterType;
+import com.netflix.zuul.filters.ZuulFilter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class IndexedFilterFactoryTest {
+
+    @Test
+    void filtersAreConstructedThroughTheIndex() throws Exception {
+        AtomicInteger constructed = new AtomicInteger();
+        IndexedFilterFactory factory = new IndexedFilterFactory(
+                List.of(
+                        new FilterIndex.Entry(
+                                DummyFilter22.class, FilterType.INBOUND, 1, DummyFilter22.class.getName(), null),
+                        new FilterIndex.Entry(
+                                DummyFilter2.class, FilterType.INBOUND, 1, DummyFilter2.class.getName(), null),
+                        new FilterIndex.Entry(
+                                DummyFilter1.class,
+                                FilterType.INBOUND,
+                                0,
+                                DummyFilter1.class.getName(),
+                                () -> {
+                                    constructed.incrementAndGet();
+                                    return new DummyFilter1();
+                                })),
+                new DefaultFilterFactory());
+
+        assertThat(factory.filterTypes()).containsExactly(DummyFilter1.class, DummyFilter2.class, DummyFilter22.class);
+
+        StaticFilterLoader loader = new StaticFilterLoader(factory, factory.filterTypes());
+        List<ZuulFilter<?, ?>> filters = new ArrayList<>(loader.getFiltersByType(FilterType.INBOUND));
+
+        assertThat(constructed).hasValue(1);
+        assertThat(filters).hasSize(3);
+        assertThat(filters.get(0)).isInstanceOf(DummyFilter1.class);
+        // Filters the index cannot construct come from the fallback factory.
+        assertThat(filters.get(1)).isInstanceOf(DummyFilter2.class);
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.filters.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.netflix.spectator.api.NoopRegistry;
+import com.netflix.zuul.filters.common.BatchingLookupConfig.Scope;
+import io.netty.channel.MultiThreadIoEventLoopGroup;
+import io.netty.channel.local.LocalIoHandler;
+import io.netty.util.concurrent.EventExecutor;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BatchingLookupTest {
+
+    private MultiThreadIoEventLoopGroup group;
+    private EventExecutor eventLoop;
+    private StubService service;
+
+    @BeforeEach
+    void setUp() {
+        group = new MultiThreadIoEventLoopGroup(2, LocalIoHandler.newFactory());
+        eventLoop = group.next();
+        service = new StubService();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+        group.shutdownGracefully();
+    }
+
+    @Test
+    void lookupsMadeTogetherShareOneCall() {
+        BatchingLookup<String, String> lookup = newLookup(config().maxDelay(Duration.ofMillis(50)));
+
+        List<CompletableFuture<String>> futures = onEventLoop(eventLoop, () -> List.of(
+                lookup.lookup("a", eventLoop), lookup.lookup("b", eventLoop), lookup.lookup("a", eventLoop)));
+
+        assertThat(join(futures.get(0))).isEqualTo("value-a");
+        assertThat(join(futures.get(1))).isEqualTo("value-b");
+        assertThat(join(futures.get(2))).isEqualTo("value-a");
+        assertThat(service.calls).containsExactly(Set.of("a", "b"));
+    }
+
+    @Test
+    void fullBatchIsSentWithoutWaiting() {
+        BatchingLookup<String, String> lookup =
+                newLookup(config().maxBatchSize(2).maxDelay(Duration.ofMinutes(1)));
+
+        List<CompletableFuture<String>> futures = onEventLoop(
+                eventLoop, () -> List.of(lookup.lookup("a", eventLoop), lookup.lookup("b", eventLoop)));
+
+        assertThat(join(futures.get(1))).isEqualTo("value-b");
+        assertThat(service.calls).containsExactly(Set.of("a", "b"));
+    }
+
+    @Test
+    void futuresCompleteOnTheirEventLoop() {
+        EventExecutor otherLoop = group.next();
+        assertThat(otherLoop).isNotSameAs(eventLoop);
+        BatchingLookup<String, String> lookup = newLookup(config().scope(Scope.GLOBAL));
+
+        CompletableFuture<Boolean> first = onEventLoop(
+                eventLoop, () -> lookup.lookup("a", eventLoop).thenApply(v -> eventLoop.inEventLoop()));
+        CompletableFuture<Boolean> second = onEventLoop(
+                otherLoop, () -> lookup.lookup("b", otherLoop).thenApply(v -> otherLoop.inEventLoop()));
+
+        assertThat(join(first)).isTrue();
+        assertThat(join(second)).isTrue();
+    }
+
+    @Test
+    void missingKeysCompleteWithNull() {
+        BatchingLookup<String, String> lookup = newLookup(config());
+
+        assertThat(join(onEventLoop(eventLoop, () -> lookup.lookup("missing", eventLoop))))
+                .isNull();
+    }
+
+    @Test
+    void failedBatchFailsEveryLookup() {
+        BatchingLookup<String, String> lookup = new BatchingLookup<>(
+                config().build(),
+                keys -> CompletableFuture.failedFuture(new IllegalStateException("unavailable")),
+                new NoopRegistry());
+
+        CompletableFuture<String> future = onEventLoop(eventLoop, () -> lookup.lookup("a", eventLoop));
+
+        assertThatThrownBy(() -> join(future))
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void cachedValuesAreNotLookedUpAgain() {
+        BatchingLookup<String, String> lookup = newLookup(config().cacheTtl(Duration.ofMinutes(1)));
+
+        assertThat(join(onEventLoop(eventLoop, () -> lookup.lookup("a", eventLoop))))
+                .isEqualTo("value-a");
+        CompletableFuture<String> cached = onEventLoop(eventLoop, () -> lookup.lookup("a", eventLoop));
+
+        assertThat(cached).isCompletedWithValue("value-a");
+        assertThat(service.calls).hasSize(1);
+    }
+
+    private BatchingLookup<String, String> newLookup(BatchingLookupConfig.BatchingLookupConfigBuilder config) {
+        return new BatchingLookup<>(config.build(), service::lookup, new NoopRegistry());
+    }
+
+    private static BatchingLookupConfig.BatchingLookupConfigBuilder config() {
+        return BatchingLookupConfig.builder().name("test");
+    }
+
+    private static <T> T onEventLoop(EventExecutor eventLoop, Callable<T> task) {
+        return eventLoop.submit(task).syncUninterruptibly().getNow();
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        return future.orTimeout(5, TimeUnit.SECONDS).join();
+    }
+
+    /**
+     * Stands in for a remote lookup service, answering for every key except "missing" from another thread.
+     */
+    private static final class StubService {
+        private final ExecutorService executor = Executors.newSingleThreadExecutor();
+        private final List<Set<String>> calls = new CopyOnWriteArrayList<>();
+
+        CompletableFuture<Map<String, String>> lookup(Set<String> keys) {
+            calls.add(Set.copyOf(keys));
+            List<String> found = new ArrayList<>(keys);
+            found.remove("missing");
+            return CompletableFuture.supplyAsync(
+                    () -> {
+                        Map<String, String> values = new HashMap<>();
+                        found.forEach(key -> values.put(key, "value-" + key));
+                        return values;
+                    },
+                    executor);
+        }
+
+        void shutdown() {
+            executor.shutdownNow();
+        }
+    }
+}
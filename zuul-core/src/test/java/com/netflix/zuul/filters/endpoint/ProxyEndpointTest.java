@@ -52,10 +52,12 @@ import com.netflix.zuul.passport.CurrentPassport;
 import com.netflix.zuul.passport.PassportItem;
 import com.netflix.zuul.passport.PassportState;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.embedded.EmbeddedChannel;
 import io.netty.channel.local.LocalAddress;
+import io.netty.handler.codec.http.DefaultHttpContent;
 import io.netty.handler.codec.http.DefaultHttpResponse;
 import io.netty.handler.codec.http.DefaultLastHttpContent;
 import io.netty.handler.codec.http.HttpContent;
@@ -305,6 +307,43 @@ class ProxyEndpointTest {
         ReferenceCountUtil.safeRelease(lastContent);
     }
 
+    @Test
+    void requestBodyIsFlushedOncePerClientRead() {
+        Promise<PooledConnection> promise = channel.eventLoop().newPromise();
+        PooledConnection pooledConnection = Mockito.mock(PooledConnection.class);
+        promise.setSuccess(pooledConnection);
+        doReturn(channel).when(pooledConnection).getChannel();
+        doReturn(promise).when(nettyOrigin).connectToOrigin(any(), any(), anyInt(), any(), any(), any());
+        doReturn(Mockito.mock(RequestAttempt.class)).when(nettyOrigin).newRequestAttempt(any(), any(), any(), anyInt());
+
+        request = createRequest(context, "POST", "/some/where");
+        request.storeInboundRequest();
+        proxyEndpoint = new ProxyEndpoint(request, chc, null, MethodBinding.NO_OP_BINDING, attemptFactory) {
+            @Override
+            public NettyOrigin getOrigin(HttpRequestMessage request) {
+                return nettyOrigin;
+            }
+
+            @Override
+            protected OriginTimeoutManager getTimeoutManager(NettyOrigin origin) {
+                return timeoutManager;
+            }
+        };
+        channel.pipeline()
+                .addLast(DefaultOriginChannelInitializer.CONNECTION_POOL_HANDLER, new ChannelInboundHandlerAdapter());
+
+        proxyEndpoint.apply(request);
+        channel.releaseOutbound();
+
+        proxyEndpoint.processContentChunk(request, new DefaultHttpContent(Unpooled.wrappedBuffer(new byte[16])));
+        proxyEndpoint.processContentChunk(request, new DefaultHttpContent(Unpooled.wrappedBuffer(new byte[16])));
+        assertThat(channel.outboundMessages()).isEmpty();
+
+        proxyEndpoint.inboundReadComplete();
+        assertThat(channel.outboundMessages()).hasSize(2);
+        channel.releaseOutbound();
+    }
+
     @Test
     void testMassageRequestURIWithEncodedAmpersand() {
         // Test that encoded ampersands in query parameter values are handled correctly
@@ -20,6 +20,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
 
+import com.netflix.config.ConfigurationManager;
 import com.netflix.spectator.api.NoopRegistry;
 import com.netflix.spectator.api.Registry;
 import com.netflix.zuul.Filter;
@@ -27,7 +28,10 @@ import com.netflix.zuul.FilterConstraint;
 import com.netflix.zuul.FilterUsageNotifier;
 import com.netflix.zuul.context.CommonContextKeys;
 import com.netflix.zuul.context.SessionContext;
+import com.netflix.zuul.exception.ZuulFilterConcurrencyExceededException;
+import com.netflix.zuul.filters.BaseBlockingFilter;
 import com.netflix.zuul.filters.BaseFilter;
+import com.netflix.zuul.filters.FilterChainCursor;
 import com.netflix.zuul.filters.FilterSyncType;
 import com.netflix.zuul.filters.FilterType;
 import com.netflix.zuul.message.ZuulMessage;
@@ -43,6 +47,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -210,17 +215,13 @@ public class BaseZuulFilterRunnerTest {
         TestBaseZuulFilterRunner outboundRunner =
                 new TestBaseZuulFilterRunner(FilterType.OUTBOUND, notifier, nextStage, new NoopRegistry());
 
-        AtomicInteger inboundIdx = inboundRunner.initRunningFilterIndex(message);
-        AtomicInteger endpointIdx = endpointRunner.initRunningFilterIndex(message);
-        AtomicInteger outboundIdx = outboundRunner.initRunningFilterIndex(message);
+        inboundRunner.initFilterChainCursor(message).setIndex(1);
+        endpointRunner.initFilterChainCursor(message).setIndex(2);
+        outboundRunner.initFilterChainCursor(message).setIndex(3);
 
-        inboundIdx.set(1);
-        endpointIdx.set(2);
-        outboundIdx.set(3);
-
-        assertThat(inboundRunner.getRunningFilterIndex(message)).hasValue(1);
-        assertThat(endpointRunner.getRunningFilterIndex(message)).hasValue(2);
-        assertThat(outboundRunner.getRunningFilterIndex(message)).hasValue(3);
+        assertThat(inboundRunner.getFilterChainCursor(message).index()).isEqualTo(1);
+        assertThat(endpointRunner.getFilterChainCursor(message).index()).isEqualTo(2);
+        assertThat(outboundRunner.getFilterChainCursor(message).index()).isEqualTo(3);
 
         Map<FilterType, TestBaseZuulFilterRunner> types = Map.of(
                 FilterType.INBOUND,
@@ -241,6 +242,47 @@ public class BaseZuulFilterRunnerTest {
         }
     }
 
+    @Test
+    public void filterChainCursorsAreKeptPerFilterTypeAndSharedByClones() {
+        TestBaseZuulFilterRunner inboundRunner =
+                new TestBaseZuulFilterRunner(FilterType.INBOUND, notifier, nextStage, new NoopRegistry());
+        TestBaseZuulFilterRunner outboundRunner =
+                new TestBaseZuulFilterRunner(FilterType.OUTBOUND, notifier, nextStage, new NoopRegistry());
+
+        FilterChainCursor inbound = inboundRunner.initFilterChainCursor(message);
+        FilterChainCursor outbound = outboundRunner.initFilterChainCursor(message);
+        inbound.advance();
+        inboundRunner.setFilterAwaitingBody(message, true);
+
+        assertThat(inboundRunner.getFilterChainCursor(message)).isSameAs(inbound);
+        assertThat(outboundRunner.getFilterChainCursor(message)).isSameAs(outbound);
+        assertThat(outbound.index()).isZero();
+        assertThat(outbound.isAwaitingBody()).isFalse();
+
+        // A filter may hand on a clone, which has to resume from the same place.
+        ZuulMessage clone = message.clone();
+        assertThat(inboundRunner.getFilterChainCursor(clone)).isSameAs(inbound);
+
+        // Starting the chain over keeps a pending wait for the body, as the flag is only cleared by running the filter.
+        FilterChainCursor restarted = inboundRunner.initFilterChainCursor(message);
+        assertThat(restarted.index()).isZero();
+        assertThat(restarted.isAwaitingBody()).isTrue();
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void runningFilterIndexFollowsTheCursor() {
+        AtomicInteger idx = runner.initRunningFilterIndex(message);
+        FilterChainCursor cursor = runner.getFilterChainCursor(message);
+
+        cursor.advance();
+        assertThat(idx).hasValue(1);
+
+        idx.set(5);
+        assertThat(cursor.index()).isEqualTo(5);
+        assertThat(runner.getRunningFilterIndex(message)).isSameAs(idx);
+    }
+
     @Test
     public void completableFutureFilterResumesChain() {
         AsyncFilter cfFilter = new AsyncFilter();
@@ -314,6 +356,45 @@ public class BaseZuulFilterRunnerTest {
         assertThat(filteredMessage).isNotSameAs(message);
     }
 
+    @Test
+    public void blockingFilterRunsOnVirtualThreadAndResumesOnEventLoop() {
+        BlockingFilter blockingFilter = new BlockingFilter();
+        blockingFilter.release.countDown();
+
+        resumer.validator = m -> {
+            assertThat(group.next().inEventLoop()).isTrue();
+            assertThat(blockingFilter.getConcurrency()).isEqualTo(0);
+            return m;
+        };
+
+        assertThat(runner.executeFilter(blockingFilter, message))
+                .isInstanceOf(BaseZuulFilterRunner.FilterExecutionResult.Pending.class);
+        ZuulMessage filteredMessage =
+                resumer.future.orTimeout(5, TimeUnit.SECONDS).join();
+        assertThat(filteredMessage).isSameAs(message);
+        assertThat(blockingFilter.appliedOn.get().isVirtual()).isTrue();
+    }
+
+    @Test
+    public void blockingFilterConcurrencyIsLimited() {
+        BlockingFilter blockingFilter = new BlockingFilter();
+        ConfigurationManager.getConfigInstance().setProperty(blockingFilter.maxConcurrencyPropertyName(), 1);
+        try {
+            runner.executeFilter(blockingFilter, message);
+
+            ZuulMessage second = new HttpRequestBuilder(new SessionContext()).build();
+            BaseZuulFilterRunner.FilterExecutionResult<ZuulMessage> rejected =
+                    runner.executeFilter(blockingFilter, second);
+
+            assertThat(rejected).isInstanceOf(BaseZuulFilterRunner.FilterExecutionResult.Complete.class);
+            assertThat(second.getContext().getError()).isInstanceOf(ZuulFilterConcurrencyExceededException.class);
+        } finally {
+            blockingFilter.release.countDown();
+            ConfigurationManager.getConfigInstance().clearProperty(blockingFilter.maxConcurrencyPropertyName());
+        }
+        assertThat(resumer.future.orTimeout(5, TimeUnit.SECONDS).join()).isSameAs(message);
+    }
+
     @Filter(type = FilterType.INBOUND, sync = FilterSyncType.ASYNC, order = 1)
     private static class LegacyObservableFilter extends BaseFilter<ZuulMessage, ZuulMessage> {
 
@@ -381,6 +462,30 @@ public class BaseZuulFilterRunnerTest {
         }
     }
 
+    @Filter(type = FilterType.INBOUND, sync = FilterSyncType.BLOCKING, order = 5)
+    private static class BlockingFilter extends BaseBlockingFilter<ZuulMessage, ZuulMessage> {
+
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final AtomicReference<Thread> appliedOn = new AtomicReference<>();
+
+        @Override
+        public ZuulMessage apply(ZuulMessage input) {
+            appliedOn.set(Thread.currentThread());
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            return input;
+        }
+
+        @Override
+        public boolean shouldFilter(ZuulMessage msg) {
+            return true;
+        }
+    }
+
     private static class TestResumer {
 
         private final CompletableFuture<ZuulMessage> future;
@@ -20,6 +20,7 @@ import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import com.netflix.netty.common.channel.config.ChannelConfig;
 import com.netflix.zuul.FilterConstraint;
 import com.netflix.zuul.context.SessionContext;
 import com.netflix.zuul.filters.ZuulFilter;
@@ -44,12 +45,14 @@ class FilterConstraintsTest {
 
     private boolean constraintAResult;
     private boolean constraintBResult;
+    private boolean constraintBListenerResult;
 
     @BeforeEach
     void setUp() {
         request = new HttpRequestBuilder(new SessionContext()).build();
         constraintAResult = false;
         constraintBResult = false;
+        constraintBListenerResult = false;
         filterConstraints = new FilterConstraints(List.of(new ConstraintA(), new ConstraintB()));
     }
 
@@ -135,6 +138,17 @@ class FilterConstraintsTest {
         assertThat(constraintsCalls.get()).isEqualTo(1);
     }
 
+    @Test
+    void listenerConstraint() {
+        ZuulFilter<?, ?> filter = mockFilter(new Class[] {ConstraintA.class, ConstraintB.class});
+        assertThat(filterConstraints.isConstrainedOnListener(new ChannelConfig(), filter))
+                .isFalse();
+
+        constraintBListenerResult = true;
+        assertThat(filterConstraints.isConstrainedOnListener(new ChannelConfig(), filter))
+                .isTrue();
+    }
+
     private ZuulFilter<?, ?> mockFilter(Class<? extends FilterConstraint>[] constraints) {
         ZuulFilter<?, ?> filter = mock(ZuulFilter.class);
         when(filter.constraints()).thenReturn(constraints);
@@ -153,5 +167,10 @@ class FilterConstraintsTest {
         public boolean isConstrained(@NonNull ZuulMessage msg) {
             return constraintBResult;
         }
+
+        @Override
+        public boolean constrainsListener(@NonNull ChannelConfig listenerConfig) {
+            return constraintBListenerResult;
+        }
     }
 }
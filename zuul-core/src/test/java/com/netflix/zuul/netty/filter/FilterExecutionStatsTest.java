@@ -0,0 +1,130 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.netty.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.netflix.config.ConfigurationManager;
+import com.netflix.spectator.api.DefaultRegistry;
+import com.netflix.spectator.api.Registry;
+import com.netflix.zuul.ExecutionStatus;
+import com.netflix.zuul.filters.FilterType;
+import com.netflix.zuul.filters.ZuulFilter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class FilterExecutionStatsTest {
+
+    private final Registry registry = new DefaultRegistry();
+    private final FilterExecutionStats stats = new FilterExecutionStats(registry);
+
+    @BeforeEach
+    void setUp() {
+        ConfigurationManager.getConfigInstance().setProperty("zuul.filters.stats.latency.sample.rate", "1");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ConfigurationManager.getConfigInstance().clearProperty("zuul.filters.stats.latency.sample.rate");
+        ConfigurationManager.getConfigInstance().clearProperty("zuul.filters.stats.allocation.sample.rate");
+    }
+
+    @Test
+    void recordsLatencyPerFilterAndStatus() {
+        ZuulFilter<?, ?> cheap = filter("CheapFilter");
+        ZuulFilter<?, ?> costly = filter("CostlyFilter");
+
+        stats.record(cheap, ExecutionStatus.SUCCESS, 1_000);
+        stats.record(costly, ExecutionStatus.SUCCESS, 50_000);
+        stats.record(costly, ExecutionStatus.FAILED, 70_000);
+
+        assertThat(latencyCount("CostlyFilter", ExecutionStatus.SUCCESS)).isEqualTo(1);
+        assertThat(latencyCount("CostlyFilter", ExecutionStatus.FAILED)).isEqualTo(1);
+        assertThat(latencyCount("CheapFilter", ExecutionStatus.SUCCESS)).isEqualTo(1);
+
+        String dump = stats.dump();
+        assertThat(dump.indexOf("CostlyFilter")).isPositive().isLessThan(dump.indexOf("CheapFilter"));
+        assertThat(dump).contains("60000");
+    }
+
+    @Test
+    void countsFiltersThatDidNotRun() {
+        ZuulFilter<?, ?> filter = filter("SkippedFilter");
+
+        stats.record(filter, ExecutionStatus.SKIPPED, 0);
+        stats.record(filter, ExecutionStatus.SKIPPED, 0);
+        stats.record(filter, ExecutionStatus.DISABLED, 0);
+
+        assertThat(latencyCount("SkippedFilter", ExecutionStatus.SKIPPED)).isZero();
+        assertThat(executionCount("SkippedFilter", ExecutionStatus.SKIPPED)).isEqualTo(2);
+        assertThat(executionCount("SkippedFilter", ExecutionStatus.DISABLED)).isEqualTo(1);
+    }
+
+    @Test
+    void samplingCanBeTurnedOff() {
+        ConfigurationManager.getConfigInstance().setProperty("zuul.filters.stats.latency.sample.rate", "0");
+
+        stats.record(filter("SomeFilter"), ExecutionStatus.SUCCESS, 1_000);
+
+        assertThat(latencyCount("SomeFilter", ExecutionStatus.SUCCESS)).isZero();
+        assertThat(stats.allocationStart()).isEqualTo(FilterExecutionStats.NOT_SAMPLED);
+    }
+
+    @Test
+    void recordsAllocationsWhenSampled() {
+        ConfigurationManager.getConfigInstance().setProperty("zuul.filters.stats.allocation.sample.rate", "1");
+        ZuulFilter<?, ?> filter = filter("AllocatingFilter");
+
+        long start = stats.allocationStart();
+        // Only meaningful where the JVM can report per-thread allocations, which HotSpot does.
+        if (start != FilterExecutionStats.NOT_SAMPLED) {
+            byte[][] garbage = new byte[16][];
+            for (int i = 0; i < garbage.length; i++) {
+                garbage[i] = new byte[1024];
+            }
+            stats.recordAllocation(filter, start);
+
+            assertThat(registry.distributionSummary(registry.createId(
+                                    "zuul.filter.allocation", "filter", "AllocatingFilter", "filtertype", "in"))
+                            .totalAmount())
+                    .isGreaterThanOrEqualTo(16 * 1024);
+            assertThat(garbage[15]).hasSize(1024);
+        }
+    }
+
+    private long latencyCount(String filter, ExecutionStatus status) {
+        return registry.timer(registry.createId(
+                        "zuul.filter.latency", "filter", filter, "filtertype", "in", "status", status.name()))
+                .count();
+    }
+
+    private long executionCount(String filter, ExecutionStatus status) {
+        return registry.counter(registry.createId(
+                        "zuul.filter.executions", "filter", filter, "filtertype", "in", "status", status.name()))
+                .count();
+    }
+
+    private static ZuulFilter<?, ?> filter(String name) {
+        ZuulFilter<?, ?> filter = mock(ZuulFilter.class);
+        when(filter.filterName()).thenReturn(name);
+        when(filter.filterType()).thenReturn(FilterType.INBOUND);
+        return filter;
+    }
+}
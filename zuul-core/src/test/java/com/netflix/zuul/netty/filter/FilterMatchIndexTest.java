@@ -0,0 +1,119 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.netty.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.netflix.zuul.context.SessionContext;
+import com.netflix.zuul.filters.FilterRequestMatch;
+import com.netflix.zuul.filters.ZuulFilter;
+import com.netflix.zuul.message.http.HttpRequestMessage;
+import com.netflix.zuul.message.util.HttpRequestBuilder;
+import io.netty.handler.codec.http.HttpMethod;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class FilterMatchIndexTest {
+
+    @Test
+    void noDeclarationsBuildsNoIndex() {
+        assertThat(FilterMatchIndex.build(new ZuulFilter<?, ?>[] {filter(null), filter(null)}))
+                .isNull();
+    }
+
+    @Test
+    void filtersAreMatchedOnEveryDeclaredAttribute() {
+        ZuulFilter<?, ?>[] filters = {
+            filter(null),
+            filter(FilterRequestMatch.of(List.of("/api/"), List.of(), List.of())),
+            filter(FilterRequestMatch.of(List.of("/api/v2/", "/static"), List.of(), List.of())),
+            filter(FilterRequestMatch.of(List.of(), List.of("API.example.com"), List.of())),
+            filter(FilterRequestMatch.of(List.of("/api/"), List.of(), List.of("post"))),
+        };
+        FilterMatchIndex index = FilterMatchIndex.build(filters);
+
+        long[] unmatched = index.unmatched(request(HttpMethod.GET, "/api/v2/items", "api.example.com"));
+        assertUnmatched(unmatched, filters, 4);
+
+        unmatched = index.unmatched(request(HttpMethod.POST, "/api/v1/items", "other.example.com"));
+        assertUnmatched(unmatched, filters, 2, 3);
+
+        unmatched = index.unmatched(request(HttpMethod.GET, "/static/app.js", "other.example.com"));
+        assertUnmatched(unmatched, filters, 1, 3, 4);
+
+        assertThat(index.unmatched(request(HttpMethod.POST, "/api/v2/", "api.example.com")))
+                .isNull();
+    }
+
+    @Test
+    void agreesWithFilterRequestMatch() {
+        FilterRequestMatch match = FilterRequestMatch.of(List.of("/a", "/ab/c"), List.of("h"), List.of("GET"));
+        FilterMatchIndex index = FilterMatchIndex.build(new ZuulFilter<?, ?>[] {filter(match)});
+
+        for (String path : List.of("/", "/a", "/abc", "/b", "/ab/c/d")) {
+            for (String host : List.of("h", "H", "x")) {
+                HttpRequestMessage request = request(HttpMethod.GET, path, host);
+                assertThat(!FilterMatchIndex.contains(index.unmatched(request), 0))
+                        .as("%s %s", host, path)
+                        .isEqualTo(match.matches(request));
+            }
+        }
+    }
+
+    @Test
+    void indexesChainsLongerThanOneWord() {
+        ZuulFilter<?, ?>[] filters = new ZuulFilter<?, ?>[130];
+        for (int i = 0; i < filters.length; i++) {
+            filters[i] = filter(FilterRequestMatch.of(List.of("/" + i + "/"), List.of(), List.of()));
+        }
+        FilterMatchIndex index = FilterMatchIndex.build(filters);
+
+        long[] unmatched = index.unmatched(request(HttpMethod.GET, "/129/x", "h"));
+
+        for (int i = 0; i < filters.length; i++) {
+            assertThat(FilterMatchIndex.contains(unmatched, i)).isEqualTo(i != 129);
+        }
+    }
+
+    private static void assertUnmatched(long[] unmatched, ZuulFilter<?, ?>[] filters, int... expected) {
+        List<Integer> expectedList = Arrays.stream(expected).boxed().toList();
+        for (int i = 0; i < filters.length; i++) {
+            assertThat(FilterMatchIndex.contains(unmatched, i))
+                    .as("filter %d", i)
+                    .isEqualTo(expectedList.contains(i));
+        }
+    }
+
+    private static HttpRequestMessage request(HttpMethod method, String path, String host) {
+        HttpRequestMessage request = new HttpRequestBuilder(new SessionContext())
+                .withMethod(method)
+                .withUri(path)
+                .withHost(host)
+                .build();
+        request.storeInboundRequest();
+        return request;
+    }
+
+    private static ZuulFilter<?, ?> filter(FilterRequestMatch match) {
+        ZuulFilter<?, ?> filter = mock(ZuulFilter.class);
+        when(filter.requestMatch()).thenReturn(match);
+        return filter;
+    }
+}
@@ -27,6 +27,8 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
+import com.netflix.config.ConfigurationManager;
+import com.netflix.spectator.api.NoopRegistry;
 import com.netflix.spectator.api.Registry;
 import com.netflix.zuul.ExecutionStatus;
 import com.netflix.zuul.Filter;
@@ -91,7 +93,7 @@ class ZuulFilterChainRunnerTest {
         ZuulFilter[] filters = new ZuulFilter[] {inbound1, inbound2};
 
         FilterUsageNotifier notifier = mock(FilterUsageNotifier.class);
-        Registry registry = mock(Registry.class);
+        Registry registry = new NoopRegistry();
 
         ZuulFilterChainRunner runner =
                 new ZuulFilterChainRunner(filters, notifier, new FilterConstraints(List.of()), registry);
@@ -114,7 +116,7 @@ class ZuulFilterChainRunnerTest {
         ZuulFilter[] filters = new ZuulFilter[] {outbound1, outbound2};
 
         FilterUsageNotifier notifier = mock(FilterUsageNotifier.class);
-        Registry registry = mock(Registry.class);
+        Registry registry = new NoopRegistry();
 
         ZuulFilterChainRunner runner =
                 new ZuulFilterChainRunner(filters, notifier, new FilterConstraints(List.of()), registry);
@@ -136,7 +138,7 @@ class ZuulFilterChainRunnerTest {
 
         ZuulFilter[] filters = new ZuulFilter[] {outbound1, outbound2};
         ZuulFilterChainRunner runner = new ZuulFilterChainRunner(
-                filters, mock(FilterUsageNotifier.class), new FilterConstraints(List.of()), mock(Registry.class));
+                filters, mock(FilterUsageNotifier.class), new FilterConstraints(List.of()), new NoopRegistry());
 
         runner.filter(response);
         channel.readInbound();
@@ -159,7 +161,7 @@ class ZuulFilterChainRunnerTest {
 
         ZuulFilter[] filters = new ZuulFilter[] {noOp, transformer};
         ZuulFilterChainRunner runner = new ZuulFilterChainRunner(
-                filters, mock(FilterUsageNotifier.class), new FilterConstraints(List.of()), mock(Registry.class));
+                filters, mock(FilterUsageNotifier.class), new FilterConstraints(List.of()), new NoopRegistry());
 
         runner.filter(response);
         channel.readInbound();
@@ -181,7 +183,7 @@ class ZuulFilterChainRunnerTest {
         ZuulFilter[] filters = new ZuulFilter[] {legacyFilter, cfFilter};
 
         FilterUsageNotifier notifier = mock(FilterUsageNotifier.class);
-        Registry registry = mock(Registry.class);
+        Registry registry = new NoopRegistry();
 
         ZuulFilterChainRunner runner =
                 new ZuulFilterChainRunner(filters, notifier, new FilterConstraints(List.of()), registry);
@@ -192,6 +194,126 @@ class ZuulFilterChainRunnerTest {
         verifyNoMoreInteractions(notifier);
     }
 
+    @Test
+    void disabledFiltersAreLeftOutUntilReenabled() {
+        SimpleInboundFilter legacyFilter = spy(new SimpleInboundFilter(true));
+        AsyncInboundFilter cfFilter = spy(new AsyncInboundFilter(true));
+        String disableProperty = cfFilter.disablePropertyName();
+
+        ZuulFilter[] filters = new ZuulFilter[] {legacyFilter, cfFilter};
+        FilterUsageNotifier notifier = mock(FilterUsageNotifier.class);
+        ZuulFilterChainRunner runner =
+                new ZuulFilterChainRunner(filters, notifier, new FilterConstraints(List.of()), new NoopRegistry());
+
+        ConfigurationManager.getConfigInstance().setProperty(disableProperty, "true");
+        try {
+            runner.filter(request);
+
+            verify(notifier).notify(eq(legacyFilter), eq(ExecutionStatus.SUCCESS));
+            verify(notifier).notify(eq(cfFilter), eq(ExecutionStatus.DISABLED));
+            verify(cfFilter, never()).shouldFilter(any());
+            verifyNoMoreInteractions(notifier);
+        } finally {
+            ConfigurationManager.getConfigInstance().clearProperty(disableProperty);
+        }
+        clearInvocations(notifier);
+
+        runner.filter(request);
+
+        verify(notifier).notify(eq(legacyFilter), eq(ExecutionStatus.SUCCESS));
+        verify(notifier).notify(eq(cfFilter), eq(ExecutionStatus.SUCCESS));
+        verifyNoMoreInteractions(notifier);
+    }
+
+    @Test
+    void disabledFiltersAreReportedAtTheirChainPosition() {
+        AsyncInboundFilter before = new AsyncInboundFilter(true);
+        SimpleInboundFilter stopper = new SimpleInboundFilter(true) {
+            @Override
+            public CompletableFuture<HttpRequestMessage> applyAsync(HttpRequestMessage input) {
+                input.getContext().stopFilterProcessing();
+                return CompletableFuture.completedFuture(input);
+            }
+        };
+        AsyncInboundFilter after = new AsyncInboundFilter(true);
+        String disableProperty = before.disablePropertyName();
+
+        ZuulFilter[] filters = new ZuulFilter[] {before, stopper, after};
+        FilterUsageNotifier notifier = mock(FilterUsageNotifier.class);
+        ZuulFilterChainRunner runner =
+                new ZuulFilterChainRunner(filters, notifier, new FilterConstraints(List.of()), new NoopRegistry());
+
+        ConfigurationManager.getConfigInstance().setProperty(disableProperty, "true");
+        try {
+            runner.filter(request);
+        } finally {
+            ConfigurationManager.getConfigInstance().clearProperty(disableProperty);
+        }
+
+        // Once processing has been stopped, a disabled filter is skipped, as it would have been in the full chain.
+        verify(notifier).notify(eq(before), eq(ExecutionStatus.DISABLED));
+        verify(notifier).notify(eq(stopper), eq(ExecutionStatus.SUCCESS));
+        verify(notifier).notify(eq(after), eq(ExecutionStatus.SKIPPED));
+        verifyNoMoreInteractions(notifier);
+    }
+
+    @Test
+    void filtersWithTheirOwnDisableLogicStayInTheChain() {
+        SwitchableInboundFilter switchable = new SwitchableInboundFilter();
+        switchable.disabled = true;
+        ZuulFilter[] filters = new ZuulFilter[] {switchable};
+        FilterUsageNotifier notifier = mock(FilterUsageNotifier.class);
+        ZuulFilterChainRunner runner =
+                new ZuulFilterChainRunner(filters, notifier, new FilterConstraints(List.of()), new NoopRegistry());
+
+        runner.filter(request);
+        verify(notifier).notify(eq(switchable), eq(ExecutionStatus.DISABLED));
+
+        // Re-enabled without any configuration change.
+        switchable.disabled = false;
+        runner.filter(request);
+        verify(notifier).notify(eq(switchable), eq(ExecutionStatus.SUCCESS));
+    }
+
+    @Test
+    void filtersNotMatchingTheRequestAreSkippedUnasked() {
+        SimpleInboundFilter inbound = spy(new SimpleInboundFilter(true));
+        OtherPathInboundFilter otherPath = spy(new OtherPathInboundFilter());
+
+        ZuulFilter[] filters = new ZuulFilter[] {inbound, otherPath};
+        FilterUsageNotifier notifier = mock(FilterUsageNotifier.class);
+        ZuulFilterChainRunner runner =
+                new ZuulFilterChainRunner(filters, notifier, new FilterConstraints(List.of()), new NoopRegistry());
+
+        runner.filter(request);
+
+        verify(otherPath, never()).shouldFilter(any());
+        verify(otherPath, never()).applyAsync(any());
+        verify(notifier).notify(eq(inbound), eq(ExecutionStatus.SUCCESS));
+        verify(notifier).notify(eq(otherPath), eq(ExecutionStatus.SKIPPED));
+        verifyNoMoreInteractions(notifier);
+    }
+
+    @Filter.RequestMatch(pathPrefixes = "/other/")
+    class SwitchableInboundFilter extends SimpleInboundFilter {
+        volatile boolean disabled;
+
+        SwitchableInboundFilter() {
+            super(true);
+        }
+
+        @Override
+        public boolean isDisabled() {
+            return disabled;
+        }
+    }
+
+    class OtherPathInboundFilter extends SimpleInboundFilter {
+        OtherPathInboundFilter() {
+            super(true);
+        }
+    }
+
     class AsyncInboundFilter extends HttpInboundFilter {
         private final boolean shouldFilter;
 
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.netty.insights;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.netflix.spectator.api.DefaultRegistry;
+import com.netflix.spectator.api.Registry;
+import com.netflix.spectator.api.Timer;
+import com.netflix.zuul.netty.insights.PassportPhaseMetricsHandler.Phase;
+import com.netflix.zuul.passport.CurrentPassport;
+import org.junit.jupiter.api.Test;
+
+class PassportPhaseMetricsHandlerTest {
+
+    private static final String PROXIED = "CurrentPassport {start_ms=0, [+0=IN_REQ_HEADERS_RECEIVED,"
+            + " +10=FILTERS_INBOUND_START, +60=FILTERS_INBOUND_END, +70=ORIGIN_CONN_ACQUIRE_START,"
+            + " +100=ORIGIN_CONN_ACQUIRE_END, +110=OUT_REQ_HEADERS_SENDING, +120=OUT_REQ_LAST_CONTENT_SENT,"
+            + " +400=IN_RESP_HEADERS_RECEIVED, +450=FILTERS_OUTBOUND_START, +460=FILTERS_OUTBOUND_END,"
+            + " +600=OUT_RESP_LAST_CONTENT_SENT, +700=NOW]}";
+
+    private static final String RETRIED = "CurrentPassport {start_ms=0, [+0=IN_REQ_HEADERS_RECEIVED,"
+            + " +10=ORIGIN_CONN_ACQUIRE_START, +20=ORIGIN_CONN_ACQUIRE_END, +30=OUT_REQ_LAST_CONTENT_SENT,"
+            + " +200=IN_RESP_HEADERS_RECEIVED, +210=ORIGIN_RETRY_START, +220=ORIGIN_CONN_ACQUIRE_START,"
+            + " +250=ORIGIN_CONN_ACQUIRE_END, +260=OUT_REQ_LAST_CONTENT_SENT, +300=IN_RESP_HEADERS_RECEIVED,"
+            + " +350=OUT_RESP_LAST_CONTENT_SENT, +400=NOW]}";
+
+    @Test
+    void computesPhases() {
+        CurrentPassport passport = CurrentPassport.parseFromToString(PROXIED);
+
+        assertThat(PassportPhaseMetricsHandler.phaseDuration(passport, Phase.INBOUND_FILTERS))
+                .isEqualTo(50);
+        assertThat(PassportPhaseMetricsHandler.phaseDuration(passport, Phase.CONN_ACQUIRE))
+                .isEqualTo(30);
+        assertThat(PassportPhaseMetricsHandler.phaseDuration(passport, Phase.ORIGIN_TTFB))
+                .isEqualTo(280);
+        assertThat(PassportPhaseMetricsHandler.phaseDuration(passport, Phase.RESPONSE_STREAMING))
+                .isEqualTo(200);
+        assertThat(PassportPhaseMetricsHandler.phaseDuration(passport, Phase.TOTAL))
+                .isEqualTo(600);
+    }
+
+    @Test
+    void retriesUseLastAttemptAndSumAcquires() {
+        CurrentPassport passport = CurrentPassport.parseFromToString(RETRIED);
+
+        assertThat(PassportPhaseMetricsHandler.phaseDuration(passport, Phase.CONN_ACQUIRE))
+                .isEqualTo(40);
+        assertThat(PassportPhaseMetricsHandler.phaseDuration(passport, Phase.ORIGIN_TTFB))
+                .isEqualTo(40);
+        assertThat(PassportPhaseMetricsHandler.phaseDuration(passport, Phase.INBOUND_FILTERS))
+                .isEqualTo(-1);
+    }
+
+    @Test
+    void skipsPhasesThatDidNotHappen() {
+        CurrentPassport passport = CurrentPassport.parseFromToString(
+                "CurrentPassport {start_ms=0, [+0=IN_REQ_HEADERS_RECEIVED, +5=FILTERS_INBOUND_START,"
+                        + " +15=FILTERS_INBOUND_END, +40=OUT_RESP_LAST_CONTENT_SENT, +50=NOW]}");
+        Registry registry = new DefaultRegistry();
+
+        new PassportPhaseMetricsHandler(registry, "http-7001").record(passport, "api");
+
+        assertThat(timer(registry, "inboundFilters").count()).isEqualTo(1);
+        assertThat(timer(registry, "total").count()).isEqualTo(1);
+        assertThat(timer(registry, "total").totalTime()).isEqualTo(40);
+        assertThat(timer(registry, "connAcquire").count()).isEqualTo(0);
+        assertThat(timer(registry, "originTtfb").count()).isEqualTo(0);
+    }
+
+    private static Timer timer(Registry registry, String phase) {
+        return registry.timer(
+                registry.createId("zuul.passport.phase", "phase", phase, "origin", "api", "listener", "http-7001"));
+    }
+}
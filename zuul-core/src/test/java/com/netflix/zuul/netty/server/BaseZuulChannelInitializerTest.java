@@ -27,6 +27,15 @@ import com.netflix.netty.common.metrics.PerEventLoopMetricsChannelHandler;
 import com.netflix.netty.common.proxyprotocol.ElbProxyProtocolChannelHandler;
 import com.netflix.netty.common.throttle.MaxInboundConnectionsHandler;
 import com.netflix.spectator.api.NoopRegistry;
+import com.netflix.zuul.BasicFilterUsageNotifier;
+import com.netflix.zuul.DefaultFilterFactory;
+import com.netflix.zuul.DynamicFilterLoader;
+import com.netflix.zuul.filters.BaseSyncFilter;
+import com.netflix.zuul.filters.FilterType;
+import com.netflix.zuul.filters.MutableFilterRegistry;
+import com.netflix.zuul.message.ZuulMessage;
+import com.netflix.zuul.netty.filter.FilterChainSnapshot;
+import com.netflix.zuul.netty.filter.ZuulFilterChainHandler;
 import com.netflix.zuul.netty.insights.ServerStateHandler;
 import com.netflix.zuul.netty.ratelimiting.NullChannelHandlerProvider;
 import io.netty.buffer.Unpooled;
@@ -118,6 +127,36 @@ class BaseZuulChannelInitializerTest {
                 .isNotNull();
     }
 
+    @Test
+    void warmupChannelsSkipMetrics() {
+        ChannelConfig channelConfig = new ChannelConfig();
+        ChannelConfig channelDependencies = new ChannelConfig();
+        NoopRegistry registry = new NoopRegistry();
+        channelDependencies.set(ZuulDependencyKeys.registry, registry);
+        channelDependencies.set(
+                ZuulDependencyKeys.rateLimitingChannelHandlerProvider, new NullChannelHandlerProvider());
+        channelDependencies.set(
+                ZuulDependencyKeys.sslClientCertCheckChannelHandlerProvider, new NullChannelHandlerProvider());
+        ChannelGroup channelGroup = new DefaultChannelGroup(GlobalEventExecutor.INSTANCE);
+        BaseZuulChannelInitializer init =
+                new BaseZuulChannelInitializer("1234", channelConfig, channelDependencies, channelGroup) {
+
+                    @Override
+                    protected void initChannel(Channel ch) {}
+                };
+        EmbeddedChannel channel = new EmbeddedChannel();
+        channel.attr(ServerWarmup.WARMUP_CHANNEL).set(Boolean.TRUE);
+
+        init.addTcpRelatedHandlers(channel.pipeline());
+
+        assertThat(channel.pipeline().context(SourceAddressChannelHandler.class))
+                .isNotNull();
+        assertThat(channel.pipeline().context(PerEventLoopMetricsChannelHandler.Connections.class))
+                .isNull();
+        assertThat(init.registryFor(channel.pipeline())).isSameAs(ServerWarmup.NOOP_REGISTRY);
+        assertThat(init.registryFor(new EmbeddedChannel().pipeline())).isSameAs(registry);
+    }
+
     @Test
     void serverStateHandlerAdded() {
         ChannelConfig channelConfig = new ChannelConfig();
@@ -268,4 +307,63 @@ class BaseZuulChannelInitializerTest {
                 .as("connection must be closed so residual bytes are not re-parsed as a new request")
                 .isFalse();
     }
+
+    @Test
+    void filterChainsAreSharedUntilFiltersChange() throws Exception {
+        DynamicFilterLoader filterLoader =
+                new DynamicFilterLoader(new MutableFilterRegistry(), new DefaultFilterFactory());
+        ChannelConfig channelConfig = new ChannelConfig();
+        ChannelConfig channelDependencies = new ChannelConfig();
+        channelDependencies.set(ZuulDependencyKeys.registry, new NoopRegistry());
+        channelDependencies.set(
+                ZuulDependencyKeys.rateLimitingChannelHandlerProvider, new NullChannelHandlerProvider());
+        channelDependencies.set(
+                ZuulDependencyKeys.sslClientCertCheckChannelHandlerProvider, new NullChannelHandlerProvider());
+        channelDependencies.set(ZuulDependencyKeys.filterLoader, filterLoader);
+        channelDependencies.set(
+                ZuulDependencyKeys.filterUsageNotifier, new BasicFilterUsageNotifier(new NoopRegistry()));
+        ChannelGroup channelGroup = new DefaultChannelGroup(GlobalEventExecutor.INSTANCE);
+        BaseZuulChannelInitializer init =
+                new BaseZuulChannelInitializer("1234", channelConfig, channelDependencies, channelGroup) {
+                    @Override
+                    protected void initChannel(Channel ch) {}
+                };
+
+        FilterChainSnapshot first = init.getFilterChains();
+        assertThat(init.getFilterChains()).isSameAs(first);
+
+        EmbeddedChannel channel = new EmbeddedChannel();
+        init.addZuulFilterChainHandler(channel.pipeline());
+        assertThat(channel.pipeline().get(ZuulFilterChainHandler.class)).isNotNull();
+        assertThat(init.getFilterChains()).isSameAs(first);
+
+        filterLoader.putFilterForClassName(NoopInboundFilter.class.getName());
+
+        FilterChainSnapshot second = init.getFilterChains();
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.filtersVersion()).isGreaterThan(first.filtersVersion());
+        assertThat(init.getFilterChains()).isSameAs(second);
+    }
+
+    public static final class NoopInboundFilter extends BaseSyncFilter<ZuulMessage, ZuulMessage> {
+        @Override
+        public FilterType filterType() {
+            return FilterType.INBOUND;
+        }
+
+        @Override
+        public int filterOrder() {
+            return 0;
+        }
+
+        @Override
+        public boolean shouldFilter(ZuulMessage msg) {
+            return false;
+        }
+
+        @Override
+        public ZuulMessage apply(ZuulMessage msg) {
+            return msg;
+        }
+    }
 }
@@ -39,11 +39,14 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelOutboundHandlerAdapter;
 import io.netty.channel.ChannelPromise;
 import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.DefaultHttpContent;
 import io.netty.handler.codec.http.DefaultHttpRequest;
+import io.netty.handler.codec.http.DefaultLastHttpContent;
 import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.HttpVersion;
 import io.netty.util.ReferenceCountUtil;
+import java.nio.charset.StandardCharsets;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import org.junit.jupiter.api.Test;
@@ -275,4 +278,75 @@ class ClientResponseWriterTest {
         request.disposeBufferedBody();
         channel.close();
     }
+
+    @Test
+    void coalescesFlushesWithinOriginRead() {
+        ClientResponseWriter responseWriter = new ClientResponseWriter(new BasicRequestCompleteHandler());
+        AtomicInteger flushes = new AtomicInteger();
+        EmbeddedChannel channel = newStreamingChannel(responseWriter, flushes);
+        startResponse(channel, new Headers());
+        int flushesAfterHeaders = flushes.get();
+
+        responseWriter.originReadInProgress();
+        channel.writeInbound(new DefaultHttpContent(Unpooled.copiedBuffer("a", StandardCharsets.UTF_8)));
+        channel.writeInbound(new DefaultHttpContent(Unpooled.copiedBuffer("b", StandardCharsets.UTF_8)));
+        assertThat(flushes.get()).isEqualTo(flushesAfterHeaders);
+
+        responseWriter.originReadComplete();
+        assertThat(flushes.get()).isEqualTo(flushesAfterHeaders + 1);
+
+        responseWriter.originReadInProgress();
+        channel.writeInbound(new DefaultLastHttpContent());
+        assertThat(flushes.get()).isEqualTo(flushesAfterHeaders + 2);
+        channel.close();
+    }
+
+    @Test
+    void flushesEventStreamChunksImmediately() {
+        ClientResponseWriter responseWriter = new ClientResponseWriter(new BasicRequestCompleteHandler());
+        AtomicInteger flushes = new AtomicInteger();
+        EmbeddedChannel channel = newStreamingChannel(responseWriter, flushes);
+        Headers headers = new Headers();
+        headers.set("Content-Type", "text/event-stream; charset=utf-8");
+        startResponse(channel, headers);
+        int flushesAfterHeaders = flushes.get();
+
+        responseWriter.originReadInProgress();
+        channel.writeInbound(new DefaultHttpContent(Unpooled.copiedBuffer("a", StandardCharsets.UTF_8)));
+
+        assertThat(flushes.get()).isEqualTo(flushesAfterHeaders + 1);
+        channel.close();
+    }
+
+    private static EmbeddedChannel newStreamingChannel(ClientResponseWriter responseWriter, AtomicInteger flushes) {
+        EmbeddedChannel channel = new EmbeddedChannel(responseWriter);
+        channel.pipeline().addFirst(new ChannelOutboundHandlerAdapter() {
+            @Override
+            public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+                ReferenceCountUtil.safeRelease(msg);
+                promise.setSuccess();
+            }
+
+            @Override
+            public void flush(ChannelHandlerContext ctx) {
+                flushes.incrementAndGet();
+            }
+        });
+        return channel;
+    }
+
+    private static void startResponse(EmbeddedChannel channel, Headers headers) {
+        SessionContext ctx = new SessionContext();
+        HttpRequestMessage request = new HttpRequestBuilder(ctx).build();
+        request.storeInboundRequest();
+        HttpResponseMessageImpl response = new HttpResponseMessageImpl(ctx, request, 200);
+        response.setHeaders(headers);
+
+        channel.attr(ClientRequestReceiver.ATTR_ZUUL_REQ).set(request);
+        DefaultHttpRequest nettyRequest = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/");
+        ctx.set(CommonContextKeys.NETTY_HTTP_REQUEST, nettyRequest);
+
+        channel.pipeline().fireUserEventTriggered(new HttpLifecycleChannelHandler.StartEvent(nettyRequest));
+        channel.writeInbound(response);
+    }
 }
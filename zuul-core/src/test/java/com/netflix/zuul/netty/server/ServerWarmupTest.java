@@ -0,0 +1,149 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.netty.server;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.netflix.config.ConfigurationManager;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.MultiThreadIoEventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.channel.nio.NioIoHandler;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.HttpVersion;
+import java.net.InetSocketAddress;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.commons.configuration.AbstractConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link ServerWarmup}.
+ */
+class ServerWarmupTest {
+
+    private EventLoopGroup group;
+
+    @BeforeEach
+    void setUp() {
+        group = new MultiThreadIoEventLoopGroup(2, NioIoHandler.newFactory());
+        AbstractConfiguration config = ConfigurationManager.getConfigInstance();
+        config.setProperty("zuul.server.warmup.requests.max", "50");
+        config.setProperty("zuul.server.warmup.concurrency", "2");
+        config.setProperty("zuul.server.warmup.jit.settled.ms", "-1");
+    }
+
+    @AfterEach
+    void tearDown() {
+        AbstractConfiguration config = ConfigurationManager.getConfigInstance();
+        config.clearProperty("zuul.server.warmup.requests.max");
+        config.clearProperty("zuul.server.warmup.concurrency");
+        config.clearProperty("zuul.server.warmup.jit.settled.ms");
+        config.clearProperty("zuul.server.warmup.listener");
+        group.shutdownGracefully();
+    }
+
+    @Test
+    void sendsRequestBudgetOverWarmupChannels() throws Exception {
+        AtomicInteger requests = new AtomicInteger();
+        AtomicInteger onWarmupChannels = new AtomicInteger();
+        ChannelInitializer<Channel> initializer = new ChannelInitializer<Channel>() {
+            @Override
+            protected void initChannel(Channel ch) {
+                ch.pipeline().addLast(new HttpServerCodec(), new HttpObjectAggregator(1024));
+                ch.pipeline().addLast(new SimpleChannelInboundHandler<FullHttpRequest>() {
+                    @Override
+                    protected void channelRead0(ChannelHandlerContext ctx, FullHttpRequest request) {
+                        requests.incrementAndGet();
+                        if (ServerWarmup.isWarmupChannel(ctx.channel())) {
+                            onWarmupChannels.incrementAndGet();
+                        }
+                        FullHttpResponse response = new DefaultFullHttpResponse(
+                                HttpVersion.HTTP_1_1, HttpResponseStatus.OK, Unpooled.EMPTY_BUFFER);
+                        HttpUtil.setContentLength(response, 0);
+                        ctx.writeAndFlush(response);
+                    }
+                });
+            }
+        };
+
+        ServerWarmup.Result result = new ServerWarmup(
+                        group, group, NioServerSocketChannel.class, NioSocketChannel.class, initializer)
+                .run();
+
+        assertThat(result.requests()).isEqualTo(50);
+        assertThat(result.failures()).isZero();
+        assertThat(result.stopReason()).isEqualTo("request budget used up");
+        assertThat(requests.get()).isEqualTo(50);
+        assertThat(onWarmupChannels.get()).isEqualTo(50);
+
+        // The stub origin is gone, and so is its route.
+        assertThat(ServerWarmup.getOrigin()).isNull();
+        assertThat(ConfigurationManager.getConfigInstance().containsKey("zuul-warmup.ribbon.listOfServers"))
+                .isFalse();
+    }
+
+    @Test
+    void choosesFirstTcpListenerUnlessNamed() {
+        ChannelInitializer<Channel> first = initializer();
+        ChannelInitializer<Channel> second = initializer();
+        Map<NamedSocketAddress, ChannelInitializer<?>> listeners = new LinkedHashMap<>();
+        listeners.put(new NamedSocketAddress("main", new InetSocketAddress(0)), first);
+        listeners.put(new NamedSocketAddress("admin", new InetSocketAddress(0)), second);
+
+        assertThat(ServerWarmup.chooseListener(listeners)).isSameAs(first);
+
+        ConfigurationManager.getConfigInstance().setProperty("zuul.server.warmup.listener", "admin");
+        assertThat(ServerWarmup.chooseListener(listeners)).isSameAs(second);
+
+        ConfigurationManager.getConfigInstance().setProperty("zuul.server.warmup.listener", "missing");
+        assertThat(ServerWarmup.chooseListener(listeners)).isNull();
+    }
+
+    @Test
+    void ordinaryChannelsAreNotWarmup() {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        assertThat(ServerWarmup.isWarmupChannel(channel)).isFalse();
+
+        channel.attr(ServerWarmup.WARMUP_CHANNEL).set(Boolean.TRUE);
+        assertThat(ServerWarmup.isWarmupChannel(channel)).isTrue();
+        channel.finishAndReleaseAll();
+    }
+
+    private static ChannelInitializer<Channel> initializer() {
+        return new ChannelInitializer<Channel>() {
+            @Override
+            protected void initChannel(Channel ch) {}
+        };
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.netty.server.push;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.netflix.config.ConfigurationManager;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.DefaultHttpRequest;
+import io.netty.handler.codec.http.DefaultLastHttpContent;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PushBatchSenderTest {
+
+    private PushConnectionRegistry registry;
+    private EmbeddedChannel sender;
+    private EmbeddedChannel client;
+
+    @BeforeEach
+    void setup() {
+        ConfigurationManager.getConfigInstance().setProperty("zuul.push.batch.enabled", "true");
+        registry = new PushConnectionRegistry();
+        sender = new EmbeddedChannel(new PushBatchSender(registry));
+        client = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+        registry.put("client1", new PushConnection(PushProtocol.WEBSOCKET, client.pipeline().firstContext()));
+    }
+
+    @AfterEach
+    void teardown() {
+        ConfigurationManager.getConfigInstance().clearProperty("zuul.push.batch.enabled");
+        sender.finishAndReleaseAll();
+        client.finishAndReleaseAll();
+    }
+
+    @Test
+    void sendsRecordsSplitAcrossChunks() {
+        String token = registry.get("client1").getSecureToken();
+        ByteBuf body = Unpooled.buffer();
+        writeRecord(body, "client1", token, "hello");
+        writeRecord(body, "client2", null, "nobody");
+        writeRecord(body, "client1", "AAAAAAAAAAAAAAAAAAAA", "forged");
+
+        sender.writeInbound(new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/push/batch"));
+        sender.writeInbound(new DefaultHttpContent(body.readRetainedSlice(7)));
+        sender.writeInbound(new DefaultLastHttpContent(body));
+        client.runPendingTasks();
+
+        TextWebSocketFrame frame = client.readOutbound();
+        assertThat(frame.text()).isEqualTo("hello");
+        frame.release();
+
+        Map<Integer, Integer> statuses = readStatuses();
+        assertThat(statuses).containsEntry(0, 200).containsEntry(1, 404).containsEntry(2, 403);
+        assertThat(sender.isOpen()).isTrue();
+    }
+
+    @Test
+    void oversizedPayloadEndsTheBatch() {
+        ByteBuf body = Unpooled.buffer();
+        body.writeShort(7).writeCharSequence("client1", StandardCharsets.UTF_8);
+        body.writeByte(0);
+        body.writeInt(PushBatchSender.MAX_PAYLOAD_BYTES.get() + 1);
+
+        sender.writeInbound(new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/push/batch"));
+        sender.writeInbound(new DefaultLastHttpContent(body));
+
+        assertThat(readStatuses()).containsExactly(Map.entry(0, 413));
+        assertThat(sender.isOpen()).isFalse();
+    }
+
+    @Test
+    void holdsPipelinedRequestUntilTheBatchHasEnded() {
+        ByteBuf body = Unpooled.buffer();
+        writeRecord(body, "client1", null, "hello");
+        HttpRequest next = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/push");
+
+        sender.writeInbound(new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/push/batch"));
+        sender.writeInbound(new DefaultLastHttpContent(body));
+        sender.writeInbound(next);
+
+        assertThat((Object) sender.readInbound()).isNull();
+        assertThat(sender.config().isAutoRead()).isFalse();
+
+        client.runPendingTasks();
+        ((TextWebSocketFrame) client.readOutbound()).release();
+
+        assertThat(readStatuses()).containsExactly(Map.entry(0, 200));
+        assertThat((Object) sender.readInbound()).isSameAs(next);
+        assertThat(sender.config().isAutoRead()).isTrue();
+    }
+
+    @Test
+    void doesNotDecodePipelinedFullRequestAsRecords() {
+        ByteBuf body = Unpooled.buffer();
+        writeRecord(body, "client1", null, "hello");
+        ByteBuf nextBody = Unpooled.buffer();
+        writeRecord(nextBody, "client1", null, "not a batch");
+        FullHttpRequest next = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/push", nextBody);
+
+        sender.writeInbound(new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/push/batch"));
+        sender.writeInbound(new DefaultLastHttpContent(body));
+        sender.writeInbound(next);
+        client.runPendingTasks();
+
+        TextWebSocketFrame frame = client.readOutbound();
+        assertThat(frame.text()).isEqualTo("hello");
+        frame.release();
+        assertThat((Object) client.readOutbound()).isNull();
+
+        assertThat(readStatuses()).containsExactly(Map.entry(0, 200));
+        assertThat((Object) sender.readInbound()).isSameAs(next);
+        assertThat(next.refCnt()).isEqualTo(1);
+        next.release();
+    }
+
+    @Test
+    void stopsReportingOnceMalformed() {
+        ByteBuf body = Unpooled.buffer();
+        writeRecord(body, "client1", null, "hello");
+        body.writeShort(7);
+
+        sender.writeInbound(new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/push/batch"));
+        sender.writeInbound(new DefaultLastHttpContent(body));
+        client.runPendingTasks();
+        ((TextWebSocketFrame) client.readOutbound()).release();
+
+        assertThat(readStatuses()).containsExactly(Map.entry(1, 400));
+        assertThat(sender.isOpen()).isFalse();
+    }
+
+    @Test
+    void answersExpectContinueBeforeTheBody() {
+        HttpRequest request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/push/batch");
+        request.headers().set(HttpHeaderNames.EXPECT, HttpHeaderValues.CONTINUE);
+
+        sender.writeInbound(request);
+
+        HttpResponse continueResponse = sender.readOutbound();
+        assertThat(continueResponse.status()).isEqualTo(HttpResponseStatus.CONTINUE);
+
+        ByteBuf body = Unpooled.buffer();
+        writeRecord(body, "client2", null, "nobody");
+        sender.writeInbound(new DefaultLastHttpContent(body));
+
+        assertThat(readStatuses()).containsExactly(Map.entry(0, 404));
+    }
+
+    @Test
+    void passesUnsupportedExpectationsThrough() {
+        HttpRequest request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/push/batch");
+        request.headers().set(HttpHeaderNames.EXPECT, "something-else");
+
+        sender.writeInbound(request);
+
+        assertThat((Object) sender.readInbound()).isSameAs(request);
+        assertThat((Object) sender.readOutbound()).isNull();
+    }
+
+    @Test
+    void passesOtherRequestsThrough() {
+        HttpRequest request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/push");
+
+        sender.writeInbound(request);
+
+        assertThat((Object) sender.readInbound()).isSameAs(request);
+    }
+
+    private Map<Integer, Integer> readStatuses() {
+        HttpResponse response = sender.readOutbound();
+        assertThat(response.status().code()).isEqualTo(200);
+
+        Map<Integer, Integer> statuses = new HashMap<>();
+        Object msg;
+        while ((msg = sender.readOutbound()) != null) {
+            HttpContent content = (HttpContent) msg;
+            ByteBuf buf = content.content();
+            while (buf.readableBytes() >= PushBatchSender.RESULT_BYTES) {
+                statuses.put(buf.readInt(), (int) buf.readShort());
+            }
+            content.release();
+            if (msg instanceof LastHttpContent) {
+                return statuses;
+            }
+        }
+        throw new AssertionError("Response was not completed");
+    }
+
+    private static void writeRecord(ByteBuf body, String clientId, String token, String payload) {
+        byte[] id = clientId.getBytes(StandardCharsets.UTF_8);
+        body.writeShort(id.length).writeBytes(id);
+        if (token == null) {
+            body.writeByte(0);
+        } else {
+            body.writeByte(token.length()).writeCharSequence(token, StandardCharsets.US_ASCII);
+        }
+        byte[] data = payload.getBytes(StandardCharsets.UTF_8);
+        body.writeInt(data.length).writeBytes(data);
+    }
+}
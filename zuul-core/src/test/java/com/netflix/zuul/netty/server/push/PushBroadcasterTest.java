@@ -0,0 +1,125 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.netty.server.push;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PushBroadcasterTest {
+
+    private PushConnectionRegistry registry;
+    private PushBroadcaster broadcaster;
+
+    @BeforeEach
+    void setup() {
+        registry = new PushConnectionRegistry();
+        broadcaster = new PushBroadcaster(registry);
+    }
+
+    @Test
+    void broadcastSharesOneEncodedFrame() {
+        EmbeddedChannel first = connect("client1", PushProtocol.SSE);
+        EmbeddedChannel second = connect("client2", PushProtocol.SSE);
+
+        CompletableFuture<PushBroadcaster.Result> result = broadcaster.broadcast(message("hello"));
+        first.runPendingTasks();
+        second.runPendingTasks();
+
+        ByteBuf firstOut = first.readOutbound();
+        ByteBuf secondOut = second.readOutbound();
+        assertThat(firstOut.toString(StandardCharsets.UTF_8)).isEqualTo("event: push\r\ndata: hello\r\n\r\n");
+        assertThat(firstOut.unwrap()).isSameAs(secondOut.unwrap());
+        assertThat(result.join()).isEqualTo(new PushBroadcaster.Result(2, 2, 0, 0));
+
+        ByteBuf encoded = firstOut.unwrap();
+        firstOut.release();
+        secondOut.release();
+        assertThat(encoded.refCnt()).isEqualTo(0);
+    }
+
+    @Test
+    void publishOnlyReachesSubscribers() {
+        EmbeddedChannel subscribed = connect("client1", PushProtocol.WEBSOCKET);
+        EmbeddedChannel other = connect("client2", PushProtocol.WEBSOCKET);
+        registry.subscribe("news", registry.get("client1"));
+
+        CompletableFuture<PushBroadcaster.Result> result = broadcaster.publish("news", message("hello"));
+        subscribed.runPendingTasks();
+        other.runPendingTasks();
+
+        TextWebSocketFrame frame = subscribed.readOutbound();
+        assertThat(frame.text()).isEqualTo("hello");
+        frame.release();
+        assertThat((Object) other.readOutbound()).isNull();
+        assertThat(result.join()).isEqualTo(new PushBroadcaster.Result(1, 1, 0, 0));
+    }
+
+    @Test
+    void multicastCountsMissingAndClosedClients() {
+        EmbeddedChannel connected = connect("client1", PushProtocol.WEBSOCKET);
+        EmbeddedChannel closed = connect("client2", PushProtocol.WEBSOCKET);
+        closed.close();
+
+        CompletableFuture<PushBroadcaster.Result> result =
+                broadcaster.multicast(List.of("client1", "client2", "client3"), message("hello"));
+        connected.runPendingTasks();
+
+        TextWebSocketFrame frame = connected.readOutbound();
+        frame.release();
+        assertThat(result.join()).isEqualTo(new PushBroadcaster.Result(1, 1, 0, 2));
+    }
+
+    @Test
+    void emptyFanOutCompletesImmediately() {
+        ByteBuf mesg = message("hello");
+
+        CompletableFuture<PushBroadcaster.Result> result = broadcaster.publish("nobody", mesg);
+
+        assertThat(result.join()).isEqualTo(new PushBroadcaster.Result(0, 0, 0, 0));
+        assertThat(mesg.refCnt()).isEqualTo(0);
+    }
+
+    @Test
+    void removingConnectionUnsubscribesIt() {
+        connect("client1", PushProtocol.WEBSOCKET);
+        registry.subscribe("news", registry.get("client1"));
+
+        registry.remove("client1");
+
+        assertThat(registry.getSubscribers("news")).isEmpty();
+    }
+
+    private EmbeddedChannel connect(String clientId, PushProtocol protocol) {
+        EmbeddedChannel channel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+        registry.put(clientId, new PushConnection(protocol, channel.pipeline().firstContext()));
+        return channel;
+    }
+
+    private static ByteBuf message(String text) {
+        return Unpooled.copiedBuffer(text, StandardCharsets.UTF_8);
+    }
+}
@@ -20,8 +20,13 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
+import io.netty.util.concurrent.EventExecutor;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -86,4 +91,119 @@ class PushConnectionRegistryTest {
 
         assertThat(pushConnectionRegistry.size()).isEqualTo(1);
     }
+
+    @Test
+    void reconnectOnAnotherEventLoopReplacesConnection() {
+        PushConnection first = connectionOn(mock(EventExecutor.class));
+        PushConnection second = connectionOn(mock(EventExecutor.class));
+
+        pushConnectionRegistry.put("clientId1", first);
+        pushConnectionRegistry.put("clientId1", second);
+
+        assertThat(pushConnectionRegistry.get("clientId1")).isSameAs(second);
+        assertThat(pushConnectionRegistry.size()).isEqualTo(1);
+        assertThat(pushConnectionRegistry.remove("clientId1")).isSameAs(second);
+        assertThat(pushConnectionRegistry.size()).isEqualTo(0);
+    }
+
+    @Test
+    void concurrentReconnectsLeaveOneConnection() throws Exception {
+        EventExecutor loop1 = mock(EventExecutor.class);
+        EventExecutor loop2 = mock(EventExecutor.class);
+        PushConnection first = connectionOn(loop1);
+        PushConnection second = connectionOn(loop2);
+
+        for (int i = 0; i < 200; i++) {
+            CountDownLatch start = new CountDownLatch(1);
+            Thread t1 = new Thread(() -> putAfter(start, first));
+            Thread t2 = new Thread(() -> putAfter(start, second));
+            t1.start();
+            t2.start();
+            start.countDown();
+            t1.join();
+            t2.join();
+
+            PushConnection winner = pushConnectionRegistry.get("clientId1");
+            List<PushConnection> indexed = new ArrayList<>();
+            pushConnectionRegistry.forEach(loop1, (clientId, conn) -> indexed.add(conn));
+            pushConnectionRegistry.forEach(loop2, (clientId, conn) -> indexed.add(conn));
+            assertThat(indexed).containsExactly(winner);
+            assertThat(pushConnectionRegistry.size()).isEqualTo(1);
+        }
+    }
+
+    private void putAfter(CountDownLatch start, PushConnection conn) {
+        try {
+            start.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        pushConnectionRegistry.put("clientId1", conn);
+    }
+
+    @Test
+    void forEachVisitsOnlyTheEventLoopsConnections() {
+        EventExecutor loop1 = mock(EventExecutor.class);
+        EventExecutor loop2 = mock(EventExecutor.class);
+        pushConnectionRegistry.put("clientId1", connectionOn(loop1));
+        pushConnectionRegistry.put("clientId2", connectionOn(loop2));
+        pushConnectionRegistry.put("clientId3", connectionOn(loop2));
+
+        List<String> visited = new ArrayList<>();
+        pushConnectionRegistry.forEach(loop2, (clientId, conn) -> visited.add(clientId));
+        assertThat(visited).containsExactlyInAnyOrder("clientId2", "clientId3");
+
+        visited.clear();
+        pushConnectionRegistry.forEach((clientId, conn) -> visited.add(clientId));
+        assertThat(visited).containsExactlyInAnyOrder("clientId1", "clientId2", "clientId3");
+    }
+
+    @Test
+    void getAllEntriesIsALiveView() {
+        Map<String, PushConnection> entries = pushConnectionRegistry.getAllEntries();
+        PushConnection conn = connectionOn(mock(EventExecutor.class));
+
+        pushConnectionRegistry.put("clientId1", conn);
+        pushConnectionRegistry.put("clientId2", pushConnection);
+
+        assertThat(entries).hasSize(2).containsEntry("clientId1", conn).containsEntry("clientId2", pushConnection);
+    }
+
+    @Test
+    void removeUnsubscribesFromItsTopics() {
+        PushConnection other = connectionOn(mock(EventExecutor.class));
+        pushConnectionRegistry.put("clientId1", pushConnection);
+        pushConnectionRegistry.put("clientId2", other);
+        pushConnectionRegistry.subscribe("news", pushConnection);
+        pushConnectionRegistry.subscribe("sports", pushConnection);
+        pushConnectionRegistry.subscribe("news", other);
+
+        pushConnectionRegistry.remove("clientId1");
+
+        assertThat(pushConnectionRegistry.getSubscribers("news")).containsExactly(other);
+        assertThat(pushConnectionRegistry.getSubscribers("sports")).isEmpty();
+
+        // Once unsubscribed, removing the connection leaves the topic alone.
+        pushConnectionRegistry.unsubscribe("news", other);
+        pushConnectionRegistry.subscribe("news", pushConnection);
+        pushConnectionRegistry.remove("clientId2");
+        assertThat(pushConnectionRegistry.getSubscribers("news")).containsExactly(pushConnection);
+    }
+
+    @Test
+    void reconnectUnsubscribesTheReplacedConnection() {
+        PushConnection next = connectionOn(mock(EventExecutor.class));
+        pushConnectionRegistry.put("clientId1", pushConnection);
+        pushConnectionRegistry.subscribe("news", pushConnection);
+
+        pushConnectionRegistry.put("clientId1", next);
+
+        assertThat(pushConnectionRegistry.getSubscribers("news")).isEmpty();
+    }
+
+    private static PushConnection connectionOn(EventExecutor eventLoop) {
+        PushConnection conn = mock(PushConnection.class);
+        when(conn.getEventLoop()).thenReturn(eventLoop);
+        return conn;
+    }
 }
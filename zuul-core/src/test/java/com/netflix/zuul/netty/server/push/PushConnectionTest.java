@@ -0,0 +1,142 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.netty.server.push;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.netflix.config.ConfigurationManager;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PushConnectionTest {
+
+    private PushConnection conn;
+
+    @BeforeEach
+    void setup() {
+        conn = new PushConnection(PushProtocol.WEBSOCKET, mock(ChannelHandlerContext.class));
+    }
+
+    @AfterEach
+    void teardown() {
+        ConfigurationManager.getConfigInstance().clearProperty("zuul.push.outbound.max.pending.bytes");
+    }
+
+    @Test
+    void secureTokenRoundTrips() {
+        String token = new PushConnectionRegistry().mintNewSecureToken();
+
+        conn.setSecureToken(token);
+
+        assertThat(conn.getSecureToken()).isEqualTo(token);
+        assertThat(conn.isSecureTokenEqual(token)).isTrue();
+        assertThat(conn.isSecureTokenEqual(new PushConnectionRegistry().mintNewSecureToken()))
+                .isFalse();
+    }
+
+    @Test
+    void secureTokenRejectsMalformedValues() {
+        conn.setSecureToken("AAAAAAAAAAAAAAAAAAAA");
+
+        assertThat(conn.isSecureTokenEqual("not base64!")).isFalse();
+        assertThat(conn.isSecureTokenEqual("AAAA")).isFalse();
+    }
+
+    @Test
+    void secureTokenKeepsTokensOfOtherSizes() {
+        conn.setSecureToken("custom token");
+
+        assertThat(conn.getSecureToken()).isEqualTo("custom token");
+        assertThat(conn.isSecureTokenEqual("custom token")).isTrue();
+        assertThat(conn.isSecureTokenEqual("AAAAAAAAAAAAAAAAAAAA")).isFalse();
+
+        String minted = new PushConnectionRegistry().mintNewSecureToken();
+        conn.setSecureToken(minted);
+        assertThat(conn.getSecureToken()).isEqualTo(minted);
+        assertThat(conn.isSecureTokenEqual("custom token")).isFalse();
+
+        conn.setSecureToken(null);
+        assertThat(conn.getSecureToken()).isNull();
+    }
+
+    @Test
+    void noSecureTokenByDefault() {
+        assertThat(conn.getSecureToken()).isNull();
+        assertThat(conn.isSecureTokenEqual("AAAAAAAAAAAAAAAAAAAA")).isFalse();
+    }
+
+    @Test
+    void rateLimitsAfterBurst() {
+        int rate = PushConnection.TOKEN_BUCKET_RATE.get();
+        for (int i = 0; i < rate; i++) {
+            assertThat(conn.isRateLimited()).isFalse();
+        }
+
+        assertThat(conn.isRateLimited()).isTrue();
+    }
+
+    @Test
+    void coalescesFlushes() {
+        EmbeddedChannel channel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+        PushConnection sse = new PushConnection(PushProtocol.SSE, channel.pipeline().firstContext());
+
+        ChannelFuture first = sse.sendPushMessage("one");
+        ChannelFuture second = sse.sendPushMessage("two");
+        assertThat((Object) channel.readOutbound()).isNull();
+
+        channel.runPendingTasks();
+
+        assertThat(first.isSuccess()).isTrue();
+        assertThat(second.isSuccess()).isTrue();
+        assertThat(readString(channel)).isEqualTo("event: push\r\ndata: one\r\n\r\n");
+        assertThat(readString(channel)).isEqualTo("event: push\r\ndata: two\r\n\r\n");
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void dropsMessagesForSlowClients() {
+        ConfigurationManager.getConfigInstance().setProperty("zuul.push.outbound.max.pending.bytes", "1");
+        EmbeddedChannel channel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+        PushConnection sse = new PushConnection(PushProtocol.SSE, channel.pipeline().firstContext());
+
+        ChannelFuture first = sse.sendPushMessage("one");
+        ChannelFuture second = sse.sendPushMessage("two");
+        channel.runPendingTasks();
+
+        assertThat(first.isSuccess()).isTrue();
+        assertThat(second.cause()).isSameAs(PushConnection.OUTBOUND_OVERFLOW);
+        assertThat(channel.isOpen()).isTrue();
+        channel.finishAndReleaseAll();
+    }
+
+    private static String readString(EmbeddedChannel channel) {
+        ByteBuf buf = channel.readOutbound();
+        try {
+            return buf.toString(StandardCharsets.UTF_8);
+        } finally {
+            buf.release();
+        }
+    }
+}
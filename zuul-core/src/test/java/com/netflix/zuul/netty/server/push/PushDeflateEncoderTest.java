@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.netty.server.push;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.netty.buffer.ByteBufUtil;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.WebSocketFrame;
+import io.netty.handler.codec.http.websocketx.extensions.WebSocketExtension;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PushDeflateEncoderTest {
+
+    private EmbeddedChannel channel;
+
+    @BeforeEach
+    void setup() {
+        channel = new EmbeddedChannel(new PushDeflateEncoder());
+    }
+
+    @AfterEach
+    void teardown() {
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void compressesEachMessageIndependently() throws DataFormatException {
+        String message = "{\"event\":\"update\",\"payload\":\"".repeat(40) + "\"}";
+
+        // Each message must inflate on its own, since no context is carried over between them.
+        for (int i = 0; i < 2; i++) {
+            channel.writeOutbound(new TextWebSocketFrame(message));
+            WebSocketFrame frame = channel.readOutbound();
+
+            assertThat(frame.rsv() & WebSocketExtension.RSV1).isEqualTo(WebSocketExtension.RSV1);
+            byte[] compressed = ByteBufUtil.getBytes(frame.content());
+            assertThat(compressed.length).isLessThan(message.length());
+            assertThat(inflate(compressed)).isEqualTo(message);
+            frame.release();
+        }
+    }
+
+    @Test
+    void sendsSmallMessagesUncompressed() {
+        channel.writeOutbound(new TextWebSocketFrame("hi"));
+        TextWebSocketFrame frame = channel.readOutbound();
+
+        assertThat(frame.rsv()).isZero();
+        assertThat(frame.text()).isEqualTo("hi");
+        frame.release();
+    }
+
+    private static String inflate(byte[] compressed) throws DataFormatException {
+        Inflater inflater = new Inflater(true);
+        try {
+            byte[] input = new byte[compressed.length + 4];
+            System.arraycopy(compressed, 0, input, 0, compressed.length);
+            input[input.length - 2] = (byte) 0xff;
+            input[input.length - 1] = (byte) 0xff;
+            inflater.setInput(input);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buf = new byte[1024];
+            int n;
+            while ((n = inflater.inflate(buf)) > 0) {
+                out.write(buf, 0, n);
+            }
+            return out.toString(StandardCharsets.UTF_8);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -58,4 +58,21 @@ class PushMessageSenderInitializerTest {
         assertThat(channel.pipeline().context(HttpObjectAggregator.class)).isNotNull();
         assertThat(channel.pipeline().get("mockHandler")).isNotNull();
     }
+
+    @Test
+    void addsBatchSenderBeforeAggregator() throws Exception {
+        PushMessageSenderInitializer withBatch = new PushMessageSenderInitializer(new PushConnectionRegistry()) {
+            @Override
+            protected void addPushMessageHandlers(ChannelPipeline pipeline) {
+                pipeline.addLast("mockHandler", handler);
+            }
+        };
+
+        withBatch.initChannel(channel);
+
+        assertThat(channel.pipeline().names())
+                .containsSubsequence(
+                        channel.pipeline().context(PushBatchSender.class).name(),
+                        channel.pipeline().context(HttpObjectAggregator.class).name());
+    }
 }
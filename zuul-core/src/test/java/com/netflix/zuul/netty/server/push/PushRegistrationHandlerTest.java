@@ -16,35 +16,27 @@
 package com.netflix.zuul.netty.server.push;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.anyLong;
-import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
-import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
-import com.google.common.util.concurrent.MoreExecutors;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelPipeline;
-import io.netty.channel.DefaultEventLoop;
 import io.netty.handler.codec.http.websocketx.CloseWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.PingWebSocketFrame;
 import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
-import io.netty.util.concurrent.ScheduledFuture;
-import java.util.ArrayList;
+import io.netty.util.concurrent.ImmediateEventExecutor;
+import java.util.Collection;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
-import org.junit.jupiter.api.AfterAll;
-import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
-import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 
 /**
@@ -53,10 +45,7 @@ import org.mockito.MockitoAnnotations;
  */
 class PushRegistrationHandlerTest {
 
-    private static ExecutorService EXECUTOR;
-
-    @Captor
-    private ArgumentCaptor<Runnable> scheduledCaptor;
+    private static final long TICK_MILLIS = 1000;
 
     @Captor
     private ArgumentCaptor<Object> writeCaptor;
@@ -75,28 +64,22 @@ class PushRegistrationHandlerTest {
 
     private PushConnectionRegistry registry;
     private PushRegistrationHandler handler;
-    private DefaultEventLoop eventLoopSpy;
+    private PushTimerWheel timerWheel;
     private TestAuth successfulAuth;
 
-    @BeforeAll
-    static void classSetup() {
-        EXECUTOR = Executors.newSingleThreadExecutor();
-    }
-
-    @AfterAll
-    static void classCleanup() {
-        MoreExecutors.shutdownAndAwaitTermination(EXECUTOR, 5, TimeUnit.SECONDS);
-    }
-
     @BeforeEach
     void setup() {
         MockitoAnnotations.openMocks(this);
         registry = new PushConnectionRegistry();
-        handler = new PushRegistrationHandler(registry, PushProtocol.WEBSOCKET);
+        timerWheel = new PushTimerWheel(ImmediateEventExecutor.INSTANCE, TICK_MILLIS, 64);
+        handler = new PushRegistrationHandler(registry, PushProtocol.WEBSOCKET) {
+            @Override
+            protected PushTimerWheel timerWheel(ChannelHandlerContext ctx) {
+                return timerWheel;
+            }
+        };
         successfulAuth = new TestAuth(true);
 
-        eventLoopSpy = spy(new DefaultEventLoop(EXECUTOR));
-        doReturn(eventLoopSpy).when(context).executor();
         doReturn(channelFuture).when(context).writeAndFlush(writeCaptor.capture());
         doReturn(pipelineMock).when(context).pipeline();
         doReturn(channel).when(context).channel();
@@ -106,8 +89,7 @@ class PushRegistrationHandlerTest {
     void closeIfNotAuthenticated() throws Exception {
         doHandshakeComplete();
 
-        Runnable scheduledTask = scheduledCaptor.getValue();
-        scheduledTask.run();
+        advanceSeconds(PushRegistrationHandler.UNAUTHENTICATED_CONN_TTL.get());
 
         validateConnectionClosed(1000, "Server closed connection");
     }
@@ -123,36 +105,73 @@ class PushRegistrationHandlerTest {
     void authSuccess() throws Exception {
         doHandshakeComplete();
         authenticateChannel();
+
+        // The unauthenticated TTL no longer applies.
+        advanceSeconds(PushRegistrationHandler.UNAUTHENTICATED_CONN_TTL.get());
+        verify(context, never()).writeAndFlush(any());
     }
 
     @Test
     void requestClientToCloseInactiveConnection() throws Exception {
         doHandshakeComplete();
-        Mockito.reset(eventLoopSpy);
         authenticateChannel();
-        verify(eventLoopSpy).schedule(scheduledCaptor.capture(), anyLong(), eq(TimeUnit.SECONDS));
-        Runnable requestClientToClose = scheduledCaptor.getValue();
 
-        requestClientToClose.run();
+        advanceUntilWritten();
+
         validateConnectionClosed(1000, "Server closed connection");
     }
 
     @Test
     void requestClientToClose() throws Exception {
         doHandshakeComplete();
-        Mockito.reset(eventLoopSpy);
         authenticateChannel();
-        verify(eventLoopSpy).schedule(scheduledCaptor.capture(), anyLong(), eq(TimeUnit.SECONDS));
-        Runnable requestClientToClose = scheduledCaptor.getValue();
-
-        int taskListSize = handler.getScheduledFutures().size();
         doReturn(true).when(channel).isActive();
-        requestClientToClose.run();
-        assertThat(handler.getScheduledFutures().size()).isEqualTo(taskListSize + 1);
+
+        advanceUntilWritten();
+
         Object capture = writeCaptor.getValue();
         assertThat(capture instanceof TextWebSocketFrame).isTrue();
         TextWebSocketFrame frame = (TextWebSocketFrame) capture;
         assertThat(frame.text()).isEqualTo("_CLOSE_");
+        assertThat(handler.getLifecycleTimer().isScheduled()).isTrue();
+
+        advanceSeconds(PushRegistrationHandler.CLIENT_CLOSE_GRACE_PERIOD.get());
+        validateConnectionClosed(1000, "Server closed connection");
+    }
+
+    @Test
+    void keepAlivePingsAreFlushedAfterTheTick() throws Exception {
+        doHandshakeComplete();
+        authenticateChannel();
+
+        advanceSeconds(PushRegistrationHandler.KEEP_ALIVE_INTERVAL.get());
+
+        verify(context).write(any(PingWebSocketFrame.class));
+        verify(context).flush();
+        assertThat(handler.getKeepAliveTimer().isScheduled()).isTrue();
+    }
+
+    @Test
+    void subscribesToTopicsOnRegistration() throws Exception {
+        handler = new PushRegistrationHandler(registry, PushProtocol.WEBSOCKET) {
+            @Override
+            protected PushTimerWheel timerWheel(ChannelHandlerContext ctx) {
+                return timerWheel;
+            }
+
+            @Override
+            protected Collection<String> getTopics(PushUserAuth authEvent) {
+                return List.of("news", "sports");
+            }
+        };
+        doHandshakeComplete();
+        authenticateChannel();
+
+        assertThat(registry.getSubscribers("news")).containsExactly(handler.getPushConnection());
+        assertThat(registry.getSubscribers("sports")).containsExactly(handler.getPushConnection());
+
+        handler.channelInactive(context);
+        assertThat(registry.getSubscribers("news")).isEmpty();
     }
 
     @Test
@@ -161,28 +180,42 @@ class PushRegistrationHandlerTest {
         TestAuth testAuth = new TestAuth(true);
         authenticateChannel();
 
-        List<ScheduledFuture<?>> copyOfFutures = new ArrayList<>(handler.getScheduledFutures());
-
         handler.channelInactive(context);
         assertThat(registry.get(testAuth.getClientIdentity())).isNull();
-        assertThat(handler.getScheduledFutures().isEmpty()).isTrue();
-        copyOfFutures.forEach(f -> assertThat(f.isCancelled()).isTrue());
+        assertThat(handler.getLifecycleTimer().isScheduled()).isFalse();
+        assertThat(handler.getKeepAliveTimer().isScheduled()).isFalse();
         verify(context).close();
     }
 
     private void doHandshakeComplete() throws Exception {
         handler.userEventTriggered(context, PushProtocol.WEBSOCKET.getHandshakeCompleteEvent());
         assertThat(handler.getPushConnection()).isNotNull();
-        verify(eventLoopSpy).schedule(scheduledCaptor.capture(), anyLong(), eq(TimeUnit.SECONDS));
+        assertThat(handler.getLifecycleTimer().isScheduled()).isTrue();
     }
 
     private void authenticateChannel() throws Exception {
         handler.userEventTriggered(context, successfulAuth);
         assertThat(registry.get(successfulAuth.getClientIdentity())).isNotNull();
-        assertThat(handler.getScheduledFutures().size()).isEqualTo(2);
+        assertThat(handler.getLifecycleTimer().isScheduled()).isTrue();
+        assertThat(handler.getKeepAliveTimer().isScheduled()).isTrue();
         verify(pipelineMock).remove(PushAuthHandler.NAME);
     }
 
+    private void advanceSeconds(int seconds) {
+        for (long i = 0; i < seconds * 1000L / TICK_MILLIS; i++) {
+            timerWheel.tick();
+        }
+    }
+
+    /** Ticks until the reconnect deadline makes the handler write to the client. */
+    private void advanceUntilWritten() {
+        long maxTicks = PushRegistrationHandler.PUSH_REGISTRY_TTL.get() * 1000L / TICK_MILLIS;
+        for (long i = 0; i < maxTicks && writeCaptor.getAllValues().isEmpty(); i++) {
+            timerWheel.tick();
+        }
+        assertThat(writeCaptor.getAllValues()).isNotEmpty();
+    }
+
     private void validateConnectionClosed(int expected, String messaged) {
         Object capture = writeCaptor.getValue();
         assertThat(capture instanceof CloseWebSocketFrame).isTrue();
@@ -191,7 +224,6 @@ class PushRegistrationHandlerTest {
         assertThat(closeFrame.reasonText()).isEqualTo(messaged);
         verify(channelFuture).addListener(ChannelFutureListener.CLOSE);
     }
-
     private static class TestAuth implements PushUserAuth {
 
         private final boolean success;
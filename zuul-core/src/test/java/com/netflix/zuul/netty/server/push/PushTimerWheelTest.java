@@ -0,0 +1,129 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.netty.server.push;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.util.concurrent.ImmediateEventExecutor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+class PushTimerWheelTest {
+
+    private PushTimerWheel wheel;
+    private List<String> fired;
+
+    @BeforeEach
+    void setup() {
+        wheel = new PushTimerWheel(ImmediateEventExecutor.INSTANCE, 100, 8);
+        fired = new ArrayList<>();
+    }
+
+    @Test
+    void firesAfterDeadlineRoundedUpToTick() {
+        wheel.newTimer(() -> fired.add("a")).schedule(250, TimeUnit.MILLISECONDS);
+
+        tick(2);
+        assertThat(fired).isEmpty();
+        tick(1);
+        assertThat(fired).containsExactly("a");
+    }
+
+    @Test
+    void timersBeyondOneRevolutionWaitForTheirRound() {
+        wheel.newTimer(() -> fired.add("a")).schedule(2, TimeUnit.SECONDS);
+
+        tick(8);
+        assertThat(fired).isEmpty();
+        tick(12);
+        assertThat(fired).containsExactly("a");
+    }
+
+    @Test
+    void cancelAndReschedule() {
+        PushTimerWheel.Timer a = wheel.newTimer(() -> fired.add("a"));
+        PushTimerWheel.Timer b = wheel.newTimer(() -> fired.add("b"));
+        a.schedule(100, TimeUnit.MILLISECONDS);
+        b.schedule(100, TimeUnit.MILLISECONDS);
+
+        a.cancel();
+        b.schedule(300, TimeUnit.MILLISECONDS);
+        tick(1);
+        assertThat(fired).isEmpty();
+        assertThat(a.isScheduled()).isFalse();
+
+        tick(2);
+        assertThat(fired).containsExactly("b");
+        assertThat(b.isScheduled()).isFalse();
+    }
+
+    @Test
+    void timerCancelledByAnotherInTheSameTickDoesNotRun() {
+        PushTimerWheel.Timer[] timers = new PushTimerWheel.Timer[2];
+        timers[0] = wheel.newTimer(() -> {
+            fired.add("first");
+            timers[1].cancel();
+        });
+        timers[1] = wheel.newTimer(() -> {
+            fired.add("second");
+            timers[0].cancel();
+        });
+        timers[0].schedule(100, TimeUnit.MILLISECONDS);
+        timers[1].schedule(100, TimeUnit.MILLISECONDS);
+
+        tick(1);
+
+        assertThat(fired).hasSize(1);
+    }
+
+    @Test
+    void flushesAfterAllTimersInTickRan() {
+        ChannelHandlerContext ctx1 = mock(ChannelHandlerContext.class);
+        ChannelHandlerContext ctx2 = mock(ChannelHandlerContext.class);
+        wheel.newTimer(() -> {
+                    ctx1.write("ping");
+                    wheel.flushAfterTick(ctx1);
+                })
+                .schedule(100, TimeUnit.MILLISECONDS);
+        wheel.newTimer(() -> {
+                    ctx2.write("ping");
+                    wheel.flushAfterTick(ctx2);
+                })
+                .schedule(100, TimeUnit.MILLISECONDS);
+
+        tick(1);
+
+        InOrder inOrder = inOrder(ctx1, ctx2);
+        inOrder.verify(ctx2).write("ping");
+        inOrder.verify(ctx1).write("ping");
+        inOrder.verify(ctx2).flush();
+        inOrder.verify(ctx1).flush();
+    }
+
+    private void tick(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            wheel.tick();
+        }
+    }
+}
@@ -17,16 +17,22 @@
 package com.netflix.zuul.netty.timeouts;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.when;
 
 import com.netflix.client.config.CommonClientConfigKey;
 import com.netflix.client.config.DefaultClientConfigImpl;
 import com.netflix.client.config.IClientConfig;
+import com.netflix.config.ConfigurationManager;
 import com.netflix.zuul.context.CommonContextKeys;
 import com.netflix.zuul.context.SessionContext;
+import com.netflix.zuul.exception.RequestExpiredException;
+import com.netflix.zuul.message.Headers;
 import com.netflix.zuul.message.http.HttpRequestMessage;
 import com.netflix.zuul.origins.NettyOrigin;
 import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -68,6 +74,11 @@ class OriginTimeoutManagerTest {
         when(origin.getClientConfig()).thenReturn(originConfig);
     }
 
+    @AfterEach
+    void after() {
+        ConfigurationManager.getConfigInstance().clearProperty("zuul.request.deadline.enabled");
+    }
+
     @Test
     void computeReadTimeout_default() {
         Duration timeout = originTimeoutManager.computeReadTimeout(request, 1);
@@ -136,4 +147,96 @@ class OriginTimeoutManagerTest {
 
         assertThat(timeout.toMillis()).isEqualTo(OriginTimeoutManager.MAX_OUTBOUND_READ_TIMEOUT_MS.get());
     }
+
+    @Test
+    void computeReadTimeout_deadlineFromHeader() {
+        ConfigurationManager.getConfigInstance().setProperty("zuul.request.deadline.enabled", "true");
+        originConfig.set(CommonClientConfigKey.ReadTimeout, 5000);
+        Headers headers = new Headers();
+        headers.set(OriginTimeoutManager.DEADLINE_HEADER.get(), "1000");
+        when(request.getHeaders()).thenReturn(headers);
+
+        Duration timeout = originTimeoutManager.computeReadTimeout(request, 1);
+
+        long maxBudget = 1000 - OriginTimeoutManager.DEADLINE_MARGIN_MS.get();
+        assertThat(timeout.toMillis()).isBetween(maxBudget - 200, maxBudget);
+        assertThat(headers.getFirst(OriginTimeoutManager.DEADLINE_HEADER.get()))
+                .isEqualTo(Long.toString(timeout.toMillis()));
+    }
+
+    @Test
+    void computeReadTimeout_retryUsesRemainingBudget() {
+        ConfigurationManager.getConfigInstance().setProperty("zuul.request.deadline.enabled", "true");
+        originConfig.set(CommonClientConfigKey.ReadTimeout, 5000);
+        when(request.getHeaders()).thenReturn(new Headers());
+        context.put(
+                CommonContextKeys.REQUEST_DEADLINE_NANOS, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(300));
+
+        Duration timeout = originTimeoutManager.computeReadTimeout(request, 2);
+
+        assertThat(timeout.toMillis()).isLessThanOrEqualTo(300 - OriginTimeoutManager.DEADLINE_MARGIN_MS.get());
+    }
+
+    @Test
+    void computeReadTimeout_failsFastWhenBudgetSpent() {
+        ConfigurationManager.getConfigInstance().setProperty("zuul.request.deadline.enabled", "true");
+        context.put(CommonContextKeys.REQUEST_DEADLINE_NANOS, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(10));
+
+        assertThatThrownBy(() -> originTimeoutManager.computeReadTimeout(request, 2))
+                .isInstanceOf(RequestExpiredException.class);
+    }
+
+    @Test
+    void computeReadTimeout_noDeadline() {
+        ConfigurationManager.getConfigInstance().setProperty("zuul.request.deadline.enabled", "true");
+        originConfig.set(CommonClientConfigKey.ReadTimeout, 1000);
+        when(request.getHeaders()).thenReturn(new Headers());
+
+        Duration timeout = originTimeoutManager.computeReadTimeout(request, 1);
+
+        assertThat(timeout.toMillis()).isEqualTo(1000);
+    }
+
+    @Test
+    void computeReadTimeout_hugeDeadlineIsClamped() {
+        ConfigurationManager.getConfigInstance().setProperty("zuul.request.deadline.enabled", "true");
+        originConfig.set(CommonClientConfigKey.ReadTimeout, 1000);
+        Headers headers = new Headers();
+        headers.set(OriginTimeoutManager.DEADLINE_HEADER.get(), Long.toString(Long.MAX_VALUE));
+        when(request.getHeaders()).thenReturn(headers);
+
+        Duration timeout = originTimeoutManager.computeReadTimeout(request, 1);
+
+        assertThat(timeout.toMillis()).isEqualTo(1000);
+    }
+
+    @Test
+    void computeReadTimeout_negativeDeadlineIsIgnored() {
+        ConfigurationManager.getConfigInstance().setProperty("zuul.request.deadline.enabled", "true");
+        originConfig.set(CommonClientConfigKey.ReadTimeout, 1000);
+        Headers headers = new Headers();
+        headers.set(OriginTimeoutManager.DEADLINE_HEADER.get(), "-5");
+        when(request.getHeaders()).thenReturn(headers);
+
+        Duration timeout = originTimeoutManager.computeReadTimeout(request, 1);
+
+        assertThat(timeout.toMillis()).isEqualTo(1000);
+    }
+
+    @Test
+    void computeReadTimeout_usesRequestClientConfigHook() {
+        ConfigurationManager.getConfigInstance().setProperty("zuul.request.deadline.enabled", "true");
+        when(request.getHeaders()).thenReturn(new Headers());
+        IClientConfig override = new DefaultClientConfigImpl();
+        override.set(CommonClientConfigKey.ReadTimeout, 700);
+        originConfig.set(CommonClientConfigKey.ReadTimeout, 1000);
+        OriginTimeoutManager manager = new OriginTimeoutManager(origin) {
+            @Override
+            protected IClientConfig getRequestClientConfig(HttpRequestMessage zuulRequest) {
+                return override;
+            }
+        };
+
+        assertThat(manager.computeReadTimeout(request, 1).toMillis()).isEqualTo(700);
+    }
 }
@@ -21,6 +21,8 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.when;
 
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.zuul.discovery.DiscoveryResult;
 import com.netflix.zuul.exception.OutboundErrorType;
 import com.netflix.zuul.netty.connectionpool.OriginConnectException;
 import io.netty.handler.codec.http2.DefaultHttp2Connection;
@@ -115,4 +117,42 @@ public class RequestAttemptTest {
                 .isEqualTo(
                         "io.netty.handler.codec.http2.DefaultHttp2Connection.createStream(DefaultHttp2Connection.java:772)");
     }
+
+    @Test
+    void resolvesServerFieldsLazily() {
+        InstanceInfo instanceInfo = InstanceInfo.Builder.newBuilder()
+                .setAppName("App")
+                .setASGName("app-v001")
+                .setInstanceId("i-123")
+                .setHostName("192.168.0.1")
+                .setPort(7001)
+                .build();
+
+        RequestAttempt attempt = new RequestAttempt(DiscoveryResult.from(instanceInfo, false), null, null, 1, 1000);
+
+        assertThat(attempt.getApp()).isEqualTo("app");
+        assertThat(attempt.getAsg()).isEqualTo("app-v001");
+        assertThat(attempt.getInstanceId()).isEqualTo("i-123");
+
+        attempt.setAsg("overridden");
+        assertThat(attempt.getAsg()).isEqualTo("overridden");
+    }
+
+    @Test
+    void streamingJsonMatchesTree() {
+        RequestAttempt first = new RequestAttempt(1, null, null, "target", "chosen", -1, null, null, 100, 50, 1);
+        first.setException(new RuntimeException("runtime failure"));
+        first.setIpAddress("10.0.0.1");
+        first.setPort(7001);
+        RequestAttempt second = new RequestAttempt(2, null, null, "target", "chosen", 200, null, null, 100, 50, 1);
+        second.complete(200, 12, null);
+
+        RequestAttempts attempts = new RequestAttempts();
+        attempts.add(first);
+        attempts.add(second);
+
+        assertThat(first.toString()).isEqualTo(first.toJsonNode().toString());
+        assertThat(attempts.toJSON())
+                .isEqualTo("[" + first.toJsonNode() + "," + second.toJsonNode() + "]");
+    }
 }
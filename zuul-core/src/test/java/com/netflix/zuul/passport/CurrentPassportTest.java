@@ -18,7 +18,10 @@ package com.netflix.zuul.passport;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.google.common.base.Ticker;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.Test;
 
 class CurrentPassportTest {
@@ -97,4 +100,94 @@ class CurrentPassportTest {
     void testGetStateWithNoHistory() {
         assertThat(CurrentPassport.create().getState()).isNull();
     }
+
+    @Test
+    void toStringRoundTrips() {
+        String text = "CurrentPassport {start_ms=0, [+0=IN_REQ_HEADERS_RECEIVED, +5=FILTERS_INBOUND_START,"
+                + " +50=IN_REQ_LAST_CONTENT_RECEIVED, +350=FILTERS_INBOUND_END, +400=NOW]}";
+
+        assertThat(CurrentPassport.parseFromToString(text).toString()).isEqualTo(text);
+    }
+
+    @Test
+    void growsPastInitialCapacity() {
+        AtomicLong now = new AtomicLong();
+        CurrentPassport passport = new CurrentPassport(new Ticker() {
+            @Override
+            public long read() {
+                return now.getAndIncrement();
+            }
+        });
+
+        for (int i = 0; i < 100; i++) {
+            passport.add(PassportState.MISC_IO_START);
+            passport.add(PassportState.MISC_IO_STOP);
+        }
+
+        assertThat(passport.getHistory()).hasSize(200);
+        assertThat(passport.findEachPairOf(PassportState.MISC_IO_START, PassportState.MISC_IO_STOP))
+                .hasSize(100);
+        assertThat(passport.findState(PassportState.MISC_IO_STOP).getTime()).isEqualTo(1);
+        assertThat(passport.findStateBackwards(PassportState.MISC_IO_STOP).getTime())
+                .isEqualTo(199);
+        assertThat(passport.getState()).isEqualTo(PassportState.MISC_IO_STOP);
+    }
+
+    @Test
+    void addIfNotAlready() {
+        CurrentPassport passport = CurrentPassport.create();
+
+        passport.addIfNotAlready(PassportState.ORIGIN_CH_ACTIVE);
+        passport.addIfNotAlready(PassportState.ORIGIN_CH_ACTIVE);
+
+        assertThat(passport.findStates(PassportState.ORIGIN_CH_ACTIVE)).hasSize(1);
+        assertThat(passport.findState(PassportState.ORIGIN_CH_INACTIVE)).isNull();
+    }
+
+    @Test
+    void tracksEveryState() {
+        CurrentPassport passport = CurrentPassport.create();
+        for (PassportState state : PassportState.values()) {
+            passport.addIfNotAlready(state);
+            passport.addIfNotAlready(state);
+        }
+
+        // The six content states are discarded by default, every other state is recorded exactly once.
+        List<PassportState> added = passport.getHistory().stream()
+                .map(PassportItem::getState)
+                .toList();
+        assertThat(added).doesNotHaveDuplicates().hasSize(PassportState.values().length - 6);
+        for (PassportState state : added) {
+            assertThat(passport.findState(state)).isNotNull();
+        }
+    }
+
+    @Test
+    void concurrentAddsAreNotLost() throws InterruptedException {
+        CurrentPassport passport = CurrentPassport.create();
+        int perThread = 10_000;
+        CountDownLatch start = new CountDownLatch(1);
+        Thread client = new Thread(() -> addAll(passport, start, PassportState.MISC_IO_START, perThread));
+        Thread origin = new Thread(() -> addAll(passport, start, PassportState.MISC_IO_STOP, perThread));
+        client.start();
+        origin.start();
+        start.countDown();
+        client.join();
+        origin.join();
+
+        assertThat(passport.getHistory()).hasSize(perThread * 2);
+        assertThat(passport.findStates(PassportState.MISC_IO_START)).hasSize(perThread);
+        assertThat(passport.findStates(PassportState.MISC_IO_STOP)).hasSize(perThread);
+    }
+
+    private static void addAll(CurrentPassport passport, CountDownLatch start, PassportState state, int count) {
+        try {
+            start.await();
+        } catch (InterruptedException e) {
+            throw new AssertionError(e);
+        }
+        for (int i = 0; i < count; i++) {
+            passport.add(state);
+        }
+    }
 }
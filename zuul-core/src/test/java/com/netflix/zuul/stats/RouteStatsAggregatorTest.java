@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.stats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.netflix.config.ConfigurationManager;
+import com.netflix.spectator.api.DefaultRegistry;
+import com.netflix.spectator.api.Registry;
+import com.netflix.spectator.api.patterns.PolledMeter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link RouteStatsAggregator}.
+ */
+class RouteStatsAggregatorTest {
+
+    private final Registry registry = new DefaultRegistry();
+
+    @AfterEach
+    void tearDown() {
+        ConfigurationManager.getConfigInstance().clearProperty("zuul.stats.route.expire.idle.polls");
+    }
+
+    @Test
+    void countsByRouteStatusAndCause() {
+        RouteStatsAggregator stats = new RouteStatsAggregator(registry, "zuul.routeStats", 64, false);
+
+        stats.record("api", 200);
+        stats.record("api", 200);
+        stats.record("api", 503, "ORIGIN_TIMEOUT");
+        stats.record(null, 404);
+
+        assertThat(stats.getCount("api", 200, null)).isEqualTo(2);
+        assertThat(stats.getCount("api", 503, "ORIGIN_TIMEOUT")).isEqualTo(1);
+        assertThat(stats.getCount("", 404, null)).isEqualTo(1);
+
+        PolledMeter.update(registry);
+        assertThat(registry.gauge(registry.createId("zuul.routeStats", "route", "api", "status", "200"))
+                        .value())
+                .isEqualTo(2);
+        assertThat(registry.gauge(registry.createId(
+                                "zuul.routeStats", "route", "api", "status", "503", "cause", "ORIGIN_TIMEOUT"))
+                        .value())
+                .isEqualTo(1);
+        assertThat(registry.gauge(registry.createId("zuul.routeStats.keys")).value())
+                .isEqualTo(3);
+    }
+
+    @Test
+    void groupsStatusCodesByClass() {
+        RouteStatsAggregator stats = new RouteStatsAggregator(registry, "zuul.routeStats", 64, true);
+
+        stats.record("api", 500);
+        stats.record("api", 503);
+
+        assertThat(stats.getCount("api", 599, null)).isEqualTo(2);
+    }
+
+    @Test
+    void sendsKeysBeyondCapacityToOther() {
+        RouteStatsAggregator stats = new RouteStatsAggregator(registry, "zuul.routeStats", 4, false);
+
+        for (int i = 0; i < 100; i++) {
+            stats.record("/users/" + i, 200);
+        }
+
+        PolledMeter.update(registry);
+        assertThat(registry.gauge(registry.createId("zuul.routeStats.keys")).value())
+                .isEqualTo(4);
+        assertThat(registry.gauge(registry.createId(
+                                "zuul.routeStats", "route", RouteStatsAggregator.OTHER, "status", "2xx"))
+                        .value())
+                .isEqualTo(96);
+    }
+
+    @Test
+    void expiresIdleCellsAndReusesTheirSlots() {
+        ConfigurationManager.getConfigInstance().setProperty("zuul.stats.route.expire.idle.polls", "2");
+        RouteStatsAggregator stats = new RouteStatsAggregator(registry, "zuul.routeStats", 1, false);
+
+        stats.record("old", 200);
+        PolledMeter.update(registry);
+        assertThat(registry.gauge(registry.createId("zuul.routeStats", "route", "old", "status", "200"))
+                        .value())
+                .isEqualTo(1);
+
+        // Two polls without any change expire the cell.
+        PolledMeter.update(registry);
+        PolledMeter.update(registry);
+        assertThat(registry.gauge(registry.createId("zuul.routeStats.keys")).value())
+                .isZero();
+        assertThat(registry.gauge(registry.createId("zuul.routeStats", "route", "old", "status", "200"))
+                        .value())
+                .isNaN();
+
+        stats.record("new", 200);
+        assertThat(stats.getCount("new", 200, null)).isEqualTo(1);
+        assertThat(stats.getCount(RouteStatsAggregator.OTHER, 200, null)).isZero();
+    }
+}
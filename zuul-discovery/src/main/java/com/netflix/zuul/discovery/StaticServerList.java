@@ -0,0 +1,63 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.discovery;
+
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.loadbalancer.ConfigurationBasedServerList;
+import com.netflix.loadbalancer.Server;
+import com.netflix.niws.loadbalancer.DiscoveryEnabledServer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Server list for routing to fixed origins without Eureka, read from {@code <vip>.ribbon.listOfServers} as comma
+ * separated {@code host:port} pairs.
+ *
+ * <p>Zuul resolves origins to {@link DiscoveryEnabledServer}s, so unlike {@link ConfigurationBasedServerList} this
+ * wraps each address in a minimal {@link InstanceInfo}.
+ */
+public class StaticServerList extends ConfigurationBasedServerList {
+
+    @Override
+    protected List<Server> derive(String value) {
+        List<Server> servers = new ArrayList<>();
+        if (value == null) {
+            return servers;
+        }
+        for (String entry : value.split(",", -1)) {
+            String hostAndPort = entry.trim();
+            if (hostAndPort.isEmpty()) {
+                continue;
+            }
+            int colon = hostAndPort.lastIndexOf(':');
+            if (colon <= 0) {
+                throw new IllegalArgumentException("Expected host:port in listOfServers but got " + hostAndPort);
+            }
+            String host = hostAndPort.substring(0, colon);
+            int port = Integer.parseInt(hostAndPort.substring(colon + 1));
+            InstanceInfo instanceInfo = InstanceInfo.Builder.newBuilder()
+                    .setAppName("static")
+                    .setInstanceId(hostAndPort)
+                    .setHostName(host)
+                    .setIPAddr(host)
+                    .setPort(port)
+                    .build();
+            servers.add(new DiscoveryEnabledServer(instanceInfo, false, true));
+        }
+        return servers;
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.discovery;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.netflix.loadbalancer.Server;
+import com.netflix.niws.loadbalancer.DiscoveryEnabledServer;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class StaticServerListTest {
+
+    @Test
+    void derivesDiscoveryEnabledServers() {
+        List<Server> servers = new StaticServerList().derive("127.0.0.1:7001, localhost:8080,");
+
+        assertThat(servers).hasSize(2).allMatch(DiscoveryEnabledServer.class::isInstance);
+        assertThat(servers.get(0).getHost()).isEqualTo("127.0.0.1");
+        assertThat(servers.get(0).getPort()).isEqualTo(7001);
+        assertThat(servers.get(1).getHost()).isEqualTo("localhost");
+        assertThat(servers.get(1).getPort()).isEqualTo(8080);
+    }
+
+    @Test
+    void emptyWithoutServers() {
+        assertThat(new StaticServerList().derive(null)).isEmpty();
+        assertThat(new StaticServerList().derive("")).isEmpty();
+    }
+
+    @Test
+    void rejectsMissingPort() {
+        assertThatThrownBy(() -> new StaticServerList().derive("localhost"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
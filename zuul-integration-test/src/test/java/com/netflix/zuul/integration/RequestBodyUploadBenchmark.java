@@ -0,0 +1,230 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.integration;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.anyUrl;
+import static com.github.tomakehurst.wiremock.client.WireMock.ok;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import com.netflix.config.ConfigurationManager;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.X509TrustManager;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okio.BufferedSink;
+import org.apache.commons.configuration.AbstractConfiguration;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Uploads large request bodies through Zuul over HTTP/1.1 and HTTP/2, with origin-side flush batching on and off, and
+ * prints the throughput and the number of read and write syscalls the JVM made for each upload.
+ *
+ * <p>Syscall counts come from {@code /proc/self/io}, so they include the client and the origin, which run in the same
+ * JVM; compare runs against each other rather than reading them as absolute numbers for Zuul alone.
+ *
+ * <p>Not part of the regular build; run with {@code -Dzuul.benchmark=true}.
+ */
+@EnabledOnOs(OS.LINUX)
+@EnabledIfSystemProperty(named = "zuul.benchmark", matches = "true")
+class RequestBodyUploadBenchmark {
+
+    private static final int MB = 1024 * 1024;
+    private static final int WRITE_SIZE = 64 * 1024;
+
+    @RegisterExtension
+    static WireMockExtension wireMockExtension = WireMockExtension.newInstance()
+            .options(wireMockConfig().dynamicPort().disableRequestJournal())
+            .build();
+
+    @RegisterExtension
+    static ZuulServerExtension ZUUL_EXTENSION = ZuulServerExtension.newBuilder()
+            .withEventLoopThreads(1)
+            .withOriginReadTimeout(Duration.ofSeconds(60))
+            .build();
+
+    @BeforeAll
+    static void beforeAll() {
+        AbstractConfiguration config = ConfigurationManager.getConfigInstance();
+        config.setProperty("api.ribbon.listOfServers", "127.0.0.1:" + wireMockExtension.getPort());
+        config.setProperty("zuul.HttpRequestMessage.body.max.size", Integer.MAX_VALUE);
+        config.setProperty("server.http.request.headers.read.timeout.enabled", false);
+        wireMockExtension.getRuntimeInfo().getWireMock().register(post(anyUrl()).willReturn(ok()));
+    }
+
+    @AfterAll
+    static void afterAll() {
+        ConfigurationManager.getConfigInstance().clear();
+    }
+
+    static Stream<Arguments> uploads() {
+        List<Arguments> list = new ArrayList<>();
+        for (Protocol protocol : List.of(Protocol.HTTP_1_1, Protocol.HTTP_2)) {
+            for (int sizeMb : new int[] {1, 10, 100}) {
+                for (boolean batchFlushes : new boolean[] {false, true}) {
+                    list.add(Arguments.of(protocol, sizeMb, batchFlushes));
+                }
+            }
+        }
+        return list.stream();
+    }
+
+    @ParameterizedTest(name = "{0} {1}MB batch={2}")
+    @MethodSource("uploads")
+    void upload(Protocol protocol, int sizeMb, boolean batchFlushes) throws Exception {
+        ConfigurationManager.getConfigInstance()
+                .setProperty("zuul.origin.request.body.flush.batch", String.valueOf(batchFlushes));
+        OkHttpClient client = newClient(protocol);
+
+        // Warm up the connections and code paths before measuring.
+        upload(client, protocol, MB);
+
+        Map<String, Long> before = readProcIo();
+        long start = System.nanoTime();
+        upload(client, protocol, (long) sizeMb * MB);
+        long elapsedNanos = System.nanoTime() - start;
+        Map<String, Long> after = readProcIo();
+
+        double seconds = elapsedNanos / 1e9;
+        System.out.printf(
+                "%s %dMB batch=%s: %.1f MB/s, %d write syscalls, %d read syscalls%n",
+                protocol,
+                sizeMb,
+                batchFlushes,
+                sizeMb / seconds,
+                after.get("syscw") - before.get("syscw"),
+                after.get("syscr") - before.get("syscr"));
+        client.connectionPool().evictAll();
+    }
+
+    private static void upload(OkHttpClient client, Protocol protocol, long size) throws IOException {
+        Request request = new Request.Builder()
+                .url(baseUrl(protocol) + "/upload")
+                .post(new FixedSizeBody(size))
+                .build();
+        try (Response response = client.newCall(request).execute()) {
+            assertThat(response.code()).isEqualTo(200);
+            assertThat(response.protocol()).isEqualTo(protocol);
+        }
+    }
+
+    private static String baseUrl(Protocol protocol) {
+        return protocol == Protocol.HTTP_2
+                ? "https://localhost:" + ZUUL_EXTENSION.getHttp2Port()
+                : "http://localhost:" + ZUUL_EXTENSION.getServerPort();
+    }
+
+    private static OkHttpClient newClient(Protocol protocol) throws Exception {
+        OkHttpClient.Builder builder = new OkHttpClient.Builder()
+                .readTimeout(60, TimeUnit.SECONDS)
+                .writeTimeout(60, TimeUnit.SECONDS)
+                .retryOnConnectionFailure(false);
+        if (protocol == Protocol.HTTP_2) {
+            // The HTTP/2 listener uses a self-signed certificate.
+            X509TrustManager trustAll = new X509TrustManager() {
+                @Override
+                public void checkClientTrusted(X509Certificate[] chain, String authType) {}
+
+                @Override
+                public void checkServerTrusted(X509Certificate[] chain, String authType) {}
+
+                @Override
+                public X509Certificate[] getAcceptedIssuers() {
+                    return new X509Certificate[0];
+                }
+            };
+            SSLContext sslContext = SSLContext.getInstance("TLS");
+            sslContext.init(null, new X509TrustManager[] {trustAll}, new SecureRandom());
+            builder.sslSocketFactory(sslContext.getSocketFactory(), trustAll)
+                    .hostnameVerifier((host, session) -> true)
+                    .protocols(List.of(Protocol.HTTP_2, Protocol.HTTP_1_1));
+        } else {
+            builder.protocols(List.of(Protocol.HTTP_1_1));
+        }
+        return builder.build();
+    }
+
+    private static Map<String, Long> readProcIo() throws IOException {
+        Map<String, Long> values = new HashMap<>();
+        for (String line : Files.readAllLines(Path.of("/proc/self/io"))) {
+            int colon = line.indexOf(':');
+            if (colon > 0) {
+                values.put(line.substring(0, colon), Long.parseLong(line.substring(colon + 1).trim()));
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Streams the given number of bytes without holding the whole body in memory.
+     */
+    private static final class FixedSizeBody extends RequestBody {
+        private static final byte[] BLOCK = new byte[WRITE_SIZE];
+
+        private final long size;
+
+        FixedSizeBody(long size) {
+            this.size = size;
+        }
+
+        @Override
+        public MediaType contentType() {
+            return MediaType.get("application/octet-stream");
+        }
+
+        @Override
+        public long contentLength() {
+            return size;
+        }
+
+        @Override
+        public void writeTo(BufferedSink sink) throws IOException {
+            long remaining = size;
+            while (remaining > 0) {
+                int n = (int) Math.min(remaining, BLOCK.length);
+                sink.write(BLOCK, 0, n);
+                remaining -= n;
+            }
+        }
+    }
+}
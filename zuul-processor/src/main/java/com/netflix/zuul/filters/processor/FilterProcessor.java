@@ -17,6 +17,7 @@
 package com.netflix.zuul.filters.processor;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.netflix.zuul.Filter;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.FileNotFoundException;
@@ -32,10 +33,13 @@ import java.nio.file.NoSuchFileException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import javax.annotation.processing.AbstractProcessor;
 import javax.annotation.processing.Filer;
 import javax.annotation.processing.RoundEnvironment;
@@ -43,9 +47,12 @@ import javax.annotation.processing.SupportedAnnotationTypes;
 import javax.annotation.processing.SupportedSourceVersion;
 import javax.lang.model.SourceVersion;
 import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.ElementFilter;
 import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
 import javax.tools.StandardLocation;
 
 @SupportedAnnotationTypes(FilterProcessor.FILTER_TYPE)
@@ -53,37 +60,151 @@ import javax.tools.StandardLocation;
 public final class FilterProcessor extends AbstractProcessor {
 
     static final String FILTER_TYPE = "com.netflix.zuul.Filter";
+    static final String INDEX_SIMPLE_NAME = "ZuulFilterIndex";
+    static final String INDEX_SERVICE_RESOURCE = "META-INF/services/com.netflix.zuul.FilterIndex";
 
     private final Set<String> annotatedElements = new HashSet<>();
+    private final Set<String> generatedIndexes = new LinkedHashSet<>();
 
     @Override
     public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
         Set<? extends Element> annotated = roundEnv.getElementsAnnotatedWith(
                 processingEnv.getElementUtils().getTypeElement(FILTER_TYPE));
+        Map<String, List<TypeElement>> byPackage = new TreeMap<>();
         for (Element el : annotated) {
             if (el.getModifiers().contains(Modifier.ABSTRACT)) {
                 continue;
             }
-            annotatedElements.add(processingEnv
-                    .getElementUtils()
-                    .getBinaryName((TypeElement) el)
-                    .toString());
+            TypeElement type = (TypeElement) el;
+            annotatedElements.add(
+                    processingEnv.getElementUtils().getBinaryName(type).toString());
+            byPackage
+                    .computeIfAbsent(
+                            processingEnv
+                                    .getElementUtils()
+                                    .getPackageOf(type)
+                                    .getQualifiedName()
+                                    .toString(),
+                            k -> new ArrayList<>())
+                    .add(type);
         }
 
-        if (roundEnv.processingOver()) {
-            try {
+        try {
+            // Sources are written in the round that finds their filters, as ones written in the last round would not
+            // be compiled.
+            for (Map.Entry<String, List<TypeElement>> entry : byPackage.entrySet()) {
+                generatedIndexes.add(writeIndex(entry.getKey(), entry.getValue()));
+            }
+            if (roundEnv.processingOver()) {
                 addNewClasses(processingEnv.getFiler(), annotatedElements);
-            } catch (IOException e) {
-                throw new RuntimeException(e);
-            } finally {
+                addNewLines(processingEnv.getFiler(), INDEX_SERVICE_RESOURCE, generatedIndexes);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        } finally {
+            if (roundEnv.processingOver()) {
                 annotatedElements.clear();
+                generatedIndexes.clear();
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Writes the {@code com.netflix.zuul.FilterIndex} of the given filters, which are all in one package, and returns
+     * its name.  The index refers to each filter's class and constructor directly, so that neither needs to be looked
+     * up reflectively at startup.
+     */
+    private String writeIndex(String packageName, List<TypeElement> filters) throws IOException {
+        String simpleName = INDEX_SIMPLE_NAME;
+        // A later round may find more filters in a package that already has an index.
+        for (int i = 2; generatedIndexes.contains(qualify(packageName, simpleName)); i++) {
+            simpleName = INDEX_SIMPLE_NAME + i;
+        }
+        String indexName = qualify(packageName, simpleName);
+
+        filters.sort(Comparator.comparing(
+                f -> processingEnv.getElementUtils().getBinaryName(f).toString()));
+        List<String> entries = new ArrayList<>();
+        for (TypeElement filter : filters) {
+            Filter annotation = filter.getAnnotation(Filter.class);
+            String className = filter.getQualifiedName().toString();
+            entries.add(String.format(
+                    "new FilterIndex.Entry(%s.class, FilterType.%s, %d, \"%s\", %s)",
+                    className,
+                    annotation.type().name(),
+                    annotation.order(),
+                    processingEnv.getElementUtils().getBinaryName(filter),
+                    isConstructible(filter) ? className + "::new" : "null"));
+        }
+
+        JavaFileObject source = processingEnv.getFiler().createSourceFile(indexName, filters.toArray(new Element[0]));
+        try (Writer writer = source.openWriter()) {
+            writeIndexSource(writer, packageName, simpleName, entries);
+        }
+        return indexName;
+    }
+
+    private static void writeIndexSource(Writer writer, String packageName, String simpleName, List<String> entries)
+            throws IOException {
+        StringBuilder sb = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            sb.append("package ").append(packageName).append(";\n\n");
+        }
+        sb.append("import com.netflix.zuul.FilterIndex;\n");
+        sb.append("import com.netflix.zuul.filters.FilterType;\n");
+        sb.append("import java.util.List;\n\n");
+        sb.append("@javax.annotation.processing.Generated(\"").append(FilterProcessor.class.getName()).append("\")\n");
+        sb.append("public final class ").append(simpleName).append(" implements FilterIndex {\n");
+        sb.append("    @Override\n");
+        sb.append("    public List<FilterIndex.Entry> filters() {\n");
+        sb.append("        return List.of(");
+        for (int i = 0; i < entries.size(); i++) {
+            sb.append(i == 0 ? "\n" : ",\n").append("                ").append(entries.get(i));
+        }
+        sb.append(");\n");
+        sb.append("    }\n");
+        sb.append("}\n");
+        writer.write(sb.toString());
+    }
+
+    /**
+     * Whether the index, in the filter's package, can call the filter's no-argument constructor.
+     */
+    private static boolean isConstructible(TypeElement filter) {
+        for (Element el = filter;
+                el.getKind().isClass() || el.getKind().isInterface();
+                el = el.getEnclosingElement()) {
+            if (el.getModifiers().contains(Modifier.PRIVATE)) {
+                return false;
+            }
+            if (el.getKind().isClass()
+                    && el.getEnclosingElement().getKind().isClass()
+                    && !el.getModifiers().contains(Modifier.STATIC)) {
+                // Inner classes need an instance of their enclosing class.
+                return false;
+            }
+        }
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(filter.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty()) {
+                return !constructor.getModifiers().contains(Modifier.PRIVATE);
             }
         }
         return false;
     }
 
+    private static String qualify(String packageName, String simpleName) {
+        return packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+    }
+
     static void addNewClasses(Filer filer, Collection<String> elements) throws IOException {
-        String resourceName = "META-INF/zuul/allfilters";
+        addNewLines(filer, "META-INF/zuul/allfilters", elements);
+    }
+
+    /**
+     * Adds lines to a resource file, keeping those already in it from earlier, possibly incremental, compilations.
+     */
+    static void addNewLines(Filer filer, String resourceName, Collection<String> elements) throws IOException {
         List<String> existing = Collections.emptyList();
         try {
             FileObject existingFilters = filer.getResource(StandardLocation.CLASS_OUTPUT, "", resourceName);
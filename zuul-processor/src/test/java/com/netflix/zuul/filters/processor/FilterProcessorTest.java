@@ -18,7 +18,11 @@ package com.netflix.zuul.filters.processor;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.netflix.zuul.DefaultFilterFactory;
+import com.netflix.zuul.FilterIndex;
+import com.netflix.zuul.IndexedFilterFactory;
 import com.netflix.zuul.StaticFilterLoader;
+import com.netflix.zuul.filters.FilterType;
 import com.netflix.zuul.filters.ZuulFilter;
 import com.netflix.zuul.filters.processor.override.SubpackageFilter;
 import com.netflix.zuul.filters.processor.subpackage.OverrideFilter;
@@ -46,4 +50,41 @@ class FilterProcessorTest {
         };
         assertThat(filters).containsExactlyInAnyOrder(expected);
     }
+
+    @Test
+    void allFilterClassesIndexed() throws Exception {
+        IndexedFilterFactory factory =
+                IndexedFilterFactory.load(getClass().getClassLoader(), new DefaultFilterFactory());
+
+        assertThat(factory.filterTypes())
+                .containsExactly(
+                        TopLevelFilter.class,
+                        TopLevelFilter.StaticSubclassFilter.class,
+                        TopLevelFilter.SubclassFilter.class,
+                        OuterClassFilter.class,
+                        SubpackageFilter.class,
+                        OverrideFilter.class);
+        assertThat(factory.newInstance(TopLevelFilter.class)).isInstanceOf(TopLevelFilter.class);
+        assertThat(factory.newInstance(SubpackageFilter.class)).isInstanceOf(SubpackageFilter.class);
+    }
+
+    @Test
+    void indexRecordsAnnotationValues() {
+        FilterIndex index = new ZuulFilterIndex();
+
+        assertThat(index.filters())
+                .filteredOn(entry -> entry.filterClass() == TopLevelFilter.StaticSubclassFilter.class)
+                .singleElement()
+                .satisfies(entry -> {
+                    assertThat(entry.type()).isEqualTo(FilterType.INBOUND);
+                    assertThat(entry.order()).isEqualTo(21);
+                    assertThat(entry.name()).isEqualTo(TopLevelFilter.StaticSubclassFilter.class.getName());
+                    assertThat(entry.constructor()).isNotNull();
+                });
+        // Inner classes cannot be constructed without an instance of their enclosing class.
+        assertThat(index.filters())
+                .filteredOn(entry -> entry.filterClass() == TopLevelFilter.SubclassFilter.class)
+                .singleElement()
+                .satisfies(entry -> assertThat(entry.constructor()).isNull());
+    }
 }
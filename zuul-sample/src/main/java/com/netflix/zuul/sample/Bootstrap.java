@@ -30,11 +30,14 @@ import com.netflix.zuul.FilterFactory;
 import com.netflix.zuul.StaticFilterLoader;
 import com.netflix.zuul.context.ZuulSessionContextDecorator;
 import com.netflix.zuul.filters.ZuulFilter;
+import com.netflix.zuul.netty.filter.FilterExecutionStats;
 import com.netflix.zuul.netty.server.ClientRequestReceiver;
 import com.netflix.zuul.netty.server.DirectMemoryMonitor;
 import com.netflix.zuul.netty.server.Server;
+import com.netflix.zuul.netty.server.push.PushBroadcaster;
 import com.netflix.zuul.netty.server.push.PushConnectionRegistry;
 import com.netflix.zuul.origins.BasicNettyOriginManager;
+import com.netflix.zuul.sample.filters.endpoint.FilterStats;
 import com.netflix.zuul.sample.filters.endpoint.Healthcheck;
 import com.netflix.zuul.sample.filters.inbound.Routes;
 import com.netflix.zuul.sample.filters.inbound.SampleServiceFilter;
@@ -63,6 +66,7 @@ public class Bootstrap {
     static {
         Set<Class<? extends ZuulFilter<?, ?>>> classes = new LinkedHashSet<>();
         classes.add(Healthcheck.class);
+        classes.add(FilterStats.class);
         classes.add(Routes.class);
         classes.add(SampleServiceFilter.class);
         classes.add(ZuulResponseFilter.class);
@@ -93,14 +97,16 @@ public class Bootstrap {
 
             PushConnectionRegistry pushConnectionRegistry = new PushConnectionRegistry();
             SamplePushMessageSenderInitializer pushMessageSenderInitializer =
-                    new SamplePushMessageSenderInitializer(pushConnectionRegistry);
+                    new SamplePushMessageSenderInitializer(
+                            pushConnectionRegistry, new PushBroadcaster(pushConnectionRegistry));
             DefaultRegistry registry = new DefaultRegistry();
+            FilterExecutionStats filterExecutionStats = new FilterExecutionStats(registry);
             SampleServerStartup serverStartup = new SampleServerStartup(
                     new ServerStatusManager(instance) {
                         @Override
                         public void localStatus(InstanceStatus status) {}
                     },
-                    new StaticFilterLoader(new SampleFilterFactory(), FILTER_TYPES),
+                    new StaticFilterLoader(new SampleFilterFactory(filterExecutionStats), FILTER_TYPES),
                     new ZuulSessionContextDecorator(new BasicNettyOriginManager(registry)),
                     new BasicFilterUsageNotifier(registry),
                     new BasicRequestCompleteHandler(),
@@ -111,7 +117,8 @@ public class Bootstrap {
                     instance,
                     accessLogPublisher,
                     pushConnectionRegistry,
-                    pushMessageSenderInitializer);
+                    pushMessageSenderInitializer,
+                    filterExecutionStats);
             serverStartup.init();
             server = serverStartup.server();
 
@@ -140,9 +147,11 @@ public class Bootstrap {
     private static class SampleFilterFactory implements FilterFactory {
 
         private final DefaultFilterFactory filterFactory;
+        private final FilterExecutionStats filterExecutionStats;
 
-        SampleFilterFactory() {
+        SampleFilterFactory(FilterExecutionStats filterExecutionStats) {
             filterFactory = new DefaultFilterFactory();
+            this.filterExecutionStats = filterExecutionStats;
         }
 
         @Override
@@ -151,6 +160,8 @@ public class Bootstrap {
                         InvocationTargetException, NoSuchMethodException {
             if (clazz.equals(SampleServiceFilter.class)) {
                 return new SampleServiceFilter(new SampleService());
+            } else if (clazz.equals(FilterStats.class)) {
+                return new FilterStats(filterExecutionStats);
             } else {
                 return filterFactory.newInstance(clazz);
             }
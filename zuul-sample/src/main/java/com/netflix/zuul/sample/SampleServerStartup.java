@@ -31,6 +31,7 @@ import com.netflix.zuul.FilterLoader;
 import com.netflix.zuul.FilterUsageNotifier;
 import com.netflix.zuul.RequestCompleteHandler;
 import com.netflix.zuul.context.SessionContextDecorator;
+import com.netflix.zuul.netty.filter.FilterExecutionStats;
 import com.netflix.zuul.netty.server.BaseServerStartup;
 import com.netflix.zuul.netty.server.DefaultEventLoopConfig;
 import com.netflix.zuul.netty.server.DirectMemoryMonitor;
@@ -75,6 +76,7 @@ public class SampleServerStartup extends BaseServerStartup {
     private static final ServerType SERVER_TYPE = ServerType.HTTP;
     private final PushConnectionRegistry pushConnectionRegistry;
     private final SamplePushMessageSenderInitializer pushSenderInitializer;
+    private final FilterExecutionStats filterExecutionStats;
 
     public SampleServerStartup(
             ServerStatusManager serverStatusManager,
@@ -89,7 +91,8 @@ public class SampleServerStartup extends BaseServerStartup {
             ApplicationInfoManager applicationInfoManager,
             AccessLogPublisher accessLogPublisher,
             PushConnectionRegistry pushConnectionRegistry,
-            SamplePushMessageSenderInitializer pushSenderInitializer) {
+            SamplePushMessageSenderInitializer pushSenderInitializer,
+            FilterExecutionStats filterExecutionStats) {
         super(
                 serverStatusManager,
                 filterLoader,
@@ -105,6 +108,7 @@ public class SampleServerStartup extends BaseServerStartup {
                 accessLogPublisher);
         this.pushConnectionRegistry = pushConnectionRegistry;
         this.pushSenderInitializer = pushSenderInitializer;
+        this.filterExecutionStats = filterExecutionStats;
     }
 
     @Override
@@ -133,6 +137,7 @@ public class SampleServerStartup extends BaseServerStartup {
         ServerSslConfig sslConfig;
         ChannelConfig channelConfig = defaultChannelConfig(mainListenAddressName);
         ChannelConfig channelDependencies = defaultChannelDependencies(mainListenAddressName);
+        channelDependencies.set(ZuulDependencyKeys.filterExecutionStats, filterExecutionStats);
 
         /* These settings may need to be tweaked depending if you're running behind an ELB HTTP listener, TCP listener,
          * or directly on the internet.
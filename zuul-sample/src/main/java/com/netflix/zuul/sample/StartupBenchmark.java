@@ -0,0 +1,360 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.sample;
+
+import com.netflix.zuul.discovery.StaticServerList;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+/**
+ * Starts the sample server in fresh JVMs, proxying to a local stub origin, and measures how long each takes to serve
+ * its first proxied request and to reach its steady-state p99 under constant load.
+ *
+ * <p>Server JVM arguments are given as named configurations in {@code zuul.startup.configs}, formatted as
+ * {@code name=arg arg;name=arg}, for example {@code baseline=;cds=-XX:SharedArchiveFile=zuul-sample.jsa}.  Each
+ * configuration is run {@code zuul.startup.runs} times, interleaved so that noise on the machine affects them alike,
+ * and the medians are reported together with their change from the first configuration.  The {@code startupBenchmark}
+ * and {@code startupCacheTrain} Gradle tasks run this with the class path that CDS and the AOT cache need.
+ *
+ * <p>Latencies are grouped into one second windows from the first successful request.  The steady-state p99 is the
+ * median window p99 over the last quarter of the run, and the server is taken to have reached it at the start of the
+ * first window after which no window's p99 is more than {@code zuul.startup.tolerance} times that.
+ */
+public final class StartupBenchmark {
+
+    private static final int RUNS = Integer.getInteger("zuul.startup.runs", 5);
+    private static final long LOAD_NANOS = TimeUnit.SECONDS.toNanos(Long.getLong("zuul.startup.duration", 60));
+    private static final int CONCURRENCY = Integer.getInteger("zuul.startup.concurrency", 16);
+    private static final int PORT = Integer.getInteger("zuul.startup.port", 7101);
+    private static final double TOLERANCE = Double.parseDouble(System.getProperty("zuul.startup.tolerance", "1.25"));
+    private static final String JAVA_HOME =
+            System.getProperty("zuul.startup.javaHome", System.getProperty("java.home"));
+    private static final Path LOG_DIR = Path.of(System.getProperty("zuul.startup.logDir", "build/startup-benchmark"));
+
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long FIRST_REQUEST_TIMEOUT_NANOS = TimeUnit.MINUTES.toNanos(2);
+    private static final byte[] ORIGIN_BODY = "ok".getBytes(StandardCharsets.UTF_8);
+
+    private StartupBenchmark() {}
+
+    public static void main(String[] args) throws Exception {
+        Map<String, List<String>> configs = parseConfigs(System.getProperty("zuul.startup.configs", "baseline="));
+        Files.createDirectories(LOG_DIR);
+
+        ExecutorService originExecutor = Executors.newFixedThreadPool(CONCURRENCY);
+        HttpServer origin = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        origin.setExecutor(originExecutor);
+        origin.createContext("/", exchange -> {
+            try (InputStream in = exchange.getRequestBody();
+                    OutputStream out = exchange.getResponseBody()) {
+                in.readAllBytes();
+                exchange.sendResponseHeaders(200, ORIGIN_BODY.length);
+                out.write(ORIGIN_BODY);
+            }
+        });
+        origin.start();
+
+        Map<String, List<Result>> results = new LinkedHashMap<>();
+        try {
+            for (int run = 0; run < RUNS; run++) {
+                for (Map.Entry<String, List<String>> config : configs.entrySet()) {
+                    Result result = run(
+                            config.getKey(), run, config.getValue(), origin.getAddress().getPort());
+                    System.out.println(result);
+                    results.computeIfAbsent(config.getKey(), k -> new ArrayList<>())
+                            .add(result);
+                }
+            }
+        } finally {
+            origin.stop(0);
+            originExecutor.shutdownNow();
+        }
+        printSummary(results);
+    }
+
+    private static Result run(String name, int run, List<String> jvmArgs, int originPort) throws Exception {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(JAVA_HOME, "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add("-DTZ=GMT");
+        command.add("-Darchaius.deployment.environment=benchmark");
+        command.add("-Dlog4j.configurationFile=log4j2.xml");
+        command.add("-Dzuul.server.port.main=" + PORT);
+        command.add("-Dzuul.server.port.http.push=" + (PORT + 1));
+        command.add("-Dapi.ribbon.NIWSServerListClassName=" + StaticServerList.class.getName());
+        command.add("-Dapi.ribbon.listOfServers=127.0.0.1:" + originPort);
+        command.add(Bootstrap.class.getName());
+
+        Path log = LOG_DIR.resolve(name + "-" + run + ".log");
+        long startNanos = System.nanoTime();
+        Process server = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try (HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(1))
+                .build()) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + PORT + "/startup-benchmark"))
+                    .timeout(Duration.ofSeconds(10))
+                    .build();
+            long firstResponseNanos = awaitFirstResponse(client, request, server, log);
+            Samples[] samples = load(client, request);
+            return Result.of(name, run, startNanos, firstResponseNanos, samples);
+        } finally {
+            server.destroy();
+            // A training run writes its archive on the way out, so give it time to finish.
+            if (!server.waitFor(2, TimeUnit.MINUTES)) {
+                server.destroyForcibly();
+            }
+        }
+    }
+
+    private static long awaitFirstResponse(HttpClient client, HttpRequest request, Process server, Path log)
+            throws IOException, InterruptedException {
+        long deadline = System.nanoTime() + FIRST_REQUEST_TIMEOUT_NANOS;
+        while (true) {
+            if (!server.isAlive()) {
+                throw new IllegalStateException("Server exited with " + server.exitValue() + ", see " + log);
+            }
+            if (System.nanoTime() - deadline > 0) {
+                throw new IllegalStateException("No successful proxied request from the server, see " + log);
+            }
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 200) {
+                    return System.nanoTime();
+                }
+            } catch (IOException e) {
+                // Not listening yet.
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    private static Samples[] load(HttpClient client, HttpRequest request) throws InterruptedException {
+        long endNanos = System.nanoTime() + LOAD_NANOS;
+        Samples[] samples = new Samples[CONCURRENCY];
+        Thread[] threads = new Thread[CONCURRENCY];
+        for (int i = 0; i < CONCURRENCY; i++) {
+            Samples s = new Samples();
+            samples[i] = s;
+            threads[i] = new Thread(() -> s.drive(client, request, endNanos), "startup-benchmark-load-" + i);
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return samples;
+    }
+
+    private static Map<String, List<String>> parseConfigs(String value) {
+        Map<String, List<String>> configs = new LinkedHashMap<>();
+        for (String config : value.split(";", -1)) {
+            if (config.isBlank()) {
+                continue;
+            }
+            int eq = config.indexOf('=');
+            String name = (eq < 0 ? config : config.substring(0, eq)).trim();
+            String args = eq < 0 ? "" : config.substring(eq + 1).trim();
+            configs.put(name, args.isEmpty() ? List.of() : Arrays.asList(args.split("\\s+", -1)));
+        }
+        if (configs.isEmpty()) {
+            throw new IllegalArgumentException("No configurations in zuul.startup.configs: " + value);
+        }
+        return configs;
+    }
+
+    private static void printSummary(Map<String, List<Result>> results) {
+        System.out.printf(
+                Locale.ROOT,
+                "%n%-16s %22s %22s %18s%n",
+                "config",
+                "first request ms",
+                "steady-state p99 ms",
+                "p99 us");
+        long baseFirst = 0;
+        long baseSteady = 0;
+        boolean first = true;
+        for (Map.Entry<String, List<Result>> entry : results.entrySet()) {
+            long firstMs = median(entry.getValue(), Result::firstResponseMillis);
+            long steadyMs = median(entry.getValue(), Result::steadyStateMillis);
+            long p99Micros = median(entry.getValue(), Result::steadyStateP99Micros);
+            if (first) {
+                baseFirst = firstMs;
+                baseSteady = steadyMs;
+                first = false;
+            }
+            System.out.printf(
+                    Locale.ROOT,
+                    "%-16s %14d (%+5.1f%%) %14d (%+5.1f%%) %18d%n",
+                    entry.getKey(),
+                    firstMs,
+                    change(baseFirst, firstMs),
+                    steadyMs,
+                    change(baseSteady, steadyMs),
+                    p99Micros);
+        }
+    }
+
+    private static double change(long base, long value) {
+        return base == 0 ? 0 : 100.0 * (value - base) / base;
+    }
+
+    private static long median(List<Result> results, ToLongFunction<Result> metric) {
+        long[] values = results.stream().mapToLong(metric).sorted().toArray();
+        return values[values.length / 2];
+    }
+
+    /**
+     * Completion times and latencies of the requests sent by one load thread.
+     */
+    private static final class Samples {
+        long[] completedAt = new long[4096];
+        long[] latency = new long[4096];
+        int count;
+        int errors;
+
+        void drive(HttpClient client, HttpRequest request, long endNanos) {
+            while (System.nanoTime() - endNanos < 0) {
+                long sent = System.nanoTime();
+                try {
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    long now = System.nanoTime();
+                    if (response.statusCode() == 200) {
+                        add(now, now - sent);
+                    } else {
+                        errors++;
+                    }
+                } catch (IOException e) {
+                    errors++;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+
+        private void add(long now, long nanos) {
+            if (count == latency.length) {
+                completedAt = Arrays.copyOf(completedAt, count * 2);
+                latency = Arrays.copyOf(latency, count * 2);
+            }
+            completedAt[count] = now;
+            latency[count++] = nanos;
+        }
+    }
+
+    private record Result(
+            String name,
+            int run,
+            long firstResponseMillis,
+            long steadyStateMillis,
+            long steadyStateP99Micros,
+            long requests,
+            long errors) {
+
+        static Result of(String name, int run, long startNanos, long firstResponseNanos, Samples[] samples) {
+            int windows = (int) Math.max(1, LOAD_NANOS / WINDOW_NANOS);
+            List<List<Long>> byWindow = new ArrayList<>(windows);
+            for (int w = 0; w < windows; w++) {
+                byWindow.add(new ArrayList<>());
+            }
+            long requests = 0;
+            long errors = 0;
+            for (Samples s : samples) {
+                requests += s.count;
+                errors += s.errors;
+                for (int i = 0; i < s.count; i++) {
+                    int w = (int) Math.min(windows - 1, (s.completedAt[i] - firstResponseNanos) / WINDOW_NANOS);
+                    byWindow.get(w).add(s.latency[i]);
+                }
+            }
+
+            long[] p99 = new long[windows];
+            for (int w = 0; w < windows; w++) {
+                p99[w] = p99(byWindow.get(w));
+            }
+            long[] tail = Arrays.copyOfRange(p99, windows - Math.max(1, windows / 4), windows);
+            Arrays.sort(tail);
+            long steadyP99 = tail[tail.length / 2];
+
+            int steadyFrom = windows;
+            while (steadyFrom > 0 && p99[steadyFrom - 1] <= steadyP99 * TOLERANCE) {
+                steadyFrom--;
+            }
+            long steadyStateNanos = firstResponseNanos - startNanos + steadyFrom * WINDOW_NANOS;
+
+            return new Result(
+                    name,
+                    run,
+                    TimeUnit.NANOSECONDS.toMillis(firstResponseNanos - startNanos),
+                    TimeUnit.NANOSECONDS.toMillis(steadyStateNanos),
+                    TimeUnit.NANOSECONDS.toMicros(steadyP99),
+                    requests,
+                    errors);
+        }
+
+        private static long p99(List<Long> latencies) {
+            if (latencies.isEmpty()) {
+                // A window without any completed requests is a stall, never steady.
+                return Long.MAX_VALUE;
+            }
+            long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+            return sorted[(int) Math.ceil(sorted.length * 0.99) - 1];
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    Locale.ROOT,
+                    "%s run %d: first proxied request after %d ms, steady-state p99 %d us after %d ms, "
+                            + "%d requests, %d errors",
+                    name,
+                    run,
+                    firstResponseMillis,
+                    steadyStateP99Micros,
+                    steadyStateMillis,
+                    requests,
+                    errors);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ *      Licensed under the Apache License, Version 2.0 (the "License");
+ *      you may not use this file except in compliance with the License.
+ *      You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *      Unless required by applicable law or agreed to in writing, software
+ *      distributed under the License is distributed on an "AS IS" BASIS,
+ *      WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *      See the License for the specific language governing permissions and
+ *      limitations under the License.
+ */
+
+package com.netflix.zuul.sample.filters.endpoint;
+
+import com.netflix.zuul.filters.http.HttpSyncEndpoint;
+import com.netflix.zuul.message.http.HttpHeaderNames;
+import com.netflix.zuul.message.http.HttpRequestMessage;
+import com.netflix.zuul.message.http.HttpResponseMessage;
+import com.netflix.zuul.message.http.HttpResponseMessageImpl;
+import com.netflix.zuul.netty.filter.FilterExecutionStats;
+import com.netflix.zuul.stats.status.StatusCategoryUtils;
+import com.netflix.zuul.stats.status.ZuulStatusCategory;
+
+/**
+ * Dumps the sampled latency and allocations of each filter, most expensive first.
+ */
+public class FilterStats extends HttpSyncEndpoint {
+
+    private final FilterExecutionStats stats;
+
+    public FilterStats(FilterExecutionStats stats) {
+        this.stats = stats;
+    }
+
+    @Override
+    public HttpResponseMessage apply(HttpRequestMessage request) {
+        HttpResponseMessage resp = new HttpResponseMessageImpl(request.getContext(), request, 200);
+        resp.getHeaders().set(HttpHeaderNames.CONTENT_TYPE, "text/plain; charset=UTF-8");
+        resp.setBodyAsText(stats.dump());
+
+        StatusCategoryUtils.setStatusCategory(request.getContext(), ZuulStatusCategory.SUCCESS);
+
+        return resp;
+    }
+}
@@ -20,6 +20,7 @@ import com.netflix.zuul.context.SessionContext;
 import com.netflix.zuul.filters.endpoint.ProxyEndpoint;
 import com.netflix.zuul.filters.http.HttpInboundSyncFilter;
 import com.netflix.zuul.message.http.HttpRequestMessage;
+import com.netflix.zuul.sample.filters.endpoint.FilterStats;
 import com.netflix.zuul.sample.filters.endpoint.Healthcheck;
 
 /**
@@ -48,6 +49,8 @@ public class Routes extends HttpInboundSyncFilter {
         // Route healthchecks to the healthcheck endpoint.
         if (path.equalsIgnoreCase("/healthcheck")) {
             context.setEndpoint(Healthcheck.class.getCanonicalName());
+        } else if (path.equalsIgnoreCase("/admin/filterstats")) {
+            context.setEndpoint(FilterStats.class.getCanonicalName());
         } else {
             context.setEndpoint(ProxyEndpoint.class.getCanonicalName());
             context.setRouteVIP("api");
@@ -16,6 +16,7 @@
 package com.netflix.zuul.sample.push;
 
 import com.google.common.base.Strings;
+import com.netflix.zuul.netty.server.push.PushBroadcaster;
 import com.netflix.zuul.netty.server.push.PushConnectionRegistry;
 import com.netflix.zuul.netty.server.push.PushMessageSender;
 import com.netflix.zuul.netty.server.push.PushUserAuth;
@@ -32,8 +33,8 @@ import jakarta.inject.Singleton;
 @ChannelHandler.Sharable
 public class SamplePushMessageSender extends PushMessageSender {
 
-    public SamplePushMessageSender(PushConnectionRegistry pushConnectionRegistry) {
-        super(pushConnectionRegistry);
+    public SamplePushMessageSender(PushConnectionRegistry pushConnectionRegistry, PushBroadcaster pushBroadcaster) {
+        super(pushConnectionRegistry, pushBroadcaster);
     }
 
     @Override
@@ -15,6 +15,7 @@
  */
 package com.netflix.zuul.sample.push;
 
+import com.netflix.zuul.netty.server.push.PushBroadcaster;
 import com.netflix.zuul.netty.server.push.PushConnectionRegistry;
 import com.netflix.zuul.netty.server.push.PushMessageSender;
 import com.netflix.zuul.netty.server.push.PushMessageSenderInitializer;
@@ -32,9 +33,10 @@ public class SamplePushMessageSenderInitializer extends PushMessageSenderInitial
     private final PushMessageSender pushMessageSender;
 
     @Inject
-    public SamplePushMessageSenderInitializer(PushConnectionRegistry pushConnectionRegistry) {
-        super();
-        pushMessageSender = new SamplePushMessageSender(pushConnectionRegistry);
+    public SamplePushMessageSenderInitializer(
+            PushConnectionRegistry pushConnectionRegistry, PushBroadcaster pushBroadcaster) {
+        super(pushConnectionRegistry);
+        pushMessageSender = new SamplePushMessageSender(pushConnectionRegistry, pushBroadcaster);
     }
 
     @Override
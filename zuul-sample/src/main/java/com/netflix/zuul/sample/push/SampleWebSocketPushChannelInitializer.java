@@ -25,7 +25,6 @@ import com.netflix.zuul.netty.server.push.PushRegistrationHandler;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.group.ChannelGroup;
 import io.netty.handler.codec.http.websocketx.WebSocketServerProtocolHandler;
-import io.netty.handler.codec.http.websocketx.extensions.compression.WebSocketServerCompressionHandler;
 
 /**
  * Author: Susheel Aroskar
@@ -48,7 +47,7 @@ public class SampleWebSocketPushChannelInitializer extends PushChannelInitialize
     @Override
     protected void addPushHandlers(ChannelPipeline pipeline) {
         pipeline.addLast(PushAuthHandler.NAME, pushAuthHandler);
-        pipeline.addLast(new WebSocketServerCompressionHandler(MAX_CONTENT_LENGTH));
+        addWebSocketCompressionHandler(pipeline, MAX_CONTENT_LENGTH);
         pipeline.addLast(new WebSocketServerProtocolHandler(PushProtocol.WEBSOCKET.getPath(), null, true));
         pipeline.addLast(new PushRegistrationHandler(pushConnectionRegistry, PushProtocol.WEBSOCKET));
         pipeline.addLast(new SampleWebSocketPushClientProtocolHandler());